@@ -0,0 +1,51 @@
+package com.planner.benchmark;
+
+import com.planner.util.Parser;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks for tokenizing command lines typed into the CLI
+ *
+ * @author Andrew Roe
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ParserBenchmark {
+
+    /** Number of command lines tokenized per call */
+    @Param({"10", "1000", "100000"})
+    public int lineCount;
+
+    /** Command lines being tokenized */
+    private String[] lines;
+
+    @Setup(Level.Trial)
+    public void setupLines() {
+        lines = Workload.createCommandLines(lineCount);
+    }
+
+    @Benchmark
+    public void tokenize(Blackhole blackhole) {
+        for (String line : lines) {
+            blackhole.consume(Parser.tokenize(line));
+        }
+    }
+}
@@ -0,0 +1,96 @@
+package com.planner.benchmark;
+
+import com.planner.models.Task;
+import com.planner.schedule.Scheduler;
+import com.planner.schedule.day.Day;
+import com.planner.util.Time;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.PriorityQueue;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks for generating schedules, both as a whole through the ScheduleManager and for a single
+ * {@link Day} through the {@link Scheduler}
+ *
+ * @author Andrew Roe
+ */
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ScheduleBenchmark extends WorkloadState {
+
+    @Benchmark
+    public List<Day> buildSchedule() throws IOException {
+        // a new config forces a full rebuild rather than an incremental one
+        sm.setUserConfig(userConfig);
+        sm.buildSchedule();
+        return sm.getSchedule();
+    }
+
+    @Benchmark
+    public int modTasks() {
+        // a bulk edit of every active Task, each of which has to be located in the heap
+        List<Task> tasks = new ArrayList<>(sm.getTaskManager());
+        for (Task task : tasks) {
+            sm.modTask(task.getId(), null, task.getTotalHours(), null, null);
+        }
+        return tasks.size();
+    }
+
+    @Benchmark
+    public int assignDay(DayState state) {
+        return state.scheduler.assignDay(state.day, 0, state.complete, state.taskManager, state.time);
+    }
+
+    /**
+     * Fresh Day and Task queue for every call to {@link Scheduler#assignDay}
+     */
+    @State(Scope.Thread)
+    public static class DayState {
+        /** Scheduler being benchmarked */
+        Scheduler scheduler;
+        /** Day being assigned */
+        Day day;
+        /** Tasks that are done scheduling */
+        PriorityQueue<Task> complete;
+        /** Tasks left to schedule */
+        PriorityQueue<Task> taskManager;
+        /** Epoch minute at which the schedule is being built */
+        int time;
+
+        @Setup(Level.Invocation)
+        public void setupDay(ScheduleBenchmark workload) {
+            scheduler = Scheduler.newInstance(workload.userConfig, workload.sm.getEventLog());
+            // the second Day is used so that the current time of day does not affect its capacity
+            Day scheduled = workload.sm.getSchedule().get(Math.min(1, workload.sm.getSchedule().size() - 1));
+            day = new Day(0, scheduled.getCapacity(), scheduled.getDate());
+            scheduled.getEventList().forEach(day::addEvent);
+
+            complete = new PriorityQueue<>();
+            taskManager = new PriorityQueue<>();
+            for (Task task : workload.sm.getTaskManager()) {
+                task.reset();
+                if (task.getDueEpochDay() >= day.getEpochDay()) {
+                    taskManager.add(task);
+                }
+            }
+            time = Time.getCurrentEpochMinute();
+        }
+    }
+}
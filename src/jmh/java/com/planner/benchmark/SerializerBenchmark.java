@@ -0,0 +1,65 @@
+package com.planner.benchmark;
+
+import com.planner.manager.ScheduleManager;
+import com.planner.util.Serializer;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks for writing and reading schedules in the '.sched' format
+ *
+ * @author Andrew Roe
+ */
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class SerializerBenchmark extends WorkloadState {
+
+    /** Serialized form of the workload */
+    private String data;
+
+    @Setup(Level.Trial)
+    public void setupData() {
+        data = serializeSchedule();
+    }
+
+    @Benchmark
+    public String serializeSchedule() {
+        return Serializer.serializeSchedule(sm.getCards(), new ArrayList<>(sm.getTaskManager()), sm.getIndivEvents(),
+                Workload.getRecurringEvents(sm), sm.getSchedule());
+    }
+
+    @Benchmark
+    public ScheduleManager deserializeSchedule(TargetState target) {
+        Serializer.deserializeSchedule(data, target.sm);
+        return target.sm;
+    }
+
+    /**
+     * Empty ScheduleManager for every call to {@link Serializer#deserializeSchedule}
+     */
+    @State(Scope.Thread)
+    public static class TargetState {
+        /** ScheduleManager receiving the schedule */
+        ScheduleManager sm;
+
+        @Setup(Level.Invocation)
+        public void setupTarget() {
+            sm = new ScheduleManager();
+        }
+    }
+}
@@ -0,0 +1,40 @@
+package com.planner.benchmark;
+
+import com.planner.ui.tables.TableFormatter;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks for rendering a built schedule as tables
+ *
+ * @author Andrew Roe
+ */
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class TableFormatterBenchmark extends WorkloadState {
+
+    /** Whether ANSI colors are rendered */
+    @Param({"false", "true"})
+    public boolean useColor;
+
+    @Benchmark
+    public String formatScheduleTable() {
+        return TableFormatter.formatScheduleTable(sm.getSchedule(), useColor);
+    }
+
+    @Benchmark
+    public String formatSubTaskTable() {
+        return TableFormatter.formatSubTaskTable(sm.getSchedule(), useColor);
+    }
+}
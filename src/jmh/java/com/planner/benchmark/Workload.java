@@ -0,0 +1,144 @@
+package com.planner.benchmark;
+
+import com.planner.manager.ScheduleManager;
+import com.planner.models.Card;
+import com.planner.models.Event;
+import com.planner.models.UserConfig;
+import com.planner.util.Time;
+
+import java.util.ArrayList;
+import java.util.Calendar;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+
+/**
+ * Generates synthetic schedules for the benchmarks. Every workload is derived from a fixed seed so that
+ * runs are comparable with each other.
+ *
+ * @author Andrew Roe
+ */
+public final class Workload {
+
+    /** Seed used for every generated workload */
+    public static final long SEED = 34L;
+    /** First hour of the working day in generated workloads */
+    private static final int DAY_START = 8;
+    /** Last hour of the working day in generated workloads */
+    private static final int DAY_END = 22;
+
+    private Workload() {
+    }
+
+    /**
+     * Creates a {@link UserConfig} scheduling eight hours a day over the given horizon
+     *
+     * @param horizon number of days to schedule
+     * @return UserConfig for the workload
+     */
+    public static UserConfig createUserConfig(int horizon) {
+        return new UserConfig(new int[]{DAY_START, DAY_END}, new int[]{8, 8, 8, 8, 8, 8, 8},
+                horizon, 5, false, true, 1.0, false, true, false);
+    }
+
+    /**
+     * Creates a {@link ScheduleManager} holding a synthetic set of Cards, Tasks and Events
+     *
+     * @param taskCount number of Tasks, due evenly across the horizon
+     * @param eventsPerDay number of one-off Events on every day of the horizon
+     * @param recurringPerWeek number of recurring Event occurrences per week
+     * @param horizon number of days to schedule
+     * @return populated ScheduleManager
+     */
+    public static ScheduleManager create(int taskCount, int eventsPerDay, int recurringPerWeek, int horizon) {
+        Random random = new Random(SEED);
+        ScheduleManager sm = new ScheduleManager();
+        sm.setUserConfig(createUserConfig(horizon));
+
+        Card.Color[] colors = Card.Color.values();
+        for (int i = 0; i < 3; i++) {
+            sm.addCard("card" + i, colors[i % colors.length]);
+        }
+
+        for (int i = 0; i < taskCount; i++) {
+            Integer cardId = random.nextInt(4) == 0 ? null : random.nextInt(3);
+            double hours = 0.5 * (1 + random.nextInt(8));
+            sm.addTask("task" + i, hours, Time.getFormattedCalendarInstance(random.nextInt(horizon)), cardId);
+        }
+
+        for (int day = 0; day < horizon; day++) {
+            for (int hour : pickHours(random, eventsPerDay)) {
+                sm.addEvent("event" + day + "-" + hour, null, createTimeStamp(day, hour, random), false, null);
+            }
+        }
+
+        for (int i = 0; i < recurringPerWeek; i++) {
+            List<Calendar> dates = new ArrayList<>();
+            dates.add(Time.getFormattedCalendarInstance(random.nextInt(7)));
+            int hour = DAY_START + random.nextInt(DAY_END - DAY_START);
+            sm.addEvent("recurring" + i, random.nextInt(3), createTimeStamp(0, hour, random), true, dates);
+        }
+
+        return sm;
+    }
+
+    /**
+     * Gets every distinct recurring Event of the ScheduleManager
+     *
+     * @param sm ScheduleManager holding the Events
+     * @return List of recurring Events
+     */
+    public static List<Event> getRecurringEvents(ScheduleManager sm) {
+        Set<Event> events = new HashSet<>();
+        for (List<Event> dayEvents : sm.getRecurEvents()) {
+            events.addAll(dayEvents);
+        }
+        return new ArrayList<>(events);
+    }
+
+    /**
+     * Generates command lines resembling what a user would type into the CLI
+     *
+     * @param count number of lines
+     * @return array of command lines
+     */
+    public static String[] createCommandLines(int count) {
+        Random random = new Random(SEED);
+        String[] lines = new String[count];
+        for (int i = 0; i < count; i++) {
+            switch (i % 4) {
+                case 0:
+                    lines[i] = "task \"finish homework " + i + "\" " + (0.5 * (1 + random.nextInt(8))) + " +C" + random.nextInt(3) + " @ 01-11-2026";
+                    break;
+                case 1:
+                    lines[i] = "event true \"supply chain class\" +C1 @ mon wed fri 10:30am-12:15pm";
+                    break;
+                case 2:
+                    lines[i] = "mod task " + random.nextInt(100) + " \"prep for exam\" 4.5 @ eow";
+                    break;
+                default:
+                    lines[i] = "\tsched   -f";
+            }
+        }
+        return lines;
+    }
+
+    private static List<Integer> pickHours(Random random, int count) {
+        List<Integer> hours = new ArrayList<>();
+        for (int hour = DAY_START; hour < DAY_END; hour++) {
+            hours.add(hour);
+        }
+        Collections.shuffle(hours, random);
+        return hours.subList(0, Math.min(count, hours.size()));
+    }
+
+    private static Time.TimeStamp createTimeStamp(int day, int hour, Random random) {
+        Calendar start = Time.getFormattedCalendarInstance(day);
+        start.set(Calendar.HOUR_OF_DAY, hour);
+        Calendar end = (Calendar) start.clone();
+        end.add(Calendar.MINUTE, random.nextBoolean() ? 30 : 60);
+        return new Time.TimeStamp(start, end);
+    }
+}
@@ -0,0 +1,54 @@
+package com.planner.benchmark;
+
+import com.planner.manager.ScheduleManager;
+import com.planner.models.UserConfig;
+import com.planner.util.EventLog;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+import java.io.IOException;
+
+/**
+ * Shared state for benchmarks running against a synthetic {@link Workload}. The schedule is built once
+ * per trial so that benchmarks which only read it do not pay for scheduling.
+ *
+ * @author Andrew Roe
+ */
+@State(Scope.Benchmark)
+public abstract class WorkloadState {
+
+    /** Number of Tasks in the workload */
+    @Param({"10", "1000", "10000", "100000"})
+    public int taskCount;
+    /** Number of one-off Events on every day */
+    @Param({"0", "4"})
+    public int eventsPerDay;
+    /** Number of recurring Event occurrences per week */
+    @Param({"0", "14"})
+    public int recurringPerWeek;
+    /** Number of days being scheduled */
+    @Param({"14", "90", "365"})
+    public int horizon;
+
+    /** ScheduleManager holding the workload */
+    protected ScheduleManager sm;
+    /** Settings used for every build */
+    protected UserConfig userConfig;
+
+    @Setup(Level.Trial)
+    public void setupWorkload() throws IOException {
+        sm = Workload.create(taskCount, eventsPerDay, recurringPerWeek, horizon);
+        userConfig = sm.getUserConfig();
+        sm.buildSchedule();
+    }
+
+    @TearDown(Level.Iteration)
+    public void clearEventLog() throws IOException {
+        // the log keeps every action of the session, which would otherwise grow for the whole run
+        EventLog.getEventLog().clear();
+    }
+}
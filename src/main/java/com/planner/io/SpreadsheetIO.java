@@ -15,8 +15,8 @@ import java.io.OutputStream;
 import java.nio.file.Files;
 import java.nio.file.Paths;
 import java.security.GeneralSecurityException;
+import java.util.Collection;
 import java.util.List;
-import java.util.PriorityQueue;
 
 /**
  * Class to handle operations related to spreadsheet files.
@@ -81,7 +81,7 @@ public class SpreadsheetIO {
     public void exportScheduleToExcel(
             List<Day> schedule,
             List<Card> cards,
-            PriorityQueue<Task> archivedTasks,
+            Collection<Task> archivedTasks,
             UserConfig userConfig
     ) throws IOException {
         if (schedule.isEmpty())
@@ -0,0 +1,180 @@
+package com.planner.manager;
+
+import java.io.IOException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Builds the schedule on a background thread after it changes, so that the next build of the
+ * {@link ScheduleManager} finds it up to date instead of scheduling every Day. A build only starts once no other
+ * change was submitted for the debounce time, so a burst of changes is built once.
+ * <p>
+ * The build runs on the ScheduleManager itself, which the session and the background thread take turns holding.
+ * Submitting a change costs the same however many Tasks and Events there are, and a finished build leaves its Days
+ * in place, so nothing is copied or read back. Before changing the ScheduleManager, the session pauses the builder,
+ * which cancels a build in progress and rolls it back. Before only reading it, the session holds it, which lets
+ * the build go on once the session is done, and before building it, the session awaits the build.
+ *
+ * @author Andrew Roe
+ */
+public final class BackgroundBuilder implements AutoCloseable {
+
+    /** Milliseconds without changes before a build starts unless told otherwise */
+    public static final long DEFAULT_DEBOUNCE_MILLIS = 250;
+
+    /** Single thread running the builds */
+    private final ScheduledExecutorService executor;
+    /** Milliseconds without changes before a build starts */
+    private final long debounceMillis;
+    /** Held by whichever thread is using the ScheduleManager */
+    private final ReentrantLock lock = new ReentrantLock();
+    /** Build of the last submitted change (null if none) */
+    private Job pending;
+
+    /**
+     * Constructs a new {@code BackgroundBuilder}
+     *
+     * @param debounceMillis milliseconds without changes before a build starts
+     */
+    public BackgroundBuilder(long debounceMillis) {
+        if (debounceMillis < 0) {
+            throw new IllegalArgumentException("Debounce time cannot be negative");
+        }
+        this.debounceMillis = debounceMillis;
+        this.executor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "background-builder");
+            // a build left running never keeps the session from exiting
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * Submits a ScheduleManager to be built once the debounce time passes, which drops the build of the previous
+     * change if it did not start yet. Only the calling thread may use the ScheduleManager until the build starts.
+     *
+     * @param sm ScheduleManager that changed
+     * @return true if a build is pending, or false if the schedule is already up to date
+     */
+    public synchronized boolean submit(ScheduleManager sm) {
+        if (pending != null) {
+            pending.drop();
+        }
+        pending = sm.isScheduleCurrent() ? null : new Job(sm);
+        if (pending != null) {
+            executor.schedule(pending, debounceMillis, TimeUnit.MILLISECONDS);
+        }
+        return pending != null;
+    }
+
+    /**
+     * Takes the ScheduleManager back from the background thread, dropping a build that did not start and cancelling
+     * one in progress, which leaves the schedule as it was before that build
+     *
+     * @return true if a build was dropped or cancelled, so that the change has to be submitted again
+     */
+    public boolean pause() {
+        Job job = takePending();
+        boolean stopped = false;
+        if (job != null) {
+            stopped = true;
+            if (!job.drop()) {
+                job.progress.cancel();
+            }
+        }
+        lock.lock();
+        return stopped;
+    }
+
+    /**
+     * Takes the ScheduleManager back from the background thread, waiting for a build in progress to finish or
+     * dropping one that did not start, so that building the schedule right after either finds it up to date
+     * or does not wait for it
+     *
+     * @return true if a build was dropped, so that the change has to be submitted again unless it is built
+     */
+    public boolean await() {
+        Job job = takePending();
+        boolean dropped = job != null && job.drop();
+        // a build in progress holds the lock until it is done
+        lock.lock();
+        return dropped;
+    }
+
+    /**
+     * Takes the ScheduleManager back from the background thread without stopping its build, waiting for a build
+     * in progress to finish and delaying one that did not start until {@link #resume}
+     */
+    public void hold() {
+        lock.lock();
+    }
+
+    /**
+     * Hands the ScheduleManager back to the background thread after {@link #pause}, {@link #hold}, or {@link #await}
+     */
+    public void resume() {
+        lock.unlock();
+    }
+
+    /**
+     * Stops the background thread, abandoning any build in progress
+     */
+    @Override
+    public void close() {
+        executor.shutdownNow();
+    }
+
+    private synchronized Job takePending() {
+        Job job = pending;
+        pending = null;
+        return job;
+    }
+
+    /**
+     * Build of a single change, which either the background thread starts or the session drops
+     */
+    private final class Job implements Runnable {
+        /** ScheduleManager being built */
+        private final ScheduleManager sm;
+        /** Progress of the build, through which the session cancels it */
+        private final BuildProgress progress = new BuildProgress();
+        /** Whether the build was started or dropped */
+        private final AtomicBoolean claimed = new AtomicBoolean();
+
+        private Job(ScheduleManager sm) {
+            this.sm = sm;
+        }
+
+        @Override
+        public void run() {
+            if (!claimed.compareAndSet(false, true)) {
+                return;
+            }
+            lock.lock();
+            try {
+                // the session may have cancelled the build while it waited for the ScheduleManager
+                if (!progress.isCancelled()) {
+                    sm.setBuildProgress(progress);
+                    sm.buildSchedule();
+                }
+            } catch (IOException | RuntimeException e) {
+                // a cancelled build was rolled back, and the session builds the schedule itself to report other errors
+            } finally {
+                sm.setBuildProgress(null);
+                lock.unlock();
+            }
+        }
+
+        /**
+         * Drops the build if it did not start
+         *
+         * @return true if the build will never run
+         */
+        private boolean drop() {
+            return claimed.compareAndSet(false, true);
+        }
+    }
+}
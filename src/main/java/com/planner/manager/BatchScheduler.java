@@ -0,0 +1,209 @@
+package com.planner.manager;
+
+import com.planner.models.UserConfig;
+import com.planner.util.EventLog;
+import com.planner.util.JsonHandler;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.Clock;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Builds the schedules of many '.sched' files within a single session. Each file is scheduled by its own
+ * {@link ScheduleManager} and {@link EventLog} on a {@link ForkJoinPool}, and its schedule is written to a
+ * file of the same name in the output directory.
+ * <p>
+ * A file is scheduled with the settings of a '.json' profile of the same name next to it if there is one,
+ * otherwise with the default settings of the batch.
+ *
+ * @author Andrew Roe
+ */
+public class BatchScheduler {
+
+    /** Settings for files without a profile of their own */
+    private final UserConfig defaultConfig;
+    /** Provides the present time for every schedule of the batch */
+    private final Clock clock;
+    /** Maximum number of schedules built at the same time */
+    private final int parallelism;
+
+    /**
+     * Constructs a new {@code BatchScheduler}
+     *
+     * @param defaultConfig settings for files without a profile of their own
+     * @param clock clock providing the present time for every schedule of the batch
+     * @param parallelism maximum number of schedules built at the same time
+     */
+    public BatchScheduler(UserConfig defaultConfig, Clock clock, int parallelism) {
+        if (defaultConfig == null || clock == null) {
+            throw new IllegalArgumentException("BatchScheduler requires a config and a clock");
+        }
+        if (parallelism < 1) {
+            throw new IllegalArgumentException("Parallelism must be at least 1");
+        }
+        this.defaultConfig = defaultConfig;
+        this.clock = clock;
+        this.parallelism = parallelism;
+    }
+
+    /**
+     * Builds the schedule of each input file and writes it to the output directory
+     *
+     * @param inputs '.sched' files being scheduled
+     * @param outputDir directory receiving the scheduled files
+     * @return outcome for each input file, in the same order
+     * @throws IOException if the output directory cannot be created
+     */
+    public List<Result> run(List<Path> inputs, Path outputDir) throws IOException {
+        Files.createDirectories(outputDir);
+        List<Callable<Result>> jobs = new ArrayList<>(inputs.size());
+        for (Path input : inputs) {
+            jobs.add(() -> schedule(input, outputDir));
+        }
+
+        ForkJoinPool pool = new ForkJoinPool(parallelism);
+        try {
+            List<Result> results = new ArrayList<>(inputs.size());
+            for (Future<Result> future : pool.invokeAll(jobs)) {
+                results.add(future.get());
+            }
+            return results;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Batch was interrupted");
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Batch failed", e.getCause());
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    /**
+     * Builds the schedule of a single file, reporting any failure as part of its result
+     *
+     * @param input '.sched' file being scheduled
+     * @param outputDir directory receiving the scheduled file
+     * @return outcome for the file
+     */
+    private Result schedule(Path input, Path outputDir) {
+        try {
+            ScheduleManager sm = new ScheduleManager(getUserConfig(input), new EventLog(), clock);
+            // files are already scheduled in parallel with each other
+            sm.setParallelism(1);
+            sm.deserializeScheduleFromFile(input);
+            sm.buildSchedule();
+            Path output = outputDir.resolve(input.getFileName());
+            Files.writeString(output, sm.serializeSchedule());
+            return new Result(input, output, sm.getErrorCount(), null);
+        } catch (IOException | RuntimeException e) {
+            return new Result(input, null, 0, e.getMessage() != null ? e.getMessage() : e.toString());
+        }
+    }
+
+    private UserConfig getUserConfig(Path input) throws IOException {
+        String filename = input.getFileName().toString();
+        Path profile = input.resolveSibling(filename.substring(0, filename.lastIndexOf('.') + 1) + "json");
+        if (!filename.endsWith(".sched") || !Files.exists(profile)) {
+            return defaultConfig;
+        }
+        return JsonHandler.readUserConfig(Files.readString(profile));
+    }
+
+    /**
+     * Runs a batch from the command line: {@code <outputDir> <input.sched | directory>...}, where the default
+     * settings come from 'settings/profile.json'
+     *
+     * @param args output directory followed by '.sched' files and directories holding them
+     * @throws IOException if the settings or an input directory cannot be read
+     */
+    public static void main(String[] args) throws IOException {
+        if (args.length < 2) {
+            System.err.println("Usage: BatchScheduler <outputDir> <input.sched | directory>...");
+            System.exit(1);
+        }
+        List<Path> inputs = new ArrayList<>();
+        for (int i = 1; i < args.length; i++) {
+            Path path = Paths.get(args[i]);
+            if (Files.isDirectory(path)) {
+                try (Stream<Path> files = Files.list(path)) {
+                    inputs.addAll(files.filter(file -> file.toString().endsWith(".sched")).sorted().collect(Collectors.toList()));
+                }
+            } else {
+                inputs.add(path);
+            }
+        }
+        UserConfig userConfig = JsonHandler.readUserConfig(Files.readString(Paths.get("settings/profile.json")));
+        BatchScheduler batch = new BatchScheduler(userConfig, Clock.systemDefaultZone(), Runtime.getRuntime().availableProcessors());
+
+        int failed = 0;
+        for (Result result : batch.run(inputs, Paths.get(args[0]))) {
+            System.out.println(result);
+            failed += result.isSuccess() ? 0 : 1;
+        }
+        System.out.println("Scheduled " + (inputs.size() - failed) + " of " + inputs.size() + " files");
+        if (failed > 0) {
+            System.exit(1);
+        }
+    }
+
+    /**
+     * Outcome of scheduling a single file of the batch
+     */
+    public static class Result {
+        /** File that was scheduled */
+        private final Path input;
+        /** File the schedule was written to (null if scheduling failed) */
+        private final Path output;
+        /** Number of errors in the generated schedule */
+        private final int errorCount;
+        /** Reason scheduling failed (null if it succeeded) */
+        private final String failure;
+
+        private Result(Path input, Path output, int errorCount, String failure) {
+            this.input = input;
+            this.output = output;
+            this.errorCount = errorCount;
+            this.failure = failure;
+        }
+
+        public Path getInput() {
+            return input;
+        }
+
+        public Path getOutput() {
+            return output;
+        }
+
+        public int getErrorCount() {
+            return errorCount;
+        }
+
+        public String getFailure() {
+            return failure;
+        }
+
+        /**
+         * Determines whether the schedule was generated and written
+         *
+         * @return true if scheduling succeeded
+         */
+        public boolean isSuccess() {
+            return failure == null;
+        }
+
+        @Override
+        public String toString() {
+            return isSuccess() ? input + " -> " + output + " (" + errorCount + " errors)" : input + " FAILED: " + failure;
+        }
+    }
+}
@@ -0,0 +1,146 @@
+package com.planner.manager;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Built schedules keyed by a hash of everything the build depends on, so that building unchanged Tasks, Events,
+ * and settings again only costs the hash. The least recently used schedule is dropped once the cache is full.
+ * <p>
+ * A cache given a file reads its schedules from the file and writes them back after every change, so they are
+ * kept across sessions. A file that cannot be read is treated as empty, since every schedule in it can be built again.
+ *
+ * @author Andrew Roe
+ */
+public final class BuildCache {
+
+    /** Number of schedules a cache holds unless told otherwise */
+    public static final int DEFAULT_CAPACITY = 32;
+
+    /** Built schedules by the hash of their inputs, least recently used first */
+    private final LinkedHashMap<String, String> entries;
+    /** File the schedules are kept in (null if they are only kept in memory) */
+    private final Path file;
+
+    /**
+     * Constructs a new {@code BuildCache}
+     *
+     * @param capacity most schedules held at once
+     * @param file file the schedules are kept in, or null to only keep them in memory
+     */
+    public BuildCache(int capacity, Path file) {
+        if (capacity < 1) {
+            throw new IllegalArgumentException("Build cache must hold at least one schedule");
+        }
+        this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, String> eldest) {
+                return size() > capacity;
+            }
+        };
+        this.file = file;
+        if (file != null && Files.exists(file)) {
+            try {
+                read(Files.readString(file));
+            } catch (IOException | RuntimeException e) {
+                entries.clear();
+            }
+        }
+    }
+
+    /**
+     * Gets the hash of the inputs of a build, which stays the same across sessions
+     *
+     * @param inputs everything the build depends on
+     * @return hexadecimal SHA-256 hash of the inputs
+     */
+    public static String hash(String inputs) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(inputs.getBytes(StandardCharsets.UTF_8));
+            StringBuilder sb = new StringBuilder(2 * digest.length);
+            for (byte b : digest) {
+                sb.append(Character.forDigit((b >> 4) & 0xF, 16)).append(Character.forDigit(b & 0xF, 16));
+            }
+            return sb.toString();
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+
+    /**
+     * Gets the schedule built from the inputs with the given hash, marking it as the most recently used
+     *
+     * @param key hash of the inputs
+     * @return serialized schedule, or null if none is cached
+     */
+    public synchronized String get(String key) {
+        return entries.get(key);
+    }
+
+    /**
+     * Caches the schedule built from the inputs with the given hash, dropping the least recently used schedule
+     * if the cache is full
+     *
+     * @param key hash of the inputs
+     * @param build serialized schedule
+     */
+    public synchronized void put(String key, String build) {
+        if (build.equals(entries.put(key, build)) || file == null) {
+            return;
+        }
+        try {
+            Files.writeString(file, write());
+        } catch (IOException e) {
+            // the schedules are still cached in memory
+        }
+    }
+
+    /**
+     * Determines whether the schedules are kept in a file
+     *
+     * @return true if the cache has a file
+     */
+    public boolean isPersistent() {
+        return file != null;
+    }
+
+    /**
+     * Gets the number of cached schedules
+     *
+     * @return number of schedules
+     */
+    public synchronized int size() {
+        return entries.size();
+    }
+
+    /**
+     * Writes every entry as its key and the length of its schedule on a line, followed by the schedule itself,
+     * least recently used first
+     */
+    private String write() {
+        StringBuilder sb = new StringBuilder();
+        for (Map.Entry<String, String> entry : entries.entrySet()) {
+            sb.append(entry.getKey()).append(' ').append(entry.getValue().length()).append('\n')
+                    .append(entry.getValue()).append('\n');
+        }
+        return sb.toString();
+    }
+
+    private void read(String data) {
+        int idx = 0;
+        while (idx < data.length()) {
+            int lineEnd = data.indexOf('\n', idx);
+            String[] header = data.substring(idx, lineEnd).split(" ");
+            int start = lineEnd + 1;
+            int end = start + Integer.parseInt(header[1]);
+            entries.put(header[0], data.substring(start, end));
+            idx = end + 1;
+        }
+    }
+}
@@ -0,0 +1,85 @@
+package com.planner.manager;
+
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Progress of a single build of the schedule, which another thread reads while the build runs and may cancel
+ * the build through. A cancelled build stops before the next Day it would schedule, and the ScheduleManager is
+ * left with the schedule it had before the build.
+ *
+ * @author Andrew Roe
+ */
+public final class BuildProgress {
+
+    /** Time the build started at, in nanoseconds */
+    private final long startNanos = System.nanoTime();
+    /** Number of Days scheduled so far */
+    private final AtomicInteger daysDone = new AtomicInteger();
+    /** Number of Tasks done scheduling so far */
+    private final AtomicInteger tasksDone = new AtomicInteger();
+    /** Number of Tasks the build started with */
+    private volatile int numTasks;
+    /** Whether the build was asked to stop */
+    private volatile boolean cancelled;
+
+    /**
+     * Asks the build to stop, which it does before the next Day it would schedule
+     */
+    public void cancel() {
+        cancelled = true;
+    }
+
+    public boolean isCancelled() {
+        return cancelled;
+    }
+
+    public int getDaysDone() {
+        return daysDone.get();
+    }
+
+    /**
+     * Gets the number of Tasks that are not done scheduling yet
+     *
+     * @return number of Tasks left
+     */
+    public int getTasksRemaining() {
+        return Math.max(0, numTasks - tasksDone.get());
+    }
+
+    public long getElapsedMillis() {
+        return (System.nanoTime() - startNanos) / 1_000_000;
+    }
+
+    /**
+     * Starts counting the Days and Tasks of a pass over the horizon
+     *
+     * @param numTasks number of Tasks to schedule
+     */
+    void start(int numTasks) {
+        this.numTasks = numTasks;
+        daysDone.set(0);
+        tasksDone.set(0);
+    }
+
+    /**
+     * Counts a scheduled Day
+     *
+     * @param finishedTasks number of Tasks that were done scheduling on the Day
+     */
+    void addDay(int finishedTasks) {
+        daysDone.incrementAndGet();
+        tasksDone.addAndGet(finishedTasks);
+    }
+
+    /**
+     * Stops the build if it was cancelled
+     *
+     * @throws CancellationException if the build was cancelled
+     */
+    void checkCancelled() {
+        if (cancelled) {
+            throw new CancellationException("Build cancelled after " + daysDone.get() + " days");
+        }
+    }
+}
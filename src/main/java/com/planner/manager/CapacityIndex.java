@@ -0,0 +1,257 @@
+package com.planner.manager;
+
+/**
+ * Index of the cumulative free minutes against the cumulative minutes of work due on each Day of the schedule's
+ * horizon. A segment tree holds the excess of work over capacity for each prefix of the Days, so that a change
+ * to a single Day's capacity or to a single Task's minutes only takes a range update.
+ * <p>
+ * Work can be moved to any earlier Day but never past its due date, so the least number of minutes that no
+ * schedule can fit in by their due dates is the largest excess of any prefix.
+ *
+ * @author Andrew Roe
+ */
+final class CapacityIndex {
+
+    /** Epoch day of the first Day */
+    private final int firstDay;
+    /** Number of Days */
+    private final int numDays;
+    /** Free minutes of each Day */
+    private final int[] capacities;
+    /** Largest prefix excess within each node's range of Days */
+    private final long[] max;
+    /** Amount still to be added to every Day below each node */
+    private final long[] lazy;
+
+    /**
+     * Constructs a new {@code CapacityIndex} without any work due
+     *
+     * @param firstDay epoch day of the first Day
+     * @param capacities free minutes of each consecutive Day, starting with the first
+     */
+    CapacityIndex(int firstDay, int[] capacities) {
+        if (capacities.length == 0) {
+            throw new IllegalArgumentException("CapacityIndex must cover at least one Day");
+        }
+        this.firstDay = firstDay;
+        this.numDays = capacities.length;
+        this.capacities = capacities.clone();
+        this.max = new long[4 * numDays];
+        this.lazy = new long[4 * numDays];
+        long[] excess = new long[numDays];
+        long total = 0;
+        for (int i = 0; i < numDays; i++) {
+            total -= capacities[i];
+            excess[i] = total;
+        }
+        build(1, 0, numDays - 1, excess);
+    }
+
+    /**
+     * Gets the epoch day of the first Day
+     *
+     * @return epoch day of the first Day
+     */
+    int getFirstDay() {
+        return firstDay;
+    }
+
+    /**
+     * Adds work due on the given Day, where work due outside of the Days is ignored
+     *
+     * @param dueDay epoch day on which the work is due
+     * @param minutes number of minutes added, or a negative number for work being removed
+     */
+    void addDemand(int dueDay, long minutes) {
+        int idx = dueDay - firstDay;
+        if (idx >= 0 && idx < numDays) {
+            add(1, 0, numDays - 1, idx, minutes);
+        }
+    }
+
+    /**
+     * Sets the free minutes of a Day, where Days outside the index are ignored
+     *
+     * @param epochDay epoch day of the Day
+     * @param minutes number of free minutes
+     */
+    void setCapacity(int epochDay, int minutes) {
+        int idx = epochDay - firstDay;
+        if (idx >= 0 && idx < numDays && capacities[idx] != minutes) {
+            add(1, 0, numDays - 1, idx, capacities[idx] - minutes);
+            capacities[idx] = minutes;
+        }
+    }
+
+    /**
+     * Gets the free minutes of a Day
+     *
+     * @param epochDay epoch day of the Day
+     * @return number of free minutes, or 0 for a Day outside the index
+     */
+    int getCapacity(int epochDay) {
+        int idx = epochDay - firstDay;
+        return idx >= 0 && idx < numDays ? capacities[idx] : 0;
+    }
+
+    /**
+     * Gets the least number of minutes that no schedule can fit in by their due dates
+     *
+     * @return number of minutes left over
+     */
+    long getOverflow() {
+        return Math.max(0, max[1]);
+    }
+
+    /**
+     * Gets the least number of minutes that no schedule could fit in by their due dates if the given work were added
+     *
+     * @param dueDay epoch day on which the added work is due
+     * @param minutes number of minutes of the added work
+     * @return number of minutes that would be left over
+     */
+    long getOverflowIfAdded(int dueDay, long minutes) {
+        int idx = dueDay - firstDay;
+        if (idx < 0) {
+            return getOverflow() + minutes;
+        } else if (idx >= numDays) {
+            return getOverflow();
+        }
+        long before = idx == 0 ? 0 : query(1, 0, numDays - 1, 0, idx - 1);
+        long after = query(1, 0, numDays - 1, idx, numDays - 1) + minutes;
+        return Math.max(0, Math.max(before, after));
+    }
+
+    /**
+     * Finds the earliest due date on which the given work could be added without leaving any more minutes
+     * than before unscheduled
+     *
+     * @param minutes number of minutes of the added work
+     * @return epoch day of the earliest due date, or <code>Integer.MAX_VALUE</code> if no Day of the index fits it
+     */
+    int getEarliestFeasibleDay(long minutes) {
+        // the work fits from the Day after the last prefix whose excess would grow past the current overflow
+        int last = findLast(1, 0, numDays - 1, getOverflow() - minutes);
+        return last == numDays - 1 ? Integer.MAX_VALUE : firstDay + last + 1;
+    }
+
+    /**
+     * Finds the first Day by which more work is due than could be done
+     *
+     * @return epoch day of the first overloaded Day, or <code>Integer.MAX_VALUE</code> if there is none
+     */
+    int getFirstInfeasibleDay() {
+        int first = findFirst(1, 0, numDays - 1, 0);
+        return first == -1 ? Integer.MAX_VALUE : firstDay + first;
+    }
+
+    /**
+     * Gets the excess of the minutes due over the free minutes up to and including each Day
+     *
+     * @return excess of each Day in order, where a negative excess is spare time
+     */
+    long[] getExcesses() {
+        long[] excess = new long[numDays];
+        collect(1, 0, numDays - 1, excess);
+        return excess;
+    }
+
+    private void build(int node, int lo, int hi, long[] excess) {
+        if (lo == hi) {
+            max[node] = excess[lo];
+            return;
+        }
+        int mid = (lo + hi) >>> 1;
+        build(2 * node, lo, mid, excess);
+        build(2 * node + 1, mid + 1, hi, excess);
+        max[node] = Math.max(max[2 * node], max[2 * node + 1]);
+    }
+
+    /**
+     * Adds an amount to the excess of every prefix ending at or after the given Day
+     */
+    private void add(int node, int lo, int hi, int from, long amount) {
+        if (hi < from) {
+            return;
+        }
+        if (lo >= from) {
+            max[node] += amount;
+            lazy[node] += amount;
+            return;
+        }
+        push(node);
+        int mid = (lo + hi) >>> 1;
+        add(2 * node, lo, mid, from, amount);
+        add(2 * node + 1, mid + 1, hi, from, amount);
+        max[node] = Math.max(max[2 * node], max[2 * node + 1]);
+    }
+
+    private long query(int node, int lo, int hi, int from, int to) {
+        if (from <= lo && hi <= to) {
+            return max[node];
+        }
+        push(node);
+        int mid = (lo + hi) >>> 1;
+        long result = Long.MIN_VALUE;
+        if (from <= mid) {
+            result = query(2 * node, lo, mid, from, to);
+        }
+        if (to > mid) {
+            result = Math.max(result, query(2 * node + 1, mid + 1, hi, from, to));
+        }
+        return result;
+    }
+
+    /**
+     * Finds the last Day whose prefix excess is above the threshold, or -1 if there is none
+     */
+    private int findLast(int node, int lo, int hi, long threshold) {
+        if (max[node] <= threshold) {
+            return -1;
+        }
+        if (lo == hi) {
+            return lo;
+        }
+        push(node);
+        int mid = (lo + hi) >>> 1;
+        int idx = findLast(2 * node + 1, mid + 1, hi, threshold);
+        return idx != -1 ? idx : findLast(2 * node, lo, mid, threshold);
+    }
+
+    /**
+     * Finds the first Day whose prefix excess is above the threshold, or -1 if there is none
+     */
+    private int findFirst(int node, int lo, int hi, long threshold) {
+        if (max[node] <= threshold) {
+            return -1;
+        }
+        if (lo == hi) {
+            return lo;
+        }
+        push(node);
+        int mid = (lo + hi) >>> 1;
+        int idx = findFirst(2 * node, lo, mid, threshold);
+        return idx != -1 ? idx : findFirst(2 * node + 1, mid + 1, hi, threshold);
+    }
+
+    private void collect(int node, int lo, int hi, long[] excess) {
+        if (lo == hi) {
+            excess[lo] = max[node];
+            return;
+        }
+        push(node);
+        int mid = (lo + hi) >>> 1;
+        collect(2 * node, lo, mid, excess);
+        collect(2 * node + 1, mid + 1, hi, excess);
+    }
+
+    private void push(int node) {
+        if (lazy[node] != 0) {
+            for (int child = 2 * node; child <= 2 * node + 1; child++) {
+                max[child] += lazy[node];
+                lazy[child] += lazy[node];
+            }
+            lazy[node] = 0;
+        }
+    }
+}
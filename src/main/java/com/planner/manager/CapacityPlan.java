@@ -0,0 +1,215 @@
+package com.planner.manager;
+
+import com.planner.models.Task;
+import com.planner.models.UserConfig;
+import com.planner.schedule.day.Day;
+import com.planner.util.EventLog;
+import com.planner.util.JsonHandler;
+import com.planner.util.Serializer;
+
+import java.io.IOException;
+import java.time.Clock;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+/**
+ * Sweep of the weekly hours, the daily range of hours, and the number of Days to schedule, which builds the
+ * schedule once for every combination of them. Each variant gets its own {@link ScheduleManager}, {@link EventLog},
+ * and copy of the Tasks and Events, read back from their serialized form, so that the variants are built in parallel
+ * without touching the schedule they were taken from.
+ *
+ * @author Andrew Roe
+ */
+public final class CapacityPlan {
+
+    /** Most variants a single sweep may build */
+    public static final int MAX_VARIANTS = 256;
+
+    /** Serialized Cards, Tasks, and Events every variant starts from */
+    private final String data;
+    /** Settings the variants change */
+    private final UserConfig userConfig;
+    /** Provides the present time for every variant */
+    private final Clock clock;
+
+    /**
+     * Constructs a new {@code CapacityPlan} of the given serialized schedule
+     *
+     * @param data serialized Cards, Tasks, and Events
+     * @param userConfig settings the variants change, which are left as they are
+     * @param clock clock providing the present time for every variant
+     */
+    CapacityPlan(String data, UserConfig userConfig, Clock clock) {
+        this.data = data;
+        this.userConfig = userConfig;
+        this.clock = clock;
+    }
+
+    /**
+     * Builds the schedule of every combination of the given settings, where an empty list of settings keeps the
+     * current one
+     *
+     * @param hourOffsets hours added to each day of the week, where a day never goes below 0 or above 24 hours
+     * @param ranges daily ranges of hours, as the first and last hour
+     * @param maxDays numbers of Days to schedule
+     * @return variants in the order of the weekly hours, then the ranges, then the numbers of Days
+     * @throws IllegalArgumentException if a setting is invalid or there are more than {@link #MAX_VARIANTS} variants
+     */
+    List<Variant> run(List<Integer> hourOffsets, List<int[]> ranges, List<Integer> maxDays) {
+        List<Integer> offsets = hourOffsets.isEmpty() ? List.of(0) : hourOffsets;
+        List<int[]> dailyRanges = ranges.isEmpty() ? List.of(userConfig.getDailyHoursRange()) : ranges;
+        List<Integer> days = maxDays.isEmpty() ? List.of(userConfig.getMaxDays()) : maxDays;
+        if ((long) offsets.size() * dailyRanges.size() * days.size() > MAX_VARIANTS) {
+            throw new IllegalArgumentException("Capacity plan cannot build more than " + MAX_VARIANTS + " variants");
+        }
+
+        // settings are checked up front, so that an invalid one fails before any variant is built
+        List<UserConfig> configs = new ArrayList<>();
+        List<Integer> configOffsets = new ArrayList<>();
+        for (int offset : offsets) {
+            int[] week = userConfig.getHoursPerDayOfWeek().clone();
+            for (int i = 0; i < week.length; i++) {
+                week[i] = Math.max(0, Math.min(24, week[i] + offset));
+            }
+            for (int[] range : dailyRanges) {
+                for (int numDays : days) {
+                    UserConfig config = JsonHandler.readUserConfig(JsonHandler.createUserConfig(userConfig));
+                    config.setHoursPerDayOfWeek(week);
+                    config.setDailyHoursRange(range.clone());
+                    config.setMaxDays(numDays);
+                    configs.add(config);
+                    configOffsets.add(offset);
+                }
+            }
+        }
+        return IntStream.range(0, configs.size())
+                .parallel()
+                .mapToObj(i -> build(configOffsets.get(i), configs.get(i)))
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * Builds the schedule of a single variant and measures it
+     *
+     * @param offset hours added to each day of the week
+     * @param config settings of the variant
+     * @return built variant
+     */
+    private Variant build(int offset, UserConfig config) {
+        ScheduleManager sm = new ScheduleManager(config, new EventLog(), clock);
+        // variants are already built in parallel with each other
+        sm.setParallelism(1);
+        Serializer.deserializeSchedule(data, sm);
+        try {
+            sm.buildSchedule();
+        } catch (IOException e) {
+            throw new IllegalStateException("Capacity plan failed", e);
+        }
+
+        List<Day> schedule = sm.getSchedule();
+        int lastDay = schedule.isEmpty() ? Integer.MIN_VALUE : schedule.get(schedule.size() - 1).getEpochDay();
+        double overflowHours = 0;
+        double laterHours = 0;
+        for (Task task : sm.getTaskManager()) {
+            if (task.getDueEpochDay() <= lastDay) {
+                overflowHours += task.getSubTotalHoursRemaining();
+            } else {
+                laterHours += task.getSubTotalHoursRemaining();
+            }
+        }
+        int lastWorkDay = -1;
+        double filled = 0;
+        double usable = 0;
+        for (Day day : schedule) {
+            if (day.getNumSubTasks() > 0) {
+                lastWorkDay = day.getEpochDay();
+            }
+            filled += day.getHoursFilled();
+            usable += day.getHoursFilled() + day.getUnassignedHours();
+        }
+        return new Variant(offset, config, overflowHours, laterHours, lastWorkDay,
+                usable == 0 ? 0 : filled / usable, sm.getErrorCount());
+    }
+
+    /**
+     * Settings of a single variant of the sweep along with how its schedule turned out
+     */
+    public static final class Variant {
+        /** Hours added to each day of the week */
+        private final int hourOffset;
+        /** Hours of each day of the week */
+        private final int[] hoursPerDayOfWeek;
+        /** Daily range of hours */
+        private final int[] dailyHoursRange;
+        /** Number of Days scheduled */
+        private final int maxDays;
+        /** Hours of Tasks due within the schedule that were not scheduled by their due dates */
+        private final double overflowHours;
+        /** Hours of Tasks due after the last Day that are left for a later schedule */
+        private final double laterHours;
+        /** Epoch day of the last Day given any SubTasks (-1 if none) */
+        private final int lastWorkDay;
+        /** Fraction of the usable hours of the Days that were given SubTasks */
+        private final double utilization;
+        /** Number of errors in generating the schedule */
+        private final int errorCount;
+
+        private Variant(int hourOffset, UserConfig config, double overflowHours, double laterHours, int lastWorkDay,
+                        double utilization, int errorCount) {
+            this.hourOffset = hourOffset;
+            this.hoursPerDayOfWeek = config.getHoursPerDayOfWeek();
+            this.dailyHoursRange = config.getDailyHoursRange();
+            this.maxDays = config.getMaxDays();
+            this.overflowHours = overflowHours;
+            this.laterHours = laterHours;
+            this.lastWorkDay = lastWorkDay;
+            this.utilization = utilization;
+            this.errorCount = errorCount;
+        }
+
+        public int getHourOffset() {
+            return hourOffset;
+        }
+
+        public int[] getHoursPerDayOfWeek() {
+            return hoursPerDayOfWeek.clone();
+        }
+
+        public int[] getDailyHoursRange() {
+            return dailyHoursRange.clone();
+        }
+
+        public int getMaxDays() {
+            return maxDays;
+        }
+
+        public double getOverflowHours() {
+            return overflowHours;
+        }
+
+        public double getLaterHours() {
+            return laterHours;
+        }
+
+        public int getLastWorkDay() {
+            return lastWorkDay;
+        }
+
+        public double getUtilization() {
+            return utilization;
+        }
+
+        public int getErrorCount() {
+            return errorCount;
+        }
+
+        @Override
+        public String toString() {
+            return Arrays.toString(hoursPerDayOfWeek) + " " + Arrays.toString(dailyHoursRange) + " " + maxDays
+                    + " days: " + overflowHours + " overflow hours";
+        }
+    }
+}
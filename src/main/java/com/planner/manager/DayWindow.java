@@ -0,0 +1,155 @@
+package com.planner.manager;
+
+import com.planner.schedule.day.Day;
+
+import java.util.AbstractList;
+import java.util.Collection;
+import java.util.RandomAccess;
+
+/**
+ * Days of the schedule in order of their dates, held in a ring buffer so that the Days that have passed are
+ * dropped from the front and new Days are added to the back without moving the Days in between
+ *
+ * @author Andrew Roe
+ */
+final class DayWindow extends AbstractList<Day> implements RandomAccess {
+
+    /** Slots of the ring buffer, whose length is a power of two */
+    private Day[] days;
+    /** Slot of the first Day */
+    private int head;
+    /** Number of Days */
+    private int size;
+
+    /**
+     * Constructs an empty {@code DayWindow}
+     */
+    DayWindow() {
+        days = new Day[16];
+    }
+
+    /**
+     * Constructs a {@code DayWindow} of the given Days
+     *
+     * @param days Days in order of their dates
+     */
+    DayWindow(Collection<Day> days) {
+        this();
+        addAll(days);
+    }
+
+    @Override
+    public Day get(int index) {
+        checkIndex(index, size);
+        return days[slot(index)];
+    }
+
+    @Override
+    public Day set(int index, Day day) {
+        checkIndex(index, size);
+        int slot = slot(index);
+        Day previous = days[slot];
+        days[slot] = day;
+        return previous;
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    @Override
+    public void add(int index, Day day) {
+        checkIndex(index, size + 1);
+        modCount++;
+        if (size == days.length) {
+            grow();
+        }
+        for (int i = size; i > index; i--) {
+            days[slot(i)] = days[slot(i - 1)];
+        }
+        days[slot(index)] = day;
+        size++;
+    }
+
+    @Override
+    public Day remove(int index) {
+        checkIndex(index, size);
+        if (index == 0) {
+            return removeFirst();
+        }
+        Day removed = days[slot(index)];
+        removeRange(index, index + 1);
+        return removed;
+    }
+
+    /**
+     * Removes the first Day, which only moves the front of the window
+     *
+     * @return removed Day
+     */
+    Day removeFirst() {
+        checkIndex(0, size);
+        modCount++;
+        Day first = days[head];
+        days[head] = null;
+        head = (head + 1) & (days.length - 1);
+        size--;
+        return first;
+    }
+
+    @Override
+    protected void removeRange(int fromIndex, int toIndex) {
+        modCount++;
+        int removed = toIndex - fromIndex;
+        for (int i = fromIndex; i + removed < size; i++) {
+            days[slot(i)] = days[slot(i + removed)];
+        }
+        for (int i = size - removed; i < size; i++) {
+            days[slot(i)] = null;
+        }
+        size -= removed;
+    }
+
+    /**
+     * Gets the index of the first Day falling on or after the given epoch day
+     *
+     * @param epochDay epoch day being looked up
+     * @return index of the Day, or the number of Days if every Day falls before it
+     */
+    int indexOfDay(int epochDay) {
+        int low = 0;
+        int high = size;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (get(mid).getEpochDay() < epochDay) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    private int slot(int index) {
+        return (head + index) & (days.length - 1);
+    }
+
+    /**
+     * Doubles the number of slots, moving the first Day to the first slot
+     */
+    private void grow() {
+        Day[] grown = new Day[days.length * 2];
+        for (int i = 0; i < size; i++) {
+            grown[i] = days[slot(i)];
+        }
+        days = grown;
+        head = 0;
+    }
+
+    private static void checkIndex(int index, int bound) {
+        if (index < 0 || index >= bound) {
+            throw new IndexOutOfBoundsException("Index " + index + " out of bounds for length " + bound);
+        }
+    }
+}
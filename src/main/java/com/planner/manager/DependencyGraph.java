@@ -0,0 +1,365 @@
+package com.planner.manager;
+
+import com.planner.models.Task;
+import com.planner.util.Time;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.Deque;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+
+/**
+ * Dependencies between active Tasks, kept in a topological order that is repaired incrementally as in the
+ * algorithm of Pearce and Kelly. A dependency that agrees with the order is added as is, and one that goes against
+ * it only reorders the Tasks between its two ends that are reachable from them. A dependency that would close
+ * a cycle is found while searching that region and rejected.
+ * <p>
+ * Each Task is ordered by a deadline, which is the start of its due date unless a Task depending on it has to
+ * start earlier, so that scheduling by deadline finishes every Task before the Tasks that depend on it. After a
+ * change only the deadlines of the Tasks it depends on are repaired, in reverse topological order.
+ *
+ * @author Andrew Roe
+ */
+final class DependencyGraph {
+
+    /** Node of each Task with dependencies or dependents, indexed by ID */
+    private Node[] nodes = new Node[16];
+    /** Position given to the next Task added to the order */
+    private int nextPosition;
+    /** Number of dependencies */
+    private int numEdges;
+
+    /**
+     * Checks whether any Task has dependencies
+     *
+     * @return true if there are no dependencies
+     */
+    boolean isEmpty() {
+        return numEdges == 0;
+    }
+
+    /**
+     * Gets the Tasks a Task depends on
+     *
+     * @param task Task being checked
+     * @return Tasks that must be done before the Task, in the order they were added
+     */
+    List<Task> getDependencies(Task task) {
+        Node node = getNode(task);
+        List<Task> dependencies = new ArrayList<>();
+        if (node != null) {
+            for (Node dependency : node.dependencies) {
+                dependencies.add(dependency.task);
+            }
+        }
+        return dependencies;
+    }
+
+    /**
+     * Checks whether a Task comes before another one in the topological order
+     *
+     * @param task Task being checked
+     * @param other other Task
+     * @return true if both Tasks are ordered and the first comes before the second
+     */
+    boolean isBefore(Task task, Task other) {
+        Node node = getNode(task);
+        Node otherNode = getNode(other);
+        return node != null && otherNode != null && node.position < otherNode.position;
+    }
+
+    /**
+     * Checks whether a Task depends on another one, directly or through other Tasks
+     *
+     * @param task Task being checked
+     * @param other other Task
+     * @return true if the other Task has to be done before the Task
+     */
+    boolean dependsOn(Task task, Task other) {
+        Node start = getNode(task);
+        Node target = getNode(other);
+        // a Task only depends on Tasks that come before it in the order
+        if (start == null || target == null || start.position <= target.position) {
+            return false;
+        }
+        Deque<Node> stack = new ArrayDeque<>();
+        Set<Node> seen = Collections.newSetFromMap(new IdentityHashMap<>());
+        stack.push(start);
+        seen.add(start);
+        while (!stack.isEmpty()) {
+            Node node = stack.pop();
+            if (node == target) {
+                return true;
+            }
+            for (Node dependency : node.dependencies) {
+                if (dependency.position >= target.position && seen.add(dependency)) {
+                    stack.push(dependency);
+                }
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Adds a dependency, so that a Task is only scheduled once another one is done
+     *
+     * @param task Task that depends on the other one
+     * @param dependency Task that must be done first
+     * @return previous deadline of each Task whose deadline changed
+     * @throws IllegalArgumentException if the dependency would make a Task depend on itself
+     */
+    Map<Task, Integer> addDependency(Task task, Task dependency) {
+        if (task == dependency) {
+            throw new IllegalArgumentException("Task " + task.getId() + " cannot depend on itself.");
+        }
+        Node to = getOrAddNode(task);
+        Node from = getOrAddNode(dependency);
+        if (to.dependencies.contains(from)) {
+            return new LinkedHashMap<>();
+        }
+        if (from.position > to.position) {
+            reorder(from, to);
+        }
+        from.dependents.add(to);
+        to.dependencies.add(from);
+        numEdges++;
+        return repair(List.of(from));
+    }
+
+    /**
+     * Removes a dependency
+     *
+     * @param task Task that depends on the other one
+     * @param dependency Task that had to be done first
+     * @return previous deadline of each Task whose deadline changed
+     */
+    Map<Task, Integer> removeDependency(Task task, Task dependency) {
+        Node to = getNode(task);
+        Node from = getNode(dependency);
+        if (to == null || from == null || !to.dependencies.remove(from)) {
+            return new LinkedHashMap<>();
+        }
+        from.dependents.remove(to);
+        numEdges--;
+        Map<Task, Integer> changed = repair(List.of(from));
+        dropIfIsolated(from);
+        dropIfIsolated(to);
+        return changed;
+    }
+
+    /**
+     * Removes every dependency of and on a Task, such as when it is deleted or archived
+     *
+     * @param task Task being removed
+     * @return previous deadline of each Task whose deadline changed, including the removed one
+     */
+    Map<Task, Integer> removeTask(Task task) {
+        Node node = getNode(task);
+        if (node == null) {
+            return new LinkedHashMap<>();
+        }
+        for (Node dependency : node.dependencies) {
+            dependency.dependents.remove(node);
+        }
+        for (Node dependent : node.dependents) {
+            dependent.dependencies.remove(node);
+        }
+        numEdges -= node.dependencies.size() + node.dependents.size();
+        List<Node> affected = new ArrayList<>(node.dependencies);
+        node.dependencies.clear();
+        List<Node> dependents = new ArrayList<>(node.dependents);
+        node.dependents.clear();
+        affected.add(node);
+        Map<Task, Integer> changed = repair(affected);
+        nodes[task.getId()] = null;
+        for (Node other : affected) {
+            dropIfIsolated(other);
+        }
+        for (Node other : dependents) {
+            dropIfIsolated(other);
+        }
+        return changed;
+    }
+
+    /**
+     * Repairs the deadlines after the due date or hours of a Task changed, where setting the due date has reset
+     * the Task's deadline
+     *
+     * @param task Task that changed
+     * @return previous deadline of each Task whose deadline changed
+     */
+    Map<Task, Integer> updateTask(Task task) {
+        Node node = getNode(task);
+        if (node == null) {
+            return new LinkedHashMap<>();
+        }
+        // the hours of the Task move the deadlines of the Tasks it depends on even if its own stays the same
+        List<Node> affected = new ArrayList<>(node.dependencies);
+        affected.add(node);
+        return repair(affected);
+    }
+
+    /**
+     * Moves the Tasks between the two ends of a new dependency that goes against the order, where the Task that
+     * must be done first comes after the one depending on it. The dependents of the later one that come before
+     * the earlier one and the dependencies of the earlier one that come after the later one swap places, keeping
+     * the positions they take up.
+     */
+    private void reorder(Node from, Node to) {
+        int lower = to.position;
+        int upper = from.position;
+        List<Node> forward = new ArrayList<>();
+        Deque<Node> stack = new ArrayDeque<>();
+        stack.push(to);
+        to.visited = true;
+        while (!stack.isEmpty()) {
+            Node node = stack.pop();
+            forward.add(node);
+            for (Node dependent : node.dependents) {
+                if (dependent == from) {
+                    clearVisited(forward, stack);
+                    throw new IllegalArgumentException("Task " + to.task.getId() + " cannot depend on Task "
+                            + from.task.getId() + " since Task " + from.task.getId() + " already depends on it.");
+                }
+                if (!dependent.visited && dependent.position < upper) {
+                    dependent.visited = true;
+                    stack.push(dependent);
+                }
+            }
+        }
+        List<Node> backward = new ArrayList<>();
+        stack.push(from);
+        from.visited = true;
+        while (!stack.isEmpty()) {
+            Node node = stack.pop();
+            backward.add(node);
+            for (Node dependency : node.dependencies) {
+                if (!dependency.visited && dependency.position > lower) {
+                    dependency.visited = true;
+                    stack.push(dependency);
+                }
+            }
+        }
+
+        Comparator<Node> byPosition = Comparator.comparingInt(node -> node.position);
+        backward.sort(byPosition);
+        forward.sort(byPosition);
+        int[] positions = new int[backward.size() + forward.size()];
+        int i = 0;
+        for (Node node : backward) {
+            positions[i++] = node.position;
+            node.visited = false;
+        }
+        for (Node node : forward) {
+            positions[i++] = node.position;
+            node.visited = false;
+        }
+        Arrays.sort(positions);
+        i = 0;
+        for (Node node : backward) {
+            node.position = positions[i++];
+        }
+        for (Node node : forward) {
+            node.position = positions[i++];
+        }
+    }
+
+    private void clearVisited(List<Node> visited, Deque<Node> stack) {
+        for (Node node : visited) {
+            node.visited = false;
+        }
+        for (Node node : stack) {
+            node.visited = false;
+        }
+    }
+
+    /**
+     * Recomputes the deadlines of the given Tasks and of every Task depending on them whose deadline changes as a
+     * result, latest in the order first, so that each Task is recomputed after every one depending on it
+     *
+     * @param affected Tasks whose deadlines may have changed
+     * @return previous deadline of each Task whose deadline changed
+     */
+    private Map<Task, Integer> repair(List<Node> affected) {
+        Map<Task, Integer> changed = new LinkedHashMap<>();
+        PriorityQueue<Node> queue = new PriorityQueue<>(Comparator.comparingInt((Node node) -> node.position).reversed());
+        for (Node node : affected) {
+            if (!node.visited) {
+                node.visited = true;
+                queue.add(node);
+            }
+        }
+        while (!queue.isEmpty()) {
+            Node node = queue.poll();
+            node.visited = false;
+            int deadline = Time.toEpochMinute(node.task.getDueEpochDay(), 0);
+            for (Node dependent : node.dependents) {
+                // a Task without hours still has to start after the Tasks it depends on
+                int minutes = (int) Math.max(1, Math.round(dependent.task.getTotalHours() * 60));
+                deadline = Math.min(deadline, dependent.task.getDeadline() - minutes);
+            }
+            if (deadline != node.task.getDeadline()) {
+                changed.putIfAbsent(node.task, node.task.getDeadline());
+                node.task.setDeadline(deadline);
+                for (Node dependency : node.dependencies) {
+                    if (!dependency.visited) {
+                        dependency.visited = true;
+                        queue.add(dependency);
+                    }
+                }
+            }
+        }
+        return changed;
+    }
+
+    private Node getNode(Task task) {
+        int id = task.getId();
+        return id < nodes.length ? nodes[id] : null;
+    }
+
+    private Node getOrAddNode(Task task) {
+        int id = task.getId();
+        if (id >= nodes.length) {
+            nodes = Arrays.copyOf(nodes, Math.max(id + 1, nodes.length * 2));
+        }
+        if (nodes[id] == null) {
+            nodes[id] = new Node(task, nextPosition++);
+        }
+        return nodes[id];
+    }
+
+    private void dropIfIsolated(Node node) {
+        if (node.dependencies.isEmpty() && node.dependents.isEmpty() && nodes[node.task.getId()] == node) {
+            nodes[node.task.getId()] = null;
+        }
+    }
+
+    /**
+     * Task along with its place in the order and its dependencies
+     */
+    private static class Node {
+        /** Task of the node */
+        private final Task task;
+        /** Position of the Task in the topological order */
+        private int position;
+        /** Tasks that must be done before this one */
+        private final List<Node> dependencies = new ArrayList<>();
+        /** Tasks that can only be done after this one */
+        private final List<Node> dependents = new ArrayList<>();
+        /** Whether the node was reached by the current search */
+        private boolean visited;
+
+        private Node(Task task, int position) {
+            this.task = task;
+            this.position = position;
+        }
+    }
+}
@@ -0,0 +1,199 @@
+package com.planner.manager;
+
+import com.planner.models.Card;
+import com.planner.models.Event;
+import com.planner.models.Task;
+
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * Index of the Tasks, Events, and Cards of a {@link ScheduleManager} by their IDs, along with the Tasks and
+ * Events of each Card. Cards of indexed Tasks and Events are to be changed through the index so that
+ * the reverse indexes stay up to date.
+ *
+ * @author Andrew Roe
+ */
+final class EntityIndex {
+
+    /** Tasks by ID */
+    private final IntMap<Task> tasks = new IntMap<>();
+    /** Events by ID */
+    private final IntMap<Event> events = new IntMap<>();
+    /** Cards by ID */
+    private final IntMap<Card> cards = new IntMap<>();
+    /** Tasks of each Card by Task ID, indexed by Card ID */
+    private final IntMap<IntMap<Task>> cardTasks = new IntMap<>();
+    /** Events of each Card by Event ID, indexed by Card ID */
+    private final IntMap<IntMap<Event>> cardEvents = new IntMap<>();
+
+    /**
+     * Adds a Task to the index
+     *
+     * @param task Task being added
+     */
+    void addTask(Task task) {
+        tasks.put(task.getId(), task);
+        link(cardTasks, task.getCard(), task.getId(), task);
+    }
+
+    /**
+     * Gets a Task by its ID
+     *
+     * @param id ID of the Task
+     * @return Task with the ID, or null if there is none
+     */
+    Task getTask(int id) {
+        return tasks.get(id);
+    }
+
+    /**
+     * Gets every Task in order of their IDs
+     *
+     * @return new List of the Tasks
+     */
+    List<Task> getTasks() {
+        List<Task> list = tasks.values();
+        list.sort(Comparator.comparingInt(Task::getId));
+        return list;
+    }
+
+    /**
+     * Removes a Task from the index
+     *
+     * @param id ID of the Task
+     * @return removed Task, or null if there was none
+     */
+    Task removeTask(int id) {
+        Task task = tasks.remove(id);
+        if (task != null) {
+            unlink(cardTasks, task.getCard(), id);
+        }
+        return task;
+    }
+
+    /**
+     * Changes the Card of an indexed Task
+     *
+     * @param task Task being changed
+     * @param card new Card of the Task
+     */
+    void setTaskCard(Task task, Card card) {
+        unlink(cardTasks, task.getCard(), task.getId());
+        task.setCard(card);
+        link(cardTasks, card, task.getId(), task);
+    }
+
+    /**
+     * Adds an Event to the index
+     *
+     * @param event Event being added
+     */
+    void addEvent(Event event) {
+        events.put(event.getId(), event);
+        link(cardEvents, event.getCard(), event.getId(), event);
+    }
+
+    /**
+     * Gets an Event by its ID
+     *
+     * @param id ID of the Event
+     * @return Event with the ID, or null if there is none
+     */
+    Event getEvent(int id) {
+        return events.get(id);
+    }
+
+    /**
+     * Removes an Event from the index
+     *
+     * @param id ID of the Event
+     * @return removed Event, or null if there was none
+     */
+    Event removeEvent(int id) {
+        Event event = events.remove(id);
+        if (event != null) {
+            unlink(cardEvents, event.getCard(), id);
+        }
+        return event;
+    }
+
+    /**
+     * Changes the Card of an indexed Event
+     *
+     * @param event Event being changed
+     * @param card new Card of the Event
+     */
+    void setEventCard(Event event, Card card) {
+        unlink(cardEvents, event.getCard(), event.getId());
+        event.setCard(card);
+        link(cardEvents, card, event.getId(), event);
+    }
+
+    /**
+     * Adds a Card to the index
+     *
+     * @param card Card being added
+     */
+    void addCard(Card card) {
+        cards.put(card.getId(), card);
+    }
+
+    /**
+     * Gets a Card by its ID
+     *
+     * @param id ID of the Card
+     * @return Card with the ID, or null if there is none
+     */
+    Card getCard(int id) {
+        return cards.get(id);
+    }
+
+    /**
+     * Removes a Card from the index and from each of its Tasks and Events
+     *
+     * @param id ID of the Card
+     * @return removed Card, or null if there was none
+     */
+    Card removeCard(int id) {
+        Card card = cards.remove(id);
+        if (card != null) {
+            IntMap<Task> taskLinks = cardTasks.remove(id);
+            if (taskLinks != null) {
+                for (Task task : taskLinks.values()) {
+                    task.setCard(null);
+                }
+            }
+            IntMap<Event> eventLinks = cardEvents.remove(id);
+            if (eventLinks != null) {
+                for (Event event : eventLinks.values()) {
+                    event.setCard(null);
+                }
+            }
+        }
+        return card;
+    }
+
+    private static <T> void link(IntMap<IntMap<T>> links, Card card, int id, T entity) {
+        if (card != null) {
+            IntMap<T> entities = links.get(card.getId());
+            if (entities == null) {
+                entities = new IntMap<>();
+                links.put(card.getId(), entities);
+            }
+            entities.put(id, entity);
+        }
+    }
+
+    private static <T> void unlink(IntMap<IntMap<T>> links, Card card, int id) {
+        if (card != null) {
+            IntMap<T> entities = links.get(card.getId());
+            if (entities != null) {
+                entities.remove(id);
+                if (entities.isEmpty()) {
+                    links.remove(card.getId());
+                }
+            }
+        }
+    }
+}
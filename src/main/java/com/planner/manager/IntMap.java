@@ -0,0 +1,176 @@
+package com.planner.manager;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Hash map from primitive int keys to non-null values, using open addressing with linear probing so that
+ * neither the keys nor the entries are boxed
+ *
+ * @param <V> type of the values
+ * @author Andrew Roe
+ */
+final class IntMap<V> {
+
+    /** Keys of the occupied slots */
+    private int[] keys;
+    /** Values of the slots, where null marks a free slot */
+    private Object[] values;
+    /** Number of entries */
+    private int size;
+    /** Number of slots minus one, used to wrap slot indices */
+    private int mask;
+
+    /**
+     * Constructs an empty {@code IntMap}
+     */
+    IntMap() {
+        keys = new int[16];
+        values = new Object[16];
+        mask = 15;
+    }
+
+    /**
+     * Gets the value of a key
+     *
+     * @param key key being looked up
+     * @return value of the key, or null if there is none
+     */
+    @SuppressWarnings("unchecked")
+    V get(int key) {
+        for (int i = slot(key); values[i] != null; i = (i + 1) & mask) {
+            if (keys[i] == key) {
+                return (V) values[i];
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Determines whether the map has a value for a key
+     *
+     * @param key key being looked up
+     * @return true if the key has a value
+     */
+    boolean containsKey(int key) {
+        return get(key) != null;
+    }
+
+    /**
+     * Sets the value of a key
+     *
+     * @param key key being set
+     * @param value new value of the key
+     * @return previous value of the key, or null if there was none
+     */
+    @SuppressWarnings("unchecked")
+    V put(int key, V value) {
+        if (value == null) {
+            throw new IllegalArgumentException("IntMap values cannot be null");
+        }
+        int i = slot(key);
+        for (; values[i] != null; i = (i + 1) & mask) {
+            if (keys[i] == key) {
+                V previous = (V) values[i];
+                values[i] = value;
+                return previous;
+            }
+        }
+        keys[i] = key;
+        values[i] = value;
+        // keeps the table at most half full so that probe sequences stay short
+        if (++size * 2 > values.length) {
+            resize(values.length * 2);
+        }
+        return null;
+    }
+
+    /**
+     * Removes the value of a key
+     *
+     * @param key key being removed
+     * @return removed value, or null if the key had none
+     */
+    @SuppressWarnings("unchecked")
+    V remove(int key) {
+        int i = slot(key);
+        while (values[i] != null && keys[i] != key) {
+            i = (i + 1) & mask;
+        }
+        if (values[i] == null) {
+            return null;
+        }
+        V removed = (V) values[i];
+        size--;
+        // shifts back the entries after the removed one that would otherwise no longer be reachable
+        int free = i;
+        for (int j = (i + 1) & mask; values[j] != null; j = (j + 1) & mask) {
+            int home = slot(keys[j]);
+            if (((j - home) & mask) >= ((j - free) & mask)) {
+                keys[free] = keys[j];
+                values[free] = values[j];
+                free = j;
+            }
+        }
+        values[free] = null;
+        return removed;
+    }
+
+    /**
+     * Gets the number of entries
+     *
+     * @return number of entries
+     */
+    int size() {
+        return size;
+    }
+
+    /**
+     * Determines whether the map has no entries
+     *
+     * @return true if there are no entries
+     */
+    boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * Gets the values of every entry, in no particular order
+     *
+     * @return new List of the values
+     */
+    @SuppressWarnings("unchecked")
+    List<V> values() {
+        List<V> list = new ArrayList<>(size);
+        for (Object value : values) {
+            if (value != null) {
+                list.add((V) value);
+            }
+        }
+        return list;
+    }
+
+    private int slot(int key) {
+        // spreads sequential IDs over the table with a Fibonacci hash
+        int hash = key * 0x9E3779B9;
+        return (hash ^ (hash >>> 16)) & mask;
+    }
+
+    private void resize(int length) {
+        int[] oldKeys = keys;
+        Object[] oldValues = values;
+        keys = new int[length];
+        values = new Object[length];
+        mask = length - 1;
+        for (int i = 0; i < oldValues.length; i++) {
+            if (oldValues[i] != null) {
+                int j = slot(oldKeys[i]);
+                while (values[j] != null) {
+                    j = (j + 1) & mask;
+                }
+                keys[j] = oldKeys[i];
+                values[j] = oldValues[i];
+            }
+        }
+    }
+}
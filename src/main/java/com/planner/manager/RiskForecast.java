@@ -0,0 +1,254 @@
+package com.planner.manager;
+
+import com.planner.models.Task;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Locale;
+import java.util.Random;
+import java.util.stream.IntStream;
+
+/**
+ * Monte Carlo forecast of which Tasks miss their due dates when their hours turn out longer or shorter than estimated.
+ * Each run draws new hours for every Task and fills the free minutes of each Day with them in the order the default
+ * scheduler takes them: by deadline, which puts a Task before the Tasks depending on it, then most hours first.
+ * Like the scheduler, a Task that is not done by the end of its due date keeps its missing hours, which overflow on
+ * that Day and are not carried over to later Days.
+ * <p>
+ * The runs only work on arrays of minutes, so that thousands of them can run in parallel without building any Days.
+ * This makes the forecast a model of the schedule rather than a build of it: the free minutes of a Day are its hours
+ * around its Events capped by the hours for its day of the week, as for the {@link CapacityIndex}, and are filled
+ * whole. SubTasks shorter than the minimum hours, or that do not fit between Events, are not ruled out, so a build
+ * can leave a few more hours unscheduled than the forecast.
+ * <p>
+ * Runs are split into fixed chunks with their own seeds, so a forecast with the same seed gives the same result
+ * however many threads run it.
+ *
+ * @author Andrew Roe
+ */
+public final class RiskForecast {
+
+    /** Number of runs in each chunk of runs given to a thread */
+    private static final int CHUNK_RUNS = 256;
+
+    /**
+     * Distribution the actual hours of a Task are drawn from, as a factor of its estimated hours
+     */
+    public enum Distribution {
+        /** Factor anywhere within the spread of 1 */
+        UNIFORM,
+        /** Factor around 1 with the spread as its standard deviation, never below 0 */
+        NORMAL,
+        /** Factor with a mean of 1 and the spread as the standard deviation of its logarithm, so overruns are longer than underruns */
+        LOGNORMAL;
+
+        /**
+         * Gets the distribution with the given name, ignoring case
+         *
+         * @param name name of the distribution
+         * @return distribution with the given name
+         * @throws IllegalArgumentException if no distribution has the given name
+         */
+        public static Distribution fromName(String name) {
+            try {
+                return valueOf(name.trim().toUpperCase(Locale.ROOT));
+            } catch (IllegalArgumentException e) {
+                throw new IllegalArgumentException("Unknown distribution '" + name + "'. Expected uniform, normal, or lognormal.");
+            }
+        }
+
+        private double sample(Random random, double spread) {
+            switch (this) {
+                case UNIFORM:
+                    return Math.max(0, 1 + spread * (2 * random.nextDouble() - 1));
+                case NORMAL:
+                    return Math.max(0, 1 + spread * random.nextGaussian());
+                default:
+                    return Math.exp(spread * random.nextGaussian() - spread * spread / 2);
+            }
+        }
+    }
+
+    /** Tasks in the order they are scheduled */
+    private final List<Task> tasks;
+    /** Epoch day of the first Day */
+    private final int firstDay;
+    /** Free minutes of each Day */
+    private final int[] capacities;
+    /** Index of the Day each Task is due on */
+    private final int[] dueDays;
+    /** Estimated minutes of each Task */
+    private final int[] minutes;
+    /** Number of runs */
+    private int runs;
+    /** Number of runs in which each Task missed its due date */
+    private int[] missCounts;
+    /** Number of runs in which a Task due on each Day missed it */
+    private int[] overloadCounts;
+
+    /**
+     * Constructs a new {@code RiskForecast} of the given Tasks, before any runs
+     *
+     * @param tasks active Tasks due on or after the first Day
+     * @param firstDay epoch day of the first Day
+     * @param capacities free minutes of each consecutive Day, starting with the first
+     */
+    RiskForecast(List<Task> tasks, int firstDay, int[] capacities) {
+        this.tasks = new ArrayList<>(tasks);
+        // the order of the scheduler's queue of Tasks, before any of their hours are scheduled
+        this.tasks.sort(Comparator.comparingInt(Task::getDeadline)
+                .thenComparing(Comparator.comparingDouble(Task::getTotalHours).reversed())
+                .thenComparingInt(Task::getId));
+        this.firstDay = firstDay;
+        this.capacities = capacities.clone();
+        this.dueDays = new int[this.tasks.size()];
+        this.minutes = new int[this.tasks.size()];
+        for (int i = 0; i < dueDays.length; i++) {
+            Task task = this.tasks.get(i);
+            if (task.getDueEpochDay() < firstDay) {
+                throw new IllegalArgumentException("Task is due before the first Day of the forecast");
+            }
+            dueDays[i] = task.getDueEpochDay() - firstDay;
+            minutes[i] = (int) Math.round(task.getTotalHours() * 60);
+        }
+        this.missCounts = new int[dueDays.length];
+        this.overloadCounts = new int[capacities.length];
+    }
+
+    /**
+     * Runs the forecast, replacing the results of any earlier runs
+     *
+     * @param runs number of runs
+     * @param distribution distribution the actual hours are drawn from
+     * @param spread spread of the distribution, relative to the estimated hours
+     * @param seed seed of the runs
+     */
+    void simulate(int runs, Distribution distribution, double spread, long seed) {
+        if (runs < 1) {
+            throw new IllegalArgumentException("Risk forecast needs at least one run");
+        }
+        if (spread < 0 || Double.isNaN(spread)) {
+            throw new IllegalArgumentException("Risk forecast spread cannot be negative");
+        }
+        int numChunks = (runs + CHUNK_RUNS - 1) / CHUNK_RUNS;
+        int[] counts = IntStream.range(0, numChunks)
+                .parallel()
+                .mapToObj(chunk -> simulateChunk(Math.min(CHUNK_RUNS, runs - chunk * CHUNK_RUNS), distribution,
+                        spread, seed * 31 + chunk))
+                .reduce(new int[dueDays.length + capacities.length], (a, b) -> {
+                    int[] sum = new int[a.length];
+                    for (int i = 0; i < sum.length; i++) {
+                        sum[i] = a[i] + b[i];
+                    }
+                    return sum;
+                });
+        this.runs = runs;
+        missCounts = Arrays.copyOfRange(counts, 0, dueDays.length);
+        overloadCounts = Arrays.copyOfRange(counts, dueDays.length, counts.length);
+    }
+
+    /**
+     * Runs a chunk of runs, only allocating the arrays that count their results
+     *
+     * @return number of misses of each Task followed by the number of overloads of each Day
+     */
+    private int[] simulateChunk(int chunkRuns, Distribution distribution, double spread, long seed) {
+        Random random = new Random(seed);
+        int numTasks = dueDays.length;
+        int numDays = capacities.length;
+        int[] counts = new int[numTasks + numDays];
+        // last run in which each Day was counted as overloaded, so that a Day counts once per run
+        int[] counted = new int[numDays];
+        for (int run = 1; run <= chunkRuns; run++) {
+            int day = 0;
+            int left = numDays == 0 ? 0 : capacities[0];
+            for (int t = 0; t < numTasks; t++) {
+                int last = Math.min(dueDays[t], numDays - 1);
+                int need = (int) Math.round(minutes[t] * distribution.sample(random, spread));
+                while (need > 0 && day <= last) {
+                    if (left == 0) {
+                        day++;
+                        left = day < numDays ? capacities[day] : 0;
+                        continue;
+                    }
+                    int taken = Math.min(need, left);
+                    need -= taken;
+                    left -= taken;
+                }
+                // Tasks due past the last Day may still be scheduled after it
+                if (need > 0 && dueDays[t] < numDays) {
+                    counts[t]++;
+                    if (counted[dueDays[t]] != run) {
+                        counted[dueDays[t]] = run;
+                        counts[numTasks + dueDays[t]]++;
+                    }
+                }
+            }
+        }
+        return counts;
+    }
+
+    /**
+     * Gets the number of runs of the forecast
+     *
+     * @return number of runs
+     */
+    public int getRuns() {
+        return runs;
+    }
+
+    /**
+     * Gets the Tasks of the forecast
+     *
+     * @return unmodifiable list of Tasks, in the order they are scheduled
+     */
+    public List<Task> getTasks() {
+        return Collections.unmodifiableList(tasks);
+    }
+
+    /**
+     * Gets the probability that a Task misses its due date
+     *
+     * @param task Task of the forecast
+     * @return fraction of runs in which the Task missed its due date
+     * @throws IllegalArgumentException if the Task is not part of the forecast
+     */
+    public double getMissProbability(Task task) {
+        int idx = tasks.indexOf(task);
+        if (idx == -1) {
+            throw new IllegalArgumentException("Task is not part of the risk forecast");
+        }
+        return runs == 0 ? 0 : (double) missCounts[idx] / runs;
+    }
+
+    /**
+     * Gets the probability that a Task due on a Day misses its due date, which is when the Day is overloaded
+     * and the scheduler reports the hours of the Task as overflow on it
+     *
+     * @param epochDay epoch day of the Day
+     * @return fraction of runs in which the Day was overloaded, or 0 for a Day outside the forecast
+     */
+    public double getOverloadProbability(int epochDay) {
+        int idx = epochDay - firstDay;
+        return runs == 0 || idx < 0 || idx >= overloadCounts.length ? 0 : (double) overloadCounts[idx] / runs;
+    }
+
+    /**
+     * Gets the Days that were overloaded in any run, most often overloaded first
+     *
+     * @return epoch days of the overloaded Days
+     */
+    public List<Integer> getOverloadedDays() {
+        List<Integer> days = new ArrayList<>();
+        for (int i = 0; i < overloadCounts.length; i++) {
+            if (overloadCounts[i] > 0) {
+                days.add(firstDay + i);
+            }
+        }
+        days.sort(Comparator.comparingInt((Integer day) -> -overloadCounts[day - firstDay]).thenComparingInt(day -> day));
+        return days;
+    }
+}
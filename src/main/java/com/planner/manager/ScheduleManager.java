@@ -5,14 +5,27 @@ import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.security.GeneralSecurityException;
+import java.time.Clock;
 import java.util.*;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ForkJoinPool;
 
 import com.planner.io.IOProcessing;
 import com.planner.io.SpreadsheetIO;
 import com.planner.models.*;
 import com.planner.io.GoogleCalendarIO;
+import com.planner.schedule.FlowScheduler;
+import com.planner.schedule.LocalSearchScheduler;
+import com.planner.schedule.PlanScheduler;
+import com.planner.schedule.ScheduleStrategy;
 import com.planner.schedule.Scheduler;
+import com.planner.schedule.SchedulerProvider;
+import com.planner.schedule.SchedulerProvider.Capability;
+import com.planner.schedule.SchedulerRegistry;
+import com.planner.schedule.TaskHeap;
 import com.planner.schedule.day.Day;
+import com.planner.schedule.day.DayTemplate;
+import com.planner.schedule.day.EventIntervals;
 import com.planner.ui.formatters.FormatType;
 import com.planner.util.*;
 import com.planner.ui.tables.TableFormatter;
@@ -27,35 +40,44 @@ public class ScheduleManager {
 
     /** List of Cards holding Tasks */
     private List<Card> cards;
-    /** LinkedList of Days representing a single schedule */
-    private List<Day> schedule;
-    /** PriorityQueue of all archived Tasks in sorted order */
-    private PriorityQueue<Task> archivedTasks;
-    /** PriorityQueue of all Tasks in sorted order */
-    private PriorityQueue<Task> taskManager;
-    /** Mapping of all Tasks via their unique IDs */
-    private Map<Integer, Task> taskMap;
+    /** Days of the schedule from today onward, keyed by their epoch days */
+    private DayWindow schedule;
+    /** Days that passed since they were scheduled, whose hours count as done for the Tasks that are still active */
+    private DayWindow archivedDays;
+    /** Whether the Days of the schedule were assigned by a build, rather than read from a file */
+    private boolean windowBuilt;
+    /** Heap of all archived Tasks in sorted order */
+    private TaskHeap archivedTasks;
+    /** Heap of all active Tasks in sorted order, keyed by their hours before scheduling */
+    private TaskHeap taskManager;
+    /** Active Tasks left to schedule during a build, reused between builds */
+    private Queue<Task> scheduledTasks;
+    /** Index of all Tasks, Events, and Cards via their unique IDs */
+    private final EntityIndex index = new EntityIndex();
     /** Performs all scheduling operations for each day */
     private Scheduler scheduler;
+    /** Engine the Scheduler was created by (null if it was set directly) */
+    private SchedulerProvider schedulerProvider;
     /** Holds all user settings for scheduling purposes */
     private UserConfig userConfig;
     /** Logs all actions performed by user */
-    private EventLog eventLog;
+    private final EventLog eventLog;
+    /** Provides the present time when building the schedule */
+    private final Clock clock;
     /** Stores custom hours for future days */
-    private Map<Integer, Integer> customHours;
+    private IntMap<Integer> customHours;
     /** Total count for the number of errors that occurred in schedule generation */
     private int errorCount;
     /** ID counter for Tasks */
     private int taskId;
-    /** ID specifier for each Day */
-    private int dayId;
     /** ID for card */
     private int cardId;
     /** Last day Task is due */
     private int lastDueDate;
     private GoogleCalendarIO googleCalendarIO;
     private SpreadsheetIO spreadsheetIO;
-    private Calendar scheduleTime;
+    /** Epoch minute at which the schedule was last built */
+    private int scheduleTime;
     /** List for storing individual events */
     private final List<Event> indivEvents;
     /** List of Lists for storing recurring events.
@@ -65,32 +87,69 @@ public class ScheduleManager {
     private final List<List<Event>> recurringEvents;
     /** ID for event */
     private int eventId;
+    /** Layout of the recurring Events for each day of the week (null until built or after a recurring Event changes) */
+    private DayTemplate[] dayTemplates;
+    /** Individual Events indexed by their epoch minutes (null until built or after an individual Event changes) */
+    private EventIntervals indivIntervals;
+    /** Individual Events indexed by their minutes of the day, for each day of the week (built along with indivIntervals) */
+    private EventIntervals[] indivTimesOfDay;
+    /** Earliest epoch day affected by changes since the last build (Integer.MAX_VALUE if none) */
+    private int rebuildDay = Integer.MAX_VALUE;
+    /** Whether the next build must regenerate the entire schedule */
+    private boolean fullRebuild = true;
+    /** Free minutes against minutes due for each Day of the horizon (null until needed or after the config changes) */
+    private CapacityIndex capacityIndex;
+    /** Fewest Days worth scheduling as a segment of their own */
+    private static final int MIN_SEGMENT_DAYS = 7;
+    /** Number of segments of the horizon that a full build may schedule concurrently */
+    private int parallelism = ForkJoinPool.getCommonPoolParallelism();
+    /** Dependencies between the active Tasks, which order each Task before the Tasks depending on it */
+    private final DependencyGraph dependencies = new DependencyGraph();
+    /** Schedules built before, by the hash of their inputs (null if builds are not cached) */
+    private BuildCache buildCache;
+    /** Progress of the builds, through which they may be cancelled (null if not followed) */
+    private volatile BuildProgress buildProgress;
 
     /**
-     * Private constructor of ScheduleManager
-     * Initially performs task processing as well as schedule generation
+     * Constructs a ScheduleManager for the current user, with the settings from 'settings/profile.json',
+     * the shared EventLog of the session, and the system clock
      */
     public ScheduleManager() {
-        try {
-            eventLog = EventLog.getEventLog();
-        } catch (FileNotFoundException e) {
-            throw new IllegalArgumentException("Could not locate logging file");
+        this(getSessionEventLog());
+    }
+
+    private ScheduleManager(EventLog eventLog) {
+        this(readUserConfigFile(eventLog), eventLog, Clock.systemDefaultZone());
+    }
+
+    /**
+     * Constructs a ScheduleManager that only works with what it is given, so that several of them can
+     * schedule independent profiles concurrently
+     *
+     * @param userConfig user settings for scheduling purposes, which must not be modified while in use
+     * @param eventLog EventLog for logging actions, which must not be shared with a concurrently used ScheduleManager
+     * @param clock clock providing the present time when building the schedule
+     */
+    public ScheduleManager(UserConfig userConfig, EventLog eventLog, Clock clock) {
+        if (userConfig == null || eventLog == null || clock == null) {
+            throw new IllegalArgumentException("ScheduleManager requires a config, an EventLog, and a clock");
         }
-        eventLog.reportUserLogin();
-        processUserConfigFile();
+        this.userConfig = userConfig;
+        this.eventLog = eventLog;
+        this.clock = clock;
 
-        taskManager = new PriorityQueue<>();
+        taskManager = new TaskHeap();
 //        spreadsheetIO = new SpreadsheetIO(eventLog);
 
-        scheduler = Scheduler.getInstance(userConfig, eventLog);
-        // in situations where ScheduleManager is run multiple times after updates to config, this ensures options are set up properly
-        scheduler.updateConfig(userConfig);
+        schedulerProvider = SchedulerRegistry.getProvider(userConfig.getScheduler());
+        scheduler = schedulerProvider.newScheduler(userConfig, eventLog);
+        scheduledTasks = scheduler.newTaskQueue();
 
-        schedule = new LinkedList<>();
-        customHours = new HashMap<>();
-        taskMap = new HashMap<>();
+        schedule = new DayWindow();
+        archivedDays = new DayWindow();
+        customHours = new IntMap<>();
         cards = new ArrayList<>();
-        archivedTasks = new PriorityQueue<>();
+        archivedTasks = new TaskHeap();
         indivEvents = new ArrayList<>();
 
         // Gotta initialize all the lists lol
@@ -107,15 +166,35 @@ public class ScheduleManager {
 
     }
 
+    /**
+     * Gets the shared EventLog of the session and reports the user login
+     *
+     * @return shared EventLog
+     */
+    private static EventLog getSessionEventLog() {
+        EventLog eventLog;
+        try {
+            eventLog = EventLog.getEventLog();
+        } catch (FileNotFoundException e) {
+            throw new IllegalArgumentException("Could not locate logging file");
+        }
+        eventLog.reportUserLogin();
+        return eventLog;
+    }
+
     /**
      * Processes all settings configurations to be used
+     *
+     * @param eventLog EventLog for reporting the processing
+     * @return user settings from the settings file
      */
-    private void processUserConfigFile() {
+    private static UserConfig readUserConfigFile(EventLog eventLog) {
         try {
             eventLog.reportProcessConfig("profile.json");
             String configStr = Files.readString(Paths.get("settings/profile.json"));
-            userConfig = JsonHandler.readUserConfig(configStr);
+            UserConfig userConfig = JsonHandler.readUserConfig(configStr);
             eventLog.reportUserConfigAttr(userConfig);
+            return userConfig;
         } catch (FileNotFoundException e) {
             eventLog.reportException(e);
             throw new IllegalArgumentException("Could not locate settings file");
@@ -178,9 +257,29 @@ public class ScheduleManager {
 //        eventLog.reportWriteJBinFile(filename);
     }
 
-//    public void setScheduleOption(int idx) {
-//        scheduler = Scheduler.getInstance(userConfig, eventLog, idx);
-//    }
+    /**
+     * Selects the scheduling engine registered under the given name, which then generates the entire schedule
+     * on the next build. The UserConfig is left as it is, since it may be shared, so its 'scheduler' option only
+     * names the engine the ScheduleManager starts with.
+     *
+     * @param name name of the engine, ignoring case
+     * @return engine that was selected
+     */
+    public SchedulerProvider setSchedulerName(String name) {
+        SchedulerProvider provider = SchedulerRegistry.getProvider(name);
+        setScheduler(provider.newScheduler(userConfig, eventLog));
+        schedulerProvider = provider;
+        return provider;
+    }
+
+    /**
+     * Gets the engine the current Scheduler was created by
+     *
+     * @return engine of the Scheduler, or null if the Scheduler was set directly
+     */
+    public SchedulerProvider getSchedulerProvider() {
+        return schedulerProvider;
+    }
 
     /**
      * Gets cards
@@ -228,26 +327,80 @@ public class ScheduleManager {
     }
 
     /**
-     * Gets a priority queue off all non-archived tasks
+     * Gets a heap of all non-archived tasks
      *
-     * @return Priority queue storing all non-archived tasks in sorted order
+     * @return heap storing all non-archived tasks in sorted order
      */
-    public PriorityQueue<Task> getTaskManager() {
+    public TaskHeap getTaskManager() {
         return taskManager;
     }
 
     /**
-     * Gets a priority queue off all archived tasks
+     * Gets a heap of all archived tasks
      *
-     * @return Priority queue storing all archived tasks in sorted order
+     * @return heap storing all archived tasks in sorted order
      */
-    public PriorityQueue<Task> getArchivedTasks() { return archivedTasks; }
+    public TaskHeap getArchivedTasks() { return archivedTasks; }
 
     public void setUserConfig(UserConfig userConfig) {
         if (userConfig == null) {
             throw new IllegalArgumentException("UserConfig cannot be null");
         }
+        String previous = this.userConfig.getScheduler();
         this.userConfig = userConfig;
+        fullRebuild = true;
+        capacityIndex = null;
+        // the selected engine is kept unless the config names another one, and so is a Scheduler that was set directly
+        if (schedulerProvider != null
+                && SchedulerRegistry.getProvider(userConfig.getScheduler()) != SchedulerRegistry.getProvider(previous)) {
+            setSchedulerName(userConfig.getScheduler());
+        }
+    }
+
+    /**
+     * Sets the Scheduler used for building the schedule, which then has to be regenerated entirely
+     *
+     * @param scheduler Scheduler assigning the Tasks of each Day
+     */
+    public void setScheduler(Scheduler scheduler) {
+        if (scheduler == null) {
+            throw new IllegalArgumentException("Scheduler cannot be null");
+        }
+        this.scheduler = scheduler;
+        schedulerProvider = null;
+        scheduledTasks = scheduler.newTaskQueue();
+        fullRebuild = true;
+    }
+
+    /**
+     * Sets the cache of built schedules, which may be shared with other ScheduleManagers of the session
+     *
+     * @param buildCache cache of built schedules, or null to not cache them
+     */
+    public void setBuildCache(BuildCache buildCache) {
+        this.buildCache = buildCache;
+    }
+
+    /**
+     * Sets the progress that the next builds publish, which another thread may cancel them through. A cancelled
+     * build throws a {@link java.util.concurrent.CancellationException} and leaves the schedule as it was before.
+     *
+     * @param buildProgress progress of the builds, or null to not follow them
+     */
+    public void setBuildProgress(BuildProgress buildProgress) {
+        this.buildProgress = buildProgress;
+    }
+
+    /**
+     * Sets the number of segments of the horizon that a full build may schedule concurrently
+     *
+     * @param parallelism number of segments, where 1 schedules every Day in turn
+     */
+    void setParallelism(int parallelism) {
+        if (parallelism < 1) {
+            throw new IllegalArgumentException("Parallelism must be at least 1");
+        }
+        this.parallelism = parallelism;
     }
 
     /**
@@ -313,8 +466,14 @@ public class ScheduleManager {
 
             e = new Event(eventId, name, card, timeStamp);
             indivEvents.add(e);
+            if (indivIntervals != null) {
+                indexIndivEvent(e);
+            }
         }
+        index.addEvent(e);
 
+        markEventChange(e);
+        updateCapacity(e.isRecurring() ? e.getDays() : null, e.getTimeStamp().getEpochDay());
         eventLog.reportEventAction(e, 0);
 
         eventId++;
@@ -333,6 +492,7 @@ public class ScheduleManager {
         Card card = new Card(cardId, title, color);
 
         cards.add(card);
+        index.addCard(card);
         eventLog.reportCardAction(card, 0);
 
         cardId++;
@@ -356,18 +516,93 @@ public class ScheduleManager {
         }
         Task task = new Task(taskId, name, hours, due, c);
 
-        Calendar curr = Calendar.getInstance();
-        if (task.getTotalHours() == 0 || (!Time.doDatesMatch(curr, task.getDueDate()) && task.getDueDate().compareTo(curr) < 0)) {
+        if (task.getTotalHours() == 0 || task.getDueEpochDay() < Time.getCurrentEpochDay(clock)) {
             archivedTasks.add(task);
         } else {
             taskManager.add(task);
+            markTaskChange(task);
+            updateDemand(task, 1);
         }
 
-        taskMap.put(taskId, task);
+        index.addTask(task);
         taskId++;
 
-        eventLog.reportTaskAction(task, 0);
+        eventLog.reportTaskAction(task, 0, Time.getCurrentEpochDay(clock));
+
+        return task;
+    }
+
+    /**
+     * Adds a Task that depends on other Tasks, adding nothing if it cannot depend on all of them
+     *
+     * @param name name of the Task
+     * @param hours number of hours
+     * @param due due date of the Task
+     * @param cardId ID of the Card of the Task
+     * @param dependencyIds IDs of the Tasks that must be done first
+     * @return Task that was added
+     * @throws IllegalArgumentException if a dependency is not an active Task, or if the Task would be archived
+     */
+    public Task addTask(String name, double hours, Calendar due, Integer cardId, List<Integer> dependencyIds) {
+        if (!dependencyIds.isEmpty()) {
+            // a new Task has no dependents, so its dependencies cannot form a cycle
+            checkStaysActive(taskId, hours, Time.toEpochDay(due));
+            for (int dependencyId : dependencyIds) {
+                getActiveTask(dependencyId);
+            }
+        }
+        Task task = addTask(name, hours, due, cardId);
+        for (int dependencyId : dependencyIds) {
+            addDependency(task.getId(), dependencyId);
+        }
+        return task;
+    }
 
+    /**
+     * Modifies a Task along with its dependencies, modifying nothing if any of the dependencies cannot be changed
+     *
+     * @param id ID of the Task to be modified
+     * @param name new name of the Task
+     * @param hours new number of hours
+     * @param due new due date of the Task
+     * @param cardId ID of the new Card of the Task
+     * @param removedIds IDs of the Tasks that no longer have to be done first
+     * @param dependencyIds IDs of the Tasks that must be done first
+     * @return Task after it's modified
+     * @throws IllegalArgumentException if either Task of a dependency is not active once the Task is modified, or if
+     * a dependency would form a cycle
+     */
+    public Task modTask(int id, String name, Double hours, Calendar due, Integer cardId, List<Integer> removedIds,
+                        List<Integer> dependencyIds) {
+        Task task = index.getTask(id);
+        if (task == null) {
+            throw new IllegalArgumentException("Could not locate Task " + id + ".");
+        }
+        if (!removedIds.isEmpty() || !dependencyIds.isEmpty()) {
+            checkStaysActive(id, hours == null ? task.getTotalHours() : hours,
+                    due == null ? task.getDueEpochDay() : Time.toEpochDay(due));
+            for (int dependencyId : removedIds) {
+                getActiveTask(dependencyId);
+            }
+            for (int dependencyId : dependencyIds) {
+                Task dependency = getActiveTask(dependencyId);
+                if (dependency == task) {
+                    throw new IllegalArgumentException("Task " + id + " cannot depend on itself.");
+                }
+                // the dependencies added and removed all start at the Task, so none of them is on such a path
+                if (dependencies.dependsOn(dependency, task)) {
+                    throw new IllegalArgumentException("Task " + dependencyId + " already depends on Task " + id
+                            + ", so Task " + id + " cannot depend on it.");
+                }
+            }
+        }
+        modTask(id, name, hours, due, cardId);
+        for (int dependencyId : removedIds) {
+            removeDependency(id, dependencyId);
+        }
+        for (int dependencyId : dependencyIds) {
+            addDependency(id, dependencyId);
+        }
         return task;
     }
 
@@ -382,12 +617,18 @@ public class ScheduleManager {
      * @return Task after it's modified
      */
     public Task modTask(int id, String name, Double hours, Calendar due, Integer cardId) {
-        Task task = taskMap.get(id);
+        Task task = index.getTask(id);
 
         if (task == null) {
             throw new IllegalArgumentException("Could not locate Task " + id + ".");
         }
 
+        boolean rescheduled = hours != null || due != null;
+        if (rescheduled && taskManager.contains(task)) {
+            markTaskChange(task);
+            updateDemand(task, -1);
+        }
+
         if (name != null) {
             task.setName(name);
         }
@@ -400,25 +641,37 @@ public class ScheduleManager {
         if (cardId != null) {
             Card c = getCardById(cardId);
             if (c != null) {
-                task.setCard(c);
+                index.setTaskCard(task, c);
             }
         }
 
-        Calendar curr = Calendar.getInstance();
-        boolean isActive = taskManager.remove(task);
-        if (task.getTotalHours() == 0 || (!Time.doDatesMatch(curr, task.getDueDate()) && task.getDueDate().compareTo(curr) < 0)) {
+        boolean isActive = taskManager.contains(task);
+        if (task.getTotalHours() == 0 || task.getDueEpochDay() < Time.getCurrentEpochDay(clock)) {
             // check if it's in archived or active
             if (isActive) {
+                taskManager.remove(task);
                 archivedTasks.add(task);
+                updateDeadlines(dependencies.removeTask(task));
             }
         } else {
-            if (!isActive) {
+            if (rescheduled) {
+                updateDeadlines(dependencies.updateTask(task));
+            }
+            // active Tasks are keyed by their hours before scheduling, which the next build starts from anyway
+            task.reset();
+            if (isActive) {
+                taskManager.update(task);
+            } else {
                 archivedTasks.remove(task);
+                taskManager.add(task);
+            }
+            if (rescheduled) {
+                markTaskChange(task);
+                updateDemand(task, 1);
             }
-            taskManager.add(task);
         }
 
-        eventLog.reportTaskAction(task, 2);
+        eventLog.reportTaskAction(task, 2, Time.getCurrentEpochDay(clock));
 
         return task;
     }
@@ -443,7 +696,7 @@ public class ScheduleManager {
     }
 
     public Event modEvent(int id, String name, Integer cardId, Calendar[] timeStamp, List<Calendar> dates) {
-        Event event = findEvent(id);
+        Event event = index.getEvent(id);
 
         if (event == null) {
             return null;
@@ -453,17 +706,17 @@ public class ScheduleManager {
             throw new IllegalArgumentException("Individual event can't be assigned to multiple days");
         }
 
-        if (dates != null && dates.size() == 1 && !event.isRecurring()) {
-            Calendar start = event.getTimeStamp().getStart();
-            Calendar end = event.getTimeStamp().getEnd();
-
-            start.set(Calendar.DAY_OF_MONTH, dates.get(0).get(Calendar.DAY_OF_MONTH));
-            start.set(Calendar.MONTH, dates.get(0).get(Calendar.MONTH));
-            start.set(Calendar.YEAR, dates.get(0).get(Calendar.YEAR));
+        markEventChange(event);
+        if (!event.isRecurring()) {
+            indivIntervals = null;
+        }
+        Event.DayOfWeek[] prevDays = event.isRecurring() ? event.getDays().clone() : null;
+        int prevEpochDay = event.getTimeStamp().getEpochDay();
 
-            end.set(Calendar.DAY_OF_MONTH, dates.get(0).get(Calendar.DAY_OF_MONTH));
-            end.set(Calendar.MONTH, dates.get(0).get(Calendar.MONTH));
-            end.set(Calendar.YEAR, dates.get(0).get(Calendar.YEAR));
+        if (dates != null && dates.size() == 1 && !event.isRecurring()) {
+            int epochDay = Time.toEpochDay(dates.get(0));
+            event.setTimeStamp(new Time.TimeStamp(Time.toEpochMinute(epochDay, event.getTimeStamp().getStartMinuteOfDay()),
+                    Time.toEpochMinute(epochDay, event.getTimeStamp().getEndMinuteOfDay())));
         }
 
         if (name != null) {
@@ -472,7 +725,7 @@ public class ScheduleManager {
         if (cardId != null) {
             Card card = getCardById(cardId);
             if (card != null) {
-                event.setCard(card);
+                index.setEventCard(event, card);
             }
         }
         if (timeStamp != null) {
@@ -502,17 +755,10 @@ public class ScheduleManager {
                 days[i] = dayOfWeekValues[dates.get(i).get(Calendar.DAY_OF_WEEK) - 1];
             }
 
-            event.setDays(days);
-
-            for (List<Event> recurringEvent : recurringEvents) {
-                for (int i = 0; i < recurringEvent.size(); i++) {
-                    Event e = recurringEvent.get(i);
-                    if (e.getId() == event.getId()) {
-                        recurringEvent.remove(i);
-                        break;
-                    }
-                }
+            for (Event.DayOfWeek eventDay : event.getDays()) {
+                recurringEvents.get(eventDay.ordinal()).remove(event);
             }
+            event.setDays(days);
 
             Event.DayOfWeek[] eventDays = event.getDays();
 
@@ -521,129 +767,169 @@ public class ScheduleManager {
             }
         }
 
+        markEventChange(event);
+        updateCapacity(prevDays, prevEpochDay);
+        updateCapacity(event.isRecurring() ? event.getDays() : null, event.getTimeStamp().getEpochDay());
         eventLog.reportEventAction(event, 2);
 
         return event;
     }
 
     public boolean deleteTask(int id) {
-        Task task;
+        Task task = index.removeTask(id);
 
-        if (taskMap.containsKey(id)) {
-            task = taskMap.get(id);
-            taskMap.remove(id);
-        } else {
+        if (task == null) {
             return false;
         }
 
         boolean taskRemoved = taskManager.remove(task);
 
-        if (!taskRemoved) {
+        if (taskRemoved) {
+            markTaskChange(task);
+            updateDemand(task, -1);
+            updateDeadlines(dependencies.removeTask(task));
+        } else {
             taskRemoved = archivedTasks.remove(task);
         }
 
-        eventLog.reportTaskAction(task, 1);
+        eventLog.reportTaskAction(task, 1, Time.getCurrentEpochDay(clock));
 
         return taskRemoved;
     }
 
-    public boolean deleteCard(int id) {
-        for (int i = 0; i < cards.size(); i++) {
-            if (cards.get(i).getId() == id) {
-                Card card = cards.get(i);
-
-                cards.remove(i);
+    /**
+     * Makes a Task depend on another one, so that it is only scheduled once the other Task is done. The other
+     * Task is scheduled early enough for both to meet the due date of the dependent Task whenever possible.
+     *
+     * @param id ID of the Task that depends on the other one
+     * @param dependencyId ID of the Task that must be done first
+     * @throws IllegalArgumentException if either Task is not active, or if the dependency would form a cycle
+     */
+    public void addDependency(int id, int dependencyId) {
+        Task task = getActiveTask(id);
+        Task dependency = getActiveTask(dependencyId);
+        updateDeadlines(dependencies.addDependency(task, dependency));
+        eventLog.reportTaskAction(task, 2, Time.getCurrentEpochDay(clock));
+    }
 
-                removeTasksWithCard(card);
-                removeEventsWithCard(card);
+    /**
+     * Removes a dependency of a Task on another one
+     *
+     * @param id ID of the Task that depends on the other one
+     * @param dependencyId ID of the Task that had to be done first
+     * @throws IllegalArgumentException if either Task is not active
+     */
+    public void removeDependency(int id, int dependencyId) {
+        Task task = getActiveTask(id);
+        Task dependency = getActiveTask(dependencyId);
+        updateDeadlines(dependencies.removeDependency(task, dependency));
+        eventLog.reportTaskAction(task, 2, Time.getCurrentEpochDay(clock));
+    }
 
-                eventLog.reportCardAction(card, 1);
+    /**
+     * Gets the Tasks a Task depends on
+     *
+     * @param id ID of the Task
+     * @return active Tasks that must be done before the Task, which is empty for an archived Task
+     */
+    public List<Task> getDependencies(int id) {
+        Task task = index.getTask(id);
+        return task == null ? new ArrayList<>() : dependencies.getDependencies(task);
+    }
 
-                return true;
-            }
+    /**
+     * Checks that no Task has dependencies before a build that orders the Tasks without them
+     *
+     * @param build name of the build
+     * @throws IllegalArgumentException if any Task has dependencies
+     */
+    private void checkNoDependencies(String build) {
+        if (!dependencies.isEmpty()) {
+            throw new IllegalArgumentException("The " + build + " schedule does not keep the dependencies between"
+                    + " Tasks, so it cannot be built while any Task has them.");
         }
-
-        return false;
     }
 
-    public boolean deleteEvent(int id) {
-        for (int i = 0; i < indivEvents.size(); i++) {
-            if (indivEvents.get(i).getId() == id) {
-                eventLog.reportEventAction(indivEvents.get(i), 2);
-                indivEvents.remove(i);
-                return true;
-            }
+    /**
+     * Checks that a Task with the given hours and due date is active, so that it can have dependencies
+     *
+     * @param id ID of the Task
+     * @param hours number of hours of the Task
+     * @param dueEpochDay due date of the Task
+     * @throws IllegalArgumentException if the Task would be archived
+     */
+    private void checkStaysActive(int id, double hours, int dueEpochDay) {
+        if (hours == 0 || dueEpochDay < Time.getCurrentEpochDay(clock)) {
+            throw new IllegalArgumentException("Task " + id + " is archived, so it cannot have dependencies.");
         }
+    }
 
-        boolean eventRemoved = false;
-
-        Event event = null;
-        for (List<Event> events : recurringEvents) {
-            for (int i = 0; i < events.size(); i++) {
-                if (events.get(i).getId() == id) {
-                    event = events.remove(i);
-                    eventRemoved = true;
-                }
-            }
+    private Task getActiveTask(int id) {
+        Task task = index.getTask(id);
+        if (task == null) {
+            throw new IllegalArgumentException("Could not locate Task " + id + ".");
         }
-
-        if (event != null) {
-            eventLog.reportEventAction(event, 1);
+        if (!taskManager.contains(task)) {
+            throw new IllegalArgumentException("Task " + id + " is archived, so it cannot have dependencies.");
         }
-
-        return eventRemoved;
+        return task;
     }
 
-    private void removeTasksWithCard(Card card) {
-        for (Task task : taskManager) {
-            if (task.getCard() != null && task.getCard().getId() == card.getId()) {
-                task.setCard(null);
-            }
-        }
-
-        for (Task task : archivedTasks) {
-            if (task.getCard() != null && task.getCard().getId() == card.getId()) {
-                task.setCard(null);
+    /**
+     * Re-keys the active Tasks whose deadlines changed and records that the schedule must be regenerated from the
+     * first Day on which either deadline could have placed them
+     *
+     * @param changed previous deadline of each Task whose deadline changed
+     */
+    private void updateDeadlines(Map<Task, Integer> changed) {
+        for (Map.Entry<Task, Integer> entry : changed.entrySet()) {
+            Task task = entry.getKey();
+            rebuildDay = Math.min(rebuildDay, getFirstAffectedDay(Time.getEpochDay(Math.min(entry.getValue(), task.getDeadline()))));
+            if (taskManager.contains(task)) {
+                // like in modTask, active Tasks are keyed by their hours before scheduling
+                task.reset();
+                taskManager.update(task);
             }
         }
     }
 
-    private void removeEventsWithCard(Card card) {
-        for (List<Event> dayEvents : recurringEvents) {
-            for (Event e : dayEvents) {
-                if (e.getCard() != null && e.getCard().getId() == card.getId()) {
-                    e.setCard(null);
-                }
-            }
-        }
+    public boolean deleteCard(int id) {
+        // the index also takes the Card off its Tasks and Events
+        Card card = index.removeCard(id);
 
-        for (Event e : indivEvents) {
-            if (e.getCard() != null && e.getCard().getId() == card.getId()) {
-                e.setCard(null);
-            }
+        if (card == null) {
+            return false;
         }
+
+        cards.remove(card);
+        dayTemplates = null;
+
+        eventLog.reportCardAction(card, 1);
+
+        return true;
     }
 
-    private Event findEvent(int id)
-    {
-        Event event = null;
+    public boolean deleteEvent(int id) {
+        Event event = index.removeEvent(id);
 
-        for (Event indivEvent : indivEvents) {
-            if (indivEvent.getId() == id) {
-                return indivEvent;
-            }
+        if (event == null) {
+            return false;
         }
 
-        for (List<Event> events : recurringEvents)
-        {
-            for (Event recurringEvent : events) {
-                if (recurringEvent.getId() == id) {
-                    return recurringEvent;
-                }
+        markEventChange(event);
+        if (event.isRecurring()) {
+            for (Event.DayOfWeek eventDay : event.getDays()) {
+                recurringEvents.get(eventDay.ordinal()).remove(event);
             }
+            eventLog.reportEventAction(event, 1);
+        } else {
+            eventLog.reportEventAction(event, 2);
+            indivEvents.remove(event);
+            indivIntervals = null;
         }
+        updateCapacity(event.isRecurring() ? event.getDays() : null, event.getTimeStamp().getEpochDay());
 
-        return null;
+        return true;
     }
 
     public int getNumActiveTasks() {
@@ -657,10 +943,7 @@ public class ScheduleManager {
      * @return Card with matching ID
      */
     public Card getCardById(int id) {
-        for (Card c : cards) {
-            if (c.getId() == id) return c;
-        }
-        return null;
+        return index.getCard(id);
     }
 
     /**
@@ -670,155 +953,1440 @@ public class ScheduleManager {
      * @return Task from schedule
      */
     public Task getTask(int taskId) {
-        return taskMap.get(taskId);
+        return index.getTask(taskId);
     }
 
     /**
-     * Generates an entire schedule following a distributive approach
+     * Generates the schedule following a distributive approach. If only Tasks and Events from a certain date
+     * onward were changed since the last build, the Days before that date are kept and only the remaining
+     * Days are regenerated. Days that passed since the last build are archived, so that a schedule built on
+     * an earlier date only has Days added after its last one.
      */
     public void buildSchedule() throws IOException {
-        eventLog.reportSchedulingStart();
-        resetSchedule();
-        //Tasks that are "finished scheduling" are added here
-        PriorityQueue<Task> complete = new PriorityQueue<>();
-
-        schedule = new ArrayList<>(userConfig.getMaxDays());
-        scheduleTime = Calendar.getInstance();
-        int idx = scheduleTime.get(Calendar.DAY_OF_WEEK) - 1;
-        int dayCount = 0;
-        Day currDay;
-
-        // need to archive tasks that are 'past due' (this is to handle edge case where we started at 11PM, and now it's 1AM)
-        Task head = taskManager.peek();
-        while (head != null && !Time.doDatesMatch(head.getDueDate(), scheduleTime)
-                && head.getDueDate().compareTo(scheduleTime) < 0) {
-            archivedTasks.add(taskManager.remove());
-            head = taskManager.peek();
+        int today = Time.getCurrentEpochDay(clock);
+        rollOver(today);
+        int time = Time.getCurrentEpochMinute(clock);
+        int resumeIdx = getResumeIndex(today);
+        // a schedule that is up to date is kept as it is without looking it up
+        String cacheKey = resumeIdx == schedule.size() && !schedule.isEmpty() ? null : getBuildKey(time);
+        if (cacheKey != null && restoreBuild(cacheKey, today)) {
+            return;
         }
-
-        int eventIdx = 0;
-        while(!taskManager.isEmpty() && dayId < userConfig.getMaxDays()) {
-            currDay = new Day(dayId++, userConfig.getHoursPerDayOfWeek()[idx++ % 7], dayCount++);
-            schedule.add(currDay);
-
-            if (!recurringEvents.get(currDay.getDate().get(Calendar.DAY_OF_WEEK) - 1).isEmpty()) {
-                for (Event e1 : recurringEvents.get(currDay.getDate().get(Calendar.DAY_OF_WEEK) - 1)) {
-                    currDay.addEvent(e1);
-                }
-            }
-
-            while (eventIdx < indivEvents.size()) {
-                Calendar eventDate = indivEvents.get(eventIdx).getTimeStamp().getStart();
-                Calendar dayDate = currDay.getDate();
-                if (Time.doDatesMatch(eventDate, dayDate)) {
-                    currDay.addEvent(indivEvents.get(eventIdx));
-                    eventIdx++;
-                } else break;
-            }
-
-            // don't need incomplete as argument (should be local to schedulers)
-            errorCount = scheduler.assignDay(currDay, errorCount, complete, taskManager, scheduleTime);
+        if (fullRebuild) {
+            // a cached schedule that could not be restored leaves nothing to resume from
+            resumeIdx = 0;
+        }
+        Checkpoint checkpoint = new Checkpoint();
+        try {
+            buildDays(resumeIdx, today, time);
+        } catch (CancellationException e) {
+            checkpoint.restore();
+            throw e;
+        }
+        if (cacheKey != null) {
+            buildCache.put(cacheKey, getBuildEntry());
         }
-        this.taskManager = complete;
 
         eventLog.reportSchedulingFinish();
     }
 
-    public void serializeScheduleToFile(String filename) throws IOException {
-        String data = Serializer.serializeSchedule(cards, new ArrayList<>(taskMap.values()), indivEvents, getRecurEventsList(recurringEvents), schedule);
-
-        IOProcessing.writeSerializationFile(filename, data);
-
-        eventLog.reportSerializingSchedule(filename);
-    }
-
-    public void deserializeScheduleFromFile(Path path) throws IOException {
-        Serializer.deserializeSchedule(Files.readString(path), this);
-
-        eventLog.reportDeserializingSchedule(String.valueOf(path.getFileName()));
-    }
-
-    private List<Event> getRecurEventsList(List<List<Event>> recurringEvents) {
-        Set<Event> recurEventsSet = new HashSet<Event>();
-
-        for (List<Event> dayEvents : recurringEvents) {
-            recurEventsSet.addAll(dayEvents);
+    /**
+     * Generates the Days of the schedule from the given index onward for {@link #buildSchedule}
+     *
+     * @param resumeIdx index of the first Day to regenerate
+     * @param today current epoch day
+     * @param time epoch minute the build starts at
+     */
+    private void buildDays(int resumeIdx, int today, int time) {
+        eventLog.reportSchedulingStart();
+        reportInfeasibility();
+        //Tasks that are "finished scheduling" are added here
+        Queue<Task> complete = new ArrayDeque<>();
+
+        if (resumeIdx == 0) {
+            resetSchedule();
+            schedule = new DayWindow();
+            scheduleTime = time;
+
+            // need to archive tasks that are 'past due' (this is to handle edge case where we started at 11PM, and now it's 1AM)
+            archivePastDueTasks(today);
+            // the Tasks were reset without changing their keys, so the build can start from a copy of the heap
+            if (scheduledTasks instanceof TaskHeap) {
+                ((TaskHeap) scheduledTasks).setAll(taskManager);
+            } else {
+                scheduledTasks.clear();
+                scheduledTasks.addAll(taskManager);
+            }
+        } else {
+            resumeSchedule(resumeIdx, today, complete);
+        }
+        if (buildProgress != null) {
+            buildProgress.start(scheduledTasks.size());
         }
 
-        return new ArrayList<>(recurEventsSet);
+        int firstNewDay = schedule.size();
+        if (resumeIdx == 0) {
+            errorCount = scheduleSegments(scheduledTasks, complete);
+        } else {
+            errorCount = scheduleDays(scheduler, schedule, scheduledTasks, complete, errorCount);
+        }
+        // the search moves hours without regard to dependencies
+        if (resumeIdx == 0 && userConfig.getImproveMillis() > 0 && dependencies.isEmpty()) {
+            improveSchedule(today);
+        }
+        optimizeDays(schedule.subList(firstNewDay, schedule.size()));
+        scheduledTasks.clear();
+        rebuildDay = Integer.MAX_VALUE;
+        fullRebuild = false;
+        windowBuilt = true;
     }
 
     /**
-     * Determines whether the schedule is empty
+     * Gets the hash of everything a build depends on, which are the Cards, Tasks, Events, settings, engine, and
+     * the time the build starts at. The hours left today depend on the minute of the hour as well, so a build only
+     * matches one started within the same minute.
      *
-     * @return boolean value for whether schedule is empty
+     * @param time epoch minute the build starts at
+     * @return hash of the inputs of the build, or null if builds are not cached
      */
-    public boolean scheduleIsEmpty() {
-        return schedule.isEmpty();
+    private String getBuildKey(int time) {
+        // a Scheduler set directly is not described by the settings
+        if (buildCache == null || schedulerProvider == null) {
+            return null;
+        }
+        // the hours done on the archived Days are no longer scheduled
+        String archived = archivedDays.isEmpty() ? ""
+                : Serializer.serializeDays(archivedDays, index.getTasks(), getSerializedEvents());
+        return BuildCache.hash(getBuildData() + archived + JsonHandler.createUserConfig(userConfig) + "\n"
+                + schedulerProvider.getName() + "\n" + time);
     }
 
     /**
-     * Resets all the tasks as well as the entire schedule for it to be regenerated
+     * Serializes the Cards, Tasks, and Events a build depends on, without any Days
+     *
+     * @return serialized inputs of the build
      */
-    private void resetSchedule() {
-        scheduler.updateConfig(userConfig);
-        schedule = new LinkedList<>();
-        PriorityQueue<Task> copy = new PriorityQueue<>();
-        while(!taskManager.isEmpty()) {
-            Task task = taskManager.remove();
-            task.reset();
-            copy.add(task);
-        }
-        taskManager = copy;
-        errorCount = 0;
-        dayId = 0;
-        Collections.sort(indivEvents);
+    private String getBuildData() {
+        return Serializer.serializeSchedule(cards, index.getTasks(), dependencies::getDependencies,
+                indivEvents, getRecurEventsList(recurringEvents), null);
     }
 
     /**
-     * Builds a schedule in String format
+     * Gets the schedule as it is cached, which is the number of errors and the time it was built at, followed
+     * by its Days
      *
-     * @return Schedule table as a String
+     * @return serialized schedule
      */
-    public String buildScheduleStr() {
-        return TableFormatter.formatScheduleTable(schedule, true);
-    }
-
-    public String buildCurrentScheduleStr() {
-        List<Day> days = new ArrayList<>();
-        Calendar curr = Time.getFormattedCalendarInstance(0);
-        for (Day d : schedule) {
-            if (!Time.doDatesMatch(d.getDate(), curr) && d.getDate().compareTo(curr) < 0) {
-                // don't add
-            } else {
-                days.add(d);
-            }
-        }
-        return TableFormatter.formatScheduleTable(days, true);
-    }
-
-    public String buildArchivedScheduleStr() {
-        List<Day> days = new ArrayList<>();
-        Calendar curr = Time.getFormattedCalendarInstance(0);
-        for (Day d : schedule) {
-            if (!Time.doDatesMatch(d.getDate(), curr) && d.getDate().compareTo(curr) < 0) {
-                days.add(d);
-            }
-        }
-        return TableFormatter.formatScheduleTable(days, true);
+    String getBuildEntry() {
+        return errorCount + " " + scheduleTime + "\n"
+                + Serializer.serializeDays(schedule, index.getTasks(), getSerializedEvents());
     }
 
     /**
-     * Builds events in String format
+     * Checks whether the schedule is up to date, so that building it would keep every Day as it is
      *
-     * @return Events table as a String
+     * @return true if the schedule is up to date
      */
-    public String buildEventStr() {
-        return TableFormatter.formatEventSetTables(recurringEvents, indivEvents, true);
+    boolean isScheduleCurrent() {
+        int today = Time.getCurrentEpochDay(clock);
+        return !schedule.isEmpty() && getResumeIndex(today) == schedule.size();
     }
 
     /**
-     * Builds cards in String format
+     * Restores the schedule cached for the given inputs, as a full build would have generated it
+     *
+     * @param cacheKey hash of the inputs of the build
+     * @param today current epoch day
+     * @return true if the schedule was cached and restored
+     */
+    private boolean restoreBuild(String cacheKey, int today) {
+        String build = buildCache.get(cacheKey);
+        if (build == null) {
+            return false;
+        }
+        int headerEnd = build.indexOf('\n');
+        String[] header = build.substring(0, headerEnd).split(" ");
+        resetSchedule();
+        archivePastDueTasks(today);
+        try {
+            schedule = new DayWindow(Serializer.deserializeDays(build.substring(headerEnd + 1), index.getTasks(),
+                    getSerializedEvents(), this));
+        } catch (RuntimeException e) {
+            // an unreadable entry is built again
+            eventLog.reportException(e);
+            fullRebuild = true;
+            return false;
+        }
+        restoreScheduledProgress();
+        errorCount = Integer.parseInt(header[0]);
+        scheduleTime = Integer.parseInt(header[1]);
+        rebuildDay = Integer.MAX_VALUE;
+        // the next build resumes from the restored Days, which give the Tasks the SubTasks a full build gave them
+        fullRebuild = false;
+        windowBuilt = true;
+        eventLog.reportBuildCacheHit(cacheKey);
+        return true;
+    }
+
+    /**
+     * Generates the schedule with every {@link ScheduleStrategy} in parallel on copies of the active Tasks and
+     * keeps the best one, which is the one leaving the fewest hours unscheduled by their due date, then the one with the fewest
+     * scheduling errors, then the one with the fewest SubTasks. The Days of the winning trial become the schedule,
+     * giving the actual Tasks the SubTasks their copies were given, and the actions it logged are added to the EventLog.
+     *
+     * @return strategy the schedule was generated with
+     * @throws IllegalArgumentException if any Task has dependencies, which the strategies do not keep
+     */
+    public ScheduleStrategy buildPortfolioSchedule() throws IOException {
+        checkNoDependencies("portfolio");
+        int time = Time.getCurrentEpochMinute(clock);
+        int today = Time.getEpochDay(time);
+        rollOver(today);
+        Checkpoint checkpoint = new Checkpoint();
+        try {
+            return buildPortfolioDays(time, today);
+        } catch (CancellationException e) {
+            checkpoint.restore();
+            throw e;
+        }
+    }
+
+    private ScheduleStrategy buildPortfolioDays(int time, int today) {
+        resetSchedule();
+        archivePastDueTasks(today);
+
+        List<Task> tasks = new ArrayList<>(taskManager);
+        if (buildProgress != null) {
+            buildProgress.start(tasks.size());
+        }
+        // built up front since the trials share them
+        getDayTemplates();
+        Trial best = Arrays.stream(ScheduleStrategy.values())
+                .parallel()
+                .map(strategy -> runTrial(strategy, tasks, time))
+                .min(Comparator.naturalOrder())
+                .orElseThrow();
+
+        eventLog.reportSchedulingStart();
+        // the Days of the trial hold copies of the Tasks, whose SubTasks are handed to the active Tasks
+        Map<Integer, Task> active = new HashMap<>();
+        for (Task task : tasks) {
+            active.put(task.getId(), task);
+        }
+        for (Day day : best.days) {
+            List<Task.SubTask> subTasks = new ArrayList<>(day.getNumSubTasks());
+            for (Task.SubTask copy : day.getSubTaskList()) {
+                subTasks.add(active.get(copy.getParentTask().getId())
+                        .addSubTask(copy.getSubTaskHours(), copy.isOverflow(), copy.getTimeStamp()));
+            }
+            day.setSubTasks(subTasks);
+        }
+        schedule = new DayWindow(best.days);
+        scheduleTime = time;
+        errorCount = best.errors;
+        eventLog.append(best.log);
+        optimizeDays(schedule);
+        // the next regular build must not resume from a schedule generated with another ordering
+        rebuildDay = Integer.MAX_VALUE;
+        fullRebuild = true;
+        windowBuilt = true;
+
+        eventLog.reportSchedulingFinish();
+        eventLog.reportPortfolioResult(best.strategy.toString(), best.missedHours, best.errors);
+        return best.strategy;
+    }
+
+    /**
+     * Generates the schedule with a {@link FlowScheduler}, which plans every Day at once instead of one Day at a time.
+     * The plan leaves the fewest Task hours possible unscheduled by their due dates, given the hours each Day has
+     * around its Events, and otherwise finishes the Tasks as early as possible.
+     *
+     * @return least number of Task hours that no schedule can fit in by their due dates
+     * @throws IllegalArgumentException if any Task has dependencies, which the plan does not keep
+     */
+    public double buildFlowSchedule() throws IOException {
+        checkNoDependencies("optimal");
+        int time = Time.getCurrentEpochMinute(clock);
+        int today = Time.getEpochDay(time);
+        rollOver(today);
+        Checkpoint checkpoint = new Checkpoint();
+        try {
+            return buildFlowDays(time, today);
+        } catch (CancellationException e) {
+            checkpoint.restore();
+            throw e;
+        }
+    }
+
+    private double buildFlowDays(int time, int today) {
+        resetSchedule();
+        archivePastDueTasks(today);
+        if (buildProgress != null) {
+            buildProgress.start(taskManager.size());
+        }
+
+        eventLog.reportSchedulingStart();
+        schedule = new DayWindow();
+        scheduleTime = time;
+        int lastDay = today - 1;
+        for (Task task : taskManager) {
+            lastDay = Math.max(lastDay, task.getDueEpochDay());
+        }
+        addEmptyDays(today, Math.min(userConfig.getMaxDays(), lastDay - today + 1));
+
+        FlowScheduler flowScheduler = new FlowScheduler(userConfig, eventLog);
+        double missedHours = flowScheduler.plan(schedule, taskManager, time);
+        checkCancelled();
+        errorCount = assignPlannedDays(flowScheduler, time);
+        optimizeDays(schedule);
+        rebuildDay = Integer.MAX_VALUE;
+        fullRebuild = true;
+        windowBuilt = true;
+
+        eventLog.reportSchedulingFinish();
+        eventLog.reportFlowResult(missedHours, errorCount);
+        return missedHours;
+    }
+
+    /**
+     * Searches for a better allocation of the hours of the schedule that was just built until the improvement
+     * time budget runs out, and rebuilds the schedule from it if one was found. The schedule never leaves more
+     * hours unscheduled than before, but splits the Tasks into fewer pieces or finishes them earlier.
+     *
+     * @param today current epoch day
+     */
+    private void improveSchedule(int today) {
+        checkCancelled();
+        LocalSearchScheduler improver = new LocalSearchScheduler(userConfig, null);
+        long deadline = System.nanoTime() + userConfig.getImproveMillis() * 1_000_000L;
+        if (!improver.improve(schedule, taskManager, scheduleTime, deadline, parallelism)) {
+            return;
+        }
+        checkCancelled();
+        taskManager.resetTasks();
+        restoreArchivedProgress();
+        int numDays = schedule.size();
+        schedule = new DayWindow();
+        addEmptyDays(today, numDays);
+        errorCount = assignPlannedDays(improver, scheduleTime);
+        eventLog.reportImprovementResult(improver.getPiecesBefore(), improver.getPiecesAfter(), errorCount);
+    }
+
+    /**
+     * Adds the given number of Days without any SubTasks to the schedule, starting from today
+     *
+     * @param today current epoch day
+     * @param numDays number of Days to add
+     */
+    private void addEmptyDays(int today, int numDays) {
+        DayTemplate[] templates = getDayTemplates();
+        int eventIdx = 0;
+        for (int dayCount = 0; dayCount < numDays; dayCount++) {
+            Day day = new Day(dayCount, userConfig.getHoursPerDayOfWeek()[Time.getDayOfWeek(today + dayCount)],
+                    today + dayCount, templates[Time.getDayOfWeek(today + dayCount)]);
+            eventIdx = addIndivEvents(day, eventIdx);
+            schedule.add(day);
+        }
+    }
+
+    /**
+     * Assigns the Days of the schedule with a {@link PlanScheduler} that has already planned them, starting
+     * from active Tasks without any SubTasks
+     *
+     * @param planner PlanScheduler holding the plan
+     * @param time epoch minute at which the schedule is built
+     * @return number of scheduling errors
+     */
+    private int assignPlannedDays(PlanScheduler planner, int time) {
+        Queue<Task> tasks = new TaskHeap(taskManager);
+        Queue<Task> complete = new ArrayDeque<>();
+        int errors = 0;
+        int numDays = 0;
+        while (!tasks.isEmpty() && numDays < schedule.size()) {
+            checkCancelled();
+            int finished = complete.size();
+            errors = planner.assignDay(schedule.get(numDays++), errors, complete, tasks, time);
+            if (buildProgress != null) {
+                buildProgress.addDay(complete.size() - finished);
+            }
+        }
+        // like a regular build, the schedule ends once no Task is left to schedule
+        schedule.subList(numDays, schedule.size()).clear();
+        return errors;
+    }
+
+    /**
+     * Moves the active Tasks that were due before today into the archived Tasks
+     *
+     * @param today current epoch day
+     */
+    private void archivePastDueTasks(int today) {
+        // Tasks that past due Tasks depended on are ordered before today as well, but stay active
+        int start = Time.toEpochMinute(today, 0);
+        List<Task> kept = new ArrayList<>();
+        Task head = taskManager.peek();
+        while (head != null && head.getDeadline() < start) {
+            taskManager.remove();
+            if (head.getDueEpochDay() < today) {
+                archivedTasks.add(head);
+                updateDeadlines(dependencies.removeTask(head));
+            } else {
+                kept.add(head);
+            }
+            head = taskManager.peek();
+        }
+        taskManager.addAll(kept);
+    }
+
+    /**
+     * Times every registered scheduling engine on copies of the active Tasks, leaving the schedule untouched.
+     * Each engine builds the schedule the given number of times, where the fastest build counts, so that
+     * warming up the JIT compiler weighs less on the engines timed first.
+     *
+     * @param runs number of builds per engine
+     * @return timing and outcome of each engine, in the order the engines are registered
+     */
+    public List<SchedulerTiming> benchmarkSchedulers(int runs) {
+        if (runs < 1) {
+            throw new IllegalArgumentException("Number of runs must be at least 1");
+        }
+        int time = Time.getCurrentEpochMinute(clock);
+        int today = Time.getEpochDay(time);
+        List<Task> tasks = new ArrayList<>();
+        for (Task task : taskManager) {
+            // past due Tasks are archived before a regular build
+            if (task.getDueEpochDay() >= today) {
+                tasks.add(task);
+            }
+        }
+        Collections.sort(indivEvents);
+        getDayTemplates();
+
+        List<SchedulerTiming> timings = new ArrayList<>();
+        for (SchedulerProvider provider : SchedulerRegistry.getProviders()) {
+            long bestNanos = Long.MAX_VALUE;
+            double missedHours = 0;
+            int errors = 0;
+            for (int run = 0; run < runs; run++) {
+                Scheduler engine = provider.newScheduler(userConfig, null);
+                Queue<Task> queue = engine.newTaskQueue();
+                List<Task> copies = new ArrayList<>(tasks.size());
+                for (Task task : tasks) {
+                    Task copy = new Task(task);
+                    copy.reset();
+                    copies.add(copy);
+                }
+                long start = System.nanoTime();
+                queue.addAll(copies);
+                errors = scheduleDays(engine, new ArrayList<>(), 0, userConfig.getMaxDays(), queue,
+                        new ArrayDeque<>(), 0, time, false);
+                bestNanos = Math.min(bestNanos, System.nanoTime() - start);
+
+                missedHours = 0;
+                for (Task copy : copies) {
+                    missedHours += copy.getSubTotalHoursRemaining();
+                }
+            }
+            timings.add(new SchedulerTiming(provider, bestNanos / 1_000_000.0, missedHours, errors));
+        }
+        return timings;
+    }
+
+    /**
+     * Generates a schedule on copies of the given Tasks with a separate Scheduler of the selected engine and EventLog
+     *
+     * @param strategy ordering used for picking Tasks
+     * @param tasks active Tasks, which are left untouched
+     * @param time epoch minute at which the schedule is built
+     * @return outcome of the generated schedule
+     */
+    private Trial runTrial(ScheduleStrategy strategy, List<Task> tasks, int time) {
+        PriorityQueue<Task> ordered = new PriorityQueue<>(strategy.getComparator(userConfig));
+        for (Task task : tasks) {
+            ordered.add(new Task(task));
+        }
+        List<Day> days = new ArrayList<>();
+        Queue<Task> complete = new ArrayDeque<>();
+        EventLog log = new EventLog();
+        Scheduler trialScheduler = schedulerProvider != null ? schedulerProvider.newScheduler(userConfig, log)
+                : Scheduler.newInstance(userConfig, log);
+        int errors = scheduleDays(trialScheduler, days, 0, userConfig.getMaxDays(), ordered,
+                complete, 0, time, false);
+        complete.addAll(ordered);
+
+        double missedHours = 0;
+        for (Task task : complete) {
+            missedHours += task.getSubTotalHoursRemaining();
+        }
+        int numSubTasks = 0;
+        for (Day day : days) {
+            numSubTasks += day.getNumSubTasks();
+            // orderings not led by the due date can leave a Task to be scheduled after it is due
+            for (Task.SubTask subTask : day.getSubTaskList()) {
+                if (subTask != null && subTask.getParentTask().getDueEpochDay() < day.getEpochDay()) {
+                    missedHours += subTask.getSubTaskHours();
+                }
+            }
+        }
+        return new Trial(strategy, missedHours, errors, numSubTasks, days, log);
+    }
+
+    /**
+     * Assigns the given Tasks to new Days appended to the schedule like {@link #scheduleDays}, but splits the horizon
+     * at Days by which the Tasks due so far are predicted to take up every usable hour. The scheduler then cannot
+     * give a Task due after such a Day any of the hours up to it, so the segments between them are scheduled
+     * concurrently and joined back together. If a segment turns out to have usable hours left over after all,
+     * it is scheduled again along with every segment after it, one Day at a time.
+     *
+     * @param tasks queue of Tasks left to schedule
+     * @param complete queue receiving Tasks that are done scheduling
+     * @return total number of errors
+     */
+    private int scheduleSegments(Queue<Task> tasks, Queue<Task> complete) {
+        if (!dependencies.isEmpty()) {
+            // a Task may be needed in an earlier segment than the one of its due date
+            return scheduleDays(scheduler, schedule, tasks, complete, errorCount);
+        }
+        int[] bounds = getSegmentBounds();
+        int numSegments = bounds.length - 1;
+        Segment[] segments = new Segment[numSegments];
+        for (int s = 0; s < numSegments; s++) {
+            EventLog segmentLog = new EventLog();
+            Scheduler fork = scheduler.fork(segmentLog);
+            if (fork == null) {
+                return scheduleDays(scheduler, schedule, tasks, complete, errorCount);
+            }
+            segments[s] = new Segment(fork, segmentLog, bounds[s], bounds[s + 1]);
+        }
+        if (numSegments == 1) {
+            return scheduleDays(scheduler, schedule, tasks, complete, errorCount);
+        }
+
+        int today = Time.getEpochDay(scheduleTime);
+        int s = 0;
+        while (!tasks.isEmpty()) {
+            Task task = tasks.remove();
+            while (s < numSegments - 1 && task.getDueEpochDay() >= today + bounds[s + 1]) {
+                s++;
+            }
+            segments[s].tasks.add(task);
+        }
+        // built up front since the segments share them
+        getDayTemplates();
+        Arrays.stream(segments).parallel().forEach(segment -> segment.errors = scheduleDays(segment.scheduler,
+                segment.days, segment.start, segment.end, segment.tasks, segment.complete, 0, scheduleTime, true));
+
+        int errors = errorCount;
+        for (s = 0; s < numSegments; s++) {
+            Segment segment = segments[s];
+            if (s < numSegments - 1 && !segment.isSeparable()) {
+                for (int r = s; r < numSegments; r++) {
+                    for (Task task : segments[r].getTasks()) {
+                        task.reset();
+                        tasks.add(task);
+                    }
+                }
+                return scheduleDays(scheduler, schedule, tasks, complete, errors);
+            }
+            schedule.addAll(segment.days);
+            complete.addAll(segment.complete);
+            tasks.addAll(segment.tasks);
+            eventLog.append(segment.eventLog);
+            errors += segment.errors;
+        }
+        return errors;
+    }
+
+    /**
+     * Finds where to split the horizon for {@link #scheduleSegments}. A segment may end after a Day by which more
+     * work is due than there are free hours, once the work left over from before that Day is set aside. Of those
+     * Days, ones spaced out by about an equal share of the horizon are picked.
+     *
+     * @return indices of the first Day of each segment, followed by the end of the horizon
+     */
+    private int[] getSegmentBounds() {
+        int numDays = userConfig.getMaxDays();
+        int segmentDays = Math.max(MIN_SEGMENT_DAYS, (numDays + parallelism - 1) / parallelism);
+        if (parallelism == 1 || numDays < 2 * segmentDays) {
+            return new int[]{0, numDays};
+        }
+        long[] excesses = getCapacityIndex().getExcesses();
+        List<Integer> bounds = new ArrayList<>();
+        bounds.add(0);
+        long overflow = 0;
+        for (int i = 0; i < excesses.length - 1; i++) {
+            if (excesses[i] >= overflow && i + 1 - bounds.get(bounds.size() - 1) >= segmentDays) {
+                bounds.add(i + 1);
+            }
+            overflow = Math.max(overflow, excesses[i]);
+        }
+        bounds.add(numDays);
+        return bounds.stream().mapToInt(Integer::intValue).toArray();
+    }
+
+    /**
+     * Assigns the given Tasks to new Days appended to the given schedule until either no Task is left or the
+     * maximum number of Days is reached. Tasks that are done scheduling are moved into <code>complete</code>.
+     *
+     * @param scheduler Scheduler assigning the Tasks of each Day
+     * @param days schedule to append the Days to
+     * @param tasks queue of Tasks left to schedule
+     * @param complete queue receiving Tasks that are done scheduling
+     * @param errors number of errors so far
+     * @return total number of errors
+     */
+    private int scheduleDays(Scheduler scheduler, List<Day> days, Queue<Task> tasks,
+                             Queue<Task> complete, int errors) {
+        return scheduleDays(scheduler, days, days.size(), userConfig.getMaxDays(), tasks, complete, errors, scheduleTime,
+                true);
+    }
+
+    /**
+     * Assigns the given Tasks to new Days appended to the given list, starting with the Day at the given index
+     * of the schedule, until either no Task is left or the given end of the range is reached
+     *
+     * @param scheduler Scheduler assigning the Tasks of each Day
+     * @param days list to append the Days to
+     * @param dayCount index of the first Day within the schedule
+     * @param endCount index within the schedule of the Day after the range
+     * @param tasks queue of Tasks left to schedule
+     * @param complete queue receiving Tasks that are done scheduling
+     * @param errors number of errors so far
+     * @param time epoch minute at which the schedule is built
+     * @param counted whether the Days count towards the progress of the build, unlike those of trial builds
+     * @return total number of errors
+     */
+    private int scheduleDays(Scheduler scheduler, List<Day> days, int dayCount, int endCount, Queue<Task> tasks,
+                             Queue<Task> complete, int errors, int time, boolean counted) {
+        int today = Time.getEpochDay(time);
+        int idx = Time.getDayOfWeek(today) + dayCount;
+        DayTemplate[] templates = getDayTemplates();
+        Day currDay;
+
+        int eventIdx = 0;
+        while(!tasks.isEmpty() && dayCount < endCount) {
+            checkCancelled();
+            int finished = complete.size();
+            currDay = new Day(dayCount, userConfig.getHoursPerDayOfWeek()[idx % 7], today + dayCount++, templates[idx++ % 7]);
+            days.add(currDay);
+            eventIdx = addIndivEvents(currDay, eventIdx);
+
+            // don't need incomplete as argument (should be local to schedulers)
+            errors = scheduler.assignDay(currDay, errors, complete, tasks, time);
+            if (counted && buildProgress != null) {
+                buildProgress.addDay(complete.size() - finished);
+            }
+        }
+        return errors;
+    }
+
+    /**
+     * Adds the individual Events falling on the given Day, which is after the Day of any Event before
+     * the given index in the sorted list of individual Events
+     *
+     * @param day Day being given its Events
+     * @param eventIdx index of the first individual Event that may fall on the Day
+     * @return index of the first individual Event after the Day
+     */
+    private int addIndivEvents(Day day, int eventIdx) {
+        while (eventIdx < indivEvents.size() && indivEvents.get(eventIdx).getTimeStamp().getEpochDay() < day.getEpochDay()) {
+            eventIdx++;
+        }
+        while (eventIdx < indivEvents.size()) {
+            if (indivEvents.get(eventIdx).getTimeStamp().getEpochDay() == day.getEpochDay()) {
+                day.addEvent(indivEvents.get(eventIdx));
+                eventIdx++;
+            } else break;
+        }
+        return eventIdx;
+    }
+
+    /**
+     * Rearranges the SubTasks of each of the given Days to reduce how often they are broken up by Events,
+     * if the user has the 'optimizeDay' config option set. Days are independent once assigned, so they
+     * are optimized in parallel.
+     *
+     * @param days Days being optimized
+     */
+    private void optimizeDays(List<Day> days) {
+        if (userConfig.isOptimizeDay()) {
+            days.parallelStream().forEach(scheduler::optimizeDay);
+        }
+    }
+
+    /**
+     * Finds the Events overlapping the given Event. A recurring Event is compared by its time of day
+     * with the recurring Events on each of its days of the week and with the one-off Events from today
+     * onward falling on those days. Every comparison is a lookup in an index of the Events by their interval.
+     *
+     * @param event Event being checked
+     * @return List of overlapping Events, excluding the given Event itself
+     */
+    public List<Event> getConflictingEvents(Event event) {
+        DayTemplate[] templates = getDayTemplates();
+        Time.TimeStamp ts = event.getTimeStamp();
+        int startMinute = ts.getStartMinuteOfDay();
+        int endMinute = startMinute + ts.getEndEpochMinute() - ts.getStartEpochMinute();
+
+        EventIntervals intervals = getIndivIntervals();
+        Set<Integer> ids = new TreeSet<>();
+        if (event.isRecurring()) {
+            int today = Time.getCurrentEpochDay(clock);
+            for (Event.DayOfWeek day : event.getDays()) {
+                for (Event other : templates[day.ordinal()].getOverlapping(startMinute, endMinute)) {
+                    ids.add(other.getId());
+                }
+                for (Event other : indivTimesOfDay[day.ordinal()].getOverlapping(startMinute, endMinute)) {
+                    if (other.getTimeStamp().getEpochDay() >= today) {
+                        ids.add(other.getId());
+                    }
+                }
+            }
+        } else {
+            for (Event other : templates[Time.getDayOfWeek(ts.getEpochDay())].getOverlapping(startMinute, endMinute)) {
+                ids.add(other.getId());
+            }
+            for (Event other : intervals.getOverlapping(ts.getStartEpochMinute(), ts.getEndEpochMinute())) {
+                ids.add(other.getId());
+            }
+        }
+        ids.remove(event.getId());
+
+        List<Event> conflicts = new ArrayList<>(ids.size());
+        for (int id : ids) {
+            conflicts.add(index.getEvent(id));
+        }
+        return conflicts;
+    }
+
+    /**
+     * Gets the individual Events indexed by their epoch minutes, building the index along with the one by minutes
+     * of the day if any individual Event changed since it was last built
+     *
+     * @return EventIntervals of the individual Events
+     */
+    private EventIntervals getIndivIntervals() {
+        if (indivIntervals == null) {
+            indivIntervals = new EventIntervals();
+            indivTimesOfDay = new EventIntervals[7];
+            for (int i = 0; i < 7; i++) {
+                indivTimesOfDay[i] = new EventIntervals();
+            }
+            for (Event event : indivEvents) {
+                indexIndivEvent(event);
+            }
+        }
+        return indivIntervals;
+    }
+
+    private void indexIndivEvent(Event event) {
+        Time.TimeStamp ts = event.getTimeStamp();
+        int startMinute = ts.getStartMinuteOfDay();
+        indivIntervals.insert(event);
+        indivTimesOfDay[Time.getDayOfWeek(ts.getEpochDay())].insert(event, startMinute,
+                startMinute + ts.getEndEpochMinute() - ts.getStartEpochMinute());
+    }
+
+    /**
+     * Gets the layout of the recurring Events for each day of the week, building it if any recurring Event
+     * changed since it was last built
+     *
+     * @return array of DayTemplates indexed by day of the week
+     */
+    private DayTemplate[] getDayTemplates() {
+        if (dayTemplates == null) {
+            DayTemplate[] templates = new DayTemplate[7];
+            for (int i = 0; i < 7; i++) {
+                templates[i] = new DayTemplate(recurringEvents.get(i));
+            }
+            dayTemplates = templates;
+        }
+        return dayTemplates;
+    }
+
+    /**
+     * Outcome of building the schedule with a single engine in {@link #benchmarkSchedulers}
+     */
+    public static class SchedulerTiming {
+        /** Engine the schedule was built with */
+        private final SchedulerProvider provider;
+        /** Fastest build time in milliseconds */
+        private final double millis;
+        /** Number of Task hours left unscheduled */
+        private final double missedHours;
+        /** Number of errors in building the schedule */
+        private final int errors;
+
+        private SchedulerTiming(SchedulerProvider provider, double millis, double missedHours, int errors) {
+            this.provider = provider;
+            this.millis = millis;
+            this.missedHours = missedHours;
+            this.errors = errors;
+        }
+
+        public SchedulerProvider getProvider() {
+            return provider;
+        }
+
+        public double getMillis() {
+            return millis;
+        }
+
+        public double getMissedHours() {
+            return missedHours;
+        }
+
+        public int getErrors() {
+            return errors;
+        }
+    }
+
+    /**
+     * Range of Days scheduled apart from the rest of the horizon by {@link #scheduleSegments}
+     */
+    private static class Segment {
+        /** Scheduler assigning the Tasks of the segment's Days */
+        private final Scheduler scheduler;
+        /** EventLog of the segment's Day actions */
+        private final EventLog eventLog;
+        /** Index of the first Day of the segment */
+        private final int start;
+        /** Index of the Day after the segment */
+        private final int end;
+        /** Tasks due within the segment that are left to schedule */
+        private final Queue<Task> tasks;
+        /** Tasks due within the segment that are done scheduling */
+        private final Queue<Task> complete = new ArrayDeque<>();
+        /** Days of the segment */
+        private final List<Day> days = new ArrayList<>();
+        /** Number of errors in scheduling the segment */
+        private int errors;
+
+        private Segment(Scheduler scheduler, EventLog eventLog, int start, int end) {
+            this.scheduler = scheduler;
+            this.eventLog = eventLog;
+            this.start = start;
+            this.end = end;
+            this.tasks = scheduler.newTaskQueue();
+        }
+
+        /**
+         * Determines whether the segment was scheduled just like it would have been alongside the Tasks due after it.
+         * That is the case if the scheduler had no usable hours left on any of its Days once its own Tasks ran out.
+         *
+         * @return true if the segment matches the schedule of the entire horizon
+         */
+        private boolean isSeparable() {
+            if (days.size() != end - start || !tasks.isEmpty()) {
+                return false;
+            }
+            for (Day day : days) {
+                if (day.hasSpareHours() && day.getUnassignedHours() > 0) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        /**
+         * Gets every Task of the segment
+         *
+         * @return new List of the segment's Tasks
+         */
+        private List<Task> getTasks() {
+            List<Task> all = new ArrayList<>(complete);
+            all.addAll(tasks);
+            return all;
+        }
+    }
+
+    /**
+     * Outcome of generating a schedule with a single {@link ScheduleStrategy}, ordered from best to worst
+     */
+    private static class Trial implements Comparable<Trial> {
+        /** Strategy the schedule was generated with */
+        private final ScheduleStrategy strategy;
+        /** Number of Task hours left unscheduled or scheduled after the Task is due */
+        private final double missedHours;
+        /** Number of errors in generating the schedule */
+        private final int errors;
+        /** Number of SubTasks in the schedule */
+        private final int numSubTasks;
+        /** Days of the schedule, which hold copies of the Tasks */
+        private final List<Day> days;
+        /** Actions logged in generating the schedule */
+        private final EventLog log;
+
+        private Trial(ScheduleStrategy strategy, double missedHours, int errors, int numSubTasks, List<Day> days,
+                      EventLog log) {
+            this.strategy = strategy;
+            this.missedHours = missedHours;
+            this.errors = errors;
+            this.numSubTasks = numSubTasks;
+            this.days = days;
+            this.log = log;
+        }
+
+        @Override
+        public int compareTo(Trial other) {
+            int diff = Double.compare(missedHours, other.missedHours);
+            if (diff == 0) diff = Integer.compare(errors, other.errors);
+            if (diff == 0) diff = Integer.compare(numSubTasks, other.numSubTasks);
+            return diff != 0 ? diff : strategy.compareTo(other.strategy);
+        }
+    }
+
+    /**
+     * Schedule as it was before a build, which a cancelled build is rolled back to
+     */
+    private class Checkpoint {
+        /** Days of the schedule */
+        private final DayWindow days = new DayWindow(schedule);
+        /** Number of errors in building the Days */
+        private final int errors = errorCount;
+        /** Epoch minute at which the Days were built */
+        private final int time = scheduleTime;
+
+        /**
+         * Puts the Days back, along with the hours the active Tasks were given on them
+         */
+        private void restore() {
+            schedule = days;
+            errorCount = errors;
+            scheduleTime = time;
+            scheduledTasks.clear();
+            taskManager.resetTasks();
+            restoreArchivedProgress();
+            restoreScheduledProgress();
+            eventLog.reportBuildCancelled(buildProgress == null ? 0 : buildProgress.getDaysDone());
+        }
+    }
+
+    /**
+     * Moves the Days that passed since the schedule was built into the archived Days, so that the next build
+     * keeps the remaining Days and only adds new ones after them. The hours scheduled on the archived Days
+     * count as done, so Tasks that were given all of their hours on them are archived as well.
+     *
+     * @param today current epoch day
+     */
+    private void rollOver(int today) {
+        if (!windowBuilt || schedule.isEmpty() || schedule.get(0).getEpochDay() >= today) {
+            return;
+        }
+        int firstNewDay = archivedDays.size();
+        while (!schedule.isEmpty() && schedule.get(0).getEpochDay() < today) {
+            archivedDays.add(schedule.removeFirst());
+        }
+        taskManager.resetTasks();
+        restoreArchivedProgress();
+        List<Task> done = new ArrayList<>();
+        for (Day day : archivedDays.subList(firstNewDay, archivedDays.size())) {
+            for (Task.SubTask subTask : day.getSubTaskList()) {
+                Task task = subTask == null ? null : subTask.getParentTask();
+                if (task != null && task.getSubTotalHoursRemaining() <= 0 && taskManager.remove(task)) {
+                    done.add(task);
+                }
+            }
+        }
+        // like the other active Tasks, the Tasks left in the heap stay keyed by their hours before scheduling
+        taskManager.resetTasks();
+        for (Task task : done) {
+            task.reset();
+            archivedTasks.add(task);
+            updateDeadlines(dependencies.removeTask(task));
+        }
+        archivePastDueTasks(today);
+        int rolledDays = archivedDays.size() - firstNewDay;
+        // Days past the number to display are only kept while their hours count for an active Task
+        int oldest = today - userConfig.getArchiveDays();
+        archivedDays.removeIf(day -> day.getEpochDay() < oldest && !hasActiveSubTasks(day));
+
+        // the kept Days were scheduled as of the last build, and the Days after them are scheduled as of now
+        scheduleTime = Time.getCurrentEpochMinute(clock);
+        rebuildDay = Math.min(rebuildDay, today + schedule.size());
+        eventLog.reportRollOver(rolledDays, done.size());
+    }
+
+    /**
+     * Counts the hours scheduled on the archived Days as done for the active Tasks, after they were reset.
+     * SubTasks with more hours than their Task has left, such as after its hours were lowered, are skipped.
+     */
+    private void restoreArchivedProgress() {
+        for (Day day : archivedDays) {
+            for (Task.SubTask subTask : day.getSubTaskList()) {
+                if (subTask != null) {
+                    Task task = subTask.getParentTask();
+                    if (taskManager.contains(task) && subTask.getSubTaskHours() <= task.getSubTotalHoursRemaining()) {
+                        task.restoreSubTask(subTask);
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * Gives the active Tasks the hours of their SubTasks on the Days of the schedule
+     */
+    private void restoreScheduledProgress() {
+        for (Day day : schedule) {
+            for (Task.SubTask subTask : day.getSubTaskList()) {
+                if (subTask != null && taskManager.contains(subTask.getParentTask())) {
+                    subTask.getParentTask().restoreSubTask(subTask);
+                }
+            }
+        }
+    }
+
+    /**
+     * Stops the build if its progress was cancelled
+     *
+     * @throws CancellationException if the build was cancelled
+     */
+    private void checkCancelled() {
+        BuildProgress progress = buildProgress;
+        if (progress != null) {
+            progress.checkCancelled();
+        }
+    }
+
+    private boolean hasActiveSubTasks(Day day) {
+        for (Task.SubTask subTask : day.getSubTaskList()) {
+            if (subTask != null && taskManager.contains(subTask.getParentTask())) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Gets the index of the first Day that has to be regenerated, where 0 means the entire schedule
+     *
+     * @param today current epoch day
+     * @return index of the first Day to regenerate
+     */
+    private int getResumeIndex(int today) {
+        // an improved schedule depends on every Day, so none of them can be kept
+        if (fullRebuild || schedule.isEmpty() || schedule.get(0).getEpochDay() != today
+                || userConfig.getImproveMillis() > 0
+                || schedulerProvider != null && !schedulerProvider.getCapabilities().contains(Capability.INCREMENTAL)) {
+            return 0;
+        }
+        if (rebuildDay == Integer.MAX_VALUE) {
+            return schedule.size();
+        }
+        return (int) Math.max(0, Math.min(schedule.size(), (long) rebuildDay - today));
+    }
+
+    /**
+     * Keeps the Days before the given index and restores every active Task to the state it
+     * had once those Days were scheduled. Kept Days that a full build would no longer reach
+     * are dropped as well.
+     *
+     * @param resumeIdx index of the first Day to regenerate
+     * @param today current epoch day
+     * @param complete queue receiving Tasks that are done scheduling
+     */
+    private void resumeSchedule(int resumeIdx, int today, Queue<Task> complete) {
+        scheduler.updateConfig(userConfig);
+        Collections.sort(indivEvents);
+
+        List<Task> tasks = new ArrayList<>(taskManager);
+        for (Task task : tasks) {
+            task.reset();
+        }
+        restoreArchivedProgress();
+        // the last Day on which each Task still has to be scheduled
+        Map<Task, Integer> lastDays = new IdentityHashMap<>();
+        for (Task task : tasks) {
+            lastDays.put(task, task.getDueEpochDay());
+        }
+        for (int i = 0; i < resumeIdx; i++) {
+            Day day = schedule.get(i);
+            for (Task.SubTask subTask : day.getSubTaskList()) {
+                if (subTask != null) {
+                    Task task = subTask.getParentTask();
+                    task.restoreSubTask(subTask);
+                    if (task.getSubTotalHoursRemaining() == 0) {
+                        lastDays.merge(task, day.getEpochDay(), Math::min);
+                    }
+                }
+            }
+        }
+
+        // the scheduler stops creating Days once no Task is left to schedule
+        int lastDay = today - 1;
+        for (int last : lastDays.values()) {
+            lastDay = Math.max(lastDay, last);
+        }
+        resumeIdx = Math.min(resumeIdx, lastDay - today + 1);
+        schedule.subList(resumeIdx, schedule.size()).clear();
+
+        int resumeDay = today + resumeIdx;
+        scheduledTasks.clear();
+        for (Task task : tasks) {
+            if (lastDays.get(task) < resumeDay) {
+                complete.add(task);
+            } else {
+                scheduledTasks.add(task);
+            }
+        }
+    }
+
+    /**
+     * Forecasts the probability that each active Task misses its due date if its hours turn out different from
+     * its estimate, by simulating many builds in parallel on the free minutes of each Day
+     *
+     * @param runs number of simulated builds
+     * @param distribution distribution the actual hours of each Task are drawn from
+     * @param spread spread of the distribution, relative to the estimated hours
+     * @param seed seed of the simulated builds
+     * @return forecast of the active Tasks that are not yet past due
+     */
+    public RiskForecast forecastRisk(int runs, RiskForecast.Distribution distribution, double spread, long seed) {
+        CapacityIndex capacity = getCapacityIndex();
+        int today = capacity.getFirstDay();
+        int[] capacities = new int[Math.max(1, userConfig.getMaxDays())];
+        for (int i = 0; i < capacities.length; i++) {
+            capacities[i] = capacity.getCapacity(today + i);
+        }
+        List<Task> tasks = new ArrayList<>();
+        for (Task task : taskManager) {
+            if (task.getDueEpochDay() >= today) {
+                tasks.add(task);
+            }
+        }
+        RiskForecast forecast = new RiskForecast(tasks, today, capacities);
+        forecast.simulate(runs, distribution, spread, seed);
+        return forecast;
+    }
+
+    /**
+     * Builds the schedule once for every combination of the given settings, each on its own copy of the Cards,
+     * Tasks, and Events, leaving the settings and schedule of this ScheduleManager as they are
+     *
+     * @param hourOffsets hours added to each day of the week (empty for the current hours)
+     * @param ranges daily ranges of hours (empty for the current range)
+     * @param maxDays numbers of Days to schedule (empty for the current number)
+     * @return built variants, in the order of the weekly hours, then the ranges, then the numbers of Days
+     */
+    public List<CapacityPlan.Variant> planCapacity(List<Integer> hourOffsets, List<int[]> ranges, List<Integer> maxDays) {
+        // the variants regenerate every Day, so the current Days are left out of their copy
+        String data = Serializer.serializeSchedule(cards, index.getTasks(), dependencies::getDependencies, indivEvents,
+                getRecurEventsList(recurringEvents), new ArrayList<>());
+        return new CapacityPlan(data, userConfig, clock).run(hourOffsets, ranges, maxDays);
+    }
+
+    /**
+     * Gets the least number of hours of the active Tasks that no schedule can fit in by their due dates, based on the
+     * hours of each Day left around its Events. This is answered from the {@link CapacityIndex} without building
+     * the schedule.
+     *
+     * @return number of hours that cannot be scheduled in time
+     */
+    public double getUnavoidableOverflow() {
+        return getCapacityIndex().getOverflow() / 60.0;
+    }
+
+    /**
+     * Gets the least number of hours of the active Tasks that no schedule could fit in by their due dates if
+     * a Task with the given hours and due date were added
+     *
+     * @param hours number of hours of the Task
+     * @param due due date of the Task
+     * @return number of hours that could not be scheduled in time
+     */
+    public double getOverflowIfAdded(double hours, Calendar due) {
+        return getCapacityIndex().getOverflowIfAdded(Time.toEpochDay(due), toMinutes(hours)) / 60.0;
+    }
+
+    /**
+     * Finds the earliest due date for a Task with the given hours that would not leave any more hours unscheduled
+     *
+     * @param hours number of hours of the Task
+     * @return earliest due date, or null if no Day within the maximum number of days fits the Task
+     */
+    public Calendar getEarliestDueDate(double hours) {
+        int epochDay = getCapacityIndex().getEarliestFeasibleDay(toMinutes(hours));
+        return epochDay == Integer.MAX_VALUE ? null : Time.toCalendar(Time.toEpochMinute(epochDay, 0));
+    }
+
+    /**
+     * Finds the first due date by which more hours are due than could be scheduled
+     *
+     * @return first overloaded due date, or null if every Task can be scheduled in time
+     */
+    public Calendar getFirstInfeasibleDate() {
+        int epochDay = getCapacityIndex().getFirstInfeasibleDay();
+        return epochDay == Integer.MAX_VALUE ? null : Time.toCalendar(Time.toEpochMinute(epochDay, 0));
+    }
+
+    /**
+     * Logs a warning ahead of a build if the active Tasks cannot all be scheduled by their due dates
+     */
+    private void reportInfeasibility() {
+        CapacityIndex capacity = getCapacityIndex();
+        if (capacity.getOverflow() > 0) {
+            eventLog.reportInfeasibleSchedule(Time.toCalendar(Time.toEpochMinute(capacity.getFirstInfeasibleDay(), 0)),
+                    capacity.getOverflow() / 60.0);
+        }
+    }
+
+    /**
+     * Gets the {@link CapacityIndex} of the current horizon, building it if today is no longer its first Day
+     *
+     * @return up-to-date CapacityIndex
+     */
+    private CapacityIndex getCapacityIndex() {
+        int today = Time.getCurrentEpochDay(clock);
+        if (capacityIndex == null || capacityIndex.getFirstDay() != today) {
+            int[] capacities = new int[Math.max(1, userConfig.getMaxDays())];
+            for (int i = 0; i < capacities.length; i++) {
+                capacities[i] = getFreeMinutes(today + i);
+            }
+            capacityIndex = new CapacityIndex(today, capacities);
+            for (Task task : taskManager) {
+                updateDemand(task, 1);
+            }
+        } else {
+            // the time left today shrinks as the day goes on
+            capacityIndex.setCapacity(today, getFreeMinutes(today));
+        }
+        return capacityIndex;
+    }
+
+    /**
+     * Adds or removes the hours of an active Task from the {@link CapacityIndex}, if it has been built
+     *
+     * @param task active Task
+     * @param sign 1 if the Task is being added, or -1 if it is being removed
+     */
+    private void updateDemand(Task task, int sign) {
+        if (capacityIndex != null) {
+            capacityIndex.addDemand(task.getDueEpochDay(), sign * toMinutes(task.getTotalHours()));
+        }
+    }
+
+    /**
+     * Recomputes the free minutes of the Days an Event falls on in the {@link CapacityIndex}, if it has been built
+     *
+     * @param days days of the week of a recurring Event, or null for an individual Event
+     * @param epochDay epoch day of an individual Event
+     */
+    private void updateCapacity(Event.DayOfWeek[] days, int epochDay) {
+        if (capacityIndex == null) {
+            return;
+        }
+        if (days == null) {
+            capacityIndex.setCapacity(epochDay, getFreeMinutes(epochDay));
+            return;
+        }
+        int today = capacityIndex.getFirstDay();
+        for (Event.DayOfWeek day : days) {
+            for (int d = today + Math.floorMod(day.ordinal() - Time.getDayOfWeek(today), 7);
+                 d < today + userConfig.getMaxDays(); d += 7) {
+                capacityIndex.setCapacity(d, getFreeMinutes(d));
+            }
+        }
+    }
+
+    /**
+     * Gets the number of minutes within the user's daily hours that are not taken up by Events, capped by the
+     * user's hours for that day of the week. Minutes of today that have already passed are not counted.
+     *
+     * @param epochDay epoch day being checked
+     * @return number of free minutes
+     */
+    private int getFreeMinutes(int epochDay) {
+        int dayStart = Time.toEpochMinute(epochDay, 0);
+        int start = userConfig.getDailyHoursRange()[0] * 60;
+        int end = userConfig.getDailyHoursRange()[1] * 60;
+        if (epochDay == Time.getCurrentEpochDay(clock) && !userConfig.isDefaultAtStart()) {
+            start = Math.max(start, Time.getNearestQuarterOfHour(Time.getCurrentEpochMinute(clock), true) - dayStart);
+        }
+
+        List<int[]> busy = new ArrayList<>();
+        for (Event event : getDayTemplates()[Time.getDayOfWeek(epochDay)].getEvents()) {
+            Time.TimeStamp ts = event.getTimeStamp();
+            int startMinute = ts.getStartMinuteOfDay();
+            busy.add(new int[]{startMinute, startMinute + ts.getEndEpochMinute() - ts.getStartEpochMinute()});
+        }
+        for (Event event : getIndivIntervals().getOverlapping(dayStart, dayStart + Time.MINUTES_PER_DAY)) {
+            Time.TimeStamp ts = event.getTimeStamp();
+            // Events running past midnight only count towards the Day they start on
+            if (ts.getEpochDay() == epochDay) {
+                busy.add(new int[]{ts.getStartEpochMinute() - dayStart, ts.getEndEpochMinute() - dayStart});
+            }
+        }
+        busy.sort(Comparator.comparingInt(interval -> interval[0]));
+
+        int free = 0;
+        int time = start;
+        for (int[] interval : busy) {
+            if (interval[0] > time) {
+                free += Math.min(interval[0], end) - time;
+            }
+            time = Math.max(time, interval[1]);
+            if (time >= end) {
+                break;
+            }
+        }
+        free += Math.max(0, end - time);
+        return Math.max(0, Math.min(free, toMinutes(userConfig.getHoursPerDayOfWeek()[Time.getDayOfWeek(epochDay)])));
+    }
+
+    private static int toMinutes(double hours) {
+        return (int) Math.round(hours * 60);
+    }
+
+    /**
+     * Records that a change to the given active Task requires regenerating the schedule from the
+     * first Day on which the Task could have been scheduled
+     *
+     * @param task Task being added, modified, or removed
+     */
+    private void markTaskChange(Task task) {
+        rebuildDay = Math.min(rebuildDay, getFirstAffectedDay(Time.getEpochDay(task.getDeadline())));
+    }
+
+    /**
+     * Records that a change to the given Event requires regenerating the schedule from its next occurrence
+     *
+     * @param event Event being added, modified, or removed
+     */
+    private void markEventChange(Event event) {
+        if (event.isRecurring()) {
+            dayTemplates = null;
+            int today = Time.getCurrentEpochDay(clock);
+            int dayOfWeek = Time.getDayOfWeek(today);
+            for (Event.DayOfWeek day : event.getDays()) {
+                rebuildDay = Math.min(rebuildDay, today + Math.floorMod(day.ordinal() - dayOfWeek, 7));
+            }
+        } else {
+            rebuildDay = Math.min(rebuildDay, event.getTimeStamp().getEpochDay());
+        }
+    }
+
+    /**
+     * Finds the first Day that a Task due on the given date could have been placed on. A Day before the due
+     * date is unaffected if it has no usable hours left and holds no work for Tasks due on or after that date,
+     * since the scheduler could not have given such a Task any hours there. Tasks that others depend on count
+     * as due on the day of their deadline.
+     *
+     * @param dueDate epoch day on which the Task is due
+     * @return epoch day from which the schedule must be regenerated
+     */
+    private int getFirstAffectedDay(int dueDate) {
+        for (Day day : schedule) {
+            if (day.getEpochDay() >= dueDate || (day.hasSpareHours() && day.getUnassignedHours() > 0)) {
+                return Math.min(day.getEpochDay(), dueDate);
+            }
+            for (Task.SubTask subTask : day.getSubTaskList()) {
+                if (subTask != null && Time.getEpochDay(subTask.getParentTask().getDeadline()) >= dueDate) {
+                    return day.getEpochDay();
+                }
+            }
+        }
+        return dueDate;
+    }
+
+    /**
+     * Serializes the Cards, Tasks, Events, and schedule into the '.sched' format
+     *
+     * @return serialized schedule
+     */
+    public String serializeSchedule() {
+        return Serializer.serializeSchedule(cards, index.getTasks(), dependencies::getDependencies, indivEvents,
+                getRecurEventsList(recurringEvents), schedule);
+    }
+
+    public void serializeScheduleToFile(String filename) throws IOException {
+        IOProcessing.writeSerializationFile(filename, serializeSchedule());
+
+        eventLog.reportSerializingSchedule(filename);
+    }
+
+    public void deserializeScheduleFromFile(Path path) throws IOException {
+        Serializer.deserializeSchedule(Files.readString(path), this);
+
+        eventLog.reportDeserializingSchedule(String.valueOf(path.getFileName()));
+    }
+
+    /**
+     * Gets the Events in the order they are serialized
+     *
+     * @return individual Events followed by recurring Events
+     */
+    private List<Event> getSerializedEvents() {
+        List<Event> events = new ArrayList<>(indivEvents);
+        events.addAll(getRecurEventsList(recurringEvents));
+        return events;
+    }
+
+    private List<Event> getRecurEventsList(List<List<Event>> recurringEvents) {
+        Set<Event> recurEventsSet = new LinkedHashSet<>();
+
+        for (List<Event> dayEvents : recurringEvents) {
+            recurEventsSet.addAll(dayEvents);
+        }
+
+        return new ArrayList<>(recurEventsSet);
+    }
+
+    /**
+     * Determines whether the schedule is empty
+     *
+     * @return boolean value for whether schedule is empty
+     */
+    public boolean scheduleIsEmpty() {
+        return schedule.isEmpty();
+    }
+
+    /**
+     * Resets all the tasks as well as the entire schedule for it to be regenerated
+     */
+    private void resetSchedule() {
+        scheduler.updateConfig(userConfig);
+        schedule = new DayWindow();
+        taskManager.resetTasks();
+        restoreArchivedProgress();
+        errorCount = 0;
+        Collections.sort(indivEvents);
+    }
+
+    /**
+     * Builds a schedule in String format
+     *
+     * @return Schedule table as a String
+     */
+    public String buildScheduleStr() {
+        return TableFormatter.formatScheduleTable(schedule, true);
+    }
+
+    public String buildCurrentScheduleStr() {
+        int today = Time.getCurrentEpochDay(clock);
+        return TableFormatter.formatScheduleTable(schedule.subList(schedule.indexOfDay(today), schedule.size()), true);
+    }
+
+    public String buildArchivedScheduleStr() {
+        int today = Time.getCurrentEpochDay(clock);
+        // Days read from a file stay in the schedule until the next build, even once they are past
+        List<Day> days = new ArrayList<>(archivedDays.subList(
+                archivedDays.indexOfDay(today - userConfig.getArchiveDays()), archivedDays.size()));
+        days.addAll(schedule.subList(0, schedule.indexOfDay(today)));
+        return TableFormatter.formatScheduleTable(days, true);
+    }
+
+    /**
+     * Builds events in String format
+     *
+     * @return Events table as a String
+     */
+    public String buildEventStr() {
+        return TableFormatter.formatEventSetTables(recurringEvents, indivEvents, true);
+    }
+
+    /**
+     * Builds cards in String format
      *
      * @return Cards table as a String
      */
@@ -832,7 +2400,7 @@ public class ScheduleManager {
      * @return Tasks table as a String
      */
     public String buildTaskStr() {
-        return TableFormatter.formatTaskTable(taskManager, archivedTasks, true);
+        return TableFormatter.formatTaskTable(taskManager, archivedTasks, Time.getCurrentEpochDay(clock), true);
     }
 
     /**
@@ -864,17 +2432,17 @@ public class ScheduleManager {
     }
 
     public String buildFormatTask(int id) {
-        Task task = taskMap.get(id);
+        Task task = index.getTask(id);
 
         if (task == null) {
             throw new IllegalArgumentException("Could not locate Task " + id + ".");
         }
 
-        return FormatType.formatTask(task);
+        return FormatType.formatTask(task, Time.getCurrentEpochDay(clock));
     }
 
     public String buildFormatEvent(int id) {
-        Event event = findEvent(id);
+        Event event = index.getEvent(id);
 
         if (event == null) {
             throw new IllegalArgumentException("Could not locate Event " + id + ".");
@@ -902,6 +2470,15 @@ public class ScheduleManager {
         return schedule;
     }
 
+    /**
+     * Gets the number of errors that occurred in the last schedule generation
+     *
+     * @return number of scheduling errors
+     */
+    public int getErrorCount() {
+        return errorCount;
+    }
+
     /**
      * Gets event log
      *
@@ -911,6 +2488,15 @@ public class ScheduleManager {
         return eventLog;
     }
 
+    /**
+     * Gets the clock providing the present time when building the schedule
+     *
+     * @return clock of the ScheduleManager
+     */
+    public Clock getClock() {
+        return clock;
+    }
+
     public void exportScheduleToExcel(String filename) throws IOException {
         spreadsheetIO.setFilename(filename);
         spreadsheetIO.exportScheduleToExcel(schedule, cards, archivedTasks, userConfig);
@@ -965,6 +2551,9 @@ public class ScheduleManager {
     }
 
     public void setSched(List<Day> days) {
-        this.schedule = days;
+        this.schedule = new DayWindow(days);
+        // the hours of the Days before today were already taken off their Tasks
+        windowBuilt = false;
+        fullRebuild = true;
     }
 }
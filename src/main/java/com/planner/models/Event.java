@@ -143,13 +143,10 @@ public class Event implements Comparable<Event> {
     public String get24HourTimeStampString() {
         StringBuilder output = new StringBuilder();
 
-        Calendar start = timeStamp.getStart();
-        Calendar end = timeStamp.getEnd();
-
-        int startHour = start.get(Calendar.HOUR_OF_DAY);
-        int startMinute = start.get(Calendar.MINUTE);
-        int endHour = end.get(Calendar.HOUR_OF_DAY);
-        int endMinute = end.get(Calendar.MINUTE);
+        int startHour = timeStamp.getStartHour();
+        int startMinute = timeStamp.getStartMin();
+        int endHour = timeStamp.getEndHour();
+        int endMinute = timeStamp.getEndMin();
 
         appendTime(output, startHour);
 
@@ -187,10 +184,7 @@ public class Event implements Comparable<Event> {
      * @throws IllegalArgumentException if the timestamp's start and end don't share the same date
      */
     public void setTimeStamp(TimeStamp timeStamp) {
-        Calendar start = timeStamp.getStart();
-        Calendar end = timeStamp.getEnd();
-
-        if (!Time.doDatesMatch(start, end)) {
+        if (timeStamp.getEpochDay() != Time.getEpochDay(timeStamp.getEndEpochMinute())) {
             throw new IllegalArgumentException("Start and end times for timestamp don't share same date");
         }
 
@@ -203,11 +197,12 @@ public class Event implements Comparable<Event> {
      * @return Event's datestamp
      */
     public String getDateStamp() {
-        int day = timeStamp.getStart().get(Calendar.DAY_OF_MONTH);
-        int year = timeStamp.getStart().get(Calendar.YEAR);
+        Calendar date = timeStamp.getStart();
+        int day = date.get(Calendar.DAY_OF_MONTH);
+        int year = date.get(Calendar.YEAR);
 
         // Calendar.MONTH is zero-indexed
-        int month = timeStamp.getStart().get(Calendar.MONTH) + 1;
+        int month = date.get(Calendar.MONTH) + 1;
 
         StringBuilder dateStamp = new StringBuilder();
 
@@ -288,8 +283,6 @@ public class Event implements Comparable<Event> {
      */
     @Override
     public int compareTo(Event anotherEvent) {
-        return this.timeStamp
-                .getStart()
-                .compareTo(anotherEvent.getTimeStamp().getStart());
+        return Integer.compare(this.timeStamp.getStartEpochMinute(), anotherEvent.getTimeStamp().getStartEpochMinute());
     }
 }
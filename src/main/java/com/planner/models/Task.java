@@ -18,8 +18,10 @@ public class Task implements Comparable<Task> {
     private int id;
     /** Name of the Task */
     private String name;
-    /** Due date of the Task */
-    private Calendar dueDate;
+    /** Due date of the Task as an epoch day */
+    private int dueDate;
+    /** Epoch minute the Task is ordered by, which is the start of its due date unless a dependent Task needs it earlier */
+    private int deadline;
     /** Total number of hours for the Task */
     private double totalHours;
     /** Number of SubTask hours */
@@ -57,6 +59,22 @@ public class Task implements Comparable<Task> {
         setDueDate(date);
     }
 
+    /**
+     * Copy constructor for Task, used when a schedule is built on a separate set of Tasks.
+     * The copy shares the Card of the original.
+     *
+     * @param task Task being copied
+     */
+    public Task(Task task) {
+        this.id = task.id;
+        this.name = task.name;
+        this.dueDate = task.dueDate;
+        this.deadline = task.deadline;
+        this.totalHours = task.totalHours;
+        this.subTotalHours = task.subTotalHours;
+        this.card = task.card;
+    }
+
     /**
      * Gets the ID for a Task
      *
@@ -107,6 +125,15 @@ public class Task implements Comparable<Task> {
      * @return due date of Task
      */
     public Calendar getDueDate() {
+        return Time.toCalendar(Time.toEpochMinute(dueDate, 0));
+    }
+
+    /**
+     * Gets the due date of the Task as an epoch day
+     *
+     * @return epoch day of the due date
+     */
+    public int getDueEpochDay() {
         return dueDate;
     }
 
@@ -120,11 +147,31 @@ public class Task implements Comparable<Task> {
         if (dueDate == null) {
             throw new IllegalArgumentException("Task due date cannot be null.");
         }
-        dueDate.set(Calendar.HOUR_OF_DAY, 0);
-        dueDate.set(Calendar.MINUTE, 0);
-        dueDate.set(Calendar.SECOND, 0);
-        dueDate.set(Calendar.MILLISECOND, 0);
-        this.dueDate = dueDate;
+        this.dueDate = Time.toEpochDay(dueDate);
+        this.deadline = Time.toEpochMinute(this.dueDate, 0);
+    }
+
+    /**
+     * Gets the deadline the Task is ordered by when scheduling, which is the start of its due date unless
+     * a Task that depends on it needs it to be done earlier. Setting the due date resets the deadline.
+     *
+     * @return deadline as an epoch minute
+     */
+    public int getDeadline() {
+        return deadline;
+    }
+
+    /**
+     * Sets the deadline the Task is ordered by when scheduling
+     *
+     * @param deadline deadline as an epoch minute
+     * @throws IllegalArgumentException when attempting to set the deadline after the start of the due date
+     */
+    public void setDeadline(int deadline) {
+        if (deadline > Time.toEpochMinute(dueDate, 0)) {
+            throw new IllegalArgumentException("Task deadline cannot be after its due date.");
+        }
+        this.deadline = deadline;
     }
 
     /**
@@ -133,11 +180,12 @@ public class Task implements Comparable<Task> {
      * @return due date stamp as a String
      */
     public String getDateStamp() {
-        int day = dueDate.get(Calendar.DAY_OF_MONTH);
-        int year = dueDate.get(Calendar.YEAR);
+        Calendar date = getDueDate();
+        int day = date.get(Calendar.DAY_OF_MONTH);
+        int year = date.get(Calendar.YEAR);
 
         // Calendar.MONTH is zero-indexed.
-        int month = dueDate.get(Calendar.MONTH) + 1;
+        int month = date.get(Calendar.MONTH) + 1;
 
         StringBuilder dateStamp = new StringBuilder();
         if (day < 10) dateStamp.append("0");
@@ -217,6 +265,16 @@ public class Task implements Comparable<Task> {
         subTotalHours = 0;
     }
 
+    /**
+     * Re-applies the hours of an already scheduled SubTask after a reset, used when only
+     * part of the schedule is being regenerated
+     *
+     * @param subTask SubTask of this Task kept from the previous schedule
+     */
+    public void restoreSubTask(SubTask subTask) {
+        subTotalHours += subTask.getSubTaskHours();
+    }
+
     /**
      * Gets the number of SubTask hour slots currently unfilled, calculated as the difference
      * between <code>totalHours</code> and <code>subTotalHours</code>
@@ -228,22 +286,24 @@ public class Task implements Comparable<Task> {
     }
 
     /**
-     * Compares two Task objects based on their due date
+     * Compares two Task objects based on their deadline, then their remaining subtask hours, then their ID.
+     * The deadline is the start of the due date for any Task that no other Task depends on.
      *
      * @param anotherTask the Task to be compared.
-     * @return <code>0</code> if there is no time difference between the due dates and the subtasks total hours are equal;
+     * @return <code>0</code> if the due dates, the subtasks total hours, and the IDs are all equal;
      * and <code>1</code> if the due date of this Task is after the argument Task or when the argument Task has more remaining subtasks hours;
      * and <code>-1</code> if the due date of this Task is before the argument Task or when the argument Task has less remaining subtasks hours
      */
     @Override
     public int compareTo(Task anotherTask) {
-        long timeDiff = this.dueDate.compareTo(anotherTask.dueDate);
+        int timeDiff = Integer.compare(this.deadline, anotherTask.deadline);
         if(timeDiff < 0 || timeDiff == 0 && this.getSubTotalHoursRemaining() > anotherTask.getSubTotalHoursRemaining()) {
             return -1;
         } else if(timeDiff > 0 || this.getSubTotalHoursRemaining() < anotherTask.getSubTotalHoursRemaining()) {
             return 1;
         } else {
-            return 0;
+            // ties are broken by ID so that the order does not depend on the heap's insertion history
+            return Integer.compare(this.id, anotherTask.id);
         }
     }
 
@@ -293,7 +353,7 @@ public class Task implements Comparable<Task> {
         if (anotherTask == null || getClass() != anotherTask.getClass()) return false;
         Task task = (Task) anotherTask;
         return id == task.id && totalHours == task.totalHours && subTotalHours == task.subTotalHours &&
-                name.equals(task.name) && dueDate.equals(task.dueDate);
+                name.equals(task.name) && dueDate == task.dueDate;
     }
 
     /**
@@ -376,13 +436,10 @@ public class Task implements Comparable<Task> {
         public String get24HourTimeStampString() {
             StringBuilder output = new StringBuilder();
 
-            Calendar start = timeStamp.getStart();
-            Calendar end = timeStamp.getEnd();
-
-            int startHour = start.get(Calendar.HOUR_OF_DAY);
-            int startMinute = start.get(Calendar.MINUTE);
-            int endHour = end.get(Calendar.HOUR_OF_DAY);
-            int endMinute = end.get(Calendar.MINUTE);
+            int startHour = timeStamp.getStartHour();
+            int startMinute = timeStamp.getStartMin();
+            int endHour = timeStamp.getEndHour();
+            int endMinute = timeStamp.getEndMin();
 
             appendTime(output, startHour);
 
@@ -8,6 +8,11 @@ package com.planner.models;
  */
 public class UserConfig {
 
+    /** Upper limit for the maximum number of days to schedule */
+    public static final int MAX_DAYS_LIMIT = 730;
+    /** Default time budget in milliseconds for optimizing a single day */
+    public static final int DEFAULT_OPTIMIZE_MILLIS = 20;
+
     /** Daily range of hours for day */
     private int[] dailyHoursRange;
     /** Global data for hours per day of week */
@@ -24,6 +29,14 @@ public class UserConfig {
     private double minHours;
     /** Whether to maximize the positioning of tasks in relation to each other */
     private boolean optimizeDay;
+    /** Time budget in milliseconds for optimizing a single day (0 for the default) */
+    private int optimizeMillis;
+    /** Time budget in milliseconds for improving a built schedule (0 to not improve it) */
+    private int improveMillis;
+    /** Whether built schedules are cached in a file to be reused across sessions */
+    private boolean persistBuildCache;
+    /** Name of the engine assigning Tasks to Days (null for the default) */
+    private String scheduler;
     /** Whether the scheduling begins at the start of day */
     private boolean defaultAtStart;
     /** Whether to format pretty time */
@@ -132,7 +145,7 @@ public class UserConfig {
      * @param maxDays max days to display
      */
     public void setMaxDays(int maxDays) {
-        validateRange(maxDays, 1, 30, "Max day is outside of valid set for UserConfig");
+        validateRange(maxDays, 1, MAX_DAYS_LIMIT, "Max day is outside of valid set for UserConfig");
         this.maxDays = maxDays;
     }
 
@@ -227,6 +240,83 @@ public class UserConfig {
      */
     public void setOptimizeDay(boolean optimizeDay) { this.optimizeDay = optimizeDay; }
 
+    /**
+     * Gets the time budget for optimizing a single day
+     *
+     * @return time budget in milliseconds
+     */
+    public int getOptimizeMillis() {
+        return optimizeMillis > 0 ? optimizeMillis : DEFAULT_OPTIMIZE_MILLIS;
+    }
+
+    /**
+     * Sets the time budget for optimizing a single day
+     *
+     * @param optimizeMillis time budget in milliseconds
+     */
+    public void setOptimizeMillis(int optimizeMillis) {
+        validateRange(optimizeMillis, 1, 1000, "Optimize time budget is outside of valid set for UserConfig");
+        this.optimizeMillis = optimizeMillis;
+    }
+
+    /**
+     * Gets the time budget for improving a built schedule
+     *
+     * @return time budget in milliseconds, or 0 if the schedule is not improved
+     */
+    public int getImproveMillis() {
+        return improveMillis;
+    }
+
+    /**
+     * Sets the time budget for improving a built schedule
+     *
+     * @param improveMillis time budget in milliseconds, or 0 to not improve the schedule
+     */
+    public void setImproveMillis(int improveMillis) {
+        validateRange(improveMillis, 0, 10000, "Improve time budget is outside of valid set for UserConfig");
+        this.improveMillis = improveMillis;
+    }
+
+    /**
+     * Gets whether built schedules are cached in a file
+     *
+     * @return true if built schedules are reused across sessions
+     */
+    public boolean isPersistBuildCache() {
+        return persistBuildCache;
+    }
+
+    /**
+     * Sets whether built schedules are cached in a file
+     *
+     * @param persistBuildCache whether built schedules are reused across sessions
+     */
+    public void setPersistBuildCache(boolean persistBuildCache) {
+        this.persistBuildCache = persistBuildCache;
+    }
+
+    /**
+     * Gets the name of the engine assigning Tasks to Days
+     *
+     * @return name of the engine, or null for the default one
+     */
+    public String getScheduler() {
+        return scheduler;
+    }
+
+    /**
+     * Sets the name of the engine assigning Tasks to Days
+     *
+     * @param scheduler name of the engine, or null for the default one
+     */
+    public void setScheduler(String scheduler) {
+        if (scheduler != null && scheduler.isBlank()) {
+            throw new IllegalArgumentException("Scheduler name is blank for UserConfig");
+        }
+        this.scheduler = scheduler;
+    }
+
     /**
      * Checks if the scheduling begins at the start of day
      *
@@ -0,0 +1,37 @@
+package com.planner.schedule;
+
+import com.planner.models.Task;
+import com.planner.models.UserConfig;
+import com.planner.util.EventLog;
+
+import java.util.Queue;
+
+/**
+ * The class {@code BucketScheduler} places {@link Task} into each Day exactly like {@link CompactScheduler}, but has
+ * them kept in {@link TaskBuckets}. Since due dates are whole days within a bounded horizon, the earliest due Task is
+ * found by moving a cursor over the buckets rather than through a heap of every Task.
+ *
+ * @author Andrew Roe
+ */
+class BucketScheduler extends CompactScheduler {
+
+    /**
+     * Constructs a new {@code BucketScheduler} with a given {@link UserConfig} and {@link EventLog}
+     *
+     * @param userConfig user settings for scheduling purposes
+     * @param eventLog EventLog for logging data on Day actions, or null to not log them
+     */
+    BucketScheduler(UserConfig userConfig, EventLog eventLog) {
+        super(userConfig, eventLog);
+    }
+
+    @Override
+    public Scheduler fork(EventLog eventLog) {
+        return new BucketScheduler(getUserConfig(), eventLog);
+    }
+
+    @Override
+    public Queue<Task> newTaskQueue() {
+        return new TaskBuckets();
+    }
+}
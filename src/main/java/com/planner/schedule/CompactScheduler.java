@@ -1,6 +1,5 @@
 package com.planner.schedule;
 
-import com.planner.models.Event;
 import com.planner.schedule.day.Day;
 import com.planner.models.Task;
 import com.planner.models.UserConfig;
@@ -8,9 +7,11 @@ import com.planner.util.EventLog;
 import com.planner.util.Time;
 
 import java.util.ArrayList;
-import java.util.Calendar;
+import java.util.Comparator;
+import java.util.IdentityHashMap;
 import java.util.List;
-import java.util.PriorityQueue;
+import java.util.Map;
+import java.util.Queue;
 
 /**
  * The class {@code CompactScheduler} implements the interface {@link Scheduler} for compact scheduling actions.
@@ -24,63 +25,69 @@ import java.util.PriorityQueue;
  */
 public class CompactScheduler implements Scheduler {
 
-    /** Singleton for CompactScheduler */
-    private static CompactScheduler singleton;
     /** Holds relevant data for user settings in scheduling */
     private UserConfig userConfig;
-    /** EventLog for logging data on Day actions */
+    /** EventLog for logging data on Day actions (null if actions are not logged) */
     private final EventLog eventLog;
 
     /**
      * Constructs a new {@code CompactScheduler} with a given {@link UserConfig} and {@link EventLog}
      *
      * @param userConfig user settings for scheduling purposes
-     * @param eventLog EventLog for logging data on Day actions
+     * @param eventLog EventLog for logging data on Day actions, or null to not log them
      */
-    private CompactScheduler(UserConfig userConfig, EventLog eventLog) {
+    CompactScheduler(UserConfig userConfig, EventLog eventLog) {
         this.userConfig = userConfig;
         this.eventLog = eventLog;
-
     }
 
     /**
-     * Retrieves a singleton of {@code CompactScheduler} for scheduling purposes
+     * Gets the user settings the Days are assigned with
      *
-     * @param userConfig user settings for scheduling purposes
-     * @param eventLog EventLog for logging data on Day actions
-     * @return instance of {@code CompactScheduler}
+     * @return user settings for scheduling purposes
      */
-    protected static CompactScheduler getSingleton(UserConfig userConfig, EventLog eventLog) {
-        if(singleton == null) {
-            singleton = new CompactScheduler(userConfig, eventLog);
-        }
-        return singleton;
+    UserConfig getUserConfig() {
+        return userConfig;
     }
 
     @Override
-    public int assignDay(Day day, int errorCount, PriorityQueue<Task> complete, PriorityQueue<Task> taskManager, Calendar date) {
-        double maxHours = 0.0;
-        if (!Time.doDatesMatch(day.getDate(), date)) {
-            maxHours = getMaxHours(day, day.getDate(), false);
-        } else {
-            maxHours = getMaxHours(day, date, true);
-        }
+    public Scheduler fork(EventLog eventLog) {
+        return new CompactScheduler(userConfig, eventLog);
+    }
 
-        PriorityQueue<Task> incomplete = new PriorityQueue<>();
+    @Override
+    public int assignDay(Day day, int errorCount, Queue<Task> complete, Queue<Task> taskManager, int time) {
+        boolean isToday = day.getEpochDay() == Time.getEpochDay(time);
+        double maxHours = getAvailableHours(day, time);
+
+        List<Task> incomplete = new ArrayList<>();
         int numErrors = errorCount;
+        // Tasks due today are ordered before this, along with any Task they depend on
+        int nextDay = Time.toEpochMinute(day.getEpochDay() + 1, 0);
+        // a queue in another order, such as that of a ScheduleStrategy, can hold them behind Tasks due later
+        int dueLeft = isDeadlineOrdered(taskManager) ? -1 : countDueBefore(taskManager, nextDay);
 
-        while ((!taskManager.isEmpty() && day.hasSpareHours()) ||
-                (!taskManager.isEmpty() && Time.doDatesMatch(taskManager.peek().getDueDate(), day.getDate()))) {
+        while ((!taskManager.isEmpty() && day.hasSpareHours()) || (!taskManager.isEmpty() && (dueLeft < 0
+                ? taskManager.peek().getDeadline() < nextDay : dueLeft > 0))) {
             // gets first task from heap and finds max possible hours available
             Task task = taskManager.remove();
+            if (dueLeft > 0 && task.getDeadline() < nextDay) {
+                dueLeft--;
+            }
+            boolean isDueToday = task.getDueEpochDay() == day.getEpochDay();
+            if (!isDueToday && !day.hasSpareHours()) {
+                // a Task that Tasks due today depend on cannot be given hours once the day is full
+                incomplete.add(task);
+                continue;
+            }
 
             double hours = Math.min(task.getSubTotalHoursRemaining(), maxHours);
             maxHours -= hours;
 
             // status of task creation
-            boolean validTaskStatus = day.addSubTask(task, hours, userConfig, date, Time.doDatesMatch(day.getDate(), date));
+            boolean validTaskStatus = day.addSubTask(task, hours, userConfig, time, isToday);
 
-            if (userConfig.isOverflow() && Time.doDatesMatch(task.getDueDate(), day.getDate()) && task.getSubTotalHoursRemaining() > 0) {
+            if (userConfig.isOverflow() && isDueToday && task.getSubTotalHoursRemaining() > 0) {
                 if (task.getTotalHours() == task.getSubTotalHoursRemaining()) {
                     day.addOverflowError(task.getId(), task.getSubTotalHoursRemaining(), false);
                 } else {
@@ -89,63 +96,97 @@ public class CompactScheduler implements Scheduler {
             }
 
             // adds task to relevant completion heap
-            if (Time.doDatesMatch(task.getDueDate(), day.getDate()) || task.getSubTotalHoursRemaining() == 0) complete.add(task);
+            if (isDueToday || task.getSubTotalHoursRemaining() == 0) complete.add(task);
             else incomplete.add(task);
             // reports scheduling action
-            eventLog.reportDayAction(day, task, validTaskStatus);
+            if (eventLog != null) {
+                eventLog.reportDayAction(day, task, validTaskStatus);
+            }
             // updates number of errors
             numErrors += validTaskStatus ? 0 : 1;
 
-            if (!validTaskStatus && !Time.doDatesMatch(task.getDueDate(), day.getDate())
-                    && Time.differenceOfDays(task.getDueDate(), day.getDate()) > 0) {
+            if (!validTaskStatus && task.getDeadline() >= nextDay && dueLeft <= 0) {
                 break;
             }
         }
-        while (!incomplete.isEmpty()) {
-            taskManager.add(incomplete.remove());
-        }
+        taskManager.addAll(incomplete);
+        day.setUnassignedHours(maxHours);
         return numErrors;
     }
 
-    private double getMaxHours(Day day, Calendar date, boolean isToday) {
+    /**
+     * Checks whether the given queue holds its Tasks in order of their deadline, like {@link Task#compareTo(Task)}
+     *
+     * @param tasks queue of Tasks being checked
+     * @return true if no Task is ahead of one with an earlier deadline
+     */
+    private static boolean isDeadlineOrdered(Queue<Task> tasks) {
+        return tasks instanceof TaskHeap || tasks instanceof TaskBuckets;
+    }
+
+    /**
+     * Counts the Tasks of the given queue with a deadline before the given time
+     *
+     * @param tasks queue of Tasks being counted
+     * @param time epoch minute the deadlines are compared with
+     * @return number of Tasks due before the time
+     */
+    private static int countDueBefore(Queue<Task> tasks, int time) {
+        int count = 0;
+        for (Task task : tasks) {
+            if (task.getDeadline() < time) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    /**
+     * Gets the number of hours that can be assigned to a {@link Day} around its Events, which is capped by
+     * the user's hours for that day of the week
+     *
+     * @param day Day being checked
+     * @param time epoch minute at which the schedule is being built
+     * @return number of hours available in the Day
+     */
+    double getAvailableHours(Day day, int time) {
+        boolean isToday = day.getEpochDay() == Time.getEpochDay(time);
+        return getMaxHours(day, isToday ? time : Time.toEpochMinute(day.getEpochDay(), 0), isToday);
+    }
+
+    private double getMaxHours(Day day, int date, boolean isToday) {
         int startingHour = getStartingHour(date, isToday);
 
         if (!userConfig.isDefaultAtStart() && startingHour >= userConfig.getDailyHoursRange()[1]) {
             return 0.0;
         }
 
-        Calendar time = (Calendar) date.clone();
-        time.set(Calendar.HOUR_OF_DAY, startingHour);
-        time.set(Calendar.SECOND, 0);
-        time.set(Calendar.MILLISECOND, 0);
+        // the minute of the hour is carried over from the current time when scheduling today
+        int minute = Time.getMinuteOfDay(date) % 60;
+        int time = Time.toEpochMinute(day.getEpochDay(), startingHour * 60 + minute);
 
-        Calendar start = Time.getFirstAvailableTimeInDay(new ArrayList<>(), day.getEventTimeStamps(), userConfig, time, isToday);
-        Calendar end = (Calendar) time.clone();
-        end.set(Calendar.HOUR_OF_DAY, userConfig.getDailyHoursRange()[1]);
+        int start = day.getEventBlockEnd(day.getFirstAvailableTime(userConfig, time, isToday, false));
+        int end = Time.toEpochMinute(day.getEpochDay(), userConfig.getDailyHoursRange()[1] * 60 + minute);
 
         double hours = 0.0;
-        for (Event e : day.getEventList()) {
-            if (start.compareTo(e.getTimeStamp().getStart()) < 0) {
-                if (e.getTimeStamp().getStart().compareTo(end) < 0) {
-                    hours += Time.getTimeInterval(start, e.getTimeStamp().getStart());
-                    start = e.getTimeStamp().getEnd();
-                } else {
-                    // compute time until end of day
-                    hours += Time.getTimeInterval(start, end);
-                    return hours;
-                }
-            } else if (start.compareTo(e.getTimeStamp().getEnd()) <= 0) {
-                start = e.getTimeStamp().getEnd();
+        for (int next = day.getNextEventStart(start); next != Integer.MAX_VALUE; next = day.getNextEventStart(start)) {
+            if (next < end) {
+                hours += Time.getTimeInterval(start, next);
+                start = day.getEventBlockEnd(next);
+            } else {
+                // compute time until end of day
+                hours += Time.getTimeInterval(start, end);
+                return hours;
             }
         }
 
         hours += Time.getTimeInterval(start, end);
 
-        return Math.min(hours, userConfig.getHoursPerDayOfWeek()[date.get(Calendar.DAY_OF_WEEK) - 1]);
+        return Math.min(hours, userConfig.getHoursPerDayOfWeek()[Time.getDayOfWeek(day.getEpochDay())]);
     }
 
-    private int getStartingHour(Calendar date, boolean isToday) {
-        int startingHour = date.get(Calendar.HOUR_OF_DAY);
+    private int getStartingHour(int date, boolean isToday) {
+        int startingHour = Time.getMinuteOfDay(date) / 60;
         if (isToday) {
             startingHour = Math.max(userConfig.getDailyHoursRange()[0], startingHour);
         } else {
@@ -156,13 +197,71 @@ public class CompactScheduler implements Scheduler {
 
     @Override
     public int optimizeDay(Day day) {
-        List<Double> timeBlocks = Time.computeTimeBlocks(day);
-        List<Task.SubTask> subTasks = day.getSubTaskList();
-        // todo need to combine subTasks that were possibly broken up due to events
-        //   also, if there are no events (and subTasks were not broken up), there is no further optimization
-        //   while we could sort the subTasks, there is little need since the most we'll realistically have is 24 (tiny number, so bruteforce is acceptable)
+        List<Task.SubTask> subTasks = new ArrayList<>(day.getSubTaskList());
+        subTasks.sort(Comparator.comparingInt(subTask -> subTask.getTimeStamp().getStartEpochMinute()));
 
-        return 0;
+        // Tasks in order of their first SubTask along with their minutes and overflow status for the Day
+        List<Task> tasks = new ArrayList<>();
+        Map<Task, Integer> taskIdx = new IdentityHashMap<>();
+        List<Integer> minutes = new ArrayList<>();
+        List<Boolean> overflows = new ArrayList<>();
+        // SubTasks following each other without a gap form a segment that can be filled in any order
+        List<int[]> segments = new ArrayList<>();
+        for (Task.SubTask subTask : subTasks) {
+            Task task = subTask.getParentTask();
+            Time.TimeStamp ts = subTask.getTimeStamp();
+            int length = ts.getEndEpochMinute() - ts.getStartEpochMinute();
+            Integer idx = taskIdx.get(task);
+            if (idx == null) {
+                taskIdx.put(task, tasks.size());
+                tasks.add(task);
+                minutes.add(length);
+                overflows.add(subTask.isOverflow());
+            } else {
+                minutes.set(idx, minutes.get(idx) + length);
+                overflows.set(idx, overflows.get(idx) || subTask.isOverflow());
+            }
+            int[] last = segments.isEmpty() ? null : segments.get(segments.size() - 1);
+            if (last != null && last[1] == ts.getStartEpochMinute()) {
+                last[1] = ts.getEndEpochMinute();
+            } else {
+                segments.add(new int[]{ts.getStartEpochMinute(), ts.getEndEpochMinute()});
+            }
+        }
+        if (tasks.size() == subTasks.size()) {
+            return 0;
+        }
+
+        int[] segmentLengths = new int[segments.size()];
+        for (int i = 0; i < segmentLengths.length; i++) {
+            segmentLengths[i] = segments.get(i)[1] - segments.get(i)[0];
+        }
+        int[] demands = new int[tasks.size()];
+        for (int i = 0; i < demands.length; i++) {
+            demands[i] = minutes.get(i);
+        }
+        SubTaskPacker packer = new SubTaskPacker(segmentLengths, demands,
+                System.nanoTime() + userConfig.getOptimizeMillis() * 1_000_000L);
+        int[][] packing = packer.pack();
+        if (packer.getPieces() >= subTasks.size()) {
+            return subTasks.size() - tasks.size();
+        }
+
+        // lays out each segment with its Tasks in their original order
+        List<Task.SubTask> packed = new ArrayList<>(packer.getPieces());
+        for (int s = 0; s < segments.size(); s++) {
+            int start = segments.get(s)[0];
+            for (int i = 0; i < tasks.size(); i++) {
+                int length = packing[i][s];
+                if (length > 0) {
+                    Time.TimeStamp ts = new Time.TimeStamp(start, start + length);
+                    packed.add(tasks.get(i).forceAddSubTask(length / 60.0, overflows.get(i), ts));
+                    start += length;
+                }
+            }
+        }
+        day.setSubTasks(packed);
+        return packer.getPieces() - tasks.size();
     }
 
     @Override
@@ -0,0 +1,133 @@
+package com.planner.schedule;
+
+import com.planner.models.Task;
+import com.planner.models.UserConfig;
+import com.planner.schedule.day.Day;
+import com.planner.util.EventLog;
+import com.planner.util.Time;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * The class {@code FlowScheduler} plans every {@link Day} of the schedule at once rather than one Day at a time like
+ * {@link CompactScheduler}. Tasks sharing a due date are sent as minutes through a min-cost flow network into the
+ * Days up to that date, whose capacities are the hours {@link CompactScheduler} could assign around their Events.
+ * Hours past the due date cost more than all other hours combined, so the plan leaves the fewest hours possible
+ * unscheduled, and among those plans it finishes the work as early as possible.
+ * <p>
+ * The minutes each due date receives on a Day are handed out to its Tasks in order, so that each Task is kept
+ * in as few pieces as possible.
+ *
+ * @author Andrew Roe
+ */
+public class FlowScheduler extends PlanScheduler {
+
+    /**
+     * Constructs a new {@code FlowScheduler} with a given {@link UserConfig} and {@link EventLog}
+     *
+     * @param userConfig user settings for scheduling purposes
+     * @param eventLog EventLog for logging data on Day actions, or null to not log them
+     */
+    public FlowScheduler(UserConfig userConfig, EventLog eventLog) {
+        super(userConfig, eventLog);
+    }
+
+    /**
+     * Plans which Tasks are given hours on each of the given consecutive Days. Tasks due after the last
+     * Day may be left short without counting as unscheduled.
+     *
+     * @param days consecutive Days holding their Events, but no SubTasks yet
+     * @param tasks Tasks being scheduled, none of which have SubTasks yet
+     * @param time epoch minute at which the schedule is being built
+     * @return least number of hours that no schedule can assign to their Tasks by their due dates
+     */
+    public double plan(List<Day> days, Collection<Task> tasks, int time) {
+        int numDays = days.size();
+        int firstDay = numDays == 0 ? Time.getEpochDay(time) : days.get(0).getEpochDay();
+        List<Task> sorted = new ArrayList<>(tasks);
+        Collections.sort(sorted);
+
+        List<List<Piece>> plan = new ArrayList<>(numDays);
+        for (int d = 0; d < numDays; d++) {
+            plan.add(new ArrayList<>());
+        }
+
+        // group g holds the Tasks due on Day g, where group numDays holds the Tasks due after the last Day
+        List<List<Task>> groups = new ArrayList<>(numDays + 1);
+        for (int g = 0; g <= numDays; g++) {
+            groups.add(new ArrayList<>());
+        }
+        long[] demands = new long[numDays + 1];
+        long totalMinutes = 0;
+        for (Task task : sorted) {
+            int minutes = toMinutes(task.getSubTotalHoursRemaining());
+            if (minutes == 0) {
+                // Tasks without any minutes left are still done scheduling on the first Day
+                if (numDays > 0) {
+                    plan.get(0).add(new Piece(task, 0, true));
+                }
+                continue;
+            }
+            int g = Math.max(0, Math.min(numDays, task.getDueEpochDay() - firstDay));
+            groups.get(g).add(task);
+            demands[g] += minutes;
+            totalMinutes += minutes;
+        }
+
+        // an unscheduled minute costs more than any placement of every other minute
+        long missedCost = totalMinutes * (numDays + 1) + 1;
+        int source = 0;
+        int sink = 1;
+        MinCostFlow flow = new MinCostFlow(2 + numDays + numDays + 1);
+        for (int d = 0; d < numDays; d++) {
+            flow.addEdge(2 + d, sink, toMinutes(getAvailableHours(days.get(d), time)), 0);
+        }
+        int[][] dayEdges = new int[numDays + 1][];
+        int[] shortEdges = new int[numDays + 1];
+        for (int g = 0; g <= numDays; g++) {
+            if (demands[g] == 0) {
+                continue;
+            }
+            int node = 2 + numDays + g;
+            flow.addEdge(source, node, demands[g], 0);
+            dayEdges[g] = new int[Math.min(g + 1, numDays)];
+            for (int d = 0; d < dayEdges[g].length; d++) {
+                dayEdges[g][d] = flow.addEdge(node, 2 + d, demands[g], d);
+            }
+            // Tasks due after the last Day are only deferred, which still costs more than any Day
+            shortEdges[g] = flow.addEdge(node, sink, demands[g], g < numDays ? missedCost : numDays);
+        }
+        flow.solve(source, sink);
+
+        // hands out the minutes each group receives on a Day to its Tasks in order
+        long missedMinutes = 0;
+        for (int g = 0; g <= numDays; g++) {
+            if (demands[g] == 0) {
+                continue;
+            }
+            if (g < numDays) {
+                missedMinutes += flow.getFlow(shortEdges[g]);
+            }
+            List<Task> group = groups.get(g);
+            int i = 0;
+            int left = toMinutes(group.get(0).getSubTotalHoursRemaining());
+            for (int d = 0; d < dayEdges[g].length && i < group.size(); d++) {
+                long minutes = flow.getFlow(dayEdges[g][d]);
+                while (minutes > 0 && i < group.size()) {
+                    int given = (int) Math.min(left, minutes);
+                    minutes -= given;
+                    left -= given;
+                    plan.get(d).add(new Piece(group.get(i), given, left == 0));
+                    if (left == 0 && ++i < group.size()) {
+                        left = toMinutes(group.get(i).getSubTotalHoursRemaining());
+                    }
+                }
+            }
+        }
+        setPlan(firstDay, plan);
+        return missedMinutes / 60.0;
+    }
+}
@@ -0,0 +1,41 @@
+package com.planner.schedule;
+
+import com.planner.models.Task;
+
+import java.util.Comparator;
+
+/**
+ * Comparator utilized for CompactScheduling to place greater emphasis on tasks with the least slack, where
+ * slack is the number of working hours until the due date that are not needed by the task itself
+ *
+ * @author Andrew Roe
+ */
+public class LeastSlackComparator implements Comparator<Task> {
+
+    /** Average number of working hours per day */
+    private final double hoursPerDay;
+
+    /**
+     * Constructs a new {@code LeastSlackComparator} with the average number of working hours per day
+     *
+     * @param hoursPerDay average number of working hours per day
+     */
+    public LeastSlackComparator(double hoursPerDay) {
+        this.hoursPerDay = hoursPerDay;
+    }
+
+    @Override
+    public int compare(Task o1, Task o2) {
+        // every task is measured from the same day, so it cancels out of the comparison
+        double slackDiff = getSlack(o1) - getSlack(o2);
+        if (slackDiff != 0) {
+            return slackDiff < 0 ? -1 : 1;
+        }
+        int timeDiff = Integer.compare(o1.getDueEpochDay(), o2.getDueEpochDay());
+        return timeDiff != 0 ? timeDiff : Integer.compare(o1.getId(), o2.getId());
+    }
+
+    private double getSlack(Task task) {
+        return task.getDueEpochDay() * hoursPerDay - task.getSubTotalHoursRemaining();
+    }
+}
@@ -0,0 +1,306 @@
+package com.planner.schedule;
+
+import java.util.Arrays;
+import java.util.Random;
+
+/**
+ * Anytime local search over how many minutes each Task is given on each Day. Every move keeps the minutes of
+ * each Task, never gives a Day more minutes than it can hold, and never moves minutes past a Task's due date,
+ * so the hours left unscheduled never change. A move is kept if it does not make the allocation worse, which
+ * is judged first by the number of pieces (Days a Task is given minutes on) and then by how early the minutes
+ * are done. Since worse moves are never kept, the current allocation is always the best one found so far.
+ * <p>
+ * Each move changes at most two Tasks on two Days, so its effect is scored from those pieces alone.
+ *
+ * @author Andrew Roe
+ */
+final class LocalSearch {
+
+    /** Number of moves in a row that do not improve the allocation after which the search stops */
+    private static final int MAX_STALLED_MOVES = 1 << 20;
+    /** Number of moves between checks of the deadline */
+    private static final int DEADLINE_CHECK_MOVES = 256;
+
+    /** Minutes each Day can hold */
+    private final int[] capacities;
+    /** Index of the last Day each Task may be given minutes on */
+    private final int[] lastDays;
+    /** Days of each Task's pieces in the allocation the search starts from */
+    private final int[][] startDays;
+    /** Minutes of each Task's pieces in the allocation the search starts from */
+    private final int[][] startMinutes;
+
+    /**
+     * Constructs a new {@code LocalSearch} starting from the given allocation
+     *
+     * @param capacities minutes each Day can hold
+     * @param lastDays index of the last Day each Task may be given minutes on
+     * @param days Days of each Task's pieces, each given at most once per Task
+     * @param minutes positive minutes of each Task's pieces
+     */
+    LocalSearch(int[] capacities, int[] lastDays, int[][] days, int[][] minutes) {
+        if (lastDays.length != days.length || days.length != minutes.length) {
+            throw new IllegalArgumentException("Every Task needs a last Day and pieces");
+        }
+        this.capacities = capacities;
+        this.lastDays = lastDays;
+        this.startDays = days;
+        this.startMinutes = minutes;
+    }
+
+    /**
+     * Gets the allocation the search starts from
+     *
+     * @return new copy of the starting allocation
+     */
+    Allocation getStart() {
+        return new Allocation();
+    }
+
+    /**
+     * Searches for a better allocation until the deadline passes or the search stops improving
+     *
+     * @param seed seed for picking the moves
+     * @param deadline value of {@link System#nanoTime()} at which the search stops
+     * @return best allocation found
+     */
+    Allocation search(long seed, long deadline) {
+        Allocation allocation = new Allocation();
+        int[] movable = allocation.getMovableTasks();
+        if (movable.length == 0) {
+            return allocation;
+        }
+        Random random = new Random(seed);
+        int stalled = 0;
+        for (int move = 1; stalled < MAX_STALLED_MOVES; move++) {
+            if (move % DEADLINE_CHECK_MOVES == 0 && System.nanoTime() - deadline >= 0) {
+                break;
+            }
+            int pieces = allocation.pieces;
+            long earliness = allocation.earliness;
+            allocation.tryMove(movable[random.nextInt(movable.length)], random);
+            stalled = allocation.pieces < pieces || allocation.earliness < earliness ? 0 : stalled + 1;
+        }
+        return allocation;
+    }
+
+    /**
+     * Minutes of each Task on each Day along with its score
+     */
+    final class Allocation implements Comparable<Allocation> {
+        /** Days of each Task's pieces, in no particular order */
+        private final int[][] days;
+        /** Minutes of each Task's pieces */
+        private final int[][] minutes;
+        /** Position of each Task's pieces in the list of Tasks of their Day */
+        private final int[][] slots;
+        /** Number of pieces of each Task */
+        private final int[] counts;
+        /** Minutes each Day can still take */
+        private final int[] spare;
+        /** Tasks with a piece on each Day, in no particular order */
+        private final int[][] dayTasks;
+        /** Number of Tasks with a piece on each Day */
+        private final int[] dayCounts;
+        /** Total number of pieces */
+        private int pieces;
+        /** Sum of the index of each piece's Day weighted by its minutes, where less is earlier */
+        private long earliness;
+
+        private Allocation() {
+            int numTasks = startDays.length;
+            days = new int[numTasks][];
+            minutes = new int[numTasks][];
+            slots = new int[numTasks][];
+            counts = new int[numTasks];
+            spare = capacities.clone();
+            dayTasks = new int[capacities.length][4];
+            dayCounts = new int[capacities.length];
+            for (int t = 0; t < numTasks; t++) {
+                days[t] = Arrays.copyOf(startDays[t], Math.max(2, startDays[t].length));
+                minutes[t] = Arrays.copyOf(startMinutes[t], days[t].length);
+                slots[t] = new int[days[t].length];
+                counts[t] = startDays[t].length;
+                pieces += counts[t];
+                for (int i = 0; i < counts[t]; i++) {
+                    spare[days[t][i]] -= minutes[t][i];
+                    earliness += (long) minutes[t][i] * days[t][i];
+                    slots[t][i] = addDayTask(days[t][i], t);
+                }
+            }
+            for (int d = 0; d < spare.length; d++) {
+                // rounding to minutes may leave a Day slightly over
+                spare[d] = Math.max(0, spare[d]);
+            }
+        }
+
+        /**
+         * Gets the number of pieces
+         *
+         * @return total number of pieces
+         */
+        int getPieces() {
+            return pieces;
+        }
+
+        /**
+         * Gets the minutes each Task is given on each Day
+         *
+         * @param task index of the Task
+         * @param day index of the Day
+         * @return minutes of the Task on the Day
+         */
+        int getMinutes(int task, int day) {
+            int idx = find(task, day);
+            return idx == -1 ? 0 : minutes[task][idx];
+        }
+
+        @Override
+        public int compareTo(Allocation other) {
+            int diff = Integer.compare(pieces, other.pieces);
+            return diff != 0 ? diff : Long.compare(earliness, other.earliness);
+        }
+
+        private int[] getMovableTasks() {
+            int[] movable = new int[counts.length];
+            int size = 0;
+            for (int t = 0; t < counts.length; t++) {
+                if (counts[t] > 0) {
+                    movable[size++] = t;
+                }
+            }
+            return Arrays.copyOf(movable, size);
+        }
+
+        /**
+         * Tries a random move of one of the Task's pieces and keeps it if the allocation does not get worse.
+         * The piece is either moved onto another piece of the Task, making room there by swapping minutes with
+         * another Task if needed, moved partly to an earlier Day, or swapped with the minutes of another Task.
+         */
+        private void tryMove(int task, Random random) {
+            int i = random.nextInt(counts[task]);
+            int from = days[task][i];
+            int amount = minutes[task][i];
+            int kind = random.nextInt(3);
+            if (kind == 0 && counts[task] > 1) {
+                int j = random.nextInt(counts[task] - 1);
+                int to = days[task][j < i ? j : j + 1];
+                if (spare[to] >= amount) {
+                    tryShift(task, from, to, amount);
+                } else {
+                    // the other Task takes back the minutes this Task needs beyond the Day's spare minutes
+                    int other = pickDayTask(to, random);
+                    if (other != -1 && other != task && lastDays[other] >= from
+                            && getMinutes(other, to) >= amount - spare[to]) {
+                        trySwap(task, other, from, to, amount, amount - spare[to]);
+                    }
+                }
+            } else if (kind == 1 && from > 0) {
+                int to = random.nextInt(from);
+                int shifted = Math.min(amount, spare[to]);
+                if (shifted > 0) {
+                    tryShift(task, from, to, shifted);
+                }
+            } else {
+                int to = random.nextInt(Math.min(lastDays[task], capacities.length - 1) + 1);
+                int other = to == from ? -1 : pickDayTask(to, random);
+                if (other != -1 && other != task && lastDays[other] >= from) {
+                    int swapped = Math.min(amount, getMinutes(other, to));
+                    trySwap(task, other, from, to, swapped, swapped);
+                }
+            }
+        }
+
+        private void tryShift(int task, int from, int to, int amount) {
+            int pieceDiff = change(task, from, -amount) + change(task, to, amount);
+            long earlinessDiff = (long) amount * (to - from);
+            if (pieceDiff < 0 || pieceDiff == 0 && earlinessDiff < 0) {
+                move(task, from, to, amount);
+            }
+        }
+
+        /**
+         * Moves minutes of a Task to another Day and minutes of another Task back the other way, where the
+         * other Task gives back no more minutes than the first one moves in, so neither Day goes over
+         */
+        private void trySwap(int task, int other, int from, int to, int amount, int returned) {
+            int pieceDiff = change(task, from, -amount) + change(task, to, amount)
+                    + change(other, to, -returned) + change(other, from, returned);
+            long earlinessDiff = (long) (amount - returned) * (to - from);
+            // equal swaps are kept as well, so that the search can wander between allocations of the same score
+            if (pieceDiff < 0 || pieceDiff == 0 && earlinessDiff <= 0) {
+                move(task, from, to, amount);
+                move(other, to, from, returned);
+            }
+        }
+
+        /**
+         * Gets the change in the number of pieces from adding minutes to a Task on a Day
+         */
+        private int change(int task, int day, int amount) {
+            int current = getMinutes(task, day);
+            return (current + amount > 0 ? 1 : 0) - (current > 0 ? 1 : 0);
+        }
+
+        private void move(int task, int from, int to, int amount) {
+            if (amount == 0) {
+                return;
+            }
+            int i = find(task, from);
+            minutes[task][i] -= amount;
+            if (minutes[task][i] == 0) {
+                removeDayTask(from, slots[task][i]);
+                int last = --counts[task];
+                days[task][i] = days[task][last];
+                minutes[task][i] = minutes[task][last];
+                slots[task][i] = slots[task][last];
+                pieces--;
+            }
+            int j = find(task, to);
+            if (j == -1) {
+                j = counts[task]++;
+                if (j == days[task].length) {
+                    days[task] = Arrays.copyOf(days[task], 2 * j);
+                    minutes[task] = Arrays.copyOf(minutes[task], 2 * j);
+                    slots[task] = Arrays.copyOf(slots[task], 2 * j);
+                }
+                days[task][j] = to;
+                minutes[task][j] = 0;
+                slots[task][j] = addDayTask(to, task);
+                pieces++;
+            }
+            minutes[task][j] += amount;
+            spare[from] += amount;
+            spare[to] -= amount;
+            earliness += (long) amount * (to - from);
+        }
+
+        private int find(int task, int day) {
+            for (int i = 0; i < counts[task]; i++) {
+                if (days[task][i] == day) {
+                    return i;
+                }
+            }
+            return -1;
+        }
+
+        private int addDayTask(int day, int task) {
+            if (dayCounts[day] == dayTasks[day].length) {
+                dayTasks[day] = Arrays.copyOf(dayTasks[day], 2 * dayCounts[day]);
+            }
+            dayTasks[day][dayCounts[day]] = task;
+            return dayCounts[day]++;
+        }
+
+        private void removeDayTask(int day, int slot) {
+            int last = --dayCounts[day];
+            int moved = dayTasks[day][last];
+            dayTasks[day][slot] = moved;
+            slots[moved][find(moved, day)] = slot;
+        }
+
+        private int pickDayTask(int day, Random random) {
+            return dayCounts[day] == 0 ? -1 : dayTasks[day][random.nextInt(dayCounts[day])];
+        }
+    }
+}
@@ -0,0 +1,162 @@
+package com.planner.schedule;
+
+import com.planner.models.Task;
+import com.planner.models.UserConfig;
+import com.planner.schedule.day.Day;
+import com.planner.util.EventLog;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.IntStream;
+
+/**
+ * The class {@code LocalSearchScheduler} improves a schedule that was already built, one Day at a time, by another
+ * {@link Scheduler}. The hours it gave each Task on each Day are the starting point of a {@link LocalSearch} that
+ * merges the pieces of each Task onto fewer Days and otherwise moves hours to earlier Days, without leaving any
+ * more hours unscheduled. Several searches run in parallel until a deadline, and the best allocation found by
+ * any of them becomes the plan for rebuilding the Days.
+ *
+ * @author Andrew Roe
+ */
+public class LocalSearchScheduler extends PlanScheduler {
+
+    /** Number of pieces of Tasks before the search */
+    private int piecesBefore;
+    /** Number of pieces of Tasks in the plan */
+    private int piecesAfter;
+
+    /**
+     * Constructs a new {@code LocalSearchScheduler} with a given {@link UserConfig} and {@link EventLog}
+     *
+     * @param userConfig user settings for scheduling purposes
+     * @param eventLog EventLog for logging data on Day actions, or null to not log them
+     */
+    public LocalSearchScheduler(UserConfig userConfig, EventLog eventLog) {
+        super(userConfig, eventLog);
+    }
+
+    /**
+     * Searches for a better allocation of the hours assigned to the given Days and plans it if one is found
+     * before the deadline. The Days then have to be rebuilt without their SubTasks and assigned by this
+     * Scheduler, starting from Tasks without any SubTasks.
+     *
+     * @param days consecutive Days that were assigned their SubTasks
+     * @param tasks Tasks that were scheduled on the Days
+     * @param time epoch minute at which the schedule was built
+     * @param deadline value of {@link System#nanoTime()} by which the search stops
+     * @param threads number of searches to run in parallel
+     * @return true if a better allocation was planned
+     */
+    public boolean improve(List<Day> days, Collection<Task> tasks, int time, long deadline, int threads) {
+        int numDays = days.size();
+        List<Task> sorted = new ArrayList<>(tasks);
+        Collections.sort(sorted);
+        Map<Task, Integer> taskIdx = new IdentityHashMap<>();
+        for (Task task : sorted) {
+            taskIdx.put(task, taskIdx.size());
+        }
+
+        int[] capacities = new int[numDays];
+        // hours of each Task on each Day it was given hours on, in the order of the Days
+        List<List<double[]>> pieces = new ArrayList<>();
+        for (int t = 0; t < sorted.size(); t++) {
+            pieces.add(new ArrayList<>());
+        }
+        for (int d = 0; d < numDays; d++) {
+            Day day = days.get(d);
+            // capacities are rounded down and pieces up, so that the plan never fills a Day past its hours
+            capacities[d] = (int) Math.floor(getAvailableHours(day, time) * 60 + 1e-6);
+            for (Task.SubTask subTask : day.getSubTaskList()) {
+                Integer t = taskIdx.get(subTask.getParentTask());
+                if (t == null) {
+                    continue;
+                }
+                List<double[]> taskPieces = pieces.get(t);
+                if (taskPieces.isEmpty() || taskPieces.get(taskPieces.size() - 1)[0] != d) {
+                    taskPieces.add(new double[]{d, 0});
+                }
+                taskPieces.get(taskPieces.size() - 1)[1] += subTask.getSubTaskHours();
+            }
+        }
+
+        int firstDay = days.isEmpty() ? 0 : days.get(0).getEpochDay();
+        int[] lastDays = new int[sorted.size()];
+        int[][] pieceDays = new int[sorted.size()][];
+        int[][] pieceMinutes = new int[sorted.size()][];
+        for (int t = 0; t < sorted.size(); t++) {
+            lastDays[t] = Math.max(0, Math.min(numDays - 1, sorted.get(t).getDueEpochDay() - firstDay));
+            List<double[]> taskPieces = pieces.get(t);
+            taskPieces.removeIf(piece -> piece[1] <= 0);
+            pieceDays[t] = taskPieces.stream().mapToInt(piece -> (int) piece[0]).toArray();
+            pieceMinutes[t] = taskPieces.stream().mapToInt(piece -> (int) Math.ceil(piece[1] * 60 - 1e-6)).toArray();
+        }
+
+        LocalSearch search = new LocalSearch(capacities, lastDays, pieceDays, pieceMinutes);
+        LocalSearch.Allocation start = search.getStart();
+        LocalSearch.Allocation best = IntStream.range(0, Math.max(1, threads))
+                .parallel()
+                .mapToObj(seed -> search.search(seed, deadline))
+                .min(Comparator.naturalOrder())
+                .orElse(start);
+        piecesBefore = start.getPieces();
+        piecesAfter = piecesBefore;
+        if (best.compareTo(start) >= 0) {
+            return false;
+        }
+        piecesAfter = best.getPieces();
+
+        List<List<Piece>> plan = new ArrayList<>(numDays);
+        for (int d = 0; d < numDays; d++) {
+            plan.add(new ArrayList<>());
+        }
+        for (int t = 0; t < sorted.size(); t++) {
+            Task task = sorted.get(t);
+            if (task.getTotalHours() == 0) {
+                // Tasks without any hours are still done scheduling on the first Day
+                if (numDays > 0) {
+                    plan.get(0).add(new Piece(task, 0, true));
+                }
+                continue;
+            }
+            // the last piece of a Task that was given all of its hours takes the exact remainder
+            boolean scheduled = task.getSubTotalHoursRemaining() == 0;
+            int lastPiece = -1;
+            for (int d = 0; d <= lastDays[t]; d++) {
+                if (best.getMinutes(t, d) > 0) {
+                    lastPiece = d;
+                }
+            }
+            for (int d = 0; d <= lastPiece; d++) {
+                int minutes = best.getMinutes(t, d);
+                if (minutes > 0) {
+                    plan.get(d).add(new Piece(task, minutes, scheduled && d == lastPiece));
+                }
+            }
+        }
+        setPlan(firstDay, plan);
+        return true;
+    }
+
+    /**
+     * Gets the number of pieces of Tasks, which are the Days each Task is given hours on, before the search
+     *
+     * @return number of pieces before the last call to {@link #improve}
+     */
+    public int getPiecesBefore() {
+        return piecesBefore;
+    }
+
+    /**
+     * Gets the number of pieces of Tasks, which are the Days each Task is given hours on, after the search
+     *
+     * @return number of pieces after the last call to {@link #improve}
+     */
+    public int getPiecesAfter() {
+        return piecesAfter;
+    }
+}
@@ -13,13 +13,13 @@ public class LongOrderComparator implements Comparator<Task> {
 
     @Override
     public int compare(Task o1, Task o2) {
-        long timeDiff = o1.getDueDate().compareTo(o2.getDueDate());
+        int timeDiff = Integer.compare(o1.getDueEpochDay(), o2.getDueEpochDay());
         if(timeDiff < 0 || timeDiff == 0 && o1.getTotalHours() > o2.getTotalHours()) {
             return -1;
         } else if(timeDiff > 0 || o1.getTotalHours() < o2.getTotalHours()) {
             return 1;
         } else {
-            return 0;
+            return Integer.compare(o1.getId(), o2.getId());
         }
     }
 }
@@ -0,0 +1,192 @@
+package com.planner.schedule;
+
+import java.util.Arrays;
+
+/**
+ * Min-cost max-flow solver over a graph stored in primitive arrays. Flow is sent along successive shortest
+ * paths found by Dijkstra's algorithm on costs reduced by node potentials, which requires every edge added
+ * to have a non-negative cost.
+ *
+ * @author Andrew Roe
+ */
+final class MinCostFlow {
+
+    /** Number of nodes */
+    private final int numNodes;
+    /** First edge leaving each node, or -1 if there is none */
+    private final int[] head;
+    /** Next edge leaving the same node as each edge, or -1 if there is none */
+    private int[] next;
+    /** Node each edge enters */
+    private int[] to;
+    /** Residual capacity of each edge */
+    private long[] cap;
+    /** Cost per unit of flow of each edge */
+    private long[] cost;
+    /** Number of edges, including the reverse edge of each added edge */
+    private int numEdges;
+
+    /**
+     * Constructs a new {@code MinCostFlow} with no edges
+     *
+     * @param numNodes number of nodes, which are numbered from 0
+     */
+    MinCostFlow(int numNodes) {
+        this.numNodes = numNodes;
+        head = new int[numNodes];
+        Arrays.fill(head, -1);
+        next = new int[16];
+        to = new int[16];
+        cap = new long[16];
+        cost = new long[16];
+    }
+
+    /**
+     * Adds a directed edge along with its reverse residual edge
+     *
+     * @param from node the edge leaves
+     * @param target node the edge enters
+     * @param capacity maximum flow through the edge
+     * @param unitCost non-negative cost per unit of flow
+     * @return ID of the edge for {@link #getFlow(int)}
+     */
+    int addEdge(int from, int target, long capacity, long unitCost) {
+        if (unitCost < 0) {
+            throw new IllegalArgumentException("Edge costs cannot be negative");
+        }
+        if (numEdges + 2 > to.length) {
+            int length = to.length * 2;
+            next = Arrays.copyOf(next, length);
+            to = Arrays.copyOf(to, length);
+            cap = Arrays.copyOf(cap, length);
+            cost = Arrays.copyOf(cost, length);
+        }
+        int edge = numEdges;
+        link(from, target, capacity, unitCost);
+        link(target, from, 0, -unitCost);
+        return edge;
+    }
+
+    private void link(int from, int target, long capacity, long unitCost) {
+        to[numEdges] = target;
+        cap[numEdges] = capacity;
+        cost[numEdges] = unitCost;
+        next[numEdges] = head[from];
+        head[from] = numEdges++;
+    }
+
+    /**
+     * Gets the flow through an edge after {@link #solve(int, int)}
+     *
+     * @param edge ID of the edge
+     * @return flow through the edge
+     */
+    long getFlow(int edge) {
+        return cap[edge ^ 1];
+    }
+
+    /**
+     * Sends as much flow as possible from the source to the sink at the lowest total cost
+     *
+     * @param source node the flow leaves
+     * @param sink node the flow enters
+     * @return total cost of the flow
+     */
+    long solve(int source, int sink) {
+        long[] potential = new long[numNodes];
+        long[] dist = new long[numNodes];
+        int[] prevEdge = new int[numNodes];
+        // binary heap of nodes keyed by their tentative distance, where a node may appear more than once
+        long[] heapKeys = new long[numEdges + 1];
+        int[] heapNodes = new int[numEdges + 1];
+        long totalCost = 0;
+
+        while (true) {
+            Arrays.fill(dist, Long.MAX_VALUE);
+            dist[source] = 0;
+            int heapSize = push(heapKeys, heapNodes, 0, 0, source);
+            while (heapSize > 0) {
+                long d = heapKeys[0];
+                int node = heapNodes[0];
+                heapSize = pop(heapKeys, heapNodes, heapSize);
+                if (d > dist[node]) {
+                    continue;
+                }
+                for (int e = head[node]; e != -1; e = next[e]) {
+                    if (cap[e] > 0) {
+                        int target = to[e];
+                        long nd = d + cost[e] + potential[node] - potential[target];
+                        if (nd < dist[target]) {
+                            dist[target] = nd;
+                            prevEdge[target] = e;
+                            if (heapSize == heapKeys.length) {
+                                heapKeys = Arrays.copyOf(heapKeys, heapSize * 2);
+                                heapNodes = Arrays.copyOf(heapNodes, heapSize * 2);
+                            }
+                            heapSize = push(heapKeys, heapNodes, heapSize, nd, target);
+                        }
+                    }
+                }
+            }
+            if (dist[sink] == Long.MAX_VALUE) {
+                return totalCost;
+            }
+            for (int node = 0; node < numNodes; node++) {
+                if (dist[node] != Long.MAX_VALUE) {
+                    potential[node] += dist[node];
+                }
+            }
+
+            long flow = Long.MAX_VALUE;
+            for (int node = sink; node != source; node = to[prevEdge[node] ^ 1]) {
+                flow = Math.min(flow, cap[prevEdge[node]]);
+            }
+            for (int node = sink; node != source; node = to[prevEdge[node] ^ 1]) {
+                cap[prevEdge[node]] -= flow;
+                cap[prevEdge[node] ^ 1] += flow;
+            }
+            totalCost += flow * (potential[sink] - potential[source]);
+        }
+    }
+
+    private static int push(long[] keys, int[] nodes, int size, long key, int node) {
+        int idx = size;
+        while (idx > 0) {
+            int parent = (idx - 1) >>> 1;
+            if (keys[parent] <= key) {
+                break;
+            }
+            keys[idx] = keys[parent];
+            nodes[idx] = nodes[parent];
+            idx = parent;
+        }
+        keys[idx] = key;
+        nodes[idx] = node;
+        return size + 1;
+    }
+
+    private static int pop(long[] keys, int[] nodes, int size) {
+        size--;
+        long key = keys[size];
+        int node = nodes[size];
+        int idx = 0;
+        while (true) {
+            int child = 2 * idx + 1;
+            if (child >= size) {
+                break;
+            }
+            if (child + 1 < size && keys[child + 1] < keys[child]) {
+                child++;
+            }
+            if (keys[child] >= key) {
+                break;
+            }
+            keys[idx] = keys[child];
+            nodes[idx] = nodes[child];
+            idx = child;
+        }
+        keys[idx] = key;
+        nodes[idx] = node;
+        return size;
+    }
+}
@@ -0,0 +1,135 @@
+package com.planner.schedule;
+
+import com.planner.models.Task;
+import com.planner.models.UserConfig;
+import com.planner.schedule.day.Day;
+import com.planner.util.EventLog;
+import com.planner.util.Time;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+
+/**
+ * The class {@code PlanScheduler} assigns each {@link Day} the pieces of Tasks that were planned for it ahead of time,
+ * rather than picking Tasks one Day at a time like {@link CompactScheduler}. Subclasses decide on the plan, which
+ * must never give a Day more hours than {@link #getAvailableHours} has for it. Days outside the plan are assigned
+ * like {@link CompactScheduler} would.
+ *
+ * @author Andrew Roe
+ */
+public abstract class PlanScheduler extends CompactScheduler {
+
+    /** Holds relevant data for user settings in scheduling */
+    private UserConfig userConfig;
+    /** EventLog for logging data on Day actions (null if actions are not logged) */
+    private final EventLog eventLog;
+    /** Epoch day of the first planned Day */
+    private int firstDay;
+    /** Pieces of Tasks to place on each planned Day, indexed from <code>firstDay</code> */
+    private List<List<Piece>> plan;
+
+    /**
+     * Constructs a new {@code PlanScheduler} with a given {@link UserConfig} and {@link EventLog}
+     *
+     * @param userConfig user settings for scheduling purposes
+     * @param eventLog EventLog for logging data on Day actions, or null to not log them
+     */
+    PlanScheduler(UserConfig userConfig, EventLog eventLog) {
+        super(userConfig, eventLog);
+        this.userConfig = userConfig;
+        this.eventLog = eventLog;
+    }
+
+    /**
+     * Sets the pieces of Tasks to place on each planned Day, where the pieces of a Day are placed in order
+     *
+     * @param firstDay epoch day of the first planned Day
+     * @param plan pieces of Tasks for each consecutive Day, starting with the first
+     */
+    void setPlan(int firstDay, List<List<Piece>> plan) {
+        this.firstDay = firstDay;
+        this.plan = plan;
+    }
+
+    @Override
+    public Scheduler fork(EventLog eventLog) {
+        // the plan spans every Day, so they cannot be assigned apart from each other
+        return null;
+    }
+
+    @Override
+    public int assignDay(Day day, int errorCount, Queue<Task> complete, Queue<Task> taskManager, int time) {
+        int idx = plan == null ? -1 : day.getEpochDay() - firstDay;
+        if (idx < 0 || idx >= plan.size()) {
+            return super.assignDay(day, errorCount, complete, taskManager, time);
+        }
+        boolean isToday = day.getEpochDay() == Time.getEpochDay(time);
+        double maxHours = getAvailableHours(day, time);
+        int numErrors = errorCount;
+
+        for (Piece piece : plan.get(idx)) {
+            Task task = piece.task;
+            // the last piece takes the exact remainder so that rounding to minutes never leaves a Task short
+            double hours = piece.last ? task.getSubTotalHoursRemaining() : piece.minutes / 60.0;
+            maxHours -= hours;
+            boolean validTaskStatus = day.addSubTask(task, hours, userConfig, time, isToday);
+            if (piece.last) {
+                taskManager.remove(task);
+                complete.add(task);
+            }
+            if (eventLog != null) {
+                eventLog.reportDayAction(day, task, validTaskStatus);
+            }
+            numErrors += validTaskStatus ? 0 : 1;
+        }
+
+        // Tasks due today that are still in the queue could not be given all of their hours
+        List<Task> incomplete = new ArrayList<>();
+        int nextDay = Time.toEpochMinute(day.getEpochDay() + 1, 0);
+        while (!taskManager.isEmpty() && taskManager.peek().getDeadline() < nextDay) {
+            Task task = taskManager.remove();
+            if (task.getDueEpochDay() > day.getEpochDay()) {
+                // Tasks due today may depend on a Task due later, which stays in the queue
+                incomplete.add(task);
+                continue;
+            }
+            if (userConfig.isOverflow() && task.getSubTotalHoursRemaining() > 0) {
+                day.addOverflowError(task.getId(), task.getSubTotalHoursRemaining(),
+                        task.getTotalHours() != task.getSubTotalHoursRemaining());
+            }
+            complete.add(task);
+        }
+        taskManager.addAll(incomplete);
+        day.setUnassignedHours(Math.max(maxHours, 0));
+        return numErrors;
+    }
+
+    @Override
+    public void updateConfig(UserConfig userConfig) {
+        super.updateConfig(userConfig);
+        this.userConfig = userConfig;
+    }
+
+    static int toMinutes(double hours) {
+        return (int) Math.round(hours * 60);
+    }
+
+    /**
+     * Minutes of a single Task planned for a Day
+     */
+    static class Piece {
+        /** Task being given the minutes */
+        private final Task task;
+        /** Number of minutes given to the Task */
+        private final int minutes;
+        /** Whether this is the last piece of the Task */
+        private final boolean last;
+
+        Piece(Task task, int minutes, boolean last) {
+            this.task = task;
+            this.minutes = minutes;
+            this.last = last;
+        }
+    }
+}
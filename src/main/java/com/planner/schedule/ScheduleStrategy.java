@@ -0,0 +1,57 @@
+package com.planner.schedule;
+
+import com.planner.models.Task;
+import com.planner.models.UserConfig;
+
+import java.util.Comparator;
+
+/**
+ * Orderings in which the {@link Scheduler} can pick Tasks when building a schedule
+ *
+ * @author Andrew Roe
+ */
+public enum ScheduleStrategy {
+    /** Earliest due date first, then most remaining hours */
+    DEFAULT("default"),
+    /** Earliest due date first, then longest Task */
+    LONG_FIRST("long-first"),
+    /** Earliest due date first, then shortest Task */
+    SHORT_FIRST("short-first"),
+    /** Least slack between the remaining hours and the working hours until the due date first */
+    LEAST_SLACK("least-slack");
+
+    /** Name of the strategy as displayed to the user */
+    private final String name;
+
+    ScheduleStrategy(String name) {
+        this.name = name;
+    }
+
+    /**
+     * Gets the Comparator ordering Tasks for this strategy
+     *
+     * @param userConfig user settings for scheduling purposes
+     * @return Comparator for Tasks
+     */
+    public Comparator<Task> getComparator(UserConfig userConfig) {
+        switch (this) {
+            case LONG_FIRST:
+                return new LongOrderComparator();
+            case SHORT_FIRST:
+                return new ShortOrderComparator();
+            case LEAST_SLACK:
+                double hours = 0;
+                for (int dayHours : userConfig.getHoursPerDayOfWeek()) {
+                    hours += dayHours;
+                }
+                return new LeastSlackComparator(hours / 7);
+            default:
+                return Comparator.naturalOrder();
+        }
+    }
+
+    @Override
+    public String toString() {
+        return name;
+    }
+}
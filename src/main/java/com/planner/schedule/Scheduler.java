@@ -6,9 +6,8 @@ import com.planner.models.Task;
 import com.planner.models.UserConfig;
 import com.planner.util.EventLog;
 
-import java.util.Calendar;
 import java.util.List;
-import java.util.PriorityQueue;
+import java.util.Queue;
 
 /**
  * The interface {@code Scheduler} is for all scheduling implementations to sort out tasks via the {@link ScheduleManager}
@@ -17,8 +16,59 @@ import java.util.PriorityQueue;
  */
 public interface Scheduler {
 
-    static Scheduler getInstance(UserConfig userConfig, EventLog eventLog) {
-        return CompactScheduler.getSingleton(userConfig, eventLog);
+    /**
+     * Creates a new {@code Scheduler} of the engine named in the given {@link UserConfig} that logs its actions
+     * to the given {@link EventLog}
+     *
+     * @param userConfig user settings for scheduling purposes
+     * @param eventLog EventLog for logging data on Day actions
+     * @return new instance of {@code Scheduler}
+     */
+    static Scheduler newInstance(UserConfig userConfig, EventLog eventLog) {
+        return SchedulerRegistry.getProvider(userConfig.getScheduler()).newScheduler(userConfig, eventLog);
+    }
+
+    /**
+     * Creates a new {@code Scheduler} that does not log its actions, so that several schedules
+     * can be built concurrently from the same EventLog owner
+     *
+     * @param userConfig user settings for scheduling purposes
+     * @return new instance of {@code Scheduler}
+     */
+    static Scheduler newInstance(UserConfig userConfig) {
+        return newInstance(userConfig, null);
+    }
+
+    /**
+     * Creates a new {@code Scheduler} that assigns Tasks like the default one, but keeps them in
+     * {@link TaskBuckets} by due date instead of in a heap
+     *
+     * @param userConfig user settings for scheduling purposes
+     * @param eventLog EventLog for logging data on Day actions, or null to not log them
+     * @return new instance of {@code Scheduler}
+     */
+    static Scheduler newBucketInstance(UserConfig userConfig, EventLog eventLog) {
+        return new BucketScheduler(userConfig, eventLog);
+    }
+
+    /**
+     * Creates an empty queue for the Tasks being passed to {@link #assignDay}
+     *
+     * @return new queue of Tasks in sorted order
+     */
+    default Queue<Task> newTaskQueue() {
+        return new TaskHeap();
+    }
+
+    /**
+     * Creates a new {@code Scheduler} of the same kind and settings that logs its actions to the given
+     * {@link EventLog}, so that separate ranges of Days can be assigned concurrently
+     *
+     * @param eventLog EventLog for logging data on Day actions
+     * @return new instance of {@code Scheduler}, or null if Days cannot be assigned apart from each other
+     */
+    default Scheduler fork(EventLog eventLog) {
+        return null;
     }
 
     /**
@@ -27,10 +77,11 @@ public interface Scheduler {
      * @param day Day being processed
      * @param errorCount number of errors in current schedule
      * @param complete Tasks that are "finished scheduling" are added here
-     * @param taskManager PriorityQueue of all Tasks in sorted order
+     * @param taskManager queue of all Tasks in sorted order
+     * @param time epoch minute at which the schedule is being built
      * @return number of errors in scheduling Day
      */
-    int assignDay(Day day, int errorCount, PriorityQueue<Task> complete, PriorityQueue<Task> taskManager, Calendar date);
+    int assignDay(Day day, int errorCount, Queue<Task> complete, Queue<Task> taskManager, int time);
 
     /**
      * Optimizes a {@link Day}'s set of {@link com.planner.models.Task.SubTask} around {@link com.planner.models.Event}
@@ -0,0 +1,67 @@
+package com.planner.schedule;
+
+import com.planner.models.UserConfig;
+import com.planner.util.EventLog;
+
+import java.util.Set;
+
+/**
+ * The interface {@code SchedulerProvider} is the service-provider interface for scheduling engines. Engines outside
+ * of this package are discovered through {@link java.util.ServiceLoader} by listing their provider class in
+ * <code>META-INF/services/com.planner.schedule.SchedulerProvider</code>, and are then selected by name through
+ * {@link SchedulerRegistry}.
+ *
+ * @author Andrew Roe
+ */
+public interface SchedulerProvider {
+
+    /**
+     * Features an engine supports beyond assigning Tasks one {@link com.planner.schedule.day.Day} at a time
+     */
+    enum Capability {
+        /** Days can be regenerated from any Day onward while the Days before it are kept */
+        INCREMENTAL,
+        /** Separate ranges of Days can be assigned concurrently through {@link Scheduler#fork} */
+        PARALLEL,
+        /** SubTasks can be rearranged around Events through {@link Scheduler#optimizeDay} */
+        OPTIMIZE_DAY
+    }
+
+    /**
+     * Gets the name the engine is selected by, which is unique among all engines
+     *
+     * @return lowercase name of the engine
+     */
+    String getName();
+
+    /**
+     * Gets a short description of how the engine assigns Tasks
+     *
+     * @return description of the engine
+     */
+    String getDescription();
+
+    /**
+     * Gets the features the engine supports
+     *
+     * @return set of capabilities
+     */
+    Set<Capability> getCapabilities();
+
+    /**
+     * Gets the time complexity of building a schedule with the engine, in terms of the number of Tasks T,
+     * Days D and SubTasks S
+     *
+     * @return time complexity in big O notation
+     */
+    String getComplexity();
+
+    /**
+     * Creates a new {@link Scheduler} of the engine
+     *
+     * @param userConfig user settings for scheduling purposes
+     * @param eventLog EventLog for logging data on Day actions, or null to not log them
+     * @return new instance of {@code Scheduler}
+     */
+    Scheduler newScheduler(UserConfig userConfig, EventLog eventLog);
+}
@@ -0,0 +1,132 @@
+package com.planner.schedule;
+
+import com.planner.models.UserConfig;
+import com.planner.util.EventLog;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.ServiceLoader;
+import java.util.Set;
+import java.util.function.BiFunction;
+
+/**
+ * Registry of the scheduling engines that can be selected by name. The built-in engines come first, followed by
+ * every {@link SchedulerProvider} found through {@link ServiceLoader}. An engine whose name is already taken is
+ * ignored, so that a provider on the class path can never replace a built-in engine.
+ *
+ * @author Andrew Roe
+ */
+public final class SchedulerRegistry {
+
+    /** Name of the engine used when none is configured */
+    public static final String DEFAULT_NAME = "compact";
+    /** Engines in the order they were registered (null until first needed) */
+    private static List<SchedulerProvider> providers;
+
+    private SchedulerRegistry() {
+    }
+
+    /**
+     * Gets every registered engine
+     *
+     * @return unmodifiable list of engines, starting with the built-in ones
+     */
+    public static synchronized List<SchedulerProvider> getProviders() {
+        if (providers == null) {
+            List<SchedulerProvider> found = new ArrayList<>();
+            found.add(new BuiltInProvider(DEFAULT_NAME,
+                    "Earliest deadline first, with the active Tasks in a heap",
+                    "O(T log T + S log T + D)",
+                    EnumSet.allOf(SchedulerProvider.Capability.class), CompactScheduler::new));
+            found.add(new BuiltInProvider("bucket",
+                    "Earliest deadline first, with the active Tasks in buckets by due date",
+                    "O(T + S + D)",
+                    EnumSet.allOf(SchedulerProvider.Capability.class), BucketScheduler::new));
+            for (SchedulerProvider provider : ServiceLoader.load(SchedulerProvider.class)) {
+                if (find(found, provider.getName()) == null) {
+                    found.add(provider);
+                }
+            }
+            providers = Collections.unmodifiableList(found);
+        }
+        return providers;
+    }
+
+    /**
+     * Gets the engine registered under the given name, ignoring case
+     *
+     * @param name name of the engine, or null for the default engine
+     * @return engine with the given name
+     * @throws IllegalArgumentException if no engine has the given name
+     */
+    public static SchedulerProvider getProvider(String name) {
+        SchedulerProvider provider = find(getProviders(), name == null ? DEFAULT_NAME : name);
+        if (provider == null) {
+            throw new IllegalArgumentException("Unknown scheduler '" + name + "'. Use 'engine' to list all available schedulers.");
+        }
+        return provider;
+    }
+
+    private static SchedulerProvider find(List<SchedulerProvider> providers, String name) {
+        String key = name.trim().toLowerCase(Locale.ROOT);
+        for (SchedulerProvider provider : providers) {
+            if (provider.getName().equals(key)) {
+                return provider;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Engine shipped with the planner
+     */
+    private static class BuiltInProvider implements SchedulerProvider {
+        /** Name the engine is selected by */
+        private final String name;
+        /** Short description of how the engine assigns Tasks */
+        private final String description;
+        /** Time complexity of building a schedule */
+        private final String complexity;
+        /** Features the engine supports */
+        private final Set<Capability> capabilities;
+        /** Creates the engine's Schedulers */
+        private final BiFunction<UserConfig, EventLog, Scheduler> factory;
+
+        private BuiltInProvider(String name, String description, String complexity, Set<Capability> capabilities,
+                                BiFunction<UserConfig, EventLog, Scheduler> factory) {
+            this.name = name;
+            this.description = description;
+            this.complexity = complexity;
+            this.capabilities = Collections.unmodifiableSet(capabilities);
+            this.factory = factory;
+        }
+
+        @Override
+        public String getName() {
+            return name;
+        }
+
+        @Override
+        public String getDescription() {
+            return description;
+        }
+
+        @Override
+        public Set<Capability> getCapabilities() {
+            return capabilities;
+        }
+
+        @Override
+        public String getComplexity() {
+            return complexity;
+        }
+
+        @Override
+        public Scheduler newScheduler(UserConfig userConfig, EventLog eventLog) {
+            return factory.apply(userConfig, eventLog);
+        }
+    }
+}
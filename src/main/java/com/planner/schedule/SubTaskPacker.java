@@ -0,0 +1,167 @@
+package com.planner.schedule;
+
+import java.util.Arrays;
+
+/**
+ * Packs the minutes of several Tasks into a set of free time segments using as few pieces as possible.
+ * A best-fit decreasing packing is tried first, followed by a branch and bound search that runs
+ * until it either proves a packing optimal or its deadline passes.
+ *
+ * @author Andrew Roe
+ */
+final class SubTaskPacker {
+
+    /** Number of minutes free in each segment */
+    private final int[] segments;
+    /** Number of minutes needed by each Task */
+    private final int[] demands;
+    /** Indices of the Tasks from most to fewest minutes */
+    private final int[] order;
+    /** System time in nanoseconds at which the search gives up */
+    private final long deadline;
+    /** Minutes each Task is given in each segment for the best packing found */
+    private int[][] best;
+    /** Number of pieces in the best packing found */
+    private int bestPieces;
+    /** Whether the search ran out of time */
+    private boolean timedOut;
+
+    /**
+     * Constructs a new {@code SubTaskPacker}, where the segments together hold exactly as many
+     * minutes as the Tasks need
+     *
+     * @param segments number of minutes free in each segment
+     * @param demands number of minutes needed by each Task
+     * @param deadline system time in nanoseconds at which the search gives up
+     */
+    SubTaskPacker(int[] segments, int[] demands, long deadline) {
+        this.segments = segments;
+        this.demands = demands;
+        this.deadline = deadline;
+        Integer[] sorted = new Integer[demands.length];
+        for (int i = 0; i < sorted.length; i++) {
+            sorted[i] = i;
+        }
+        Arrays.sort(sorted, (a, b) -> demands[b] != demands[a] ? Integer.compare(demands[b], demands[a]) : Integer.compare(a, b));
+        this.order = new int[sorted.length];
+        for (int i = 0; i < sorted.length; i++) {
+            order[i] = sorted[i];
+        }
+    }
+
+    /**
+     * Finds the packing with the fewest pieces
+     *
+     * @return minutes each Task is given in each segment, indexed by Task then segment
+     */
+    int[][] pack() {
+        int[] remaining = segments.clone();
+        int[][] placement = new int[demands.length][segments.length];
+        best = new int[demands.length][];
+        bestPieces = Integer.MAX_VALUE;
+        search(0, remaining, placement, 0, true);
+        if (bestPieces > demands.length) {
+            search(0, segments.clone(), new int[demands.length][segments.length], 0, false);
+        }
+        return best;
+    }
+
+    /**
+     * Gets the number of pieces of the packing returned by {@link #pack()}
+     *
+     * @return number of pieces
+     */
+    int getPieces() {
+        return bestPieces;
+    }
+
+    private void search(int depth, int[] remaining, int[][] placement, int pieces, boolean greedy) {
+        if (timedOut || pieces + demands.length - depth >= bestPieces) {
+            return;
+        }
+        if (depth == demands.length) {
+            bestPieces = pieces;
+            for (int i = 0; i < placement.length; i++) {
+                best[i] = placement[i].clone();
+            }
+            return;
+        }
+        if (!greedy && System.nanoTime() > deadline) {
+            timedOut = true;
+            return;
+        }
+
+        int task = order[depth];
+        int demand = demands[task];
+        // places the Task whole, trying each distinct remaining capacity once (tightest first)
+        int[] candidates = getFittingSegments(remaining, demand);
+        for (int segment : candidates) {
+            remaining[segment] -= demand;
+            placement[task][segment] = demand;
+            search(depth + 1, remaining, placement, pieces + 1, greedy);
+            placement[task][segment] = 0;
+            remaining[segment] += demand;
+            if (greedy) {
+                return;
+            }
+        }
+
+        if (candidates.length == 0) {
+            // splits the Task across the largest segments until the rest fits into the tightest one
+            int[] used = new int[segments.length];
+            int left = demand;
+            int count = 0;
+            while (left > 0) {
+                int[] fitting = getFittingSegments(remaining, left);
+                int segment;
+                if (fitting.length > 0) {
+                    segment = fitting[0];
+                } else {
+                    segment = 0;
+                    for (int s = 1; s < remaining.length; s++) {
+                        if (remaining[s] > remaining[segment]) {
+                            segment = s;
+                        }
+                    }
+                }
+                int minutes = Math.min(left, remaining[segment]);
+                if (minutes == 0) {
+                    // the segments cannot hold the Task, which callers rule out
+                    throw new IllegalStateException("Segments are too small for the Tasks");
+                }
+                remaining[segment] -= minutes;
+                used[segment] += minutes;
+                left -= minutes;
+                count++;
+            }
+            placement[task] = used;
+            search(depth + 1, remaining, placement, pieces + count, greedy);
+            placement[task] = new int[segments.length];
+            for (int s = 0; s < used.length; s++) {
+                remaining[s] += used[s];
+            }
+        }
+    }
+
+    private static int[] getFittingSegments(int[] remaining, int demand) {
+        Integer[] fitting = new Integer[remaining.length];
+        int count = 0;
+        for (int s = 0; s < remaining.length; s++) {
+            if (remaining[s] >= demand) {
+                boolean duplicate = false;
+                for (int i = 0; i < count; i++) {
+                    duplicate |= remaining[fitting[i]] == remaining[s];
+                }
+                if (!duplicate) {
+                    fitting[count++] = s;
+                }
+            }
+        }
+        Arrays.sort(fitting, 0, count, (a, b) -> remaining[a] != remaining[b] ? Integer.compare(remaining[a], remaining[b]) : Integer.compare(a, b));
+        int[] segments = new int[count];
+        for (int i = 0; i < count; i++) {
+            segments[i] = fitting[i];
+        }
+        return segments;
+    }
+}
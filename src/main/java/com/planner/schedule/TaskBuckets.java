@@ -0,0 +1,261 @@
+package com.planner.schedule;
+
+import com.planner.models.Task;
+import com.planner.util.Time;
+
+import java.util.AbstractQueue;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+/**
+ * Bucket queue of {@link Task} in the same order as {@link Task#compareTo(Task)}. Tasks are kept in one bucket
+ * per day of their deadline, which is their due date unless a dependent Task needs them earlier, so finding the
+ * earliest Task only moves a cursor over the days. Tasks of the same day are ordered by a small heap within
+ * their bucket.
+ *
+ * @author Andrew Roe
+ */
+public class TaskBuckets extends AbstractQueue<Task> {
+
+    /** Epoch day of the first bucket */
+    private int firstDay;
+    /** Buckets of Tasks by deadline starting at <code>firstDay</code>, where unused buckets are null */
+    private Bucket[] buckets = new Bucket[0];
+    /** Index of the first bucket that may hold a Task */
+    private int cursor;
+    /** Number of Tasks in the queue */
+    private int size;
+
+    @Override
+    public boolean offer(Task task) {
+        if (task == null) {
+            throw new IllegalArgumentException("Task cannot be null");
+        }
+        int idx = getBucketIndex(Time.getEpochDay(task.getDeadline()));
+        if (buckets[idx] == null) {
+            buckets[idx] = new Bucket();
+        }
+        buckets[idx].offer(task);
+        cursor = Math.min(cursor, idx);
+        size++;
+        return true;
+    }
+
+    @Override
+    public Task poll() {
+        Bucket bucket = getFirstBucket();
+        if (bucket == null) {
+            return null;
+        }
+        size--;
+        return bucket.poll();
+    }
+
+    @Override
+    public Task peek() {
+        Bucket bucket = getFirstBucket();
+        return bucket == null ? null : bucket.tasks[0];
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    @Override
+    public boolean contains(Object o) {
+        Bucket bucket = getBucket(o);
+        return bucket != null && bucket.indexOf(o) != -1;
+    }
+
+    @Override
+    public boolean remove(Object o) {
+        Bucket bucket = getBucket(o);
+        if (bucket == null) {
+            return false;
+        }
+        int idx = bucket.indexOf(o);
+        if (idx == -1) {
+            return false;
+        }
+        bucket.removeAt(idx);
+        size--;
+        return true;
+    }
+
+    @Override
+    public void clear() {
+        for (Bucket bucket : buckets) {
+            if (bucket != null) {
+                bucket.clear();
+            }
+        }
+        cursor = 0;
+        size = 0;
+    }
+
+    @Override
+    public Iterator<Task> iterator() {
+        return new Iterator<>() {
+            /** Bucket of the next Task */
+            private int bucketIdx = cursor;
+            /** Position of the next Task within its bucket */
+            private int idx;
+
+            @Override
+            public boolean hasNext() {
+                while (bucketIdx < buckets.length && (buckets[bucketIdx] == null || idx >= buckets[bucketIdx].size)) {
+                    bucketIdx++;
+                    idx = 0;
+                }
+                return bucketIdx < buckets.length;
+            }
+
+            @Override
+            public Task next() {
+                if (!hasNext()) {
+                    throw new NoSuchElementException();
+                }
+                return buckets[bucketIdx].tasks[idx++];
+            }
+        };
+    }
+
+    private Bucket getFirstBucket() {
+        if (size == 0) {
+            return null;
+        }
+        while (buckets[cursor] == null || buckets[cursor].size == 0) {
+            cursor++;
+        }
+        return buckets[cursor];
+    }
+
+    private Bucket getBucket(Object o) {
+        if (!(o instanceof Task)) {
+            return null;
+        }
+        int idx = Time.getEpochDay(((Task) o).getDeadline()) - firstDay;
+        return idx >= 0 && idx < buckets.length ? buckets[idx] : null;
+    }
+
+    /**
+     * Gets the index of the bucket for a deadline, adding buckets to either end as needed
+     *
+     * @param epochDay day of the deadline as an epoch day
+     * @return index of the bucket
+     */
+    private int getBucketIndex(int epochDay) {
+        if (buckets.length == 0) {
+            firstDay = epochDay;
+            buckets = new Bucket[16];
+        }
+        int idx = epochDay - firstDay;
+        if (idx < 0) {
+            Bucket[] grown = new Bucket[buckets.length - idx];
+            System.arraycopy(buckets, 0, grown, -idx, buckets.length);
+            buckets = grown;
+            cursor -= idx;
+            firstDay = epochDay;
+            idx = 0;
+        } else if (idx >= buckets.length) {
+            buckets = Arrays.copyOf(buckets, Math.max(idx + 1, buckets.length * 2));
+        }
+        return idx;
+    }
+
+    /**
+     * Binary heap of the Tasks with deadlines on the same day
+     */
+    private static class Bucket {
+        /** Tasks in heap order */
+        private Task[] tasks = new Task[4];
+        /** Packed sort key of the Task at the same position */
+        private long[] keys = new long[4];
+        /** Number of Tasks in the bucket */
+        private int size;
+
+        private void offer(Task task) {
+            if (size == tasks.length) {
+                tasks = Arrays.copyOf(tasks, size * 2);
+                keys = Arrays.copyOf(keys, size * 2);
+            }
+            tasks[size] = task;
+            keys[size] = TaskHeap.getKey(task);
+            siftUp(size++);
+        }
+
+        private Task poll() {
+            Task head = tasks[0];
+            removeAt(0);
+            return head;
+        }
+
+        private int indexOf(Object o) {
+            for (int i = 0; i < size; i++) {
+                if (tasks[i] == o) {
+                    return i;
+                }
+            }
+            return -1;
+        }
+
+        private void removeAt(int idx) {
+            size--;
+            if (idx != size) {
+                tasks[idx] = tasks[size];
+                keys[idx] = keys[size];
+                siftDown(siftUp(idx));
+            }
+            tasks[size] = null;
+        }
+
+        private void clear() {
+            Arrays.fill(tasks, 0, size, null);
+            size = 0;
+        }
+
+        private boolean isBefore(int i, int j) {
+            return keys[i] < keys[j] || keys[i] == keys[j] && tasks[i].getId() < tasks[j].getId();
+        }
+
+        private int siftUp(int idx) {
+            while (idx > 0) {
+                int parent = (idx - 1) >>> 1;
+                if (!isBefore(idx, parent)) {
+                    break;
+                }
+                swap(idx, parent);
+                idx = parent;
+            }
+            return idx;
+        }
+
+        private void siftDown(int idx) {
+            while (true) {
+                int child = 2 * idx + 1;
+                if (child >= size) {
+                    return;
+                }
+                if (child + 1 < size && isBefore(child + 1, child)) {
+                    child++;
+                }
+                if (!isBefore(child, idx)) {
+                    return;
+                }
+                swap(idx, child);
+                idx = child;
+            }
+        }
+
+        private void swap(int i, int j) {
+            Task task = tasks[i];
+            long key = keys[i];
+            tasks[i] = tasks[j];
+            keys[i] = keys[j];
+            tasks[j] = task;
+            keys[j] = key;
+        }
+    }
+}
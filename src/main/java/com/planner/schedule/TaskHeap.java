@@ -0,0 +1,288 @@
+package com.planner.schedule;
+
+import com.planner.models.Task;
+
+import java.util.AbstractQueue;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+/**
+ * Binary heap of {@link Task} in the same order as {@link Task#compareTo(Task)}, indexed by Task ID so that a
+ * Task can be found, updated, or removed in O(log n) without scanning the heap. Each Task's sort key is packed
+ * into a {@code long} when it is added or updated, so a Task whose deadline or hours change while in the heap
+ * has to be passed to {@link #update(Task)}.
+ * <p>
+ * The ID index is stamped with a generation, so that clearing the heap or replacing its contents does not need
+ * to wipe the index. A heap holds at most one Task per ID.
+ *
+ * @author Andrew Roe
+ */
+public class TaskHeap extends AbstractQueue<Task> {
+
+    /** Tasks in heap order */
+    private Task[] tasks;
+    /** Packed sort key of the Task at the same position */
+    private long[] keys;
+    /** Number of Tasks in the heap */
+    private int size;
+    /** Position of each Task in the heap, indexed by ID */
+    private int[] positions;
+    /** Generation in which each position was written, indexed by ID */
+    private int[] stamps;
+    /** Current generation, where positions written in an earlier one are no longer valid */
+    private int generation;
+
+    /**
+     * Constructs an empty {@code TaskHeap}
+     */
+    public TaskHeap() {
+        tasks = new Task[16];
+        keys = new long[16];
+        positions = new int[16];
+        stamps = new int[16];
+        generation = 1;
+    }
+
+    /**
+     * Constructs a {@code TaskHeap} with the same Tasks and order as another one
+     *
+     * @param heap TaskHeap being copied
+     */
+    public TaskHeap(TaskHeap heap) {
+        this();
+        setAll(heap);
+    }
+
+    /**
+     * Packs the deadline and remaining hours of a Task into a key, where a smaller key comes first.
+     * Remaining hours are counted in whole minutes, which is the precision of every SubTask.
+     *
+     * @param task Task being keyed
+     * @return sort key of the Task
+     */
+    static long getKey(Task task) {
+        long minutes = Math.round(task.getSubTotalHoursRemaining() * 60);
+        minutes = Math.max(Integer.MIN_VALUE, Math.min(Integer.MAX_VALUE, minutes));
+        // more remaining hours come first, so the minutes are stored inverted in the lower 32 bits
+        return ((long) task.getDeadline() << 32) + (Integer.MAX_VALUE - minutes);
+    }
+
+    /**
+     * Replaces the contents of this heap with those of another one. The Tasks keep the keys they were given in
+     * the other heap, so nothing is compared or re-heaped.
+     *
+     * @param heap TaskHeap whose Tasks are copied
+     */
+    public void setAll(TaskHeap heap) {
+        clear();
+        ensureCapacity(heap.size);
+        System.arraycopy(heap.tasks, 0, tasks, 0, heap.size);
+        System.arraycopy(heap.keys, 0, keys, 0, heap.size);
+        size = heap.size;
+        for (int i = 0; i < size; i++) {
+            setPosition(tasks[i], i);
+        }
+    }
+
+    /**
+     * Resets every Task in the heap, which leaves the order unchanged as long as each Task was keyed before
+     * it was scheduled
+     */
+    public void resetTasks() {
+        for (int i = 0; i < size; i++) {
+            tasks[i].reset();
+        }
+    }
+
+    @Override
+    public boolean offer(Task task) {
+        if (task == null) {
+            throw new IllegalArgumentException("Task cannot be null");
+        }
+        if (getPosition(task.getId()) != -1) {
+            throw new IllegalArgumentException("Task " + task.getId() + " is already in the heap");
+        }
+        ensureCapacity(size + 1);
+        tasks[size] = task;
+        keys[size] = getKey(task);
+        setPosition(task, size);
+        siftUp(size++);
+        return true;
+    }
+
+    @Override
+    public Task poll() {
+        if (size == 0) {
+            return null;
+        }
+        Task head = tasks[0];
+        removeAt(0);
+        return head;
+    }
+
+    @Override
+    public Task peek() {
+        return size == 0 ? null : tasks[0];
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    @Override
+    public boolean contains(Object o) {
+        return indexOf(o) != -1;
+    }
+
+    @Override
+    public boolean remove(Object o) {
+        int idx = indexOf(o);
+        if (idx == -1) {
+            return false;
+        }
+        removeAt(idx);
+        return true;
+    }
+
+    /**
+     * Moves a Task whose due date or hours changed to its new place in the heap
+     *
+     * @param task Task that changed
+     * @return true if the Task is in the heap
+     */
+    public boolean update(Task task) {
+        int idx = indexOf(task);
+        if (idx == -1) {
+            return false;
+        }
+        keys[idx] = getKey(task);
+        siftDown(siftUp(idx));
+        return true;
+    }
+
+    /**
+     * Removes every Task in O(1) by moving on to a new generation of positions
+     */
+    @Override
+    public void clear() {
+        Arrays.fill(tasks, 0, size, null);
+        size = 0;
+        if (++generation == 0) {
+            // the stamps wrapped around, so old positions could look current again
+            Arrays.fill(stamps, 0);
+            generation = 1;
+        }
+    }
+
+    @Override
+    public Iterator<Task> iterator() {
+        return new Iterator<>() {
+            /** Position of the next Task */
+            private int idx;
+
+            @Override
+            public boolean hasNext() {
+                return idx < size;
+            }
+
+            @Override
+            public Task next() {
+                if (idx >= size) {
+                    throw new NoSuchElementException();
+                }
+                return tasks[idx++];
+            }
+        };
+    }
+
+    private int indexOf(Object o) {
+        if (!(o instanceof Task)) {
+            return -1;
+        }
+        int idx = getPosition(((Task) o).getId());
+        return idx != -1 && tasks[idx] == o ? idx : -1;
+    }
+
+    private int getPosition(int id) {
+        return id < stamps.length && stamps[id] == generation ? positions[id] : -1;
+    }
+
+    private void setPosition(Task task, int idx) {
+        int id = task.getId();
+        if (id >= positions.length) {
+            int length = Math.max(id + 1, positions.length * 2);
+            positions = Arrays.copyOf(positions, length);
+            stamps = Arrays.copyOf(stamps, length);
+        }
+        positions[id] = idx;
+        stamps[id] = generation;
+    }
+
+    private void ensureCapacity(int capacity) {
+        if (capacity > tasks.length) {
+            int length = Math.max(capacity, tasks.length * 2);
+            tasks = Arrays.copyOf(tasks, length);
+            keys = Arrays.copyOf(keys, length);
+        }
+    }
+
+    private void removeAt(int idx) {
+        stamps[tasks[idx].getId()] = 0;
+        size--;
+        if (idx != size) {
+            move(size, idx);
+            siftDown(siftUp(idx));
+        }
+        tasks[size] = null;
+    }
+
+    private boolean isBefore(int i, int j) {
+        return keys[i] < keys[j] || keys[i] == keys[j] && tasks[i].getId() < tasks[j].getId();
+    }
+
+    private int siftUp(int idx) {
+        while (idx > 0) {
+            int parent = (idx - 1) >>> 1;
+            if (!isBefore(idx, parent)) {
+                break;
+            }
+            swap(idx, parent);
+            idx = parent;
+        }
+        return idx;
+    }
+
+    private void siftDown(int idx) {
+        while (true) {
+            int child = 2 * idx + 1;
+            if (child >= size) {
+                return;
+            }
+            if (child + 1 < size && isBefore(child + 1, child)) {
+                child++;
+            }
+            if (!isBefore(child, idx)) {
+                return;
+            }
+            swap(idx, child);
+            idx = child;
+        }
+    }
+
+    private void swap(int i, int j) {
+        Task task = tasks[i];
+        long key = keys[i];
+        move(j, i);
+        tasks[j] = task;
+        keys[j] = key;
+        setPosition(task, j);
+    }
+
+    private void move(int from, int to) {
+        tasks[to] = tasks[from];
+        keys[to] = keys[from];
+        setPosition(tasks[to], to);
+    }
+}
@@ -18,41 +18,61 @@ import com.planner.util.Time.TimeStamp;
  */
 public class Day {
 
-    /** Holds the date and time of the particular Day */
-    private Calendar date;
+    /** Holds the date of the particular Day as an epoch day */
+    private int date;
     /** Number of hours possible for a given Day */
     private double capacity;
     /** Number of hours filled for a given Day */
     private double size;
-    /** TreeSet of all SubTasks */
-    private final List<SubTask> subTaskList;
-    /** List of time stamps for all subtasks */
-    private final List<TimeStamp> taskTimeStamps;
-    /** Map by starting hour and the associated event */
-    private final List<Event> eventList;
-    /** List of time stamps for all events */
-    private final List<TimeStamp> eventTimeStamps;
-    /** List of overflow errors for the Day */
-    private final List<String> overflowErrors;
+    /** Number of usable hours the scheduler left unassigned for the Day */
+    private double unassignedHours;
+    /** SubTasks, Events, and their time stamps, shared with empty Days until something is added */
+    private DayContents contents = DayContents.EMPTY;
+    /** Template whose Events have not been copied into this Day yet (null if there is none) */
+    private DayTemplate template;
+    /** Whether every event lies on quarter-hour boundaries of this Day, allowing lookups through the slot bitmap */
+    private boolean eventsOnSlots;
     /** ID for the specific Day */
     private int id;
 
     /**
-     * Constructor for Day that utilizes an incrementation value
+     * Constructor for Day that utilizes an epoch day, without any recurring Events
      *
      * @param id ID specifier for Day
      * @param capacity total capacity for the day
-     * @param incrementation number of days from present day (0=today, 1=tomorrow, ...)
+     * @param epochDay epoch day on which this Day occurs
      */
-    public Day(int id, double capacity, int incrementation) {
+    public Day(int id, double capacity, int epochDay) {
         setId(id);
         setCapacity(capacity);
-        setDate(incrementation);
-        subTaskList = new ArrayList<>();
-        taskTimeStamps = new ArrayList<>();
-        eventList = new ArrayList<>();
-        eventTimeStamps = new ArrayList<>();
-        overflowErrors = new ArrayList<>();
+        this.unassignedHours = capacity;
+        this.date = epochDay;
+        eventsOnSlots = true;
+    }
+
+    /**
+     * Constructor for Day that utilizes an epoch day along with the template of its recurring Events
+     *
+     * @param id ID specifier for Day
+     * @param capacity total capacity for the day
+     * @param epochDay epoch day on which this Day occurs
+     * @param template layout of the recurring Events for the Day's day of the week
+     */
+    public Day(int id, double capacity, int epochDay, DayTemplate template) {
+        setId(id);
+        setCapacity(capacity);
+        this.unassignedHours = capacity;
+        this.date = epochDay;
+        eventsOnSlots = true;
+        if (!template.getEvents().isEmpty()) {
+            this.contents = template.getContents();
+            this.eventsOnSlots = template.hasEventsOnSlots();
+            this.template = template;
+            // lookups for Events off the quarter-hour boundaries go through the Event list
+            if (!eventsOnSlots) {
+                materializeEvents();
+            }
+        }
     }
 
     /**
@@ -65,12 +85,9 @@ public class Day {
     public Day(int id, double capacity, Calendar date) {
         setId(id);
         setCapacity(capacity);
-        this.date = date;
-        subTaskList = new ArrayList<>();
-        taskTimeStamps = new ArrayList<>();
-        eventList = new ArrayList<>();
-        eventTimeStamps = new ArrayList<>();
-        overflowErrors = new ArrayList<>();
+        this.unassignedHours = capacity;
+        this.date = Time.toEpochDay(date);
+        eventsOnSlots = true;
     }
 
     private void setId(int id) {
@@ -103,24 +120,25 @@ public class Day {
     public double getCapacity() { return this.capacity; }
 
     /**
-     * Sets the due date for the Day
+     * Gets the Date from the Day
      *
-     * @param incrementation number of days from present for the Date to be set
+     * @return Date from Day
      */
-    private void setDate(int incrementation) {
-        this.date = Time.getFormattedCalendarInstance(incrementation);
+    public Calendar getDate() {
+        return Time.toCalendar(Time.toEpochMinute(date, 0));
     }
 
     /**
-     * Gets the Date from the Day
+     * Gets the Date from the Day as an epoch day
      *
-     * @return Date from Day
+     * @return epoch day of Day
      */
-    public Calendar getDate() {
+    public int getEpochDay() {
         return date;
     }
 
     public String getDateStamp() {
+        Calendar date = getDate();
         int day = date.get(Calendar.DAY_OF_MONTH);
         int year = date.get(Calendar.YEAR);
 
@@ -153,15 +171,15 @@ public class Day {
         if (!added) {
             err += " (Entire task lost)";
         }
-        overflowErrors.add(err);
+        modifiableContents().overflowErrors.add(err);
     }
 
     public void addOverflowError(String err) {
-        overflowErrors.add(err);
+        modifiableContents().overflowErrors.add(err);
     }
 
     public List<String> getOverflowErrors() {
-        return overflowErrors;
+        return contents.overflowErrors;
     }
 
     /**
@@ -171,7 +189,7 @@ public class Day {
      * @param hours number of hours for the SubTask
      * @return boolean status for success of adding SubTask manually
      */
-    public boolean addSubTask(Task task, double hours, UserConfig userConfig, Calendar time, boolean isToday) {
+    public boolean addSubTask(Task task, double hours, UserConfig userConfig, int time, boolean isToday) {
         if (hours <= 0) return this.size <= this.capacity;
         boolean overflow = this.size + hours > this.capacity;
 //        SubTask subtask = task.addSubTask(hours, overflow); // todo need to rearrange this here
@@ -180,18 +198,18 @@ public class Day {
 //        this.size += hours;
 
         // nothing changes here (thank God)
-        if (eventList.isEmpty()) {
+        if (!hasEvents()) {
             createNonEventTimeStamps(hours, userConfig, time, isToday);
-            SubTask subTask = task.addSubTask(hours, overflow, taskTimeStamps.get(taskTimeStamps.size() - 1));
-            subTaskList.add(subTask);
+            SubTask subTask = task.addSubTask(hours, overflow, contents.taskTimeStamps.get(contents.taskTimeStamps.size() - 1));
+            modifiableContents().subTaskList.add(subTask);
             this.size += hours;
         } else {
             while (hours > 0) {
                 double prevHours = hours;
                 hours -= createEventTimeStamps(hours, userConfig, time, isToday);
                 // add subtask to subtaskManager
-                SubTask subTask = task.addSubTask(prevHours - hours, overflow, taskTimeStamps.get(taskTimeStamps.size() - 1));
-                subTaskList.add(subTask);
+                SubTask subTask = task.addSubTask(prevHours - hours, overflow, contents.taskTimeStamps.get(contents.taskTimeStamps.size() - 1));
+                modifiableContents().subTaskList.add(subTask);
                 this.size += (prevHours - hours);
             }
         }
@@ -199,28 +217,18 @@ public class Day {
         return this.size <= this.capacity;
     }
 
-    private void createNonEventTimeStamps(double hours, UserConfig userConfig, Calendar time, boolean isToday) {
+    private void createNonEventTimeStamps(double hours, UserConfig userConfig, int time, boolean isToday) {
         // handles the creation of timestamps for subtasks created
-        int taskHours = (int) hours;
-        int taskMin = hours % 1 == 0.5 ? 30 : 0;
-        Calendar temp;
-        if (isToday) {
-            temp = time;
-        } else {
-            temp = this.date;
-        }
+        int temp = isToday ? time : Time.toEpochMinute(date, 0);
 
-        Calendar startTime = Time.getFirstAvailableTimeInDay(taskTimeStamps, eventTimeStamps, userConfig, temp, isToday);
+        int startTime = getFirstAvailableTime(userConfig, temp, isToday, true);
+        int endTime = startTime + (int) (hours * 60);
 
-        Calendar endTime = (Calendar) startTime.clone();
-        endTime.add(Calendar.HOUR_OF_DAY, taskHours);
-        endTime.add(Calendar.MINUTE, taskMin);
-
-        taskTimeStamps.add(new TimeStamp(startTime, endTime));
+        addTaskTimeStamp(new TimeStamp(startTime, endTime));
     }
 
     // [COMPLETE]
-    private double createEventTimeStamps(double hours, UserConfig userConfig, Calendar time, boolean isToday) {
+    private double createEventTimeStamps(double hours, UserConfig userConfig, int time, boolean isToday) {
         // todo we'll handle event edge case here (simply check whether it's within the bounds for the day)
         //  avoid 'clever' solutions
         /*
@@ -233,37 +241,184 @@ public class Day {
             d. Repeat until task is completed (remember, Day needs a method that tells the scheduler how many hours are AVAILABLE, so we can assume we have enough)
         3. Done
          */
-        Calendar temp;
-        if (isToday) {
-            temp = time;
-        } else {
-            temp = this.date;
-        }
-        Calendar startTime = Time.getFirstAvailableTimeInDay(taskTimeStamps, eventTimeStamps, userConfig, temp, isToday);
+        int temp = isToday ? time : Time.toEpochMinute(date, 0);
+        int startTime = getFirstAvailableTime(userConfig, temp, isToday, true);
         // todo check whether startTime is within valid bounds (if it is, cap it at: Min(hours_remaining, hours_till_end_of_day) )
         //  once this is done (as well as handling 'eventTimeStamp'), return '0' (note: make sure to check whether 'fit_day' is true )
 
-        TimeStamp eventTimeStamp = null;
-        for (TimeStamp eTS : eventTimeStamps) { // this list needs to be sorted (given assumption below)
-            if (Time.isBefore(startTime, eTS.getStart())) {
-                eventTimeStamp = eTS;
-                break;
-            }
+        int nextEventStart = getNextEventStart(startTime);
+        if (nextEventStart != Integer.MAX_VALUE) {
+            hours = Math.min(hours, Time.getTimeInterval(startTime, nextEventStart));
         }
 
-        if (eventTimeStamp != null) {
-            hours = Math.min(hours, Time.getTimeInterval(startTime, eventTimeStamp.getStart()));
+        int endTime = startTime + (int) (hours * 60);
+
+        addTaskTimeStamp(new TimeStamp(startTime, endTime));
+        return hours;
+    }
+
+    private void addTaskTimeStamp(TimeStamp ts) {
+        modifiableContents().taskTimeStamps.add(ts);
+        occupySlots(contents.occupiedSlots, ts);
+    }
+
+    private void addEventTimeStamp(int idx, TimeStamp ts) {
+        modifiableContents().eventTimeStamps.add(idx, ts);
+        eventsOnSlots &= ts.getEpochDay() == date && ts.getStartMinuteOfDay() % SlotBitmap.SLOT_MINUTES == 0
+                && ts.getEndMinuteOfDay() % SlotBitmap.SLOT_MINUTES == 0;
+        occupySlots(contents.eventSlots, ts);
+        occupySlots(contents.occupiedSlots, ts);
+    }
+
+    private DayContents modifiableContents() {
+        if (contents == DayContents.EMPTY) {
+            contents = new DayContents();
+        } else if (contents.shared) {
+            contents = contents.copy();
         }
+        return contents;
+    }
 
-        int taskHours = (int) hours;
-        int taskMin = hours % 1 == 0.5 ? 30 : 0;
+    private boolean hasEvents() {
+        return template != null || contents.events.size() > 0;
+    }
 
-        Calendar endTime = (Calendar) startTime.clone();
-        endTime.add(Calendar.HOUR_OF_DAY, taskHours);
-        endTime.add(Calendar.MINUTE, taskMin);
+    /**
+     * Copies the Events of the Day's template over to the Day's date. Their slots are already
+     * occupied, since the Day started out with the slots of the template.
+     */
+    private void materializeEvents() {
+        if (template == null) {
+            return;
+        }
+        List<Event> events = template.getEvents();
+        template = null;
+        DayContents modifiable = modifiableContents();
+        for (Event event : events) {
+            TimeStamp ts = new TimeStamp(Time.toEpochMinute(date, event.getTimeStamp().getStartMinuteOfDay()),
+                    Time.toEpochMinute(date, event.getTimeStamp().getEndMinuteOfDay()));
+            int idx = modifiable.events.insert(new Event(event.getId(), event.getName(), event.getCard(), ts, event.getDays()));
+            modifiable.eventTimeStamps.add(idx, ts);
+        }
+    }
 
-        taskTimeStamps.add(new TimeStamp(startTime, endTime));
-        return hours;
+    /**
+     * Gets the quarter-hour slots covered by Events
+     *
+     * @return slots covered by Events
+     */
+    SlotBitmap getEventSlots() {
+        return contents.eventSlots;
+    }
+
+    /**
+     * Determines whether every Event lies on quarter-hour boundaries of this Day
+     *
+     * @return boolean value for whether the Events lie on quarter-hour boundaries
+     */
+    boolean hasEventsOnSlots() {
+        return eventsOnSlots;
+    }
+
+    private void occupySlots(SlotBitmap slots, TimeStamp ts) {
+        int dayStart = Time.toEpochMinute(date, 0);
+        slots.occupy(ts.getStartEpochMinute() - dayStart, ts.getEndEpochMinute() - dayStart);
+    }
+
+    /**
+     * Gets the first time at which a SubTask can be started, skipping over any Event that leaves
+     * less than half an hour open before the next one
+     *
+     * @param userConfig user settings for scheduling purposes
+     * @param time epoch minute at which the schedule is being built
+     * @param isToday whether the Day is the current day
+     * @param afterSubTasks whether to start after the SubTasks already placed in the Day
+     * @return first available epoch minute
+     */
+    public int getFirstAvailableTime(UserConfig userConfig, int time, boolean isToday, boolean afterSubTasks) {
+        boolean noSubTasks = !afterSubTasks || contents.taskTimeStamps.isEmpty();
+        int startTime;
+        if (isToday && Time.getMinuteOfDay(time) / 60 >= userConfig.getDailyHoursRange()[0] && noSubTasks && !userConfig.isDefaultAtStart()) {
+            startTime = Time.getNearestQuarterOfHour(time, true);
+        } else if (noSubTasks) {
+            startTime = Time.toEpochMinute(date, userConfig.getDailyHoursRange()[0] * 60);
+        } else {
+            startTime = contents.taskTimeStamps.get(contents.taskTimeStamps.size() - 1).getEndEpochMinute();
+        }
+
+        if (!hasEvents()) {
+            return startTime;
+        }
+
+        startTime = getEventBlockEnd(startTime);
+        int nextEventStart = getNextEventStart(startTime);
+        while (nextEventStart != Integer.MAX_VALUE && Time.getTimeInterval(startTime, nextEventStart) == 0) {
+            startTime = getEventBlockEnd(nextEventStart);
+            nextEventStart = getNextEventStart(startTime);
+        }
+
+        return Time.getNearestQuarterOfHour(startTime, true);
+    }
+
+    /**
+     * Gets the first time at or after the given time that is not inside an Event
+     *
+     * @param time epoch minute to start from
+     * @return epoch minute at which the Events covering the given time end
+     */
+    public int getEventBlockEnd(int time) {
+        int minute = time - Time.toEpochMinute(date, 0);
+        if (eventsOnSlots && minute >= 0 && minute < Time.MINUTES_PER_DAY) {
+            int slot = minute / SlotBitmap.SLOT_MINUTES;
+            return contents.eventSlots.isFree(slot) ? time : time - minute + contents.eventSlots.nextFree(slot) * SlotBitmap.SLOT_MINUTES;
+        }
+
+        materializeEvents();
+        boolean moved = true;
+        while (moved) {
+            moved = false;
+            for (TimeStamp eTS : contents.eventTimeStamps) {
+                if (Time.isInsideEventBlock(time, eTS)) {
+                    time = eTS.getEndEpochMinute();
+                    moved = true;
+                }
+            }
+        }
+        return time;
+    }
+
+    /**
+     * Gets the start of the first Event that begins after the given time
+     *
+     * @param time epoch minute to start from
+     * @return epoch minute at which the next Event starts, or <code>Integer.MAX_VALUE</code> if there is none
+     */
+    public int getNextEventStart(int time) {
+        int minute = time - Time.toEpochMinute(date, 0);
+        if (eventsOnSlots && minute >= Time.MINUTES_PER_DAY) {
+            return Integer.MAX_VALUE;
+        }
+        if (eventsOnSlots && (minute < 0 || contents.eventSlots.isFree(minute / SlotBitmap.SLOT_MINUTES))) {
+            int slot = contents.eventSlots.nextOccupied(Math.max(minute, 0) / SlotBitmap.SLOT_MINUTES);
+            return slot == SlotBitmap.NUM_SLOTS ? Integer.MAX_VALUE : time - minute + slot * SlotBitmap.SLOT_MINUTES;
+        }
+
+        materializeEvents();
+        for (TimeStamp eTS : contents.eventTimeStamps) { // this list needs to be sorted (given assumption below)
+            if (time < eTS.getStartEpochMinute()) {
+                return eTS.getStartEpochMinute();
+            }
+        }
+        return Integer.MAX_VALUE;
+    }
+
+    /**
+     * Gets the number of minutes in quarter-hour slots not covered by Events or SubTasks
+     *
+     * @return number of free minutes in the Day
+     */
+    public int getFreeMinutes() {
+        return contents.occupiedSlots.getFreeMinutes();
     }
 
     /**
@@ -273,7 +428,7 @@ public class Day {
      * @return specified SubTask
      */
     public SubTask getSubTask(int subtaskIndex) {
-        return subTaskList.get(subtaskIndex);
+        return contents.subTaskList.get(subtaskIndex);
     }
 
     /**
@@ -282,53 +437,33 @@ public class Day {
      * @return number of SubTasks possessed by the Day
      */
     public int getNumSubTasks() {
-        return subTaskList.size();
+        return contents.subTaskList.size();
     }
 
     /**
-     * Adds an Event to the Day
+     * Adds an Event to the Day in order of its starting time. An Event overlapping other Events is
+     * still added, since both of them take up the time.
      *
      * @param event Event being added
-     * @return boolean status for success of adding Event
+     * @return boolean value for whether the Event was added without overlapping any other Event
      */
     public boolean addEvent(Event event) {
+        materializeEvents();
         if (event.isRecurring()) { // this fixes issue for recurring events since they can happen on any day
-            Calendar start = (Calendar) date.clone();
-            start.set(Calendar.HOUR_OF_DAY, event.getTimeStamp().getStartHour());
-            start.set(Calendar.MINUTE, event.getTimeStamp().getStartMin());
-
-            Calendar end = (Calendar) start.clone();
-            end.set(Calendar.HOUR_OF_DAY, event.getTimeStamp().getEndHour());
-            end.set(Calendar.MINUTE, event.getTimeStamp().getEndMin());
-
-            event = new Event(event.getId(), event.getName(), event.getCard(), new TimeStamp(start, end), event.getDays());
-        }
-        int idx = 0;
-        boolean idxFound = false;
-        for (Event e1 : eventList) {
-            if (Time.isConflictingEvent(event, e1))
-                return false;
-            else {
-                if (Time.isBefore(event.getTimeStamp().getStart(), e1.getTimeStamp().getStart())) {
-                    idxFound = true;
-                    break; // this prevents the search from incrementing idx past its correct spot
-                } else {
-                    idx++;
-                }
-            }
+            TimeStamp ts = new TimeStamp(Time.toEpochMinute(date, event.getTimeStamp().getStartMinuteOfDay()),
+                    Time.toEpochMinute(date, event.getTimeStamp().getEndMinuteOfDay()));
+            event = new Event(event.getId(), event.getName(), event.getCard(), ts, event.getDays());
         }
+        int start = event.getTimeStamp().getStartEpochMinute();
+        int end = event.getTimeStamp().getEndEpochMinute();
+        boolean conflicting = contents.events.overlaps(start, end);
 
-        if (idxFound) {
-            eventList.add(idx, event);
-            eventTimeStamps.add(idx, event.getTimeStamp());
-        } else {
-            eventList.add(event);
-            eventTimeStamps.add(event.getTimeStamp());
-        }
+        int idx = modifiableContents().events.insert(event);
+        addEventTimeStamp(idx, event.getTimeStamp());
 
         // todo will need to add config option here that tallies event hours just the same as tasks (used with counting hours left in day)
 
-        return true;
+        return !conflicting;
     }
 
     /**
@@ -338,7 +473,8 @@ public class Day {
      * @return specified Event
      */
     public Event getEvent(int eventIdx) {
-        return eventList.get(eventIdx);
+        materializeEvents();
+        return contents.events.get(eventIdx);
     }
 
     /**
@@ -347,7 +483,8 @@ public class Day {
      * @return number of Events
      */
     public int getNumEvents() {
-        return eventList.size();
+        materializeEvents();
+        return contents.events.size();
     }
 
     /**
@@ -368,6 +505,24 @@ public class Day {
         return Math.max(capacity - size, 0);
     }
 
+    /**
+     * Sets the number of usable hours the scheduler left unassigned for the Day
+     *
+     * @param unassignedHours number of usable hours left unassigned
+     */
+    public void setUnassignedHours(double unassignedHours) {
+        this.unassignedHours = unassignedHours;
+    }
+
+    /**
+     * Gets the number of usable hours the scheduler left unassigned for the Day
+     *
+     * @return number of usable hours left unassigned
+     */
+    public double getUnassignedHours() {
+        return unassignedHours;
+    }
+
     /**
      * Gets the number of hours assigned for a given day
      *
@@ -383,7 +538,7 @@ public class Day {
      * @return SubTask list
      */
     public List<SubTask> getSubTaskList() { // todo need to delete for refactoring purposes
-        return subTaskList;
+        return contents.subTaskList;
     }
 
     /**
@@ -392,7 +547,8 @@ public class Day {
      * @return Event list
      */
     public List<Event> getEventList() {
-        return eventList;
+        materializeEvents();
+        return contents.events.asList();
     }
 
     /**
@@ -401,7 +557,7 @@ public class Day {
      * @return SubTask timestamps
      */
     public List<TimeStamp> getTaskTimeStamps() {
-        return taskTimeStamps;
+        return contents.taskTimeStamps;
     }
 
     /**
@@ -410,44 +566,53 @@ public class Day {
      * @return Event timestamps
      */
     public List<TimeStamp> getEventTimeStamps() {
-        return eventTimeStamps;
+        materializeEvents();
+        return contents.eventTimeStamps;
     }
 
     @Override
     public String toString() {
         SimpleDateFormat sdf = new SimpleDateFormat("MM-dd-yyyy");
-        return "Day [" + sdf.format(this.date.getTime()) + "]";
+        return "Day [" + sdf.format(getDate().getTime()) + "]";
     }
 
+    /**
+     * Adds an Event to the Day regardless of any overlap with other Events
+     *
+     * @param event Event being added
+     */
     public void forceAddEvent(Event event) {
-        if (event.isRecurring()) { // this fixes issue for recurring events since they can happen on any day
-            Calendar start = (Calendar) date.clone();
-            start.set(Calendar.HOUR_OF_DAY, event.getTimeStamp().getStartHour());
-            start.set(Calendar.MINUTE, event.getTimeStamp().getStartMin());
-
-            Calendar end = (Calendar) start.clone();
-            end.set(Calendar.HOUR_OF_DAY, event.getTimeStamp().getEndHour());
-            end.set(Calendar.MINUTE, event.getTimeStamp().getEndMin());
-
-            event = new Event(event.getId(), event.getName(), event.getCard(), new TimeStamp(start, end), event.getDays());
-        }
-        eventList.add(event);
-        eventTimeStamps.add(event.getTimeStamp());
+        addEvent(event);
     }
 
     public void forceAddTask(Task t, double hours, TimeStamp ts) {
         this.size += hours;
         SubTask subTask = t.forceAddSubTask(hours, size > capacity, ts);
-        subTaskList.add(subTask);
-        taskTimeStamps.add(ts);
+        modifiableContents().subTaskList.add(subTask);
+        addTaskTimeStamp(ts);
+    }
+
+    /**
+     * Replaces the SubTasks of the Day with a rearrangement of them covering the same times
+     *
+     * @param subTasks rearranged SubTasks in order of their starting time
+     */
+    public void setSubTasks(List<SubTask> subTasks) {
+        DayContents modifiable = modifiableContents();
+        modifiable.subTaskList.clear();
+        modifiable.taskTimeStamps.clear();
+        for (SubTask subTask : subTasks) {
+            modifiable.subTaskList.add(subTask);
+            modifiable.taskTimeStamps.add(subTask.getTimeStamp());
+        }
     }
 
     public void sortSubTasks() {
-        if (!subTaskList.isEmpty()) {
-            subTaskList.sort(Comparator.comparing(SubTask::getTimeStamp));
+        if (!contents.subTaskList.isEmpty()) {
+            contents.subTaskList.sort(Comparator.comparing(SubTask::getTimeStamp));
         }
-        if (!taskTimeStamps.isEmpty()) {
-            Collections.sort(taskTimeStamps);
+        if (!contents.taskTimeStamps.isEmpty()) {
+            Collections.sort(contents.taskTimeStamps);
         }
     }
 }
\ No newline at end of file
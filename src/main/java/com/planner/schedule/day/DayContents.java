@@ -0,0 +1,80 @@
+package com.planner.schedule.day;
+
+import com.planner.models.Task.SubTask;
+import com.planner.util.Time.TimeStamp;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Holds the SubTasks, Events, time stamps, errors, and slot bitmaps of a {@link Day}. Days share an
+ * immutable placeholder, either {@link #EMPTY} or the one of their {@link DayTemplate}, until something
+ * is first added to them, so that Days without any work cost no more than their scalar fields.
+ *
+ * @author Andrew Roe
+ */
+final class DayContents {
+
+    /** Placeholder shared by every Day that has nothing added to it */
+    static final DayContents EMPTY = new DayContents(new SlotBitmap());
+
+    /** List of all SubTasks */
+    final List<SubTask> subTaskList;
+    /** List of time stamps for all subtasks */
+    final List<TimeStamp> taskTimeStamps;
+    /** All Events in order of their starting time */
+    final EventIntervals events;
+    /** List of time stamps for all events */
+    final List<TimeStamp> eventTimeStamps;
+    /** List of overflow errors */
+    final List<String> overflowErrors;
+    /** Quarter-hour slots covered by events */
+    final SlotBitmap eventSlots;
+    /** Quarter-hour slots covered by events or subtasks */
+    final SlotBitmap occupiedSlots;
+    /** Whether these contents are shared between Days and must not be modified */
+    final boolean shared;
+
+    /**
+     * Constructs a new, modifiable {@code DayContents}
+     */
+    DayContents() {
+        this(new ArrayList<>(), new ArrayList<>(), new EventIntervals(), new ArrayList<>(), new ArrayList<>(),
+                new SlotBitmap(), new SlotBitmap(), false);
+    }
+
+    /**
+     * Constructs a new, shared {@code DayContents} holding nothing but the given Event slots
+     *
+     * @param eventSlots quarter-hour slots covered by events
+     */
+    DayContents(SlotBitmap eventSlots) {
+        this(Collections.emptyList(), Collections.emptyList(), new EventIntervals(), Collections.emptyList(),
+                Collections.emptyList(), eventSlots, new SlotBitmap(eventSlots), true);
+    }
+
+    private DayContents(List<SubTask> subTaskList, List<TimeStamp> taskTimeStamps, EventIntervals events,
+                        List<TimeStamp> eventTimeStamps, List<String> overflowErrors, SlotBitmap eventSlots,
+                        SlotBitmap occupiedSlots, boolean shared) {
+        this.subTaskList = subTaskList;
+        this.taskTimeStamps = taskTimeStamps;
+        this.events = events;
+        this.eventTimeStamps = eventTimeStamps;
+        this.overflowErrors = overflowErrors;
+        this.eventSlots = eventSlots;
+        this.occupiedSlots = occupiedSlots;
+        this.shared = shared;
+    }
+
+    /**
+     * Creates a modifiable copy of these contents
+     *
+     * @return modifiable DayContents
+     */
+    DayContents copy() {
+        return new DayContents(new ArrayList<>(subTaskList), new ArrayList<>(taskTimeStamps), new EventIntervals(events),
+                new ArrayList<>(eventTimeStamps), new ArrayList<>(overflowErrors), new SlotBitmap(eventSlots),
+                new SlotBitmap(occupiedSlots), false);
+    }
+}
@@ -0,0 +1,86 @@
+package com.planner.schedule.day;
+
+import com.planner.models.Event;
+import com.planner.util.Time;
+
+import java.util.List;
+
+/**
+ * Layout of the recurring Events on a particular day of the week. Days created from a template share its
+ * Event slots and only copy its Events over to their own date once the Events are actually needed.
+ *
+ * @author Andrew Roe
+ */
+public class DayTemplate {
+
+    /** Events of the template in order of their starting time, placed on an arbitrary date */
+    private final List<Event> events;
+    /** Events of the template indexed by their interval */
+    private final EventIntervals intervals;
+    /** Epoch minute at which the date the Events are placed on begins */
+    private final int dayStart;
+    /** Shared contents holding the slots covered by the Events */
+    private final DayContents contents;
+    /** Whether every Event lies on quarter-hour boundaries */
+    private final boolean eventsOnSlots;
+
+    /**
+     * Constructs a new {@code DayTemplate} by laying out the given recurring Events the same way
+     * they would be added to a Day, dropping any Event that conflicts with an earlier one
+     *
+     * @param recurringEvents recurring Events occurring on the day of the week
+     */
+    public DayTemplate(List<Event> recurringEvents) {
+        // only the times of day of the Events matter, so they are laid out on a fixed date
+        Day prototype = new Day(0, 0, 0);
+        for (Event event : recurringEvents) {
+            prototype.addEvent(event);
+        }
+        this.events = List.copyOf(prototype.getEventList());
+        this.intervals = new EventIntervals();
+        for (Event event : events) {
+            intervals.insert(event);
+        }
+        this.dayStart = Time.toEpochMinute(prototype.getEpochDay(), 0);
+        this.contents = new DayContents(new SlotBitmap(prototype.getEventSlots()));
+        this.eventsOnSlots = prototype.hasEventsOnSlots();
+    }
+
+    /**
+     * Gets the Events of the template in order of their starting time
+     *
+     * @return List of Events
+     */
+    public List<Event> getEvents() {
+        return events;
+    }
+
+    /**
+     * Gets the Events of the template overlapping the given time of day
+     *
+     * @param startMinute starting minute of the day (inclusive)
+     * @param endMinute ending minute of the day (exclusive), which may lie past midnight
+     * @return List of overlapping Events in order of their starting time
+     */
+    public List<Event> getOverlapping(int startMinute, int endMinute) {
+        return intervals.getOverlapping(dayStart + startMinute, dayStart + endMinute);
+    }
+
+    /**
+     * Gets the shared contents that Days created from this template start out with
+     *
+     * @return shared DayContents
+     */
+    DayContents getContents() {
+        return contents;
+    }
+
+    /**
+     * Determines whether every Event of the template lies on quarter-hour boundaries
+     *
+     * @return boolean value for whether the Events lie on quarter-hour boundaries
+     */
+    boolean hasEventsOnSlots() {
+        return eventsOnSlots;
+    }
+}
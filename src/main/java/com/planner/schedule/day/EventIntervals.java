@@ -0,0 +1,165 @@
+package com.planner.schedule.day;
+
+import com.planner.models.Event;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Stores Events in order of their starting time along with a running maximum of their ending times,
+ * so that the Events overlapping a given interval are found with a binary search
+ *
+ * @author Andrew Roe
+ */
+public class EventIntervals {
+
+    /** Events in order of their starting time, with ties kept in order of insertion */
+    private final List<Event> events;
+    /** Starting epoch minute of each Event */
+    private int[] starts;
+    /** Ending epoch minute of each Event */
+    private int[] ends;
+    /** Greatest ending epoch minute among the Events up to and including each index */
+    private int[] maxEnds;
+
+    /**
+     * Constructs a new, empty {@code EventIntervals}
+     */
+    public EventIntervals() {
+        events = new ArrayList<>();
+        starts = new int[4];
+        ends = new int[4];
+        maxEnds = new int[4];
+    }
+
+    /**
+     * Constructs a new {@code EventIntervals} holding the same Events as the given one
+     *
+     * @param other EventIntervals being copied
+     */
+    public EventIntervals(EventIntervals other) {
+        events = new ArrayList<>(other.events);
+        starts = other.starts.clone();
+        ends = other.ends.clone();
+        maxEnds = other.maxEnds.clone();
+    }
+
+    /**
+     * Inserts an Event after every Event starting at or before it
+     *
+     * @param event Event being inserted
+     * @return index at which the Event was inserted
+     */
+    public int insert(Event event) {
+        return insert(event, event.getTimeStamp().getStartEpochMinute(), event.getTimeStamp().getEndEpochMinute());
+    }
+
+    /**
+     * Inserts an Event under the given interval instead of its own, after every Event starting at or before it,
+     * such as to index Events on different dates by their time of day
+     *
+     * @param event Event being inserted
+     * @param start starting minute the Event is indexed by (inclusive)
+     * @param end ending minute the Event is indexed by (exclusive)
+     * @return index at which the Event was inserted
+     */
+    public int insert(Event event, int start, int end) {
+        int size = events.size();
+        if (size == starts.length) {
+            starts = Arrays.copyOf(starts, size * 2);
+            ends = Arrays.copyOf(ends, size * 2);
+            maxEnds = Arrays.copyOf(maxEnds, size * 2);
+        }
+        int idx = firstStartingAfter(start);
+        System.arraycopy(starts, idx, starts, idx + 1, size - idx);
+        System.arraycopy(ends, idx, ends, idx + 1, size - idx);
+        System.arraycopy(maxEnds, idx, maxEnds, idx + 1, size - idx);
+        starts[idx] = start;
+        ends[idx] = end;
+        maxEnds[idx] = idx > 0 ? Math.max(maxEnds[idx - 1], end) : end;
+        // the running maximum only changes until it reaches a value at least as large as the new end
+        for (int i = idx + 1; i <= size && maxEnds[i] < end; i++) {
+            maxEnds[i] = end;
+        }
+        events.add(idx, event);
+        return idx;
+    }
+
+    /**
+     * Determines whether any Event overlaps the given interval
+     *
+     * @param start starting epoch minute (inclusive)
+     * @param end ending epoch minute (exclusive)
+     * @return boolean value for whether an Event overlaps the interval
+     */
+    public boolean overlaps(int start, int end) {
+        int idx = firstStartingAtOrAfter(end);
+        return idx > 0 && maxEnds[idx - 1] > start;
+    }
+
+    /**
+     * Gets every Event overlapping the given interval
+     *
+     * @param start starting epoch minute (inclusive)
+     * @param end ending epoch minute (exclusive)
+     * @return List of overlapping Events in order of their starting time
+     */
+    public List<Event> getOverlapping(int start, int end) {
+        List<Event> overlapping = new ArrayList<>();
+        for (int i = firstStartingAtOrAfter(end) - 1; i >= 0 && maxEnds[i] > start; i--) {
+            if (ends[i] > start) {
+                overlapping.add(events.get(i));
+            }
+        }
+        Collections.reverse(overlapping);
+        return overlapping;
+    }
+
+    /**
+     * Gets the Events in order of their starting time
+     *
+     * @return unmodifiable List of Events
+     */
+    public List<Event> asList() {
+        return Collections.unmodifiableList(events);
+    }
+
+    /**
+     * Gets the number of Events
+     *
+     * @return number of Events
+     */
+    public int size() {
+        return events.size();
+    }
+
+    /**
+     * Gets the Event at the given index
+     *
+     * @param idx index of Event
+     * @return Event at the index
+     */
+    public Event get(int idx) {
+        return events.get(idx);
+    }
+
+    private int firstStartingAfter(int time) {
+        return firstStartingAtOrAfter(time + 1);
+    }
+
+    private int firstStartingAtOrAfter(int time) {
+        int lo = 0;
+        int hi = events.size();
+        while (lo < hi) {
+            int mid = (lo + hi) >>> 1;
+            if (starts[mid] < time) {
+                lo = mid + 1;
+            } else {
+                hi = mid;
+            }
+        }
+        return lo;
+    }
+}
@@ -0,0 +1,124 @@
+package com.planner.schedule.day;
+
+import com.planner.util.Time;
+
+/**
+ * Occupancy bitmap of the 96 quarter-hour slots in a {@link Day}, held in two longs
+ * along with a cached count of the free minutes left in the Day
+ *
+ * @author Andrew Roe
+ */
+public class SlotBitmap {
+
+    /** Number of minutes covered by a single slot */
+    public static final int SLOT_MINUTES = 15;
+    /** Number of slots in a Day */
+    public static final int NUM_SLOTS = Time.MINUTES_PER_DAY / SLOT_MINUTES;
+    /** Mask of the bits in use by the upper word */
+    private static final long HIGH_MASK = (1L << (NUM_SLOTS - 64)) - 1;
+    /** Occupancy of slots 0-63 */
+    private long low;
+    /** Occupancy of slots 64-95 */
+    private long high;
+    /** Number of minutes in unoccupied slots */
+    private int freeMinutes = Time.MINUTES_PER_DAY;
+
+    /**
+     * Constructs a new {@code SlotBitmap} with every slot free
+     */
+    public SlotBitmap() {
+    }
+
+    /**
+     * Constructs a new {@code SlotBitmap} with the same occupied slots as the given one
+     *
+     * @param other SlotBitmap being copied
+     */
+    public SlotBitmap(SlotBitmap other) {
+        this.low = other.low;
+        this.high = other.high;
+        this.freeMinutes = other.freeMinutes;
+    }
+
+    /**
+     * Marks every slot overlapping the given range as occupied
+     *
+     * @param startMinute starting minute of the day (inclusive)
+     * @param endMinute ending minute of the day (exclusive)
+     */
+    public void occupy(int startMinute, int endMinute) {
+        int first = Math.max(startMinute, 0) / SLOT_MINUTES;
+        int last = (Math.min(endMinute, Time.MINUTES_PER_DAY) - 1) / SLOT_MINUTES;
+        if (endMinute <= startMinute || first > last) {
+            return;
+        }
+        long lowBits = mask(first, Math.min(last, 63));
+        long highBits = mask(Math.max(first, 64) - 64, last - 64);
+
+        int added = Long.bitCount(lowBits & ~low) + Long.bitCount(highBits & ~high);
+        low |= lowBits;
+        high |= highBits;
+        freeMinutes -= added * SLOT_MINUTES;
+    }
+
+    /**
+     * Determines whether the given slot is free
+     *
+     * @param slot index of slot
+     * @return boolean value for whether the slot is free
+     */
+    public boolean isFree(int slot) {
+        return slot < 64 ? (low & (1L << slot)) == 0 : (high & (1L << (slot - 64))) == 0;
+    }
+
+    /**
+     * Gets the first occupied slot at or after the given slot
+     *
+     * @param slot index of slot to start from
+     * @return index of the first occupied slot, or {@link #NUM_SLOTS} if there is none
+     */
+    public int nextOccupied(int slot) {
+        return nextSet(low, high, slot);
+    }
+
+    /**
+     * Gets the first free slot at or after the given slot
+     *
+     * @param slot index of slot to start from
+     * @return index of the first free slot, or {@link #NUM_SLOTS} if there is none
+     */
+    public int nextFree(int slot) {
+        return nextSet(~low, ~high & HIGH_MASK, slot);
+    }
+
+    /**
+     * Gets the number of minutes in unoccupied slots
+     *
+     * @return number of free minutes
+     */
+    public int getFreeMinutes() {
+        return freeMinutes;
+    }
+
+    private static int nextSet(long lowWord, long highWord, int slot) {
+        if (slot < 64) {
+            long bits = lowWord & (-1L << slot);
+            if (bits != 0) {
+                return Long.numberOfTrailingZeros(bits);
+            }
+            slot = 64;
+        }
+        if (slot >= NUM_SLOTS) {
+            return NUM_SLOTS;
+        }
+        long bits = highWord & (-1L << (slot - 64));
+        return bits != 0 ? 64 + Long.numberOfTrailingZeros(bits) : NUM_SLOTS;
+    }
+
+    private static long mask(int from, int to) {
+        if (from > to || to < 0) {
+            return 0L;
+        }
+        return (-1L >>> (63 - to)) & (-1L << from);
+    }
+}
@@ -1,9 +1,17 @@
 package com.planner.ui;
 
+import com.planner.manager.BackgroundBuilder;
+import com.planner.manager.BuildCache;
+import com.planner.manager.BuildProgress;
+import com.planner.manager.CapacityPlan;
+import com.planner.manager.RiskForecast;
 import com.planner.manager.ScheduleManager;
 import com.planner.models.Card;
 import com.planner.models.Event;
 import com.planner.models.Task;
+import com.planner.schedule.ScheduleStrategy;
+import com.planner.schedule.SchedulerProvider;
+import com.planner.schedule.SchedulerRegistry;
 import com.planner.util.Parser;
 import com.planner.util.Serializer;
 import com.planner.util.Time;
@@ -12,21 +20,52 @@ import java.io.BufferedWriter;
 import java.io.File;
 import java.io.FileWriter;
 import java.io.IOException;
+import java.text.SimpleDateFormat;
 import java.nio.file.Files;
 import java.util.*;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
 
 public class CLI {
+    // runs and spread of a risk forecast when they are not given
+    private static final int DEFAULT_RISK_RUNS = 10000;
+    private static final double DEFAULT_RISK_SPREAD = 0.25;
+    // commands that build the schedule, which let a build in the background finish instead of cancelling it
+    private static final Set<String> BUILD_COMMANDS = Set.of("sched", "report", "save", "quit");
+    // commands that never use the schedule, which run while a build goes on in the background
+    private static final Set<String> CONSOLE_COMMANDS = Set.of("ls", "clear", "doc", "cancel");
+    // file under the schedules folder that built schedules are kept in when the cache is persisted
+    private static final String BUILD_CACHE_FILE = "build.cache";
+    // milliseconds between updates of the progress of a build
+    private static final long PROGRESS_MILLIS = 500;
     // this will hold the ScheduleManager instance
     private ScheduleManager sm;
     private boolean scheduleUpdated;
     private boolean changesMade;
     private final String schedulesDirName;
     private String savedFilename;
+    // built schedules of the session, kept when another file is read
+    private BuildCache buildCache;
+    // builds the schedule while the next command is typed
+    private final BackgroundBuilder backgroundBuilder = new BackgroundBuilder(BackgroundBuilder.DEFAULT_DEBOUNCE_MILLIS);
+    // whether the last change of the schedule was handed to the background builder
+    private boolean buildSubmitted = true;
+    // progress of the build that is running (null if none)
+    private BuildProgress buildProgress;
+    // lines typed while a build ran, which are run as commands once it is done
+    private final Deque<String> typedAhead = new ArrayDeque<>();
+    // every line typed during the session, including answers to prompts
+    private ConsoleInput input;
 
     public CLI() {
         sm = new ScheduleManager();
         scheduleUpdated =  false;
         schedulesDirName = "schedules";
+        attachBuildCache();
     }
     /*
     List of supported commands:
@@ -56,17 +95,18 @@ public class CLI {
      */
 
     public void loop() throws IOException {
-        Scanner scanner = new Scanner(System.in);
+        input = new ConsoleInput(System.in);
         System.out.println("Use 'ls' to list all available commands.");
         System.out.print("> ");
-        while (scanner.hasNextLine()) {
-            String s = scanner.nextLine();
+        while (!typedAhead.isEmpty() || input.hasNextLine()) {
+            String s = typedAhead.isEmpty() ? input.nextLine() : typedAhead.poll();
             try {
                 String[] tokens = Parser.tokenize(s);
                 if (tokens.length > 0) {
-                    // determine type of operation to compute
-                    exeCmd(tokens);
+                    runCmd(tokens);
                 }
+            } catch (CancellationException e) {
+                System.out.println(e.getMessage() + "; the schedule was left as it was.");
             } catch (Exception e) {
                 System.out.println("Error: " + e.getMessage());
             }
@@ -74,6 +114,67 @@ public class CLI {
         }
     }
 
+    /**
+     * Runs a command once the ScheduleManager is taken back from the background builder, and hands it back
+     * along with the last change of the schedule once the command is done
+     *
+     * @param tokens tokens of the command
+     */
+    private void runCmd(String[] tokens) throws IOException {
+        String command = tokens[0].toLowerCase();
+        if (CONSOLE_COMMANDS.contains(command)) {
+            exeCmd(tokens);
+            return;
+        }
+        // only a change of the schedule makes a build in progress useless
+        boolean dropped = false;
+        if (BUILD_COMMANDS.contains(command)) {
+            dropped = backgroundBuilder.await();
+        } else if (changesSchedule(tokens)) {
+            dropped = backgroundBuilder.pause();
+        } else {
+            backgroundBuilder.hold();
+        }
+        if (dropped) {
+            buildSubmitted = false;
+        }
+        try {
+            // determine type of operation to compute
+            exeCmd(tokens);
+        } finally {
+            if (!buildSubmitted) {
+                backgroundBuilder.submit(sm);
+                buildSubmitted = true;
+            }
+            backgroundBuilder.resume();
+        }
+    }
+
+    /**
+     * Determines whether a command changes the Tasks, Events, Cards, or settings the schedule is built from
+     *
+     * @param tokens tokens of the command
+     * @return true if the command changes the schedule
+     */
+    private static boolean changesSchedule(String[] tokens) {
+        switch (tokens[0].toLowerCase()) {
+            case "task":
+            case "event":
+            case "card":
+                return tokens.length > 1;
+            case "mod":
+            case "delete":
+            case "config":
+                return true;
+            case "read":
+                return tokens.length == 2;
+            case "engine":
+                return tokens.length == 2 && !"-b".equalsIgnoreCase(tokens[1]);
+            default:
+                return false;
+        }
+    }
+
     private void exeCmd(String[] tokens) throws IOException {
         switch (tokens[0].toLowerCase()) {
             case "clear":
@@ -95,10 +196,11 @@ public class CLI {
             case "task":
                 if (tokens.length > 1) {
                     Parser.TaskInfo ti = Parser.parseTask(tokens);
-                    Task t = sm.addTask(ti.getDesc(), ti.getHours(), ti.getDue(), ti.getCardId());
+                    Task t = sm.addTask(ti.getDesc(), ti.getHours(), ti.getDue(), ti.getCardId(),
+                            ti.getDependencyIds());
 
                     changesMade = true;
-                    scheduleUpdated = true;
+                    scheduleChanged();
                     System.out.println("Added Task " + t.getId() + ".");
                 } else {
                     System.out.println(sm.buildTaskStr());
@@ -138,9 +240,10 @@ public class CLI {
 
                     Event event = sm.addEvent(eventInfo.getName(), eventInfo.getCardId(), timeStamp, eventInfo.isRecurring(), dates);
                     System.out.println("Added Event " + event.getId() + ".");
+                    printEventConflicts(event);
 
                     changesMade = true;
-                    scheduleUpdated = true;
+                    scheduleChanged();
                 } else {
                     System.out.println(sm.buildEventStr());
                 }
@@ -153,7 +256,7 @@ public class CLI {
                     System.out.println("Added Card " + c.getId() + ".");
 
                     changesMade = true;
-                    scheduleUpdated = true;
+                    scheduleChanged();
                 } else {
                     System.out.println(sm.buildCardStr());
                 }
@@ -165,7 +268,7 @@ public class CLI {
 
                 if (tokens[1].equals("card") || tokens[1].equals("task") || tokens[1].equals("event")) {
                     changesMade = true;
-                    scheduleUpdated = true;
+                    scheduleChanged();
                 }
                 switch (tokens[1]) {
                     case "card":
@@ -175,7 +278,8 @@ public class CLI {
                         break;
                     case "task":
                         Parser.TaskInfo ti = Parser.parseModTask(tokens);
-                        Task t = sm.modTask(ti.getTaskId(), ti.getDesc(), ti.getHours(), ti.getDue(), ti.getCardId());
+                        Task t = sm.modTask(ti.getTaskId(), ti.getDesc(), ti.getHours(), ti.getDue(), ti.getCardId(),
+                                ti.getRemovedDependencyIds(), ti.getDependencyIds());
                         System.out.println("Modified Task " + t.getId() + ".");
                         break;
                     case "event":
@@ -202,6 +306,7 @@ public class CLI {
 
                         Event e = sm.modEvent(eventInfo.getId(), eventInfo.getName(), eventInfo.getCardId(), timeStamp, eventInfo.getDates());
                         System.out.println("Modified Event " + e.getId() + ".");
+                        printEventConflicts(e);
                         break;
                     default:
                         throw new IllegalArgumentException("Invalid type provided for mod.");
@@ -241,7 +346,7 @@ public class CLI {
 
                 if (tokens[1].equals("card") || tokens[1].equals("task") || tokens[1].equals("event")) {
                     changesMade = true;
-                    scheduleUpdated = true;
+                    scheduleChanged();
                 }
                 switch (tokens[1]) {
                     case "card":
@@ -277,12 +382,13 @@ public class CLI {
                 break;
             case "config":
                 if (tokens.length == 1) {
-                    ConfigDialog configDialog = new ConfigDialog();
+                    ConfigDialog configDialog = new ConfigDialog(input);
                     configDialog.setupAndDisplayPage();
                     sm.setUserConfig(configDialog.getUserConfig());
+                    attachBuildCache();
 
                     changesMade = true;
-                    scheduleUpdated = true;
+                    scheduleChanged();
                 } else {
                     throw new IllegalArgumentException("'config' has no args.");
                 }
@@ -294,11 +400,126 @@ public class CLI {
                     throw new IllegalArgumentException("'log' has no args.");
                 }
                 break;
+            case "fit": {
+                Parser.TaskInfo ti = Parser.parseFit(tokens);
+                if (ti.getDue() == null) {
+                    Calendar earliest = sm.getEarliestDueDate(ti.getHours());
+                    if (earliest == null) {
+                        System.out.println(ti.getHours() + " hours do not fit within the next " +
+                                sm.getUserConfig().getMaxDays() + " days.");
+                    } else {
+                        System.out.println(ti.getHours() + " hours fit by " + formatDate(earliest) + ".");
+                    }
+                } else {
+                    double overflow = sm.getOverflowIfAdded(ti.getHours(), ti.getDue());
+                    double added = overflow - sm.getUnavoidableOverflow();
+                    if (added > 0) {
+                        System.out.println(added + " of " + ti.getHours() + " hours would not fit by " +
+                                formatDate(ti.getDue()) + ".");
+                    } else {
+                        System.out.println(ti.getHours() + " hours fit by " + formatDate(ti.getDue()) + ".");
+                    }
+                }
+                break;
+            }
+            case "risk": {
+                Parser.RiskInfo ri = Parser.parseRisk(tokens);
+                int runs = ri.getRuns() == null ? DEFAULT_RISK_RUNS : ri.getRuns();
+                RiskForecast.Distribution distribution = ri.getDistribution() == null
+                        ? RiskForecast.Distribution.LOGNORMAL : RiskForecast.Distribution.fromName(ri.getDistribution());
+                double spread = ri.getSpread() == null ? DEFAULT_RISK_SPREAD : ri.getSpread();
+                // a fixed seed gives the same forecast until the Tasks or Events change
+                RiskForecast forecast = sm.forecastRisk(runs, distribution, spread, 0);
+
+                List<Task> atRisk = new ArrayList<>();
+                for (Task task : forecast.getTasks()) {
+                    if (forecast.getMissProbability(task) > 0) {
+                        atRisk.add(task);
+                    }
+                }
+                if (atRisk.isEmpty()) {
+                    System.out.println("Every Task met its due date in all " + runs + " runs.");
+                    break;
+                }
+                atRisk.sort(Comparator.comparingDouble(task -> -forecast.getMissProbability(task)));
+                System.out.println("Chance of missing the due date over " + runs + " runs, filling each day's free hours" +
+                        " in scheduling order:");
+                for (Task task : atRisk) {
+                    System.out.printf("  %5.1f%%  [%d] %s, due %s%n", 100 * forecast.getMissProbability(task),
+                            task.getId(), task.getName(), formatDate(task.getDueDate()));
+                }
+                System.out.println("Most often overloaded days:");
+                List<Integer> overloaded = forecast.getOverloadedDays();
+                for (int epochDay : overloaded.subList(0, Math.min(5, overloaded.size()))) {
+                    System.out.printf("  %5.1f%%  %s%n", 100 * forecast.getOverloadProbability(epochDay),
+                            formatDate(Time.toCalendar(Time.toEpochMinute(epochDay, 0))));
+                }
+                break;
+            }
+            case "plan": {
+                Parser.PlanInfo pi = Parser.parsePlan(tokens);
+                List<CapacityPlan.Variant> variants = sm.planCapacity(pi.getHourOffsets(), pi.getRanges(), pi.getMaxDays());
+                System.out.printf("%-6s %-7s %-5s %-10s %-8s %-11s %s%n", "WEEK", "RANGE", "DAYS", "OVERFLOW", "LATER",
+                        "LAST DONE", "UTIL");
+                for (CapacityPlan.Variant variant : variants) {
+                    int[] range = variant.getDailyHoursRange();
+                    String lastDone = variant.getLastWorkDay() == -1 ? "-"
+                            : formatDate(Time.toCalendar(Time.toEpochMinute(variant.getLastWorkDay(), 0)));
+                    System.out.printf("%-6s %-7s %-5d %-10.2f %-8.2f %-11s %.1f%%%n",
+                            String.format("%+d", variant.getHourOffset()), range[0] + "-" + range[1],
+                            variant.getMaxDays(), variant.getOverflowHours(), variant.getLaterHours(), lastDone,
+                            100 * variant.getUtilization());
+                }
+                break;
+            }
+            case "engine":
+                if (tokens.length == 1) {
+                    SchedulerProvider current = sm.getSchedulerProvider();
+                    for (SchedulerProvider provider : SchedulerRegistry.getProviders()) {
+                        System.out.printf("%s %-10s %-26s %s%n", provider == current ? "*" : " ", provider.getName(),
+                                provider.getComplexity(), provider.getCapabilities());
+                        System.out.println("             " + provider.getDescription());
+                    }
+                } else if (tokens.length == 2 && "-b".equalsIgnoreCase(tokens[1])) {
+                    for (ScheduleManager.SchedulerTiming timing : sm.benchmarkSchedulers(5)) {
+                        System.out.printf("%-10s %10.3f ms   unscheduled hours: %-8s errors: %d%n",
+                                timing.getProvider().getName(), timing.getMillis(), timing.getMissedHours(), timing.getErrors());
+                    }
+                } else if (tokens.length == 2) {
+                    SchedulerProvider provider = sm.setSchedulerName(tokens[1]);
+                    scheduleChanged();
+                    System.out.println("Selected '" + provider.getName() + "' scheduler");
+                } else {
+                    throw new IllegalArgumentException("Invalid input. Expected formats:\n" +
+                            "       engine\n" +
+                            "       engine <name>\n" +
+                            "       engine -b");
+                }
+                break;
             case "sched":
-                if (sm.getSchedule().isEmpty() || scheduleUpdated) {
-                    sm.buildSchedule();
+                double overflow = sm.getUnavoidableOverflow();
+                if (overflow > 0) {
+                    System.out.println("Warning: " + overflow + " hours cannot be scheduled in time, starting with the Tasks due " +
+                            formatDate(sm.getFirstInfeasibleDate()) + ".");
+                }
+                if (tokens.length == 2 && "-p".equalsIgnoreCase(tokens[1])) {
+                    ScheduleStrategy strategy = runBuild(sm::buildPortfolioSchedule);
                     scheduleUpdated = false;
+                    System.out.println("Selected '" + strategy + "' strategy");
+                    System.out.println(sm.buildCurrentScheduleStr());
+                    break;
                 }
+                if (tokens.length == 2 && "-o".equalsIgnoreCase(tokens[1])) {
+                    double missedHours = runBuild(sm::buildFlowSchedule);
+                    scheduleUpdated = false;
+                    System.out.println("At least " + missedHours + " hours cannot be scheduled by their due dates");
+                    System.out.println(sm.buildCurrentScheduleStr());
+                    break;
+                }
+                if (sm.getSchedule().isEmpty()) {
+                    scheduleUpdated = true;
+                }
+                buildIfUpdated();
                 if (tokens.length == 1) {
                     System.out.println(sm.buildCurrentScheduleStr());
                 } else if (tokens.length == 2) {
@@ -307,13 +528,15 @@ public class CLI {
                     } else if ("-a".equalsIgnoreCase(tokens[1])) {
                         System.out.println(sm.buildArchivedScheduleStr());
                     } else {
-                        throw new IllegalArgumentException("Expected '-f' or '-a' for full or archived flag options.");
+                        throw new IllegalArgumentException("Expected '-f', '-a', '-p', or '-o' for full, archived, portfolio, or optimal flag options.");
                     }
                 } else {
                     throw new IllegalArgumentException("Invalid input. Expected formats:\n" +
                             "       sched\n" +
                             "       sched -f\n" +
-                            "       sched -a");
+                            "       sched -a\n" +
+                            "       sched -p\n" +
+                            "       sched -o");
                 }
                 break;
             case "read": {
@@ -333,7 +556,9 @@ public class CLI {
                     StringBuilder scheduleFilesSb = new StringBuilder();
 
                     for (File file : Objects.requireNonNull(schedulesDir.listFiles())) {
-                        scheduleFilesSb.append(file.getName()).append('\n');
+                        if (!BUILD_CACHE_FILE.equals(file.getName())) {
+                            scheduleFilesSb.append(file.getName()).append('\n');
+                        }
                     }
 
                     if (scheduleFilesSb.toString().isEmpty()) {
@@ -353,7 +578,13 @@ public class CLI {
                     checkFileAvailability(schedulesDir, scheduleFile);
 
                     if (savedFilename != null) {
+                        SchedulerProvider engine = sm.getSchedulerProvider();
                         sm = new ScheduleManager();
+                        // the engine selected in this session is kept over the one in the settings
+                        if (engine != null) {
+                            sm.setSchedulerName(engine.getName());
+                        }
+                        attachBuildCache();
                     }
 
 //                    Serializer.deserializeSchedule(Files.readString(scheduleFile.toPath()), sm);
@@ -371,9 +602,8 @@ public class CLI {
                 StringBuilder filenameSb;
 
                 if (tokens.length == 1 && savedFilename == null) {
-                    Scanner scanner = new Scanner(System.in);
                     System.out.print("Enter a filename: ");
-                    filenameSb = new StringBuilder(scanner.nextLine());
+                    filenameSb = new StringBuilder(input.nextLine());
 
                     validateFilename(filenameSb);
 
@@ -388,7 +618,7 @@ public class CLI {
                     savedFilename = filenameSb.toString();
                 }
 
-//                sm.buildSchedule();
+                buildIfUpdated();
                 sm.serializeScheduleToFile(filenameSb.toString());
 
                 changesMade = false;
@@ -396,6 +626,7 @@ public class CLI {
             }
             case "report":
                 if (tokens.length == 1) {
+                    buildIfUpdated();
                     System.out.println(sm.buildReportStr());
                 } else {
                     throw new IllegalArgumentException("'report' has no args.");
@@ -411,23 +642,38 @@ public class CLI {
 //                break;
 //            case "excel":
 //                break;
+            case "cancel":
+                if (tokens.length > 1) {
+                    throw new IllegalArgumentException("'cancel' has no args.");
+                }
+                if (buildProgress == null) {
+                    System.out.println("No build is running.");
+                } else {
+                    buildProgress.cancel();
+                }
+                break;
             case "ls":
                 if (tokens.length == 1) {
-                    System.out.println("card\n" +
+                    System.out.println("cancel\n" +
+                            "card\n" +
                             "clear\n" +
                             "config\n" +
                             "delete\n" +
                             "event\n" +
                             "doc\n" +
+                            "engine\n" +
+                            "fit\n" +
                             "excel\n" +
                             "get\n" +
                             "google\n" +
                             "log\n" +
                             "ls\n" +
                             "mod\n" +
+                            "plan\n" +
                             "quit\n" +
                             "read\n" +
                             "report\n" +
+                            "risk\n" +
                             "save\n" +
                             "sched\n" +
                             "subtask\n" +
@@ -456,6 +702,18 @@ public class CLI {
                         case "sched":
                             System.out.println("\n" + Doc.getSchedDoc() + "\n");
                             break;
+                        case "fit":
+                            System.out.println("\n" + Doc.getFitDoc() + "\n");
+                            break;
+                        case "engine":
+                            System.out.println("\n" + Doc.getEngineDoc() + "\n");
+                            break;
+                        case "risk":
+                            System.out.println("\n" + Doc.getRiskDoc() + "\n");
+                            break;
+                        case "plan":
+                            System.out.println("\n" + Doc.getPlanDoc() + "\n");
+                            break;
                         case "config":
                             System.out.println("\n" + Doc.getConfigDoc() + "\n");
                             break;
@@ -465,6 +723,9 @@ public class CLI {
                         case "quit":
                             System.out.println("\n" + Doc.getQuitDoc() + "\n");
                             break;
+                        case "cancel":
+                            System.out.println("\n" + Doc.getCancelDoc() + "\n");
+                            break;
                         case "date":
                             System.out.println("\n" + Doc.getDateDoc() + "\n");
                             break;
@@ -506,34 +767,183 @@ public class CLI {
                 break;
             case "quit":
                 if (changesMade) {
-                    Scanner scanner = new Scanner(System.in);
-
                     System.out.print("Would you like to save the schedule? (y/n): ");
-                    String answer = scanner.nextLine().trim();
+                    String answer = input.nextLine().trim();
 
                     if (answer.charAt(0) == 'y' || answer.charAt(0) == 'Y') {
                         StringBuilder filenameSb;
                         if (savedFilename == null) {
                             System.out.print("Enter filename: ");
-                            filenameSb = new StringBuilder(scanner.nextLine());
+                            filenameSb = new StringBuilder(input.nextLine());
 
                             validateFilename(filenameSb);
                         } else {
                             filenameSb = new StringBuilder(savedFilename);
                         }
 
-                        sm.buildSchedule();
+                        runBuild(() -> {
+                            sm.buildSchedule();
+                            return null;
+                        });
                         sm.serializeScheduleToFile(filenameSb.toString());
 
                         System.out.println("Saved schedule to " + filenameSb.toString());
                     }
                 }
+                backgroundBuilder.close();
                 sm.quit();
             default:
                 throw new IllegalArgumentException("Unknown command entered.");
         }
     }
 
+    /**
+     * Marks the schedule as changed, so that it is built in the background once the command is done
+     */
+    private void scheduleChanged() {
+        scheduleUpdated = true;
+        buildSubmitted = false;
+    }
+
+    /**
+     * Builds the schedule if it changed since it was last built, which keeps the Days a build in the background
+     * already made
+     */
+    private void buildIfUpdated() throws IOException {
+        if (scheduleUpdated) {
+            runBuild(() -> {
+                sm.buildSchedule();
+                return null;
+            });
+            scheduleUpdated = false;
+        }
+    }
+
+    /**
+     * Runs a build of the schedule on its own thread while showing its progress, until it is done or cancelled
+     * by typing 'cancel'. Other lines typed meanwhile are run as commands once the build is done. Exiting while the
+     * build runs, such as with Ctrl-C, cancels it first, so that it is not stopped while writing the build cache.
+     *
+     * @param build build of the schedule
+     * @return result of the build
+     * @throws CancellationException if the build was cancelled, which leaves the schedule as it was before
+     */
+    private <T> T runBuild(Callable<T> build) throws IOException {
+        BuildProgress progress = new BuildProgress();
+        FutureTask<T> task = new FutureTask<>(build);
+        boolean interactive = System.console() != null;
+        boolean interrupted = false;
+        boolean shown = false;
+        sm.setBuildProgress(progress);
+        buildProgress = progress;
+        Thread buildThread = new Thread(task, "schedule-build");
+        Thread cancelOnExit = new Thread(() -> cancelBuild(progress, buildThread), "cancel-build");
+        Runtime.getRuntime().addShutdownHook(cancelOnExit);
+        buildThread.start();
+        try {
+            while (true) {
+                try {
+                    return task.get(PROGRESS_MILLIS, TimeUnit.MILLISECONDS);
+                } catch (TimeoutException e) {
+                    if (interactive) {
+                        readTypedAhead(progress);
+                        System.out.printf("\rBuilding: %d days, %d Tasks left, %ds ('cancel' to stop)",
+                                progress.getDaysDone(), progress.getTasksRemaining(),
+                                progress.getElapsedMillis() / 1000);
+                        shown = true;
+                    }
+                } catch (InterruptedException e) {
+                    // the build is stopped rather than left running on the schedule
+                    progress.cancel();
+                    interrupted = true;
+                }
+            }
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof IOException) {
+                throw (IOException) cause;
+            } else if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            } else if (cause instanceof Error) {
+                throw (Error) cause;
+            }
+            throw new IOException(cause);
+        } finally {
+            if (shown) {
+                System.out.println();
+            }
+            try {
+                Runtime.getRuntime().removeShutdownHook(cancelOnExit);
+            } catch (IllegalStateException e) {
+                // the session is exiting, and the hook cancels the build
+            }
+            sm.setBuildProgress(null);
+            buildProgress = null;
+            if (interrupted) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    /**
+     * Cancels the build as the session exits and waits for it to stop
+     *
+     * @param progress progress of the build
+     * @param buildThread thread running the build
+     */
+    private static void cancelBuild(BuildProgress progress, Thread buildThread) {
+        progress.cancel();
+        try {
+            buildThread.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Reads the lines typed so far while a build runs, cancelling the build if one of them is 'cancel'
+     *
+     * @param progress progress of the build
+     */
+    private void readTypedAhead(BuildProgress progress) {
+        for (String line = input.pollLine(); line != null; line = input.pollLine()) {
+            if ("cancel".equalsIgnoreCase(line.trim())) {
+                progress.cancel();
+            } else {
+                typedAhead.add(line.trim());
+            }
+        }
+    }
+
+    private void printEventConflicts(Event event) {
+        List<Event> conflicts = sm.getConflictingEvents(event);
+        if (!conflicts.isEmpty()) {
+            StringBuilder sb = new StringBuilder("Warning: Event ").append(event.getId()).append(" overlaps");
+            for (Event conflict : conflicts) {
+                sb.append(" Event ").append(conflict.getId()).append(" (").append(conflict.getName()).append("),");
+            }
+            sb.setCharAt(sb.length() - 1, '.');
+            System.out.println(sb);
+        }
+    }
+
+    /**
+     * Gives the ScheduleManager the build cache of the session, replacing the cache if the setting for
+     * keeping it in a file changed
+     */
+    private void attachBuildCache() {
+        boolean persist = sm.getUserConfig().isPersistBuildCache();
+        if (buildCache == null || buildCache.isPersistent() != persist) {
+            File schedulesDir = new File(schedulesDirName);
+            if (persist && !schedulesDir.exists()) {
+                schedulesDir.mkdir();
+            }
+            buildCache = new BuildCache(BuildCache.DEFAULT_CAPACITY,
+                    persist ? new File(schedulesDir, BUILD_CACHE_FILE).toPath() : null);
+        }
+        sm.setBuildCache(buildCache);
+    }
+
     private void validateFilename(StringBuilder filename) {
         boolean hasExtension = false;
 
@@ -580,4 +990,8 @@ public class CLI {
             }
         }
     }
+
+    private static String formatDate(Calendar date) {
+        return new SimpleDateFormat("dd-MM-yyyy").format(date.getTime());
+    }
 }
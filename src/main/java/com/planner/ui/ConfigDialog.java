@@ -1,6 +1,7 @@
 package com.planner.ui;
 
 import com.planner.models.UserConfig;
+import com.planner.schedule.SchedulerRegistry;
 import com.planner.ui.tables.TableFormatter;
 import com.planner.util.JsonHandler;
 
@@ -8,29 +9,28 @@ import java.io.IOException;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
-import java.util.Scanner;
 
 public class ConfigDialog {
 
     private boolean writeToFile;
     private UserConfig userConfig;
     private String configTable;
-    private final Scanner scanner;
+    private final ConsoleInput console;
 
-    public ConfigDialog() {
+    public ConfigDialog(ConsoleInput console) {
         try {
             userConfig = JsonHandler.readUserConfig(Files.readString(Paths.get("settings/profile.json")));
         } catch (IOException e) {
             throw new IllegalArgumentException("Could not locate settings/profile.json");
         }
         configTable = TableFormatter.formatPrettyUserConfigTable(userConfig);
-        scanner = new Scanner(System.in);
+        this.console = console;
     }
 
     public void setupAndDisplayPage() {
         formatTablePrompt();
-        if (scanner.hasNextLine()) {
-            String input = scanner.nextLine();
+        if (console.hasNextLine()) {
+            String input = console.nextLine();
             if (input.isBlank()) return;
             if (Character.toUpperCase(input.charAt(0)) == 'Y') {
                 formatOptionPrompt();
@@ -68,11 +68,11 @@ public class ConfigDialog {
         System.out.print("\n");
         while (true) {
             System.out.print("                                                         Enter ID: ");
-            if (scanner.hasNextLine()) {
-                String input = scanner.nextLine();
+            if (console.hasNextLine()) {
+                String input = console.nextLine();
                 if (!input.isBlank() && hasInteger(input)) {
                     int id = Integer.parseInt(input);
-                    if (id < 0 || id > 10) break;
+                    if (id < 0 || id > 12) break;
                     formatConfigPrompt(id);
                     break;
                 }
@@ -86,8 +86,8 @@ public class ConfigDialog {
             case 0:
                 System.out.print("\n                                                 Hours of operation range");
                 System.out.print("\n                                                       Input [# #]: ");
-                if (scanner.hasNextLine()) {
-                    String[] tokens = scanner.nextLine().split(" ");
+                if (console.hasNextLine()) {
+                    String[] tokens = console.nextLine().split(" ");
                     if (tokens.length == 2 && hasInteger(tokens[0]) && hasInteger(tokens[1])) {
                         int start = Integer.parseInt(tokens[0]);
                         int end = Integer.parseInt(tokens[1]);
@@ -101,8 +101,8 @@ public class ConfigDialog {
             case 1:
                 System.out.print("\n                                                 Global hours for week");
                 System.out.print("\n                                                 Input [# # # # # # #]: ");
-                if (scanner.hasNextLine()) {
-                    String[] tokens = scanner.nextLine().split(" ");
+                if (console.hasNextLine()) {
+                    String[] tokens = console.nextLine().split(" ");
                     int[] week = new int[tokens.length];
                     boolean validInput = true;
                     for (int i = 0; i < week.length; i++) {
@@ -127,8 +127,8 @@ public class ConfigDialog {
             case 2:
                 System.out.print("\n                                                 Maximum number of days to display");
                 System.out.print("\n                                                       Input [#]: ");
-                if (scanner.hasNextLine()) {
-                    String input = scanner.nextLine();
+                if (console.hasNextLine()) {
+                    String input = console.nextLine();
                     if (hasInteger(input)) {
                         int maxDays = Integer.parseInt(input);
                         userConfig.setMaxDays(maxDays);
@@ -140,8 +140,8 @@ public class ConfigDialog {
             case 3:
                 System.out.print("\n                                                 Maximum number of past days");
                 System.out.print("\n                                                       Input [#]: ");
-                if (scanner.hasNextLine()) {
-                    String input = scanner.nextLine();
+                if (console.hasNextLine()) {
+                    String input = console.nextLine();
                     if (hasInteger(input)) {
                         int archiveDays = Integer.parseInt(input);
                         userConfig.setArchiveDays(archiveDays);
@@ -159,8 +159,8 @@ public class ConfigDialog {
             case 6:
                 System.out.print("\n                                                 Minimum hours for a given day");
                 System.out.print("\n                                                       Input [#.0]: ");
-                if (scanner.hasNextLine()) {
-                    String input = scanner.nextLine();
+                if (console.hasNextLine()) {
+                    String input = console.nextLine();
                     try {
                         double minHours = Double.parseDouble(input);
                         userConfig.setMinHours(minHours);
@@ -175,6 +175,41 @@ public class ConfigDialog {
             case 8:
                 userConfig.setDefaultAtStart(promptBool("Default at start"));
                 break;
+            case 9:
+                System.out.print("\n                                                 Milliseconds for optimizing a day");
+                System.out.print("\n                                                       Input [#]: ");
+                if (console.hasNextLine()) {
+                    String input = console.nextLine();
+                    if (hasInteger(input)) {
+                        userConfig.setOptimizeMillis(Integer.parseInt(input.trim()));
+                    } else {
+                        throw new IllegalArgumentException("Invalid input for optimize time budget config option, expected integer but was not");
+                    }
+                }
+                break;
+            case 10:
+                System.out.print("\n                                                 Name of the scheduler");
+                System.out.print("\n                                                       Input [name]: ");
+                if (console.hasNextLine()) {
+                    // unknown names are rejected before they are written to the profile
+                    userConfig.setScheduler(SchedulerRegistry.getProvider(console.nextLine()).getName());
+                }
+                break;
+            case 11:
+                System.out.print("\n                                                 Milliseconds for improving the schedule");
+                System.out.print("\n                                                       Input [#]: ");
+                if (console.hasNextLine()) {
+                    String input = console.nextLine();
+                    if (hasInteger(input)) {
+                        userConfig.setImproveMillis(Integer.parseInt(input.trim()));
+                    } else {
+                        throw new IllegalArgumentException("Invalid input for improve time budget config option, expected integer but was not");
+                    }
+                }
+                break;
+            case 12:
+                userConfig.setPersistBuildCache(promptBool("Persist build cache"));
+                break;
         }
     }
 
@@ -192,8 +227,8 @@ public class ConfigDialog {
         System.out.print("\n                                                        Input [T/F]: ");
 
         boolean userInput = false;
-        if (scanner.hasNextLine()) {
-            String input = scanner.nextLine();
+        if (console.hasNextLine()) {
+            String input = console.nextLine();
             if (input.equalsIgnoreCase("true") || input.equalsIgnoreCase("false")) {
                 userInput = Boolean.parseBoolean(input);
             } else {
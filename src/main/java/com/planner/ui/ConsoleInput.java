@@ -0,0 +1,84 @@
+package com.planner.ui;
+
+import java.io.InputStream;
+import java.util.NoSuchElementException;
+import java.util.Optional;
+import java.util.Scanner;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+
+/**
+ * Lines typed into the console, which a single Scanner reads on its own thread so that the lines typed while a
+ * build runs can be taken without waiting for the next one
+ *
+ * @author Andrew Roe
+ */
+final class ConsoleInput {
+
+    /** Lines read so far, followed by an empty line once the input ends */
+    private final BlockingQueue<Optional<String>> lines = new LinkedBlockingQueue<>();
+    /** Line taken from the queue but not returned yet (null if none) */
+    private Optional<String> next;
+
+    /**
+     * Constructs a new {@code ConsoleInput} and starts reading the given input
+     *
+     * @param in input to read lines from
+     */
+    ConsoleInput(InputStream in) {
+        Scanner scanner = new Scanner(in);
+        Thread reader = new Thread(() -> {
+            while (scanner.hasNextLine()) {
+                lines.add(Optional.of(scanner.nextLine()));
+            }
+            lines.add(Optional.empty());
+        }, "console-input");
+        // waiting for a line never keeps the session from exiting
+        reader.setDaemon(true);
+        reader.start();
+    }
+
+    /**
+     * Waits until a line is typed or the input ends
+     *
+     * @return true if there is another line
+     */
+    boolean hasNextLine() {
+        if (next == null) {
+            try {
+                next = lines.take();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return false;
+            }
+        }
+        return next.isPresent();
+    }
+
+    /**
+     * Waits for the next line
+     *
+     * @return next line
+     * @throws NoSuchElementException if the input ended
+     */
+    String nextLine() {
+        if (!hasNextLine()) {
+            throw new NoSuchElementException("No line found");
+        }
+        String line = next.get();
+        next = null;
+        return line;
+    }
+
+    /**
+     * Gets the next line if it was already typed
+     *
+     * @return next line, or null if none was typed yet or the input ended
+     */
+    String pollLine() {
+        if (next == null) {
+            next = lines.poll();
+        }
+        return next == null || next.isEmpty() ? null : nextLine();
+    }
+}
@@ -14,6 +14,11 @@ public class Doc {
                 "  - get       Retrieves Task, Events, or Cards to be displayed\n\n" +
                 "Scheduling Operations:\n" +
                 "  - sched     Builds and displays user schedule\n" +
+                "  - cancel    Stop the build of the schedule that is running\n" +
+                "  - fit       Check whether a Task fits before its due date\n" +
+                "  - engine    List, select, or benchmark the scheduling engines\n" +
+                "  - risk      Forecast which Tasks may miss their due dates\n" +
+                "  - plan      Compare the schedule under other weekly hours, ranges, or days\n" +
                 "  - subtask   Displays all scheduled SubTasks\n" +
                 "  - report    Produce a report of all schedule data\n\n" +
                 "File Management:\n" +
@@ -37,19 +42,22 @@ public class Doc {
         return "Creates a new Task to be stored by the system or displays all previously created Task data if no arguments are provided. Tasks are assignments that can be broken up over a series of days until their deadline.\n\n" +
                 "Usage:\n" +
                 "  task\n" +
-                "  task <name> <hours> [cardId] @ <date>\n\n" +
+                "  task <name> <hours> [cardId] [+T<taskId>...] @ <date>\n\n" +
                 "Notes:\n" +
-                "  - Use '@' to signal the start of a time expression. It must be on its own, followed by the date.\n\n" +
+                "  - Use '@' to signal the start of a time expression. It must be on its own, followed by the date.\n" +
+                "  - A Task is only scheduled after the Tasks it depends on, which are finished early enough to leave room for it.\n\n" +
                 "Required:\n" +
                 "  - name    Name for the created Task (whitespace only is not permitted, quotes required).\n" +
                 "  - hours   Number of hours for a given Task (decimal is allowed, but only 0.5).\n" +
                 "  - date    Due date so the scheduling platform can assign it appropriate days.\n\n" +
                 "Optional:\n" +
-                "  - cardId  Id referencing a Card for its tag and color. Must prefix with '+C'.\n\n" +
+                "  - cardId  Id referencing a Card for its tag and color. Must prefix with '+C'.\n" +
+                "  - taskId  Id of an active Task that must be done first. Must prefix with '+T'.\n\n" +
                 "Examples:\n" +
                 "  task\n" +
                 "  task \"finish hw3\" 3.5 @ eow\n" +
-                "  task +C2 @ 01-11-2024 6.0 \"prep for exam\"";
+                "  task +C2 @ 01-11-2024 6.0 \"prep for exam\"\n" +
+                "  task \"write report\" 4 +T0 @ fri";
     }
 
     public static String getSubtaskDoc() {
@@ -97,10 +105,20 @@ public class Doc {
 
     public static String getSchedDoc() {
         return "Builds and displays a schedule chart of all scheduled SubTasks and Events throughout the upcoming weeks.\n\n" +
+                "Use '-f' for the full schedule, '-a' for the archived schedule, or '-p' to try every Task ordering in parallel\n" +
+                "and keep the schedule that leaves the fewest hours unscheduled. Use '-o' to plan every day at once and report\n" +
+                "the least number of hours that cannot be scheduled by their due dates. Neither '-p' nor '-o' is allowed while any\n" +
+                "Task depends on another one.\n\n" +
                 "Usage:\n" +
-                "  sched\n\n" +
+                "  sched\n" +
+                "  sched -f\n" +
+                "  sched -a\n" +
+                "  sched -p\n" +
+                "  sched -o\n\n" +
                 "Examples:\n" +
-                "  sched";
+                "  sched\n" +
+                "  sched -p\n" +
+                "  sched -o";
     }
 
     public static String getConfigDoc() {
@@ -111,6 +129,70 @@ public class Doc {
                 "  config";
     }
 
+    public static String getFitDoc() {
+        return "Checks whether a Task with the given hours fits without building the schedule. Without a date, the earliest due date\n" +
+                "that fits the hours is displayed. With a date, the hours that would not fit by then are displayed.\n\n" +
+                "Usage:\n" +
+                "  fit <hours>\n" +
+                "  fit <hours> @ <date>\n\n" +
+                "Examples:\n" +
+                "  fit 6\n" +
+                "  fit 4.5 @ fri";
+    }
+
+    public static String getRiskDoc() {
+        return "Forecasts how likely each Task is to miss its due date if its hours turn out longer or shorter than estimated.\n" +
+                "Every run draws new hours for each Task and fills the free hours of each day with them in the order the scheduler\n" +
+                "takes them, and the Tasks that missed their due date in any run are displayed along with the days that were most\n" +
+                "often overloaded.\n\n" +
+                "Usage:\n" +
+                "  risk [runs] [-d <uniform|normal|lognormal>] [-s <spread>]\n\n" +
+                "Notes:\n" +
+                "  - By default, 10000 runs draw from a lognormal distribution with a spread of 0.25.\n" +
+                "  - The spread is relative to the estimated hours, so 0.25 means hours are typically off by about a quarter.\n" +
+                "  - The runs do not build the schedule, so the minimum hours of a SubTask and the gaps between Events are not\n" +
+                "    taken into account, and a build may leave a few more hours unscheduled than forecast.\n\n" +
+                "Examples:\n" +
+                "  risk\n" +
+                "  risk 50000\n" +
+                "  risk -d uniform -s 0.5";
+    }
+
+    public static String getPlanDoc() {
+        return "Builds the schedule once for every combination of the given settings, without changing the current settings or schedule.\n" +
+                "For each combination, the hours left unscheduled by their due dates, the hours due after the last day, the last day\n" +
+                "given any Task, and the share of the free hours that were used are displayed.\n\n" +
+                "Usage:\n" +
+                "  plan [-w <hours>...] [-r <start>-<end>...] [-m <days>...]\n\n" +
+                "Notes:\n" +
+                "  - A setting that is not given keeps its current value.\n" +
+                "  - '-w' adds hours to every day of the week, and '-m' sets the number of days to schedule.\n" +
+                "  - Values of '-w' and '-m' can be inclusive ranges written as 'start..end'.\n" +
+                "  - At most 256 combinations are built at once.\n\n" +
+                "Examples:\n" +
+                "  plan -w -2..2\n" +
+                "  plan -r 8-20 9-17 -m 14 28\n" +
+                "  plan -w 0 1 -m 7..10";
+    }
+
+    public static String getEngineDoc() {
+        return "Lists the scheduling engines along with their complexity and capabilities, where the current engine is marked with '*'.\n" +
+                "With a name, the engine is selected for the following builds. The benchmark builds the current schedule with\n" +
+                "every engine and displays the fastest time of each, without changing the schedule.\n\n" +
+                "Usage:\n" +
+                "  engine\n" +
+                "  engine <name>\n" +
+                "  engine -b\n\n" +
+                "Notes:\n" +
+                "  - Engines can also be added by placing their provider on the class path, see README.md.\n" +
+                "  - The engine stays selected for the rest of the session, including schedules read later. Set the\n" +
+                "    'scheduler' option with 'config' to start with it.\n\n" +
+                "Examples:\n" +
+                "  engine\n" +
+                "  engine bucket\n" +
+                "  engine -b";
+    }
+
     public static String getLogDoc() {
         return "Displays the system log of all user and internal events.\n\n" +
                 "Usage:\n" +
@@ -127,6 +209,16 @@ public class Doc {
                 "  clear";
     }
 
+    public static String getCancelDoc() {
+        return "Stops the build of the schedule that is running, which leaves the schedule as it was before the build.\n" +
+                "While a build runs, its progress is shown as the days built, the Tasks left, and the seconds elapsed.\n" +
+                "Typing 'cancel' stops it, and other commands typed meanwhile run once it is done.\n\n" +
+                "Usage:\n" +
+                "  cancel\n\n" +
+                "Examples:\n" +
+                "  cancel";
+    }
+
     public static String getQuitDoc() {
         return "Exits the application, prompts to save if any changes were made, and stores the system.log.\n\n" +
                 "Usage:\n" +
@@ -254,9 +346,11 @@ public class Doc {
                 "  mod card <id> [args]\n" +
                 "  mod event <id> [args]\n\n" +
                 "Notes:\n" +
-                "  - For 'event', the user cannot modify whether it is recurring (no 'true' or 'false' allowed).\n\n" +
+                "  - For 'event', the user cannot modify whether it is recurring (no 'true' or 'false' allowed).\n" +
+                "  - For 'task', '+T<id>' adds a dependency on another Task and '-T<id>' removes one.\n\n" +
                 "Examples:\n" +
                 "  mod task 1 \"new name\" 5.0 @ 05-09-2024\n" +
+                "  mod task 1 -T0 +T2\n" +
                 "  mod card 2 \"Business\" BLUE\n" +
                 "  mod event 3 @ 9-11 \"Meeting\"";
     }
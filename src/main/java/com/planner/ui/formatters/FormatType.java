@@ -4,9 +4,6 @@ import com.planner.models.Card;
 import com.planner.models.Event;
 import com.planner.models.Task;
 import com.planner.ui.tables.TableFormatter;
-import com.planner.util.Time;
-
-import java.util.Calendar;
 
 public class FormatType {
     private static final String resetColor = "\u001B[0m";
@@ -30,10 +27,8 @@ public class FormatType {
                 "-------------------------------------------------------------";
     }
 
-    public static String formatTask(Task task) {
-        Calendar scheduleTime = Calendar.getInstance();
-
-        return (( (!Time.doDatesMatch(task.getDueDate(), scheduleTime) && task.getDueDate().compareTo(scheduleTime) < 0) || task.getTotalHours() == 0)? "Archived " : "Active ") +
+    public static String formatTask(Task task, int today) {
+        return ((task.getDueEpochDay() < today || task.getTotalHours() == 0) ? "Archived " : "Active ") +
                 "Task Details: " +
                 '\n' +
                 "-------------------------------------------------------------" +
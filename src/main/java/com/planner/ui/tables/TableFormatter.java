@@ -4,8 +4,8 @@ import com.planner.models.Card;
 import com.planner.models.Event;
 import com.planner.models.Task;
 import com.planner.models.UserConfig;
+import com.planner.schedule.SchedulerRegistry;
 import com.planner.schedule.day.Day;
-import com.planner.util.Time;
 
 import java.io.File;
 import java.text.SimpleDateFormat;
@@ -26,7 +26,8 @@ public class TableFormatter {
      */
     public static String formatPrettyUserConfigTable(UserConfig userConfig) {
         String[] optionNames = {"RANGE", "WEEK", "MAX_DAYS", "ARCHIVE_DAYS", "PRIORITY", "OVERFLOW",
-                "MIN_HOURS", "OPTIMIZE_DAY", "DEFAULT_AT_START"};
+                "MIN_HOURS", "OPTIMIZE_DAY", "DEFAULT_AT_START", "OPTIMIZE_MS", "SCHEDULER", "IMPROVE_MS",
+                "PERSIST_CACHE"};
 
         StringBuilder sb = new StringBuilder();
         sb.append("                                                            Settings Options\n");
@@ -46,6 +47,10 @@ public class TableFormatter {
                 case 6: optionValue = String.valueOf(userConfig.getMinHours()); break;
                 case 7: optionValue = String.valueOf(userConfig.isOptimizeDay()); break;
                 case 8: optionValue = String.valueOf(userConfig.isDefaultAtStart()); break;
+                case 9: optionValue = String.valueOf(userConfig.getOptimizeMillis()); break;
+                case 10: optionValue = SchedulerRegistry.getProvider(userConfig.getScheduler()).getName(); break;
+                case 11: optionValue = String.valueOf(userConfig.getImproveMillis()); break;
+                case 12: optionValue = String.valueOf(userConfig.isPersistBuildCache()); break;
             }
             String formattedOptionValue = String.format(" %-25s|", optionValue);
             sb.append(String.format("                                         |%-6d|%-19s|", i, optionNames[i]));
@@ -127,14 +132,14 @@ public class TableFormatter {
 
                 // Check whether to process an event or a task
                 if (taskIdx >= day.getNumSubTasks() || (eventIdx < day.getNumEvents() &&
-                        Time.isAfter(day.getSubTaskList().get(taskIdx).getTimeStamp().getStart(),
-                                day.getEventList().get(eventIdx).getTimeStamp().getStart()))) {
+                        day.getSubTaskList().get(taskIdx).getTimeStamp().getStartEpochMinute()
+                                >= day.getEventList().get(eventIdx).getTimeStamp().getStartEpochMinute())) {
                     // Handle event data
                     Event event = day.getEvent(eventIdx);
                     color = event.getCard() != null ? event.getCard().getColor() : null;
                     name = event.getName();
                     tag = event.getCard() != null ? event.getCard().getName() : tag;
-                    hours = Time.getTimeInterval(event.getTimeStamp().getStart(), event.getTimeStamp().getEnd());
+                    hours = event.getTimeStamp().getHours();
                     timeStamp = event.getTimeStamp().toString();
                     idPrefix = "E.ID:";  // Prefix for events
                     eventIdx++;
@@ -198,7 +203,7 @@ public class TableFormatter {
 
 
 
-    public static String formatTaskTable(PriorityQueue<Task> currTasks, PriorityQueue<Task> archiveTasks, boolean useColor) {
+    public static String formatTaskTable(Collection<Task> currTasks, Collection<Task> archiveTasks, int today, boolean useColor) {
         StringBuilder sb = new StringBuilder();
 
         sb.append("------------------------------------------\n");
@@ -215,8 +220,6 @@ public class TableFormatter {
 
         list.sort(Comparator.comparingInt(Task::getId));
 
-        Calendar curr = Time.getFormattedCalendarInstance(0);
-
         for (Task task : list) {
             Card.Color color = task.getColor();
             int id = task.getId();
@@ -254,7 +257,7 @@ public class TableFormatter {
             sb.append(due).append("  | ");
 
             // ARCHIVED
-            if ((!Time.doDatesMatch(task.getDueDate(), curr) && task.getDueDate().compareTo(curr) < 0) || task.getTotalHours() == 0) {
+            if (task.getDueEpochDay() < today || task.getTotalHours() == 0) {
                 sb.append("Yes\n");
             } else {
                 sb.append("No\n");
@@ -22,13 +22,38 @@ public class EventLog {
     private static EventLog instance;
 
     private StringBuilder sb = new StringBuilder();
+    /** Length of the session header at the start of the log */
+    private int headerLength;
 
     /**
-     * Primary private constructor for EventLog
+     * Constructs a new EventLog separate from the shared one, so that each schedule built
+     * side by side in the same session keeps a log of its own
      */
-    private EventLog() {
+    public EventLog() {
+        appendHeader();
+    }
+
+    private void appendHeader() {
         sb.append(new SimpleDateFormat("[dd-MM-yyyy]").format(Calendar.getInstance().getTime()))
                 .append(" Log of all activities from current session: \n\n");
+        headerLength = sb.length();
+    }
+
+    /**
+     * Appends every action logged by another EventLog after the actions logged so far
+     *
+     * @param other EventLog whose actions are appended
+     */
+    public void append(EventLog other) {
+        sb.append(other.sb, other.headerLength, other.sb.length());
+    }
+
+    /**
+     * Clears every action logged so far, leaving only the session header
+     */
+    public void clear() {
+        sb.setLength(0);
+        appendHeader();
     }
 
     /**
@@ -49,8 +74,9 @@ public class EventLog {
      *
      * @param task Task being reported
      * @param type Action type (0=Add, 1=Remove, 2=EDIT)
+     * @param today current epoch day, before which a due Task counts as archived
      */
-    public void reportTaskAction(Task task, int type) {
+    public void reportTaskAction(Task task, int type, int today) {
         SimpleDateFormat sdf = new SimpleDateFormat("[HH:mm:ss]");
         sb.append(sdf.format(Calendar.getInstance().getTime()));
         sb.append(" [INFO]");
@@ -69,8 +95,7 @@ public class EventLog {
         SimpleDateFormat sdf2 = new SimpleDateFormat("dd-MM-yyyy");
         sb.append(", DUE=").append(sdf2.format(task.getDueDate().getTime()));
         sb.append(", ARCHIVED=");
-        Calendar curr = Calendar.getInstance();
-        if (task.getTotalHours() == 0 || (!Time.doDatesMatch(curr, task.getDueDate()) && task.getDueDate().compareTo(curr) < 0)) {
+        if (task.getTotalHours() == 0 || task.getDueEpochDay() < today) {
             sb.append("TRUE").append("\n");
         } else {
             sb.append("FALSE").append("\n");
@@ -170,6 +195,61 @@ public class EventLog {
         sb.append(" SCHEDULING HAS FINISHED...\n");
     }
 
+    public void reportPortfolioResult(String strategy, double missedHours, int errors) {
+        SimpleDateFormat sdf = new SimpleDateFormat("[HH:mm:ss]");
+        sb.append(sdf.format(Calendar.getInstance().getTime()));
+        sb.append(" [INFO]");
+        sb.append(" PORTFOLIO SELECTED STRATEGY=").append(strategy)
+                .append(", UNSCHEDULED HOURS=").append(missedHours)
+                .append(", ERRORS=").append(errors).append("\n");
+    }
+
+    public void reportImprovementResult(int piecesBefore, int piecesAfter, int errors) {
+        SimpleDateFormat sdf = new SimpleDateFormat("[HH:mm:ss]");
+        sb.append(sdf.format(Calendar.getInstance().getTime()));
+        sb.append(" [INFO]");
+        sb.append(" LOCAL SEARCH IMPROVED SCHEDULE, TASK PIECES=").append(piecesBefore).append("->").append(piecesAfter)
+                .append(", ERRORS=").append(errors).append("\n");
+    }
+
+    public void reportBuildCacheHit(String key) {
+        SimpleDateFormat sdf = new SimpleDateFormat("[HH:mm:ss]");
+        sb.append(sdf.format(Calendar.getInstance().getTime()));
+        sb.append(" [INFO]");
+        sb.append(" SCHEDULE RESTORED FROM BUILD CACHE, KEY=").append(key, 0, 12).append("\n");
+    }
+
+    public void reportRollOver(int numDays, int numTasks) {
+        SimpleDateFormat sdf = new SimpleDateFormat("[HH:mm:ss]");
+        sb.append(sdf.format(Calendar.getInstance().getTime()));
+        sb.append(" [INFO]");
+        sb.append(" SCHEDULE ROLLED OVER, ARCHIVED DAYS=").append(numDays)
+                .append(", FINISHED TASKS=").append(numTasks).append("\n");
+    }
+
+    public void reportBuildCancelled(int numDays) {
+        SimpleDateFormat sdf = new SimpleDateFormat("[HH:mm:ss]");
+        sb.append(sdf.format(Calendar.getInstance().getTime()));
+        sb.append(" [WARNING]");
+        sb.append(" SCHEDULE BUILD CANCELLED, DAYS BUILT=").append(numDays).append("\n");
+    }
+
+    public void reportInfeasibleSchedule(Calendar date, double hours) {
+        SimpleDateFormat sdf = new SimpleDateFormat("[HH:mm:ss]");
+        sb.append(sdf.format(Calendar.getInstance().getTime()));
+        sb.append(" [WARNING]");
+        sb.append(" SCHEDULE INFEASIBLE FROM ").append(new SimpleDateFormat("dd-MM-yyyy").format(date.getTime()))
+                .append(", UNAVOIDABLE OVERFLOW HOURS=").append(hours).append("\n");
+    }
+
+    public void reportFlowResult(double missedHours, int errors) {
+        SimpleDateFormat sdf = new SimpleDateFormat("[HH:mm:ss]");
+        sb.append(sdf.format(Calendar.getInstance().getTime()));
+        sb.append(" [INFO]");
+        sb.append(" FLOW SCHEDULE UNAVOIDABLE OVERFLOW HOURS=").append(missedHours)
+                .append(", ERRORS=").append(errors).append("\n");
+    }
+
     public void reportSerializingSchedule(String filename) {
         SimpleDateFormat sdf = new SimpleDateFormat("[HH:mm:ss]");
         sb.append(sdf.format(Calendar.getInstance().getTime()));
@@ -400,6 +480,10 @@ public class EventLog {
         sb.append(", OVERFLOW=").append(userConfig.isOverflow());
         sb.append(", MIN_HOURS=").append(userConfig.getMinHours());
         sb.append(", OPTIMIZE_DAY=").append(userConfig.isOptimizeDay());
+        sb.append(", OPTIMIZE_MS=").append(userConfig.getOptimizeMillis());
+        sb.append(", SCHEDULER=").append(userConfig.getScheduler());
+        sb.append(", IMPROVE_MS=").append(userConfig.getImproveMillis());
+        sb.append(", PERSIST_CACHE=").append(userConfig.isPersistBuildCache());
         sb.append(", DEFAULT_AT_START=").append(userConfig.isDefaultAtStart()).append("\n");
     }
 
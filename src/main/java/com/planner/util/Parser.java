@@ -8,8 +8,9 @@ import java.util.*;
 
 public class Parser {
 
-    private static final SimpleDateFormat DAY_MONTH_YEAR = new SimpleDateFormat("dd-MM-yyyy");
-    private static final SimpleDateFormat YEAR_MONTH_DAY = new SimpleDateFormat("yyyy-MM-dd");
+    // SimpleDateFormat is not thread-safe, so each thread parsing schedules gets its own
+    private static final ThreadLocal<SimpleDateFormat> DAY_MONTH_YEAR = ThreadLocal.withInitial(() -> new SimpleDateFormat("dd-MM-yyyy"));
+    private static final ThreadLocal<SimpleDateFormat> YEAR_MONTH_DAY = ThreadLocal.withInitial(() -> new SimpleDateFormat("yyyy-MM-dd"));
 
     public static String[] tokenize(String line) {
         int start = 0;
@@ -57,6 +58,7 @@ public class Parser {
         Calendar due = null;
         Double hours = null;
         Integer cardId = null;
+        List<Integer> dependencyIds = new ArrayList<>();
 
         for (int i = 1; i < args.length; i++) {
             if (args[i].charAt(0) == '"' && name == null) {
@@ -68,6 +70,13 @@ public class Parser {
                 } catch (NumberFormatException e) {
                     throwAddTaskParsingError();
                 }
+            } else if (args[i].charAt(0) == '+' && args[i].length() > 2
+                    && (args[i].charAt(1) == 't' || args[i].charAt(1) == 'T')) {
+                try {
+                    dependencyIds.add(Integer.parseInt(args[i].substring(2)));
+                } catch (NumberFormatException e) {
+                    throwAddTaskParsingError();
+                }
             } else if ("@".equals(args[i]) && due == null && i + 1 < args.length) {
                 i++;
                 due = parseDate(args[i]);
@@ -86,7 +95,7 @@ public class Parser {
             throwAddTaskParsingError();
         }
 
-        return new TaskInfo(-1, name, due, hours, cardId);
+        return new TaskInfo(-1, name, due, hours, cardId, dependencyIds, new ArrayList<>());
     }
 
     // [DONE]
@@ -189,10 +198,10 @@ public class Parser {
         Calendar date = Time.getFormattedCalendarInstance(0);
         Date due = null;
         try {
-            due = DAY_MONTH_YEAR.parse(dateString);
+            due = DAY_MONTH_YEAR.get().parse(dateString);
         } catch (ParseException e) {
             try {
-                due = YEAR_MONTH_DAY.parse(dateString);
+                due = YEAR_MONTH_DAY.get().parse(dateString);
             } catch (ParseException ex) {
                 throw new IllegalArgumentException("Invalid date format provided.");
             }
@@ -271,6 +280,8 @@ public class Parser {
         Calendar due = null;
         Double hours = null;
         Integer cardId = null;
+        List<Integer> addedDependencyIds = new ArrayList<>();
+        List<Integer> removedDependencyIds = new ArrayList<>();
 
         try {
             id = Integer.parseInt(args[2]);
@@ -288,6 +299,14 @@ public class Parser {
                 } catch (NumberFormatException e) {
                     throwModTaskParsingError();
                 }
+            } else if ((args[i].charAt(0) == '+' || args[i].charAt(0) == '-') && args[i].length() > 2
+                    && (args[i].charAt(1) == 't' || args[i].charAt(1) == 'T')) {
+                try {
+                    int dependencyId = Integer.parseInt(args[i].substring(2));
+                    (args[i].charAt(0) == '+' ? addedDependencyIds : removedDependencyIds).add(dependencyId);
+                } catch (NumberFormatException e) {
+                    throwModTaskParsingError();
+                }
             } else if ("@".equals(args[i]) && due == null && i + 1 < args.length) {
                 i++;
                 due = parseDate(args[i]);
@@ -302,7 +321,7 @@ public class Parser {
             }
         }
 
-        return new TaskInfo(id, name, due, hours, cardId);
+        return new TaskInfo(id, name, due, hours, cardId, addedDependencyIds, removedDependencyIds);
     }
 
     public static EventInfo parseModEvent(String[] args) {
@@ -399,6 +418,116 @@ public class Parser {
         return new CardInfo(id, name, color);
     }
 
+    public static TaskInfo parseFit(String[] args) {
+        Calendar due = null;
+        Double hours = null;
+
+        for (int i = 1; i < args.length; i++) {
+            if ("@".equals(args[i]) && due == null && i + 1 < args.length) {
+                i++;
+                due = parseDate(args[i]);
+            } else if (hours == null) {
+                try {
+                    hours = Double.parseDouble(args[i]);
+                } catch (NumberFormatException e) {
+                    throwFitParsingError();
+                }
+            } else {
+                throwFitParsingError();
+            }
+        }
+
+        if (hours == null || hours <= 0) {
+            throwFitParsingError();
+        }
+
+        return new TaskInfo(-1, null, due, hours, null);
+    }
+
+    public static RiskInfo parseRisk(String[] args) {
+        Integer runs = null;
+        String distribution = null;
+        Double spread = null;
+
+        for (int i = 1; i < args.length; i++) {
+            if ("-d".equals(args[i]) && distribution == null && i + 1 < args.length) {
+                distribution = args[++i];
+            } else if ("-s".equals(args[i]) && spread == null && i + 1 < args.length) {
+                try {
+                    spread = Double.parseDouble(args[++i]);
+                } catch (NumberFormatException e) {
+                    throwRiskParsingError();
+                }
+            } else if (runs == null) {
+                try {
+                    runs = Integer.parseInt(args[i]);
+                } catch (NumberFormatException e) {
+                    throwRiskParsingError();
+                }
+            } else {
+                throwRiskParsingError();
+            }
+        }
+
+        if (runs != null && runs <= 0 || spread != null && spread < 0) {
+            throwRiskParsingError();
+        }
+
+        return new RiskInfo(runs, distribution, spread);
+    }
+
+    public static PlanInfo parsePlan(String[] args) {
+        List<Integer> hourOffsets = new ArrayList<>();
+        List<int[]> ranges = new ArrayList<>();
+        List<Integer> maxDays = new ArrayList<>();
+
+        String flag = null;
+        for (int i = 1; i < args.length; i++) {
+            if ("-w".equals(args[i]) || "-r".equals(args[i]) || "-m".equals(args[i])) {
+                flag = args[i];
+                continue;
+            }
+            try {
+                if ("-w".equals(flag)) {
+                    addPlanValues(hourOffsets, args[i]);
+                } else if ("-m".equals(flag)) {
+                    addPlanValues(maxDays, args[i]);
+                } else if ("-r".equals(flag)) {
+                    String[] bounds = args[i].split("-");
+                    if (bounds.length != 2) {
+                        throwPlanParsingError();
+                    }
+                    ranges.add(new int[]{Integer.parseInt(bounds[0]), Integer.parseInt(bounds[1])});
+                } else {
+                    throwPlanParsingError();
+                }
+            } catch (NumberFormatException e) {
+                throwPlanParsingError();
+            }
+        }
+
+        return new PlanInfo(hourOffsets, ranges, maxDays);
+    }
+
+    /**
+     * Adds a single value or every value of an inclusive range written as 'start..end'
+     */
+    private static void addPlanValues(List<Integer> values, String arg) {
+        int split = arg.indexOf("..");
+        if (split == -1) {
+            values.add(Integer.parseInt(arg));
+            return;
+        }
+        int start = Integer.parseInt(arg.substring(0, split));
+        int end = Integer.parseInt(arg.substring(split + 2));
+        if (start > end) {
+            throwPlanParsingError();
+        }
+        for (int value = start; value <= end; value++) {
+            values.add(value);
+        }
+    }
+
     public static int[] parseIds(String[] args) {
         int[] ids = new int[args.length - 2];
 
@@ -483,10 +612,10 @@ public class Parser {
             default:
                 Date due = null;
                 try {
-                    due = DAY_MONTH_YEAR.parse(s);
+                    due = DAY_MONTH_YEAR.get().parse(s);
                 } catch (ParseException e) {
                     try {
-                        due = YEAR_MONTH_DAY.parse(s);
+                        due = YEAR_MONTH_DAY.get().parse(s);
                     } catch (ParseException ex) {
                         throwDateParsingError();
                     }
@@ -688,13 +817,22 @@ public class Parser {
         private final Calendar due;
         private final Double hours;
         private final Integer cardId;
+        private final List<Integer> dependencyIds;
+        private final List<Integer> removedDependencyIds;
 
         public TaskInfo(Integer taskId, String desc, Calendar due, Double hours, Integer cardId) {
+            this(taskId, desc, due, hours, cardId, new ArrayList<>(), new ArrayList<>());
+        }
+
+        public TaskInfo(Integer taskId, String desc, Calendar due, Double hours, Integer cardId,
+                        List<Integer> dependencyIds, List<Integer> removedDependencyIds) {
             this.taskId = taskId;
             this.desc = desc;
             this.due = due;
             this.hours = hours;
             this.cardId = cardId;
+            this.dependencyIds = dependencyIds;
+            this.removedDependencyIds = removedDependencyIds;
         }
 
         public Integer getTaskId() { return taskId; }
@@ -710,6 +848,62 @@ public class Parser {
         public Integer getCardId() {
             return cardId;
         }
+
+        public List<Integer> getDependencyIds() {
+            return dependencyIds;
+        }
+
+        public List<Integer> getRemovedDependencyIds() {
+            return removedDependencyIds;
+        }
+    }
+
+    public static class RiskInfo {
+        private final Integer runs;
+        private final String distribution;
+        private final Double spread;
+
+        public RiskInfo(Integer runs, String distribution, Double spread) {
+            this.runs = runs;
+            this.distribution = distribution;
+            this.spread = spread;
+        }
+
+        public Integer getRuns() {
+            return runs;
+        }
+
+        public String getDistribution() {
+            return distribution;
+        }
+
+        public Double getSpread() {
+            return spread;
+        }
+    }
+
+    public static class PlanInfo {
+        private final List<Integer> hourOffsets;
+        private final List<int[]> ranges;
+        private final List<Integer> maxDays;
+
+        public PlanInfo(List<Integer> hourOffsets, List<int[]> ranges, List<Integer> maxDays) {
+            this.hourOffsets = hourOffsets;
+            this.ranges = ranges;
+            this.maxDays = maxDays;
+        }
+
+        public List<Integer> getHourOffsets() {
+            return hourOffsets;
+        }
+
+        public List<int[]> getRanges() {
+            return ranges;
+        }
+
+        public List<Integer> getMaxDays() {
+            return maxDays;
+        }
     }
 
     public static class EventInfo {
@@ -777,7 +971,22 @@ public class Parser {
 
     private static void throwAddTaskParsingError() {
         throw new IllegalArgumentException("Invalid input. Expected format is:\n" +
-                "       task <name> <hours> [cardId] @ <date>");
+                "       task <name> <hours> [cardId] [+T<taskId>...] @ <date>");
+    }
+
+    private static void throwFitParsingError() {
+        throw new IllegalArgumentException("Invalid input. Expected format is:\n" +
+                "       fit <hours> @ [date]");
+    }
+
+    private static void throwRiskParsingError() {
+        throw new IllegalArgumentException("Invalid input. Expected format is:\n" +
+                "       risk [runs] [-d <uniform|normal|lognormal>] [-s <spread>]");
+    }
+
+    private static void throwPlanParsingError() {
+        throw new IllegalArgumentException("Invalid input. Expected format is:\n" +
+                "       plan [-w <hours>...] [-r <start>-<end>...] [-m <days>...]");
     }
 
     private static void throwAddCardParsingError() {
@@ -802,7 +1011,7 @@ public class Parser {
 
     private static void throwModTaskParsingError() {
         throw new IllegalArgumentException("Invalid input. Expected format is:\n" +
-                "       mod task <id> [name] [hours] [cardId] @ [date]");
+                "       mod task <id> [name] [hours] [cardId] [+T<taskId>...] [-T<taskId>...] @ [date]");
     }
 
     private static void throwModEventParsingError() {
@@ -34,7 +34,8 @@ public class ReportLog {
         }
 
         if (scheduleManager.getNumTasks() > 0) {
-            sb.append(TableFormatter.formatTaskTable(scheduleManager.getTaskManager(), scheduleManager.getArchivedTasks(), false));
+            sb.append(TableFormatter.formatTaskTable(scheduleManager.getTaskManager(), scheduleManager.getArchivedTasks(),
+                    Time.getCurrentEpochDay(scheduleManager.getClock()), false));
             sb.append("\n\n");
         }
 
@@ -8,10 +8,16 @@ import com.planner.models.UserConfig;
 import com.planner.schedule.day.Day;
 
 import java.util.*;
+import java.util.function.Function;
 
 public class Serializer {
 
     public static String serializeSchedule(List<Card> cards, List<Task> tasks, List<Event> indivEvents, List<Event> recurEvents, List<Day> days) {
+        return serializeSchedule(cards, tasks, task -> Collections.emptyList(), indivEvents, recurEvents, days);
+    }
+
+    public static String serializeSchedule(List<Card> cards, List<Task> tasks, Function<Task, List<Task>> dependencies,
+                                           List<Event> indivEvents, List<Event> recurEvents, List<Day> days) {
         StringBuilder scheduleSb = new StringBuilder();
 
         List<Event> totalEvent = new ArrayList<>();
@@ -21,7 +27,7 @@ public class Serializer {
         }
 
         if (tasks != null) {
-            scheduleSb.append(getTasksSb(tasks, cards)).append('\n');
+            scheduleSb.append(getTasksSb(tasks, cards, dependencies)).append('\n');
         }
 
         if (indivEvents != null || recurEvents != null) {
@@ -67,7 +73,7 @@ public class Serializer {
         return cardsSb;
     }
 
-    private static StringBuilder getTasksSb(List<Task> tasks, List<Card> cards) {
+    private static StringBuilder getTasksSb(List<Task> tasks, List<Card> cards, Function<Task, List<Task>> dependencies) {
         StringBuilder tasksSb = new StringBuilder();
 
         tasksSb.append("TASK {").append('\n');
@@ -89,6 +95,16 @@ public class Serializer {
                 }
             }
 
+            // dependencies refer to the position of the other Task within this block
+            for (Task dependency : dependencies.apply(task)) {
+                int idx = tasks.indexOf(dependency);
+                if (idx != -1) {
+                    tasksSb.append("+T")
+                            .append(idx)
+                            .append(" ");
+                }
+            }
+
             tasksSb.append("@")
                     .append(" ")
                     .append(task.getDateStamp())
@@ -184,6 +200,36 @@ public class Serializer {
         return daysSb;
     }
   
+    /**
+     * Serializes only the Days of a schedule, referring to Tasks and Events by their position in the given lists
+     *
+     * @param days Days being serialized
+     * @param tasks Tasks in the order they are serialized
+     * @param events individual Events followed by recurring Events, in the order they are serialized
+     * @return serialized 'DAY' block
+     */
+    public static String serializeDays(List<Day> days, List<Task> tasks, List<Event> events) {
+        return getDaysSb(days, tasks, events).toString();
+    }
+
+    /**
+     * Deserializes a 'DAY' block written by {@link #serializeDays} for Tasks and Events that already belong to the
+     * ScheduleManager, giving the Tasks their SubTasks
+     *
+     * @param data serialized 'DAY' block
+     * @param tasks Tasks in the order they were serialized
+     * @param events Events in the order they were serialized
+     * @param sm ScheduleManager the Tasks and Events belong to
+     * @return deserialized Days
+     */
+    public static List<Day> deserializeDays(String data, List<Task> tasks, List<Event> events, ScheduleManager sm) {
+        Scanner lineScanner = new Scanner(data);
+        if (!lineScanner.hasNextLine() || !"DAY {".equals(lineScanner.nextLine().trim())) {
+            throw new IllegalArgumentException("Expected a block of Days");
+        }
+        return processDays(lineScanner, events, tasks, sm);
+    }
+
     public static void deserializeSchedule(String data, ScheduleManager sm) {
         // todo currently not handling exceptions (so, it just cancels out if we run into an error)
         Scanner lineScanner = new Scanner(data);
@@ -264,6 +310,7 @@ public class Serializer {
 
     private static List<Task> processTasks(Scanner lineScanner, int cardCount, ScheduleManager sm) {
         List<Task> tasks = new ArrayList<>();
+        List<List<Integer>> dependencies = new ArrayList<>();
         while (lineScanner.hasNextLine()) {
             String line = lineScanner.nextLine();
             if ("}".equals(line.trim())) {
@@ -274,13 +321,26 @@ public class Serializer {
             Task t = sm.addTask(ti.getDesc(), ti.getHours(), ti.getDue(), ti.getCardId() == null ? null : cardCount + ti.getCardId());
 
             tasks.add(t);
+            dependencies.add(ti.getDependencyIds());
+        }
+        // dependencies can refer to Tasks further down the block, so they are added once every Task is
+        for (int i = 0; i < tasks.size(); i++) {
+            for (int idx : dependencies.get(i)) {
+                if (idx < 0 || idx >= tasks.size()) {
+                    throw new IllegalArgumentException("Task depends on Task " + idx + ", which is not in the schedule");
+                }
+                // past due Tasks are archived as they are added, along with their dependencies
+                if (sm.getTaskManager().contains(tasks.get(i)) && sm.getTaskManager().contains(tasks.get(idx))) {
+                    sm.addDependency(tasks.get(i).getId(), tasks.get(idx).getId());
+                }
+            }
         }
         return tasks;
     }
 
     private static List<Day> processDays(Scanner lineScanner, List<Event> events, List<Task> tasks, ScheduleManager sm) {
         List<Day> days = new ArrayList<>();
-        Calendar today = Time.getFormattedCalendarInstance(0);
+        int today = Time.getCurrentEpochDay(sm.getClock());
         UserConfig userConfig = sm.getUserConfig();
         int dayId = 0;
         while (lineScanner.hasNextLine()) {
@@ -300,9 +360,9 @@ public class Serializer {
                 Task t = tasks.get(id);
                 List<Time.TimeStamp> timestamps = di.getTaskTimeStampsMap().get(id);
                 for (Time.TimeStamp ts : timestamps) {
-                    double hours = Time.getTimeInterval(ts.getStart(), ts.getEnd());
+                    double hours = ts.getHours();
                     day.forceAddTask(t, hours, ts);
-                    if (!Time.doDatesMatch(today, d) && d.compareTo(today) < 0 && t.getTotalHours() > 0) {
+                    if (Time.toEpochDay(d) < today && t.getTotalHours() > 0) {
                         // update Task here since the day is older than today
                         double updatedHours = t.getTotalHours() - hours;
                         sm.modTask(id, null, updatedHours, null, null);
@@ -1,9 +1,11 @@
 package com.planner.util;
 
 import com.planner.models.Event;
-import com.planner.models.UserConfig;
 import com.planner.schedule.day.Day;
 
+import java.time.Clock;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.Calendar;
 import java.util.List;
@@ -16,6 +18,9 @@ import java.util.List;
  */
 public class Time {
 
+    /** Number of minutes in a single day */
+    public static final int MINUTES_PER_DAY = 1440;
+
     /**
      * Determines the difference of days between two Calendar instances
      *
@@ -75,197 +80,265 @@ public class Time {
     }
 
     /**
-     * Determines the closest available Calendar instance within a quarter of an hour (above or below)
+     * Determines the closest available epoch minute within a quarter of an hour (above or below)
      *
-     * @param date current date being measured
-     * @param isAbove whether Calendar instance will be above or below to nearest quarter
-     * @return new instance of Calendar to nearest quarter
+     * @param time epoch minute being measured
+     * @param isAbove whether epoch minute will be above or below to nearest quarter
+     * @return epoch minute to nearest quarter
      */
-    public static Calendar getNearestQuarterOfHour(Calendar date, boolean isAbove) {
-        int min = date.get(Calendar.MINUTE);
-        Calendar clone = (Calendar) date.clone();
-        if (min == 0 || min == 15 || min == 30 || min == 45) return clone;
-
-        if (isAbove) {
-            if (min > 45) {
-                clone.set(Calendar.MINUTE, 0);
-                clone.add(Calendar.HOUR_OF_DAY, 1);
-            } else if (min > 30) {
-                clone.set(Calendar.MINUTE, 45);
-            } else if (min > 15) {
-                clone.set(Calendar.MINUTE, 30);
-            } else {
-                clone.set(Calendar.MINUTE, 15);
-            }
-        } else {
-            if (min < 15) {
-                clone.set(Calendar.MINUTE, 0);
-            } else if (min <= 30) {
-                clone.set(Calendar.MINUTE, 15);
-            } else if (min <= 45) {
-                clone.set(Calendar.MINUTE, 30);
-            } else {
-                clone.set(Calendar.MINUTE, 45);
-            }
-        }
-        return clone;
+    public static int getNearestQuarterOfHour(int time, boolean isAbove) {
+        int rem = Math.floorMod(time, 15);
+        if (rem == 0) return time;
+        return isAbove ? time - rem + 15 : time - rem;
     }
 
-    // [COMPLETE]
-    public static double getTimeInterval(Calendar curr, Calendar event) {
-        // determine how many hours or minutes exist between current time and upcoming event
-        //   if the minutes is less than 30, return 0
-        //     e.g. 1 hour and 27 minutes --> 1 hour
-        //     e.g. 1 hour and 40 minutes --> 1.5 hours
-        //   we can safely assume that the event is properly aligned within the quarter period of the day (0, 15, 30, 45)
-        Calendar currTemp = cloneAndResetSecMillis(curr);
-        Calendar eventTemp = cloneAndResetSecMillis(event);
-        long milliseconds = Math.abs(currTemp.getTimeInMillis() - eventTemp.getTimeInMillis());
-        int min = (int) Math.round(milliseconds / 1000.0 / 60.0);
-        double hours = (int) (min / 60.0);
-        min %= 60;
-        hours += min >= 30 ? 0.5 : 0;
+    /**
+     * Determines the amount of hours between two epoch minutes, rounded down to the nearest half hour
+     * <p>
+     * Example: 1 hour and 27 minutes --&gt; 1 hour, 1 hour and 40 minutes --&gt; 1.5 hours
+     *
+     * @param start first epoch minute
+     * @param end second epoch minute
+     * @return number of hours between the two epoch minutes
+     */
+    public static double getTimeInterval(int start, int end) {
+        int min = Math.abs(end - start);
+        double hours = min / 60;
+        hours += min % 60 >= 30 ? 0.5 : 0;
         return hours;
     }
 
-    // [COMPLETE]
-    public static Calendar getFirstAvailableTimeInDay(List<TimeStamp> taskTimeStamps, List<TimeStamp> eventTimeStamps, UserConfig userConfig, Calendar time, boolean isToday) {
-        Calendar startTime;
-        if (isToday && time.get(Calendar.HOUR_OF_DAY) >= userConfig.getDailyHoursRange()[0] && taskTimeStamps.isEmpty() && !userConfig.isDefaultAtStart()) {
-            startTime = Time.getNearestQuarterOfHour(time, true);
-        } else if (taskTimeStamps.isEmpty()) {
-            startTime = Time.getFormattedCalendarInstance(time, 0);
-            startTime.set(Calendar.HOUR_OF_DAY, userConfig.getDailyHoursRange()[0]);
-            startTime.set(Calendar.MINUTE, 0);
-        } else {
-            TimeStamp ts = taskTimeStamps.get(taskTimeStamps.size() - 1);
-            startTime = (Calendar) ts.getEnd().clone();
-        }
-
-        if (eventTimeStamps.isEmpty()) {
-            return startTime;
-        }
-
-        /*
-        Steps for determining correct start time with events throughout day:
-        1. Check whether startTime interferes with the event
-        2. If it does, assign the end of the event to startTime
-            a. If no more events, loop will break with correct value (so, do nothing here)
-            b. If there are events, simply continue (so, do nothing here)
-        3. If it doesn't, check whether it is before or after startTime
-            a. If it's before, continue (if no more events, no changes to startTime)
-            b. If it's after, check how much time there is between
-                i. If enough, break
-                ii. If not enough, assign end of event to startTime and loop again
-         */
-        for (TimeStamp eTS : eventTimeStamps) {
-            if (isInsideEventBlock(startTime, eTS)) startTime = eTS.getEnd();
-            else {
-                if (isAfter(startTime, eTS.getEnd())) {
-                    // do nothing here
-                } else {
-                    double hours = getTimeInterval(startTime, eTS.getStart());
-                    if (hours > 0) break;
-                    else startTime = eTS.getEnd();
-                }
-            }
-        }
-
-        return Time.getNearestQuarterOfHour(startTime, true);
+    public static double getTimeInterval(Calendar curr, Calendar event) {
+        return getTimeInterval(toEpochMinute(curr), toEpochMinute(event));
     }
 
-    // [COMPLETE]
-    public static boolean isInsideEventBlock(Calendar startTime, TimeStamp eventTimeStamp) {
-        return !isAfter(startTime, eventTimeStamp.getEnd()) && !isBefore(startTime, eventTimeStamp.getStart());
+    /**
+     * Determines whether the epoch minute falls inside the event block
+     *
+     * @param time epoch minute being checked
+     * @param eventTimeStamp time stamp of the event
+     * @return boolean value for whether the time is inside the event block
+     */
+    public static boolean isInsideEventBlock(int time, TimeStamp eventTimeStamp) {
+        return time < eventTimeStamp.getEndEpochMinute() && time >= eventTimeStamp.getStartEpochMinute();
     }
 
-    // [COMPLETE]
     public static boolean isAfter(Calendar startTime, Calendar eventEnd) {
-        Calendar startTemp = cloneAndResetSecMillis(startTime);
-        Calendar eventTemp = cloneAndResetSecMillis(eventEnd);
-        return startTemp.compareTo(eventTemp) >= 0;
+        return toEpochMinute(startTime) >= toEpochMinute(eventEnd);
     }
 
-    // [COMPLETE]
     public static boolean isBefore(Calendar startTime, Calendar eventStart) {
-        Calendar startTemp = cloneAndResetSecMillis(startTime);
-        Calendar eventTemp = cloneAndResetSecMillis(eventStart);
-        return startTemp.compareTo(eventTemp) < 0;
-    }
-
-    // [COMPLETE]
-    public static Calendar cloneAndResetSecMillis(Calendar date) {
-        Calendar temp = (Calendar) date.clone();
-        temp.set(Calendar.SECOND, 0);
-        temp.set(Calendar.MILLISECOND, 0);
-        return temp;
+        return toEpochMinute(startTime) < toEpochMinute(eventStart);
     }
 
-    // [COMPLETE]
     public static boolean isConflictingEvent(Event curr, Event other) {
-        Calendar currStart = cloneAndResetSecMillis(curr.getTimeStamp().getStart());
-        Calendar currEnd = cloneAndResetSecMillis(curr.getTimeStamp().getEnd());
-        Calendar otherStart = cloneAndResetSecMillis(other.getTimeStamp().getEnd());
-        Calendar otherEnd = cloneAndResetSecMillis(other.getTimeStamp().getEnd());
+        int currStart = curr.getTimeStamp().getStartEpochMinute();
+        int currEnd = curr.getTimeStamp().getEndEpochMinute();
+        int otherStart = other.getTimeStamp().getStartEpochMinute();
+        int otherEnd = other.getTimeStamp().getEndEpochMinute();
 
-        if (currStart.compareTo(otherStart) >= 0 && currStart.compareTo(otherEnd) < 0) return true;
-        else return currEnd.compareTo(otherStart) > 0 && currEnd.compareTo(otherEnd) < 0;
+        return currStart < otherEnd && otherStart < currEnd;
     }
 
-    // [COMPLETE]
     public static List<Double> computeTimeBlocks(Day day) {
         List<Double> intervals = new ArrayList<>();
         for (TimeStamp taskTimeStamp : day.getTaskTimeStamps()) {
-            intervals.add(Time.getTimeInterval(taskTimeStamp.getStart(), taskTimeStamp.getEnd()));
+            intervals.add(taskTimeStamp.getHours());
         }
         return intervals;
     }
 
+    /**
+     * Converts a Calendar instance into the number of days since 1970-01-01 for its local date
+     *
+     * @param date Calendar instance being converted
+     * @return epoch day of the Calendar instance
+     */
+    public static int toEpochDay(Calendar date) {
+        return (int) LocalDate.of(date.get(Calendar.YEAR), date.get(Calendar.MONTH) + 1, date.get(Calendar.DAY_OF_MONTH)).toEpochDay();
+    }
+
+    /**
+     * Converts a Calendar instance into an epoch minute (epoch day and minute of day), dropping seconds and milliseconds
+     *
+     * @param date Calendar instance being converted
+     * @return epoch minute of the Calendar instance
+     */
+    public static int toEpochMinute(Calendar date) {
+        return toEpochMinute(toEpochDay(date), date.get(Calendar.HOUR_OF_DAY) * 60 + date.get(Calendar.MINUTE));
+    }
+
+    /**
+     * Combines an epoch day and a minute of that day into an epoch minute
+     *
+     * @param epochDay number of days since 1970-01-01
+     * @param minuteOfDay number of minutes since the start of the day
+     * @return epoch minute
+     */
+    public static int toEpochMinute(int epochDay, int minuteOfDay) {
+        return epochDay * MINUTES_PER_DAY + minuteOfDay;
+    }
+
+    /**
+     * Gets the epoch day that the epoch minute falls on
+     *
+     * @param epochMinute epoch minute
+     * @return epoch day
+     */
+    public static int getEpochDay(int epochMinute) {
+        return Math.floorDiv(epochMinute, MINUTES_PER_DAY);
+    }
+
+    /**
+     * Gets the minute of the day for the epoch minute
+     *
+     * @param epochMinute epoch minute
+     * @return minute of day (0-1439)
+     */
+    public static int getMinuteOfDay(int epochMinute) {
+        return Math.floorMod(epochMinute, MINUTES_PER_DAY);
+    }
+
+    /**
+     * Gets the day of the week for the epoch day
+     *
+     * @param epochDay epoch day
+     * @return day of week (0=Sunday, ..., 6=Saturday)
+     */
+    public static int getDayOfWeek(int epochDay) {
+        // 1970-01-01 was a Thursday
+        return Math.floorMod(epochDay + 4, 7);
+    }
+
+    /**
+     * Converts an epoch minute back into a Calendar instance. Only to be used for I/O and display purposes.
+     *
+     * @param epochMinute epoch minute
+     * @return new Calendar instance for the epoch minute
+     */
+    public static Calendar toCalendar(int epochMinute) {
+        LocalDate date = LocalDate.ofEpochDay(getEpochDay(epochMinute));
+        int minuteOfDay = getMinuteOfDay(epochMinute);
+        Calendar cal = Calendar.getInstance();
+        cal.clear();
+        cal.set(date.getYear(), date.getMonthValue() - 1, date.getDayOfMonth(), minuteOfDay / 60, minuteOfDay % 60);
+        return cal;
+    }
+
+    /**
+     * Gets the current epoch day
+     *
+     * @return epoch day for today
+     */
+    public static int getCurrentEpochDay() {
+        return getCurrentEpochDay(Clock.systemDefaultZone());
+    }
+
+    /**
+     * Gets the current epoch day according to the given clock
+     *
+     * @param clock clock providing the present date
+     * @return epoch day for today
+     */
+    public static int getCurrentEpochDay(Clock clock) {
+        return (int) LocalDate.now(clock).toEpochDay();
+    }
+
+    /**
+     * Gets the current epoch minute
+     *
+     * @return epoch minute for the present time
+     */
+    public static int getCurrentEpochMinute() {
+        return getCurrentEpochMinute(Clock.systemDefaultZone());
+    }
+
+    /**
+     * Gets the current epoch minute according to the given clock
+     *
+     * @param clock clock providing the present time
+     * @return epoch minute for the present time
+     */
+    public static int getCurrentEpochMinute(Clock clock) {
+        LocalDateTime now = LocalDateTime.now(clock);
+        return toEpochMinute((int) now.toLocalDate().toEpochDay(), now.getHour() * 60 + now.getMinute());
+    }
+
     /**
      * Manages the creation of a time interval along with properly formatting its display.
+     * The interval is stored as a pair of epoch minutes, with Calendar instances only being created on request.
      * <p>
      * Example: 12:30pm-4:15pm
      *
      * @author Andrew Roe
      */
     public static class TimeStamp implements Comparable<TimeStamp> {
-        private final Calendar start;
-        private final Calendar end;
-        private final String strStamp;
+        /** Epoch minute for the start of the interval */
+        private final int start;
+        /** Epoch minute for the end of the interval */
+        private final int end;
 
         public TimeStamp(Calendar start, Calendar end) {
-            start.set(Calendar.SECOND, 0);
-            start.set(Calendar.MILLISECOND, 0);
-            end.set(Calendar.SECOND, 0);
-            end.set(Calendar.MILLISECOND, 0);
-            if (start.compareTo(end) >= 0) throw new IllegalArgumentException("Start time is greater than or equal to end time");
+            this(toEpochMinute(start), toEpochMinute(end));
+        }
+
+        public TimeStamp(int start, int end) {
+            if (start >= end) throw new IllegalArgumentException("Start time is greater than or equal to end time");
             this.start = start;
             this.end = end;
-            strStamp = buildStamp();
         }
 
         public Calendar getStart() {
-            return start;
+            return toCalendar(start);
         }
 
         public Calendar getEnd() {
+            return toCalendar(end);
+        }
+
+        public int getStartEpochMinute() {
+            return start;
+        }
+
+        public int getEndEpochMinute() {
             return end;
         }
 
+        public int getEpochDay() {
+            return Time.getEpochDay(start);
+        }
+
+        public int getStartMinuteOfDay() {
+            return getMinuteOfDay(start);
+        }
+
+        public int getEndMinuteOfDay() {
+            return getMinuteOfDay(end);
+        }
+
         public int getStartHour() {
-            return start.get(Calendar.HOUR_OF_DAY);
+            return getStartMinuteOfDay() / 60;
         }
 
         public int getStartMin() {
-            return start.get(Calendar.MINUTE);
+            return getStartMinuteOfDay() % 60;
         }
 
         public int getEndHour() {
-            return end.get(Calendar.HOUR_OF_DAY);
+            return getEndMinuteOfDay() / 60;
         }
 
         public int getEndMin() {
-            return end.get(Calendar.MINUTE);
+            return getEndMinuteOfDay() % 60;
+        }
+
+        /**
+         * Gets the length of the interval in hours, rounded down to the nearest half hour
+         *
+         * @return number of hours in the interval
+         */
+        public double getHours() {
+            return getTimeInterval(start, end);
         }
 
         private String buildStamp() {
@@ -306,17 +379,13 @@ public class Time {
 
         @Override
         public String toString() {
-            return strStamp;
+            return buildStamp();
         }
 
         @Override
         public int compareTo(TimeStamp o) {
-            if (this.getStartHour() < o.getStartHour()) return -1;
-            else if (this.getStartHour() > o.getStartHour()) return 1;
-            else {
-                return Integer.compare(this.getStartMin(), o.getStartMin());
-            }
+            return Integer.compare(this.getStartMinuteOfDay(), o.getStartMinuteOfDay());
         }
     }
 
-}
\ No newline at end of file
+}
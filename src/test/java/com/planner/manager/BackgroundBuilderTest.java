@@ -0,0 +1,93 @@
+package com.planner.manager;
+
+import com.planner.models.UserConfig;
+import com.planner.schedule.day.Day;
+import com.planner.util.EventLog;
+import com.planner.util.JsonHandler;
+import com.planner.util.Time;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.time.Clock;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BackgroundBuilderTest {
+
+    /** Clock fixed before the due dates of 'schedules/semester.sched' */
+    private static final Clock CLOCK = Clock.fixed(LocalDateTime.of(2024, 9, 23, 8, 0)
+            .atZone(ZoneId.systemDefault()).toInstant(), ZoneId.systemDefault());
+
+    @Test
+    void buildInBackground() throws IOException, InterruptedException {
+        UserConfig userConfig = JsonHandler.readUserConfig(Files.readString(Paths.get("settings/profile.json")));
+        BuildCache cache = new BuildCache(BuildCache.DEFAULT_CAPACITY, null);
+        ScheduleManager sm = newScheduleManager(userConfig);
+        sm.setBuildCache(cache);
+        ScheduleManager direct = newScheduleManager(userConfig);
+        direct.buildSchedule();
+
+        try (BackgroundBuilder builder = new BackgroundBuilder(0)) {
+            assertTrue(builder.submit(sm));
+            for (int i = 0; i < 1000 && cache.size() == 0; i++) {
+                Thread.sleep(10);
+            }
+            assertFalse(builder.await());
+            // the build made in the background is kept as it is
+            assertTrue(sm.isScheduleCurrent());
+            Day first = sm.getSchedule().get(0);
+            sm.buildSchedule();
+            assertSame(first, sm.getSchedule().get(0));
+            assertFalse(sm.getEventLog().toString().contains("BUILD CACHE"));
+            assertEquals(direct.serializeSchedule(), sm.serializeSchedule());
+            assertEquals(direct.getErrorCount(), sm.getErrorCount());
+            assertFalse(builder.submit(sm));
+            builder.resume();
+
+            // a build that is paused, whether it started or not, never changes the schedule
+            sm.modTask(0, null, sm.getTask(0).getTotalHours() + 1, null, null);
+            String before = sm.serializeSchedule();
+            assertFalse(builder.pause());
+            assertTrue(builder.submit(sm));
+            Thread.sleep(50);
+            assertTrue(builder.pause());
+            builder.resume();
+            builder.resume();
+            assertFalse(builder.await());
+            assertFalse(sm.isScheduleCurrent());
+            assertEquals(before, sm.serializeSchedule());
+            builder.resume();
+        }
+
+        // a change whose build did not start yet is dropped, and built by the ScheduleManager itself
+        try (BackgroundBuilder builder = new BackgroundBuilder(60_000)) {
+            assertTrue(builder.submit(sm));
+            // only reading the ScheduleManager keeps the build
+            builder.hold();
+            builder.resume();
+            assertTrue(builder.await());
+            assertEquals(1, cache.size());
+            sm.buildSchedule();
+            assertEquals(2, cache.size());
+            builder.resume();
+        }
+        assertThrows(IllegalArgumentException.class, () -> new BackgroundBuilder(-1));
+    }
+
+    private ScheduleManager newScheduleManager(UserConfig userConfig) throws IOException {
+        ScheduleManager sm = new ScheduleManager(userConfig, new EventLog(), CLOCK);
+        sm.deserializeScheduleFromFile(Paths.get("schedules/semester.sched"));
+        int today = Time.getCurrentEpochDay(CLOCK);
+        sm.addTask("review", 5, Time.toCalendar(Time.toEpochMinute(today + 6, 0)), null);
+        sm.addEvent("seminar", null, new Time.TimeStamp(Time.toEpochMinute(today + 2, 13 * 60),
+                Time.toEpochMinute(today + 2, 16 * 60)), false, null);
+        sm.addEvent("gym", null, new Time.TimeStamp(Time.toEpochMinute(today, 18 * 60),
+                Time.toEpochMinute(today, 19 * 60)), true, List.of(Time.toCalendar(Time.toEpochMinute(today + 1, 0))));
+        return sm;
+    }
+}
@@ -0,0 +1,67 @@
+package com.planner.manager;
+
+import com.planner.models.UserConfig;
+import com.planner.util.EventLog;
+import com.planner.util.JsonHandler;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.Clock;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BatchSchedulerTest {
+
+    /** Clock fixed before the due dates of 'schedules/semester.sched' */
+    private static final Clock CLOCK = Clock.fixed(LocalDateTime.of(2024, 9, 23, 8, 0)
+            .atZone(ZoneId.systemDefault()).toInstant(), ZoneId.systemDefault());
+
+    @Test
+    void run() throws IOException {
+        Path dir = Files.createTempDirectory("batch");
+        UserConfig userConfig = JsonHandler.readUserConfig(Files.readString(Paths.get("settings/profile.json")));
+        String data = Files.readString(Paths.get("schedules/semester.sched"));
+
+        // schedules each input on its own, one after the other
+        ScheduleManager sm = new ScheduleManager(userConfig, new EventLog(), CLOCK);
+        sm.deserializeScheduleFromFile(Paths.get("schedules/semester.sched"));
+        sm.buildSchedule();
+        String expected = sm.serializeSchedule();
+        assertFalse(sm.getSchedule().isEmpty());
+
+        List<Path> inputs = new ArrayList<>();
+        for (int i = 0; i < 16; i++) {
+            Path input = dir.resolve("user" + i + ".sched");
+            Files.writeString(input, data);
+            inputs.add(input);
+        }
+        Path invalid = dir.resolve("invalid.sched");
+        Files.writeString(invalid, "TASK {\n\t\"Broken\" 4.25 @ 30-09-2024\n}\n");
+        inputs.add(invalid);
+
+        BatchScheduler batch = new BatchScheduler(userConfig, CLOCK, 4);
+        List<BatchScheduler.Result> results = batch.run(inputs, dir.resolve("out"));
+
+        assertEquals(inputs.size(), results.size());
+        for (int i = 0; i < 16; i++) {
+            BatchScheduler.Result result = results.get(i);
+            assertTrue(result.isSuccess(), result.toString());
+            assertEquals(inputs.get(i), result.getInput());
+            assertEquals(sm.getErrorCount(), result.getErrorCount());
+            assertEquals(expected, Files.readString(result.getOutput()));
+        }
+        // a file that fails to schedule does not stop the rest of the batch
+        assertFalse(results.get(16).isSuccess());
+        assertNull(results.get(16).getOutput());
+
+        assertThrows(IllegalArgumentException.class, () -> new BatchScheduler(userConfig, CLOCK, 0));
+        assertThrows(IllegalArgumentException.class, () -> new ScheduleManager(null, new EventLog(), CLOCK));
+    }
+}
@@ -0,0 +1,129 @@
+package com.planner.manager;
+
+import com.planner.models.Task;
+import com.planner.models.UserConfig;
+import com.planner.schedule.day.Day;
+import com.planner.util.EventLog;
+import com.planner.util.JsonHandler;
+import com.planner.util.Time;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BuildCacheTest {
+
+    /** Clock fixed before the due dates of 'schedules/semester.sched' */
+    private static final Clock CLOCK = Clock.fixed(LocalDateTime.of(2024, 9, 23, 8, 0)
+            .atZone(ZoneId.systemDefault()).toInstant(), ZoneId.systemDefault());
+
+    @Test
+    void getAndPut() throws IOException {
+        Path file = Files.createTempDirectory("cache").resolve("build.cache");
+        BuildCache cache = new BuildCache(2, file);
+        assertTrue(cache.isPersistent());
+        assertEquals(BuildCache.hash("inputs"), BuildCache.hash("inputs"));
+        assertNotEquals(BuildCache.hash("inputs"), BuildCache.hash("inputs "));
+
+        cache.put("a", "1 2\nDAY {\n}");
+        cache.put("b", "");
+        // using an entry keeps it over the least recently used one
+        assertEquals("1 2\nDAY {\n}", cache.get("a"));
+        cache.put("c", "3\n4\n");
+        assertNull(cache.get("b"));
+        assertEquals(2, cache.size());
+
+        BuildCache reopened = new BuildCache(2, file);
+        assertEquals("1 2\nDAY {\n}", reopened.get("a"));
+        assertEquals("3\n4\n", reopened.get("c"));
+
+        // an unreadable file is an empty cache
+        Files.writeString(file, "a 100\nshort");
+        assertEquals(0, new BuildCache(2, file).size());
+        assertThrows(IllegalArgumentException.class, () -> new BuildCache(0, null));
+    }
+
+    @Test
+    void buildSchedule() throws IOException {
+        UserConfig userConfig = JsonHandler.readUserConfig(Files.readString(Paths.get("settings/profile.json")));
+        BuildCache cache = new BuildCache(BuildCache.DEFAULT_CAPACITY, null);
+        ScheduleManager sm = new ScheduleManager(userConfig, new EventLog(), CLOCK);
+        sm.setBuildCache(cache);
+        sm.deserializeScheduleFromFile(Paths.get("schedules/semester.sched"));
+        sm.buildSchedule();
+        String expected = sm.serializeSchedule();
+        assertEquals(1, cache.size());
+
+        // reading the same file again restores the schedule instead of building it
+        ScheduleManager other = new ScheduleManager(userConfig, new EventLog(), CLOCK);
+        other.setBuildCache(cache);
+        other.deserializeScheduleFromFile(Paths.get("schedules/semester.sched"));
+        other.buildSchedule();
+        assertEquals(1, cache.size());
+        assertEquals(expected, other.serializeSchedule());
+        assertEquals(sm.getErrorCount(), other.getErrorCount());
+        assertTrue(other.getEventLog().toString().contains("BUILD CACHE"));
+        // the restored Days give the Tasks their hours as well
+        for (Task task : sm.getTaskManager()) {
+            assertEquals(task.getSubTotalHoursRemaining(), other.getTask(task.getId()).getSubTotalHoursRemaining());
+        }
+
+        // a change that is reverted restores the first schedule, and the next change builds from it
+        Task task = other.getTaskManager().peek();
+        double hours = task.getTotalHours();
+        other.modTask(task.getId(), null, hours + 2, null, null);
+        other.buildSchedule();
+        assertEquals(2, cache.size());
+        other.modTask(task.getId(), null, hours, null, null);
+        other.buildSchedule();
+        assertEquals(2, cache.size());
+        assertEquals(expected, other.serializeSchedule());
+        other.modTask(task.getId(), null, hours + 1, null, null);
+        other.buildSchedule();
+        sm.modTask(task.getId(), null, hours + 1, null, null);
+        sm.setBuildCache(null);
+        sm.buildSchedule();
+        assertEquals(sm.serializeSchedule(), other.serializeSchedule());
+
+        // a restored schedule keeps the Days before the next change, as a build of its own would
+        other.modTask(task.getId(), null, hours, null, null);
+        other.buildSchedule();
+        assertEquals(3, cache.size());
+        Task last = task;
+        for (Task t : other.getTaskManager()) {
+            if (t.getDueEpochDay() > last.getDueEpochDay()) {
+                last = t;
+            }
+        }
+        Day first = other.getSchedule().get(0);
+        other.modTask(last.getId(), null, last.getTotalHours() + 1, null, null);
+        other.buildSchedule();
+        assertSame(first, other.getSchedule().get(0));
+        ScheduleManager fresh = new ScheduleManager(userConfig, new EventLog(), CLOCK);
+        fresh.deserializeScheduleFromFile(Paths.get("schedules/semester.sched"));
+        fresh.modTask(last.getId(), null, last.getTotalHours(), null, null);
+        fresh.buildSchedule();
+        assertEquals(fresh.serializeSchedule(), other.serializeSchedule());
+        assertEquals(fresh.getErrorCount(), other.getErrorCount());
+
+        // later the same day, the hours already past are not restored
+        Clock later = Clock.offset(CLOCK, Duration.ofMinutes(5 * 60 + 7));
+        ScheduleManager afternoon = new ScheduleManager(userConfig, new EventLog(), later);
+        afternoon.setBuildCache(cache);
+        afternoon.deserializeScheduleFromFile(Paths.get("schedules/semester.sched"));
+        afternoon.buildSchedule();
+        assertFalse(afternoon.getEventLog().toString().contains("BUILD CACHE"));
+        int now = Time.getCurrentEpochMinute(later);
+        for (Task.SubTask subTask : afternoon.getSchedule().get(0).getSubTaskList()) {
+            assertTrue(subTask.getTimeStamp().getStartEpochMinute() >= now);
+        }
+    }
+}
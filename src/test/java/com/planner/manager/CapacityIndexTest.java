@@ -0,0 +1,67 @@
+package com.planner.manager;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CapacityIndexTest {
+
+    @Test
+    void matchesPrefixSums() {
+        Random random = new Random(5);
+        int firstDay = 20_000;
+        int[] capacities = new int[40];
+        for (int i = 0; i < capacities.length; i++) {
+            capacities[i] = random.nextInt(8) * 60;
+        }
+        long[] demands = new long[capacities.length];
+        CapacityIndex index = new CapacityIndex(firstDay, capacities);
+
+        for (int i = 0; i < 3_000; i++) {
+            int day = random.nextInt(capacities.length);
+            if (random.nextBoolean()) {
+                long minutes = random.nextInt(10) * 30;
+                // work is only ever removed after it was added
+                if (random.nextBoolean() && demands[day] >= minutes) {
+                    minutes = -minutes;
+                }
+                demands[day] += minutes;
+                index.addDemand(firstDay + day, minutes);
+            } else {
+                capacities[day] = random.nextInt(8) * 60;
+                index.setCapacity(firstDay + day, capacities[day]);
+            }
+            assertEquals(getOverflow(capacities, demands), index.getOverflow());
+
+            long minutes = 30 + random.nextInt(20) * 30;
+            demands[day] += minutes;
+            assertEquals(getOverflow(capacities, demands), index.getOverflowIfAdded(firstDay + day, minutes));
+            demands[day] -= minutes;
+
+            // the earliest due date is the first one that leaves no more minutes over than before
+            int expected = Integer.MAX_VALUE;
+            for (int d = 0; d < capacities.length && expected == Integer.MAX_VALUE; d++) {
+                demands[d] += minutes;
+                if (getOverflow(capacities, demands) == index.getOverflow()) {
+                    expected = firstDay + d;
+                }
+                demands[d] -= minutes;
+            }
+            assertEquals(expected, index.getEarliestFeasibleDay(minutes));
+        }
+        assertEquals(index.getOverflow() + 60, index.getOverflowIfAdded(firstDay - 1, 60));
+        assertEquals(index.getOverflow(), index.getOverflowIfAdded(firstDay + capacities.length, 60));
+    }
+
+    private static long getOverflow(int[] capacities, long[] demands) {
+        long overflow = 0;
+        long excess = 0;
+        for (int i = 0; i < capacities.length; i++) {
+            excess += demands[i] - capacities[i];
+            overflow = Math.max(overflow, excess);
+        }
+        return overflow;
+    }
+}
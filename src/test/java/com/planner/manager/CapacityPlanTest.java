@@ -0,0 +1,72 @@
+package com.planner.manager;
+
+import com.planner.models.UserConfig;
+import com.planner.schedule.day.Day;
+import com.planner.util.EventLog;
+import com.planner.util.JsonHandler;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.time.Clock;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CapacityPlanTest {
+
+    /** Clock fixed before the due dates of 'schedules/semester.sched' */
+    private static final Clock CLOCK = Clock.fixed(LocalDateTime.of(2024, 9, 23, 8, 0)
+            .atZone(ZoneId.systemDefault()).toInstant(), ZoneId.systemDefault());
+
+    @Test
+    void planCapacity() throws IOException {
+        UserConfig userConfig = JsonHandler.readUserConfig(Files.readString(Paths.get("settings/profile.json")));
+        int[] week = userConfig.getHoursPerDayOfWeek().clone();
+        ScheduleManager sm = new ScheduleManager(userConfig, new EventLog(), CLOCK);
+        sm.deserializeScheduleFromFile(Paths.get("schedules/semester.sched"));
+        sm.buildSchedule();
+        String expected = sm.serializeSchedule();
+        int lastWorkDay = -1;
+        for (Day day : sm.getSchedule()) {
+            if (day.getNumSubTasks() > 0) {
+                lastWorkDay = day.getEpochDay();
+            }
+        }
+
+        List<CapacityPlan.Variant> variants = sm.planCapacity(List.of(-4, 0, 4), List.of(), List.of());
+        assertEquals(3, variants.size());
+        // the variant with the current settings is built just like the schedule itself
+        CapacityPlan.Variant current = variants.get(1);
+        assertArrayEquals(week, current.getHoursPerDayOfWeek());
+        assertEquals(userConfig.getMaxDays(), current.getMaxDays());
+        assertEquals(sm.getErrorCount(), current.getErrorCount());
+        assertEquals(lastWorkDay, current.getLastWorkDay());
+        // more hours each day never leave more hours unscheduled
+        assertTrue(variants.get(0).getOverflowHours() >= current.getOverflowHours());
+        assertTrue(current.getOverflowHours() >= variants.get(2).getOverflowHours());
+        for (CapacityPlan.Variant variant : variants) {
+            assertTrue(variant.getUtilization() >= 0 && variant.getUtilization() <= 1, variant.toString());
+        }
+
+        // fewer Days leave the Tasks due after them for later
+        variants = sm.planCapacity(List.of(), List.of(new int[]{8, 20}, new int[]{9, 17}), List.of(3, 14));
+        assertEquals(4, variants.size());
+        assertArrayEquals(new int[]{9, 17}, variants.get(2).getDailyHoursRange());
+        assertEquals(3, variants.get(2).getMaxDays());
+        assertTrue(variants.get(0).getLaterHours() >= variants.get(1).getLaterHours());
+
+        // the sweep leaves the settings and the schedule as they were
+        assertArrayEquals(week, userConfig.getHoursPerDayOfWeek());
+        assertEquals(expected, sm.serializeSchedule());
+
+        assertThrows(IllegalArgumentException.class, () -> sm.planCapacity(List.of(), List.of(new int[]{8, 30}), List.of()));
+        Integer[] days = new Integer[300];
+        Arrays.setAll(days, i -> i + 1);
+        assertThrows(IllegalArgumentException.class, () -> sm.planCapacity(List.of(), List.of(), Arrays.asList(days)));
+    }
+}
@@ -0,0 +1,54 @@
+package com.planner.manager;
+
+import com.planner.schedule.day.Day;
+import com.planner.schedule.day.DayTemplate;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class DayWindowTest {
+
+    /** Layout of a Day without recurring Events */
+    private static final DayTemplate EMPTY = new DayTemplate(List.of());
+
+    @Test
+    void matchesArrayList() {
+        Random random = new Random(11);
+        DayWindow window = new DayWindow();
+        List<Day> expected = new ArrayList<>();
+        int nextDay = 20_000;
+        for (int i = 0; i < 5_000; i++) {
+            int op = random.nextInt(10);
+            if (op < 5 || expected.isEmpty()) {
+                Day day = new Day(i, 8, nextDay++, EMPTY);
+                window.add(day);
+                expected.add(day);
+            } else if (op < 8) {
+                // Days only pass at the front, which wraps the window around its slots
+                assertSame(expected.remove(0), window.removeFirst());
+            } else if (op < 9) {
+                int from = random.nextInt(expected.size() + 1);
+                window.subList(from, expected.size()).clear();
+                expected.subList(from, expected.size()).clear();
+            } else {
+                int idx = random.nextInt(expected.size());
+                assertSame(expected.remove(idx), window.remove(idx));
+            }
+            assertEquals(expected, window);
+        }
+        window.clear();
+        expected.clear();
+        for (int i = 0; i < 10; i++) {
+            window.add(new Day(i, 8, 100 + i, EMPTY));
+        }
+        assertEquals(0, window.indexOfDay(90));
+        assertEquals(4, window.indexOfDay(104));
+        assertEquals(10, window.indexOfDay(120));
+        assertThrows(IndexOutOfBoundsException.class, () -> window.get(10));
+        assertThrows(IndexOutOfBoundsException.class, () -> new DayWindow().removeFirst());
+    }
+}
@@ -0,0 +1,128 @@
+package com.planner.manager;
+
+import com.planner.models.Task;
+import com.planner.util.Time;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class DependencyGraphTest {
+
+    @Test
+    void addDependency() {
+        // every dependency is added against the order, so each one reorders the chain
+        DependencyGraph graph = new DependencyGraph();
+        List<Task> tasks = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            tasks.add(new Task(i, "t" + i, 2, Time.getFormattedCalendarInstance(10)));
+        }
+        for (int i = 0; i < 4; i++) {
+            graph.addDependency(tasks.get(i), tasks.get(i + 1));
+        }
+        for (int i = 0; i < 4; i++) {
+            assertTrue(graph.isBefore(tasks.get(i + 1), tasks.get(i)));
+        }
+        assertEquals(List.of(tasks.get(1)), graph.getDependencies(tasks.get(0)));
+        assertTrue(graph.dependsOn(tasks.get(0), tasks.get(4)));
+        assertFalse(graph.dependsOn(tasks.get(4), tasks.get(0)));
+
+        // each Task leaves 2 hours for the Tasks depending on it before the due date
+        int due = Time.toEpochMinute(tasks.get(0).getDueEpochDay(), 0);
+        for (int i = 0; i < 5; i++) {
+            assertEquals(due - 120 * i, tasks.get(i).getDeadline());
+        }
+
+        // closing the chain into a cycle is rejected without changing anything
+        assertThrows(IllegalArgumentException.class, () -> graph.addDependency(tasks.get(4), tasks.get(0)));
+        assertThrows(IllegalArgumentException.class, () -> graph.addDependency(tasks.get(2), tasks.get(2)));
+        assertTrue(graph.getDependencies(tasks.get(4)).isEmpty());
+        assertEquals(due - 480, tasks.get(4).getDeadline());
+
+        // only the Tasks the changed one depends on are repaired
+        Map<Task, Integer> changed = graph.removeDependency(tasks.get(1), tasks.get(2));
+        assertEquals(List.of(tasks.get(2), tasks.get(3), tasks.get(4)), new ArrayList<>(changed.keySet()));
+        assertEquals(due - 240, (int) changed.get(tasks.get(2)));
+        assertEquals(due, tasks.get(2).getDeadline());
+        assertEquals(due - 240, tasks.get(4).getDeadline());
+
+        graph.removeTask(tasks.get(0));
+        assertEquals(due, tasks.get(1).getDeadline());
+        graph.removeTask(tasks.get(3));
+        assertTrue(graph.isEmpty());
+        assertEquals(due, tasks.get(4).getDeadline());
+    }
+
+    @Test
+    void addDependencyRandomly() {
+        Random random = new Random(3);
+        int numTasks = 30;
+        DependencyGraph graph = new DependencyGraph();
+        List<Task> tasks = new ArrayList<>();
+        for (int i = 0; i < numTasks; i++) {
+            tasks.add(new Task(i, "t" + i, random.nextInt(5), Time.getFormattedCalendarInstance(random.nextInt(20))));
+        }
+        boolean[][] edges = new boolean[numTasks][numTasks];
+        for (int step = 0; step < 2000; step++) {
+            int a = random.nextInt(numTasks);
+            int b = random.nextInt(numTasks);
+            assertEquals(a != b && reaches(edges, a, b), graph.dependsOn(tasks.get(b), tasks.get(a)));
+            if (random.nextInt(4) == 0) {
+                graph.removeDependency(tasks.get(a), tasks.get(b));
+                edges[b][a] = false;
+            } else if (a == b || reaches(edges, a, b)) {
+                assertThrows(IllegalArgumentException.class, () -> graph.addDependency(tasks.get(a), tasks.get(b)));
+            } else {
+                graph.addDependency(tasks.get(a), tasks.get(b));
+                edges[b][a] = true;
+            }
+
+            for (int from = 0; from < numTasks; from++) {
+                for (int to = 0; to < numTasks; to++) {
+                    if (edges[from][to]) {
+                        assertTrue(graph.isBefore(tasks.get(from), tasks.get(to)));
+                    }
+                }
+            }
+        }
+        // the repaired deadlines match the ones computed from scratch
+        for (int t = 0; t < numTasks; t++) {
+            assertEquals(getDeadline(tasks, edges, t), tasks.get(t).getDeadline());
+        }
+    }
+
+    private static boolean reaches(boolean[][] edges, int from, int to) {
+        boolean[] seen = new boolean[edges.length];
+        List<Integer> stack = new ArrayList<>(List.of(from));
+        seen[from] = true;
+        while (!stack.isEmpty()) {
+            int node = stack.remove(stack.size() - 1);
+            if (node == to) {
+                return true;
+            }
+            for (int next = 0; next < edges.length; next++) {
+                if (edges[node][next] && !seen[next]) {
+                    seen[next] = true;
+                    stack.add(next);
+                }
+            }
+        }
+        return false;
+    }
+
+    private static int getDeadline(List<Task> tasks, boolean[][] edges, int t) {
+        Task task = tasks.get(t);
+        int deadline = Time.toEpochMinute(task.getDueEpochDay(), 0);
+        for (int next = 0; next < edges.length; next++) {
+            if (edges[t][next]) {
+                int minutes = (int) Math.max(1, Math.round(tasks.get(next).getTotalHours() * 60));
+                deadline = Math.min(deadline, getDeadline(tasks, edges, next) - minutes);
+            }
+        }
+        return deadline;
+    }
+}
@@ -0,0 +1,43 @@
+package com.planner.manager;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class IntMapTest {
+
+    @Test
+    void matchesHashMap() {
+        Random random = new Random(7);
+        IntMap<String> map = new IntMap<>();
+        Map<Integer, String> expected = new HashMap<>();
+        for (int i = 0; i < 20_000; i++) {
+            // a small key range keeps collisions and removals frequent
+            int key = random.nextInt(2_000) - 100;
+            if (random.nextInt(3) == 0) {
+                assertEquals(expected.remove(key), map.remove(key));
+            } else {
+                String value = "v" + i;
+                assertEquals(expected.put(key, value), map.put(key, value));
+            }
+            assertEquals(expected.size(), map.size());
+        }
+        for (int key = -100; key < 1_900; key++) {
+            assertEquals(expected.get(key), map.get(key));
+            assertEquals(expected.containsKey(key), map.containsKey(key));
+        }
+        List<String> values = map.values();
+        values.sort(null);
+        List<String> expectedValues = new ArrayList<>(expected.values());
+        expectedValues.sort(null);
+        assertEquals(expectedValues, values);
+
+        assertThrows(IllegalArgumentException.class, () -> map.put(0, null));
+    }
+}
@@ -0,0 +1,96 @@
+package com.planner.manager;
+
+import com.planner.models.Task;
+import com.planner.models.UserConfig;
+import com.planner.schedule.day.Day;
+import com.planner.util.EventLog;
+import com.planner.util.Time;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.time.Clock;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RiskForecastTest {
+
+    @Test
+    void simulate() {
+        int today = Time.getCurrentEpochDay();
+        Task tight = new Task(0, "essay", 8, Time.getFormattedCalendarInstance(0));
+        Task loose = new Task(1, "lab", 2, Time.getFormattedCalendarInstance(2));
+        Task late = new Task(2, "thesis", 100, Time.getFormattedCalendarInstance(10));
+        RiskForecast forecast = new RiskForecast(List.of(late, loose, tight), today, new int[]{8 * 60, 8 * 60, 8 * 60});
+        assertEquals(List.of(tight, loose, late), forecast.getTasks());
+
+        // without any spread every Task takes exactly its estimate
+        forecast.simulate(1000, RiskForecast.Distribution.NORMAL, 0, 1);
+        assertEquals(0, forecast.getMissProbability(tight));
+        assertEquals(0, forecast.getMissProbability(loose));
+        // Tasks due after the last Day are never counted as missed
+        assertEquals(0, forecast.getMissProbability(late));
+        assertTrue(forecast.getOverloadedDays().isEmpty());
+
+        // the first Day is exactly full, so it overflows in about half of the runs
+        forecast.simulate(10000, RiskForecast.Distribution.NORMAL, 0.2, 1);
+        assertEquals(0.5, forecast.getMissProbability(tight), 0.05);
+        assertEquals(forecast.getMissProbability(tight), forecast.getOverloadProbability(today));
+        assertEquals(0, forecast.getMissProbability(loose));
+        assertEquals(List.of(today), forecast.getOverloadedDays());
+
+        // the same seed gives the same forecast
+        double missed = forecast.getMissProbability(tight);
+        forecast.simulate(10000, RiskForecast.Distribution.NORMAL, 0.2, 1);
+        assertEquals(missed, forecast.getMissProbability(tight));
+        assertEquals(10000, forecast.getRuns());
+
+        assertThrows(IllegalArgumentException.class, () -> forecast.simulate(0, RiskForecast.Distribution.UNIFORM, 0, 1));
+        assertThrows(IllegalArgumentException.class, () -> RiskForecast.Distribution.fromName("poisson"));
+        assertEquals(RiskForecast.Distribution.LOGNORMAL, RiskForecast.Distribution.fromName("LogNormal"));
+    }
+
+    @Test
+    void matchBuild() throws IOException {
+        UserConfig userConfig = new UserConfig(new int[]{8, 20}, new int[]{8, 8, 8, 8, 8, 8, 8}, 14, 7,
+                false, true, 1.0, false, true, true);
+        Clock clock = Clock.fixed(LocalDateTime.of(2024, 9, 18, 8, 0).atZone(ZoneId.systemDefault()).toInstant(),
+                ZoneId.systemDefault());
+        ScheduleManager sm = new ScheduleManager(userConfig, new EventLog(), clock);
+        int today = Time.getCurrentEpochDay(clock);
+        sm.addTask("quiz", 4, Time.toCalendar(Time.toEpochMinute(today, 0)), null);
+        Task report = sm.addTask("report", 10, Time.toCalendar(Time.toEpochMinute(today + 1, 0)), null);
+        Task data = sm.addTask("data", 8, Time.toCalendar(Time.toEpochMinute(today + 2, 0)), null);
+        sm.addTask("essay", 12, Time.toCalendar(Time.toEpochMinute(today + 4, 0)), null);
+        sm.addEvent("lecture", null, new Time.TimeStamp(Time.toEpochMinute(today + 3, 8 * 60),
+                Time.toEpochMinute(today + 3, 16 * 60)), false, null);
+        // the data is needed for the report, so it is scheduled first even though it is due later
+        sm.addDependency(report.getId(), data.getId());
+
+        // without any spread a run fills the Days like the build does
+        RiskForecast forecast = sm.forecastRisk(1, RiskForecast.Distribution.NORMAL, 0, 0);
+        sm.buildSchedule();
+        Set<Task> missed = new HashSet<>();
+        Set<Integer> overloaded = new HashSet<>();
+        for (Task task : sm.getTaskManager()) {
+            if (task.getSubTotalHoursRemaining() > 0) {
+                missed.add(task);
+                overloaded.add(task.getDueEpochDay());
+            }
+        }
+        for (Day day : sm.getSchedule()) {
+            for (Task.SubTask subTask : day.getSubTaskList()) {
+                assertTrue(subTask.getParentTask().getDueEpochDay() >= day.getEpochDay());
+            }
+        }
+        assertEquals(Set.of(report), missed);
+        for (Task task : forecast.getTasks()) {
+            assertEquals(missed.contains(task) ? 1.0 : 0.0, forecast.getMissProbability(task), task.getName());
+        }
+        assertEquals(overloaded, new HashSet<>(forecast.getOverloadedDays()));
+    }
+}
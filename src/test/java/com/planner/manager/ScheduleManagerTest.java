@@ -2,12 +2,34 @@ package com.planner.manager;
 
 import com.planner.models.Card;
 import com.planner.models.Event;
+import com.planner.models.Task;
+import com.planner.models.UserConfig;
+import com.planner.schedule.ScheduleStrategy;
+import com.planner.schedule.Scheduler;
+import com.planner.schedule.SchedulerRegistry;
+import com.planner.schedule.day.Day;
+import com.planner.util.EventLog;
+import com.planner.util.JsonHandler;
+import com.planner.util.Serializer;
 import com.planner.util.Time;
 import org.junit.jupiter.api.Test;
 
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
 import java.util.ArrayList;
 import java.util.Calendar;
 import java.util.List;
+import java.util.Random;
+import java.util.concurrent.CancellationException;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -229,6 +251,557 @@ class ScheduleManagerTest {
         assertFalse(sm.deleteEvent(2));
     }
 
+    @Test
+    void buildOptimizedSchedule() throws IOException {
+        int[] hours = {8, 8, 8, 8, 8, 8, 8};
+        hours[Time.getDayOfWeek(Time.getCurrentEpochDay())] = 0;
+        UserConfig userConfig = new UserConfig(new int[]{8, 20}, hours, 14, 5, false, true, 1.0, false, true, false);
+        ScheduleManager sm = new ScheduleManager();
+        sm.setUserConfig(userConfig);
+        sm.addEvent("meeting", null, createTimeStamp(1, 9, 10), false, null);
+        sm.addTask("report", 3, Time.getFormattedCalendarInstance(1), null);
+        sm.addTask("email", 1, Time.getFormattedCalendarInstance(1), null);
+
+        sm.buildSchedule();
+        Day day = sm.getSchedule().get(1);
+        assertEquals(3, day.getNumSubTasks());
+
+        userConfig.setOptimizeDay(true);
+        sm.setUserConfig(userConfig);
+        sm.buildSchedule();
+        day = sm.getSchedule().get(1);
+        // the report moves past the meeting in one piece, with the email filling the hour before it
+        assertEquals(2, day.getNumSubTasks());
+        assertEquals("email", day.getSubTask(0).getParentTask().getName());
+        assertEquals(8 * 60, day.getSubTask(0).getTimeStamp().getStartMinuteOfDay());
+        assertEquals(3.0, day.getSubTask(1).getSubTaskHours());
+        assertEquals(10 * 60, day.getSubTask(1).getTimeStamp().getStartMinuteOfDay());
+        assertEquals(0.0, getUnscheduledHours(sm));
+    }
+
+    @Test
+    void getConflictingEvents() {
+        ScheduleManager sm = new ScheduleManager();
+        Event lecture = sm.addEvent("lecture", null, createTimeStamp(2, 9, 11), true,
+                List.of(Time.getFormattedCalendarInstance(2), Time.getFormattedCalendarInstance(4)));
+        Event exam = sm.addEvent("exam", null, createTimeStamp(2, 10, 12), false, null);
+        Event lunch = sm.addEvent("lunch", null, createTimeStamp(2, 12, 13), false, null);
+        Event review = sm.addEvent("review", null, createTimeStamp(4, 8, 10), false, null);
+
+        assertEquals(List.of(lecture), sm.getConflictingEvents(exam));
+        assertEquals(List.of(), sm.getConflictingEvents(lunch));
+        assertEquals(List.of(exam, review), sm.getConflictingEvents(lecture));
+
+        // the index of the one-off Events follows their additions, changes, and removals
+        Event quiz = sm.addEvent("quiz", null, createTimeStamp(2, 11, 12), false, null);
+        assertEquals(List.of(lecture, quiz), sm.getConflictingEvents(exam));
+        Time.TimeStamp later = createTimeStamp(2, 12, 13);
+        sm.modEvent(quiz.getId(), null, null, new Calendar[]{later.getStart(), later.getEnd()}, null);
+        assertEquals(List.of(lunch), sm.getConflictingEvents(quiz));
+        sm.deleteEvent(lunch.getId());
+        assertEquals(List.of(), sm.getConflictingEvents(quiz));
+        // one-off Events that have passed do not conflict with recurring ones
+        sm.addEvent("seminar", null, createTimeStamp(-5, 9, 10), false, null);
+        assertEquals(List.of(exam, review), sm.getConflictingEvents(lecture));
+    }
+
+    private Time.TimeStamp createTimeStamp(int days, int startHour, int endHour) {
+        Calendar start = Time.getFormattedCalendarInstance(days);
+        start.set(Calendar.HOUR_OF_DAY, startHour);
+        Calendar end = (Calendar) start.clone();
+        end.set(Calendar.HOUR_OF_DAY, endHour);
+        return new Time.TimeStamp(start, end);
+    }
+
+    @Test
+    void buildScheduleIncrementally() throws IOException {
+        ScheduleManager sm = new ScheduleManager();
+        sm.addCard("school", Card.Color.BLUE);
+
+        sm.addTask("thesis", 40, Time.getFormattedCalendarInstance(3), 0);
+        sm.addTask("homework", 4, Time.getFormattedCalendarInstance(6), 0);
+        sm.addTask("project", 6, Time.getFormattedCalendarInstance(9), 0);
+        sm.addTask("essay", 3, Time.getFormattedCalendarInstance(11), null);
+        sm.buildSchedule();
+        Day firstDay = sm.getSchedule().get(0);
+
+        sm.addTask("reading", 2, Time.getFormattedCalendarInstance(12), null);
+        sm.modTask(3, null, 5.0, Time.getFormattedCalendarInstance(10), null);
+        Calendar start = Time.getFormattedCalendarInstance(8);
+        start.set(Calendar.HOUR_OF_DAY, 12);
+        Calendar end = (Calendar) start.clone();
+        end.set(Calendar.HOUR_OF_DAY, 14);
+        sm.addEvent("meeting", null, new Time.TimeStamp(start, end), false, null);
+        sm.buildSchedule();
+
+        // Days before the first change are kept as-is
+        assertSame(firstDay, sm.getSchedule().get(0));
+        String incremental = sm.buildScheduleStr() + sm.buildSubTaskStr();
+
+        sm.setUserConfig(sm.getUserConfig());
+        sm.buildSchedule();
+        assertNotSame(firstDay, sm.getSchedule().get(0));
+        assertEquals(sm.buildScheduleStr() + sm.buildSubTaskStr(), incremental);
+    }
+
+    @Test
+    void buildPortfolioSchedule() throws IOException {
+        ScheduleManager sm = new ScheduleManager();
+        sm.addTask("thesis", 40, Time.getFormattedCalendarInstance(3), null);
+        sm.addTask("homework", 4, Time.getFormattedCalendarInstance(3), null);
+        sm.addTask("quiz", 1, Time.getFormattedCalendarInstance(1), null);
+        sm.addTask("project", 12, Time.getFormattedCalendarInstance(2), null);
+        sm.buildSchedule();
+        double defaultMissed = getUnscheduledHours(sm);
+
+        ScheduleStrategy strategy = sm.buildPortfolioSchedule();
+        assertNotNull(strategy);
+        assertTrue(getUnscheduledHours(sm) <= defaultMissed);
+        // the schedule holds the Tasks of the manager rather than copies
+        for (Day day : sm.getSchedule()) {
+            for (Task.SubTask subTask : day.getSubTaskList()) {
+                assertTrue(subTask.getParentTask().getDueEpochDay() >= day.getEpochDay());
+                assertSame(sm.getTask(subTask.getParentTask().getId()), subTask.getParentTask());
+            }
+        }
+
+        sm.buildSchedule();
+        assertEquals(defaultMissed, getUnscheduledHours(sm));
+    }
+
+    @Test
+    void buildPortfolioScheduleFirst() throws IOException {
+        UserConfig userConfig = JsonHandler.readUserConfig(Files.readString(Paths.get("settings/profile.json")));
+        Clock clock = Clock.fixed(LocalDateTime.of(2024, 9, 18, 8, 0).atZone(ZoneId.systemDefault()).toInstant(),
+                ZoneId.systemDefault());
+        int today = Time.getCurrentEpochDay(clock);
+        ScheduleManager sm = new ScheduleManager(userConfig, new EventLog(), clock);
+        sm.addTask("thesis", 40, Time.toCalendar(Time.toEpochMinute(today + 3, 0)), null);
+        sm.addTask("homework", 4, Time.toCalendar(Time.toEpochMinute(today + 3, 0)), null);
+        sm.addTask("quiz", 1, Time.toCalendar(Time.toEpochMinute(today + 1, 0)), null);
+        sm.addTask("project", 12, Time.toCalendar(Time.toEpochMinute(today + 2, 0)), null);
+
+        // the trials are ranked on the Days the schedule is built on, even before any regular build
+        sm.buildPortfolioSchedule();
+        String log = sm.getEventLog().toString();
+        int idx = log.indexOf("UNSCHEDULED HOURS=") + "UNSCHEDULED HOURS=".length();
+        double trialMissed = Double.parseDouble(log.substring(idx, log.indexOf(',', idx)));
+        assertTrue(trialMissed > 0);
+        double missed = getUnscheduledHours(sm);
+        for (Day day : sm.getSchedule()) {
+            for (Task.SubTask subTask : day.getSubTaskList()) {
+                if (subTask.getParentTask().getDueEpochDay() < day.getEpochDay()) {
+                    missed += subTask.getSubTaskHours();
+                }
+            }
+        }
+        assertEquals(trialMissed, missed, 1e-9);
+    }
+
+    @Test
+    void buildFlowSchedule() throws IOException {
+        ScheduleManager sm = new ScheduleManager();
+        sm.addTask("thesis", 40, Time.getFormattedCalendarInstance(3), null);
+        sm.addTask("homework", 4, Time.getFormattedCalendarInstance(3), null);
+        sm.addTask("quiz", 1, Time.getFormattedCalendarInstance(1), null);
+        sm.addTask("project", 12, Time.getFormattedCalendarInstance(2), null);
+        sm.addTask("reading", 0, Time.getFormattedCalendarInstance(5), null);
+        sm.buildSchedule();
+        double defaultMissed = getUnscheduledHours(sm);
+
+        double missed = sm.buildFlowSchedule();
+        assertTrue(missed <= defaultMissed);
+        assertEquals(missed, getUnscheduledHours(sm), 1e-9);
+        for (Day day : sm.getSchedule()) {
+            for (Task.SubTask subTask : day.getSubTaskList()) {
+                assertTrue(subTask.getParentTask().getDueEpochDay() >= day.getEpochDay());
+                assertSame(sm.getTask(subTask.getParentTask().getId()), subTask.getParentTask());
+            }
+        }
+
+        sm.buildSchedule();
+        assertEquals(defaultMissed, getUnscheduledHours(sm));
+    }
+
+    @Test
+    void buildImprovedSchedule() throws IOException {
+        UserConfig userConfig = new UserConfig(new int[]{8, 20}, new int[]{8, 8, 8, 8, 8, 8, 8}, 14, 7,
+                false, true, 1.0, false, true, true);
+        Clock clock = Clock.fixed(LocalDateTime.of(2024, 9, 18, 8, 0).atZone(ZoneId.systemDefault()).toInstant(),
+                ZoneId.systemDefault());
+        ScheduleManager sm = new ScheduleManager(userConfig, new EventLog(), clock);
+        int today = Time.getCurrentEpochDay(clock);
+        // the greedy build splits the second Task across both Days, although the third one fits next to the first
+        sm.addTask("essay", 6, Time.toCalendar(Time.toEpochMinute(today + 1, 0)), null);
+        sm.addTask("reading", 6, Time.toCalendar(Time.toEpochMinute(today + 1, 0)), null);
+        sm.addTask("lab", 2, Time.toCalendar(Time.toEpochMinute(today + 1, 0)), null);
+        sm.addTask("quiz", 12, Time.toCalendar(Time.toEpochMinute(today + 4, 0)), null);
+        sm.buildSchedule();
+        double greedyMissed = getUnscheduledHours(sm);
+        int greedyPieces = getPieces(sm);
+
+        userConfig.setImproveMillis(50);
+        sm.setUserConfig(userConfig);
+        sm.buildSchedule();
+        assertEquals(greedyMissed, getUnscheduledHours(sm), 1e-9);
+        assertTrue(getPieces(sm) < greedyPieces);
+        for (Day day : sm.getSchedule()) {
+            for (Task.SubTask subTask : day.getSubTaskList()) {
+                assertTrue(subTask.getParentTask().getDueEpochDay() >= day.getEpochDay());
+            }
+        }
+    }
+
+    @Test
+    void rollOverSchedule() throws IOException {
+        UserConfig userConfig = new UserConfig(new int[]{8, 20}, new int[]{8, 8, 8, 8, 8, 8, 8}, 3, 7,
+                false, true, 1.0, false, true, true);
+        Instant start = LocalDateTime.of(2024, 9, 18, 8, 0).atZone(ZoneId.systemDefault()).toInstant();
+        Instant[] now = {start};
+        Clock clock = new Clock() {
+            @Override
+            public ZoneId getZone() {
+                return ZoneId.systemDefault();
+            }
+
+            @Override
+            public Clock withZone(ZoneId zone) {
+                throw new UnsupportedOperationException();
+            }
+
+            @Override
+            public Instant instant() {
+                return now[0];
+            }
+        };
+        ScheduleManager sm = new ScheduleManager(userConfig, new EventLog(), clock);
+        int today = Time.getCurrentEpochDay(clock);
+        sm.addTask("essay", 6, Time.toCalendar(Time.toEpochMinute(today + 1, 0)), null);
+        sm.addTask("reading", 12, Time.toCalendar(Time.toEpochMinute(today + 3, 0)), null);
+        sm.addTask("project", 20, Time.toCalendar(Time.toEpochMinute(today + 10, 0)), null);
+        sm.buildSchedule();
+        List<Day> window = new ArrayList<>(sm.getSchedule());
+        assertEquals(3, window.size());
+
+        // the Days that are still ahead are kept, and only a Day after them is scheduled
+        now[0] = start.plus(Duration.ofDays(1));
+        sm.buildSchedule();
+        assertSame(window.get(1), sm.getSchedule().get(0));
+        assertSame(window.get(2), sm.getSchedule().get(1));
+        assertEquals(3, sm.getSchedule().size());
+        assertEquals(today + 3, sm.getSchedule().get(2).getEpochDay());
+        // the hours scheduled on the Day that passed are done, which finishes the essay
+        assertFalse(sm.getTaskManager().contains(sm.getTask(0)));
+        for (Task task : sm.getTaskManager()) {
+            assertEquals(task.getTotalHours() - task.getSubTotalHoursRemaining(),
+                    getScheduledHours(window.get(0), task) + getScheduledHours(sm.getSchedule(), task), 1e-9);
+        }
+        String rolled = sm.buildScheduleStr() + sm.buildSubTaskStr();
+        assertTrue(sm.buildArchivedScheduleStr().contains("essay"));
+        assertFalse(sm.buildCurrentScheduleStr().contains("essay"));
+
+        // regenerating every Day keeps the hours done on the Day that passed
+        sm.setUserConfig(userConfig);
+        sm.buildSchedule();
+        assertNotSame(window.get(1), sm.getSchedule().get(0));
+        assertEquals(rolled, sm.buildScheduleStr() + sm.buildSubTaskStr());
+    }
+
+    @Test
+    void buildDependentSchedule() throws IOException {
+        UserConfig userConfig = new UserConfig(new int[]{8, 20}, new int[]{8, 8, 8, 8, 8, 8, 8}, 14, 7,
+                false, true, 1.0, false, true, true);
+        Clock clock = Clock.fixed(LocalDateTime.of(2024, 9, 18, 8, 0).atZone(ZoneId.systemDefault()).toInstant(),
+                ZoneId.systemDefault());
+        ScheduleManager sm = new ScheduleManager(userConfig, new EventLog(), clock);
+        ScheduleManager fresh = new ScheduleManager(userConfig, new EventLog(), clock);
+        int today = Time.getCurrentEpochDay(clock);
+        for (ScheduleManager manager : List.of(sm, fresh)) {
+            manager.addTask("quiz", 4, Time.toCalendar(Time.toEpochMinute(today + 2, 0)), null);
+            manager.addTask("report", 6, Time.toCalendar(Time.toEpochMinute(today + 4, 0)), null);
+            manager.addTask("research", 10, Time.toCalendar(Time.toEpochMinute(today + 6, 0)), null);
+        }
+        sm.buildSchedule();
+
+        // the research is due last, but the report due before it depends on it
+        sm.addDependency(1, 2);
+        fresh.addDependency(1, 2);
+        assertThrows(IllegalArgumentException.class, () -> sm.addDependency(2, 1));
+        // a change whose dependencies are invalid changes nothing at all
+        String before = sm.serializeSchedule();
+        assertThrows(IllegalArgumentException.class, () -> sm.modTask(2, "draft", 12.0, null, null,
+                List.of(), List.of(0, 1)));
+        assertThrows(IllegalArgumentException.class, () -> sm.addTask("slides", 2,
+                Time.toCalendar(Time.toEpochMinute(today + 5, 0)), null, List.of(0, 7)));
+        assertThrows(IllegalArgumentException.class, () -> sm.modTask(0, null, 0.0, null, null,
+                List.of(), List.of(2)));
+        assertEquals(before, sm.serializeSchedule());
+        // the builds that ignore dependencies are refused
+        assertThrows(IllegalArgumentException.class, sm::buildPortfolioSchedule);
+        assertThrows(IllegalArgumentException.class, sm::buildFlowSchedule);
+        sm.buildSchedule();
+        fresh.buildSchedule();
+        assertEquals(fresh.serializeSchedule(), sm.serializeSchedule());
+        assertEquals(0.0, getUnscheduledHours(sm));
+
+        int researchDone = Integer.MIN_VALUE;
+        int reportStart = Integer.MAX_VALUE;
+        for (Day day : sm.getSchedule()) {
+            for (Task.SubTask subTask : day.getSubTaskList()) {
+                if (subTask.getParentTask().getId() == 2) {
+                    researchDone = Math.max(researchDone, subTask.getTimeStamp().getEndEpochMinute());
+                } else if (subTask.getParentTask().getId() == 1) {
+                    reportStart = Math.min(reportStart, subTask.getTimeStamp().getStartEpochMinute());
+                }
+            }
+        }
+        assertTrue(researchDone <= reportStart);
+
+        // dependencies are kept in the '.sched' format
+        ScheduleManager loaded = new ScheduleManager(userConfig, new EventLog(), clock);
+        Serializer.deserializeSchedule(sm.serializeSchedule(), loaded);
+        assertEquals(List.of(loaded.getTask(2)), loaded.getDependencies(1));
+
+        sm.removeDependency(1, 2);
+        sm.buildSchedule();
+        assertTrue(sm.getDependencies(1).isEmpty());
+        assertEquals(0.0, getUnscheduledHours(sm));
+    }
+
+    @Test
+    void getOverflowIfAdded() {
+        UserConfig userConfig = new UserConfig(new int[]{8, 20}, new int[]{8, 8, 8, 8, 8, 8, 8}, 14, 7,
+                false, true, 1.0, false, true, true);
+        Clock clock = Clock.fixed(LocalDateTime.of(2024, 9, 18, 8, 0).atZone(ZoneId.systemDefault()).toInstant(),
+                ZoneId.systemDefault());
+        ScheduleManager sm = new ScheduleManager(userConfig, new EventLog(), clock);
+        int today = Time.getCurrentEpochDay(clock);
+        sm.addTask("essay", 12, Time.toCalendar(Time.toEpochMinute(today + 1, 0)), null);
+        assertEquals(0.0, sm.getUnavoidableOverflow());
+        assertEquals(2.0, sm.getOverflowIfAdded(6, Time.toCalendar(Time.toEpochMinute(today + 1, 0))));
+        assertEquals(Time.toEpochMinute(today + 2, 0), Time.toEpochMinute(sm.getEarliestDueDate(6)));
+
+        // a lecture on the second day takes away more than the hours that were left
+        Event lecture = sm.addEvent("lecture", null, new Time.TimeStamp(Time.toEpochMinute(today + 1, 10 * 60),
+                Time.toEpochMinute(today + 1, 20 * 60)), false, null);
+        assertEquals(2.0, sm.getUnavoidableOverflow());
+        assertEquals(Time.toEpochMinute(today + 1, 0), Time.toEpochMinute(sm.getFirstInfeasibleDate()));
+        // moving the lecture frees the second day again
+        sm.modEvent(lecture.getId(), null, null, null, List.of(Time.toCalendar(Time.toEpochMinute(today + 3, 0))));
+        assertEquals(0.0, sm.getUnavoidableOverflow());
+        sm.modEvent(lecture.getId(), null, null, null, List.of(Time.toCalendar(Time.toEpochMinute(today + 1, 0))));
+        assertEquals(2.0, sm.getUnavoidableOverflow());
+        sm.deleteEvent(lecture.getId());
+        assertEquals(0.0, sm.getUnavoidableOverflow());
+
+        Task task = sm.addTask("lab", 6, Time.toCalendar(Time.toEpochMinute(today, 0)), null);
+        assertEquals(2.0, sm.getUnavoidableOverflow());
+        sm.modTask(task.getId(), null, 4.0, null, null);
+        assertEquals(0.0, sm.getUnavoidableOverflow());
+        sm.deleteTask(task.getId());
+        assertNull(sm.getFirstInfeasibleDate());
+    }
+
+    @Test
+    void buildLongHorizonSchedule() throws IOException {
+        ScheduleManager sm = new ScheduleManager();
+        UserConfig userConfig = sm.getUserConfig();
+        userConfig.setMaxDays(365);
+        sm.setUserConfig(userConfig);
+
+        sm.addTask("thesis", 2, Time.getFormattedCalendarInstance(300), null);
+        sm.addTask("final", 1, Time.getFormattedCalendarInstance(200), null);
+        sm.buildSchedule();
+        // Days are only generated while there is work left to schedule
+        assertTrue(sm.getSchedule().size() < 10);
+        assertEquals(0.0, getUnscheduledHours(sm));
+    }
+
+    @Test
+    void buildBucketSchedule() throws IOException {
+        UserConfig userConfig = JsonHandler.readUserConfig(Files.readString(Paths.get("settings/profile.json")));
+        Clock clock = Clock.fixed(LocalDateTime.of(2024, 9, 18, 8, 0).atZone(ZoneId.systemDefault()).toInstant(),
+                ZoneId.systemDefault());
+        List<Path> fixtures;
+        try (Stream<Path> files = Files.list(Paths.get("schedules"))) {
+            fixtures = files.filter(file -> file.toString().endsWith(".sched")).sorted().collect(Collectors.toList());
+        }
+        assertFalse(fixtures.isEmpty());
+
+        for (Path fixture : fixtures) {
+            ScheduleManager expected = new ScheduleManager(userConfig, new EventLog(), clock);
+            expected.deserializeScheduleFromFile(fixture);
+            expected.buildSchedule();
+
+            ScheduleManager sm = new ScheduleManager(userConfig, new EventLog(), clock);
+            sm.setScheduler(Scheduler.newBucketInstance(userConfig, sm.getEventLog()));
+            sm.deserializeScheduleFromFile(fixture);
+            sm.buildSchedule();
+            assertEquals(expected.serializeSchedule(), sm.serializeSchedule(), fixture.toString());
+            assertEquals(expected.getErrorCount(), sm.getErrorCount());
+
+            // incremental builds go through the buckets as well
+            sm.addTask("extra", 3, Time.toCalendar(Time.toEpochMinute(Time.getCurrentEpochDay(clock) + 4, 0)), null);
+            expected.addTask("extra", 3, Time.toCalendar(Time.toEpochMinute(Time.getCurrentEpochDay(clock) + 4, 0)), null);
+            sm.buildSchedule();
+            expected.buildSchedule();
+            assertEquals(expected.serializeSchedule(), sm.serializeSchedule(), fixture.toString());
+        }
+    }
+
+    @Test
+    void buildSegmentedSchedule() throws IOException {
+        UserConfig userConfig = new UserConfig(new int[]{8, 20}, new int[]{8, 8, 8, 8, 8, 6, 4}, 84, 7,
+                false, true, 1.0, true, true, true);
+        Clock clock = Clock.fixed(LocalDateTime.of(2024, 9, 18, 8, 0).atZone(ZoneId.systemDefault()).toInstant(),
+                ZoneId.systemDefault());
+        ScheduleManager sequential = new ScheduleManager(userConfig, new EventLog(), clock);
+        sequential.setParallelism(1);
+        ScheduleManager segmented = new ScheduleManager(userConfig, new EventLog(), clock);
+        segmented.setParallelism(4);
+        int today = Time.getCurrentEpochDay(clock);
+        Random random = new Random(11);
+        // every week but one is overloaded, so each stretch of Days is full with the Tasks due in it
+        for (int week = 0; week < 12; week++) {
+            for (int i = 0; i < 6; i++) {
+                int dueDay = today + 7 * week + random.nextInt(7);
+                double hours = week == 5 ? 1 : 8 + random.nextInt(8);
+                for (ScheduleManager sm : new ScheduleManager[]{sequential, segmented}) {
+                    sm.addTask("t" + week + "-" + i, hours, Time.toCalendar(Time.toEpochMinute(dueDay, 17 * 60)), null);
+                }
+            }
+        }
+        for (ScheduleManager sm : new ScheduleManager[]{sequential, segmented}) {
+            sm.addEvent("lecture", null, new Time.TimeStamp(Time.toEpochMinute(today, 9 * 60),
+                    Time.toEpochMinute(today, 11 * 60)), true, List.of(Time.toCalendar(Time.toEpochMinute(today, 0))));
+            sm.addEvent("exam", null, new Time.TimeStamp(Time.toEpochMinute(today + 30, 8 * 60),
+                    Time.toEpochMinute(today + 30, 14 * 60)), false, null);
+            sm.buildSchedule();
+        }
+        assertEquals(sequential.serializeSchedule(), segmented.serializeSchedule());
+        assertEquals(sequential.getErrorCount(), segmented.getErrorCount());
+        assertThrows(IllegalArgumentException.class, () -> segmented.setParallelism(0));
+    }
+
+    @Test
+    void formatTasksByClock() {
+        Clock clock = Clock.fixed(LocalDateTime.of(2024, 9, 18, 8, 0).atZone(ZoneId.systemDefault()).toInstant(),
+                ZoneId.systemDefault());
+        ScheduleManager sm = new ScheduleManager(new ScheduleManager().getUserConfig(), new EventLog(), clock);
+        int today = Time.getCurrentEpochDay(clock);
+        Task task = sm.addTask("essay", 3, Time.toCalendar(Time.toEpochMinute(today + 2, 0)), null);
+
+        // a Task is only past due by the date of the manager's clock
+        assertTrue(sm.buildFormatTask(task.getId()).startsWith("Active "));
+        assertTrue(sm.buildTaskStr().contains("| No"));
+        assertTrue(sm.getEventLog().toString().contains("ARCHIVED=FALSE"));
+        assertEquals(today + 3, new Day(0, 8, today + 3).getEpochDay());
+    }
+
+    @Test
+    void cancelBuild() throws IOException {
+        UserConfig userConfig = JsonHandler.readUserConfig(Files.readString(Paths.get("settings/profile.json")));
+        Clock clock = Clock.fixed(LocalDateTime.of(2024, 9, 23, 8, 0).atZone(ZoneId.systemDefault()).toInstant(),
+                ZoneId.systemDefault());
+        ScheduleManager sm = new ScheduleManager(userConfig, new EventLog(), clock);
+        sm.deserializeScheduleFromFile(Paths.get("schedules/semester.sched"));
+        BuildProgress progress = new BuildProgress();
+        sm.setBuildProgress(progress);
+        sm.buildSchedule();
+        assertEquals(sm.getSchedule().size(), progress.getDaysDone());
+        String expected = sm.buildScheduleStr();
+        double unscheduled = getUnscheduledHours(sm);
+        int errors = sm.getErrorCount();
+
+        // a cancelled build of a change leaves the schedule and the hours given to the Tasks as they were
+        Task task = sm.getTaskManager().peek();
+        sm.modTask(task.getId(), null, task.getTotalHours() + 4, null, null);
+        BuildProgress cancelled = new BuildProgress();
+        cancelled.cancel();
+        sm.setBuildProgress(cancelled);
+        assertThrows(CancellationException.class, sm::buildSchedule);
+        assertThrows(CancellationException.class, sm::buildPortfolioSchedule);
+        assertThrows(CancellationException.class, sm::buildFlowSchedule);
+        assertEquals(expected, sm.buildScheduleStr());
+        assertEquals(errors, sm.getErrorCount());
+        // the added hours are left unscheduled until the next build
+        assertEquals(unscheduled + 4, getUnscheduledHours(sm), 1e-9);
+        assertTrue(sm.getEventLog().toString().contains("BUILD CANCELLED"));
+
+        // the change is still built by the next build
+        sm.setBuildProgress(null);
+        sm.buildSchedule();
+        ScheduleManager fresh = new ScheduleManager(userConfig, new EventLog(), clock);
+        fresh.deserializeScheduleFromFile(Paths.get("schedules/semester.sched"));
+        fresh.modTask(task.getId(), null, task.getTotalHours(), null, null);
+        fresh.buildSchedule();
+        assertEquals(fresh.serializeSchedule(), sm.serializeSchedule());
+    }
+
+    @Test
+    void setSchedulerName() throws IOException {
+        ScheduleManager sm = new ScheduleManager();
+        sm.addTask("thesis", 20, Time.getFormattedCalendarInstance(4), null);
+        sm.addTask("homework", 6, Time.getFormattedCalendarInstance(2), null);
+        sm.addTask("quiz", 30, Time.getFormattedCalendarInstance(1), null);
+        sm.buildSchedule();
+        String expected = sm.serializeSchedule();
+
+        List<ScheduleManager.SchedulerTiming> timings = sm.benchmarkSchedulers(2);
+        assertEquals(SchedulerRegistry.getProviders().size(), timings.size());
+        for (ScheduleManager.SchedulerTiming timing : timings) {
+            assertEquals(timings.get(0).getMissedHours(), timing.getMissedHours());
+            assertTrue(timing.getMillis() >= 0);
+        }
+        assertEquals(getUnscheduledHours(sm), timings.get(0).getMissedHours(), 1e-9);
+        assertEquals(expected, sm.serializeSchedule());
+
+        String configured = sm.getUserConfig().getScheduler();
+        assertEquals("bucket", sm.setSchedulerName("BUCKET").getName());
+        assertEquals(configured, sm.getUserConfig().getScheduler());
+        sm.buildSchedule();
+        assertEquals(expected, sm.serializeSchedule());
+        // a config naming the same engine as before keeps the selected one
+        sm.setUserConfig(JsonHandler.readUserConfig(JsonHandler.createUserConfig(sm.getUserConfig())));
+        assertEquals("bucket", sm.getSchedulerProvider().getName());
+        assertThrows(IllegalArgumentException.class, () -> sm.setSchedulerName("none"));
+        assertThrows(IllegalArgumentException.class, () -> sm.benchmarkSchedulers(0));
+    }
+
+    private int getPieces(ScheduleManager sm) {
+        int pieces = 0;
+        for (Day day : sm.getSchedule()) {
+            pieces += (int) day.getSubTaskList().stream().map(Task.SubTask::getParentTask).distinct().count();
+        }
+        return pieces;
+    }
+
+    private double getScheduledHours(List<Day> days, Task task) {
+        double hours = 0;
+        for (Day day : days) {
+            hours += getScheduledHours(day, task);
+        }
+        return hours;
+    }
+
+    private double getScheduledHours(Day day, Task task) {
+        double hours = 0;
+        for (Task.SubTask subTask : day.getSubTaskList()) {
+            if (subTask.getParentTask() == task) {
+                hours += subTask.getSubTaskHours();
+            }
+        }
+        return hours;
+    }
+
+    private double getUnscheduledHours(ScheduleManager sm) {
+        double hours = 0;
+        for (Task task : sm.getTaskManager()) {
+            hours += task.getSubTotalHoursRemaining();
+        }
+        return hours;
+    }
+
     private String eventToString(Event e) {
         StringBuilder eventSb = new StringBuilder();
         eventSb.append(e.getName())
@@ -0,0 +1,44 @@
+package com.planner.schedule;
+
+import com.planner.models.Task;
+import com.planner.models.UserConfig;
+import com.planner.schedule.day.Day;
+import com.planner.util.JsonHandler;
+import com.planner.util.Time;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.time.Clock;
+import java.util.ArrayDeque;
+import java.util.PriorityQueue;
+import java.util.Queue;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CompactSchedulerTest {
+
+    @Test
+    void assignDayForcesTasksDueThatDay() throws IOException {
+        UserConfig userConfig = JsonHandler.readUserConfig(Files.readString(Paths.get("settings/profile.json")));
+        Clock clock = Clock.systemDefaultZone();
+        int time = Time.getCurrentEpochMinute(clock);
+        int tomorrow = Time.getCurrentEpochDay(clock) + 1;
+        Task quiz = new Task(0, "quiz", 1, Time.getFormattedCalendarInstance(1));
+        Task thesis = new Task(1, "thesis", 40, Time.getFormattedCalendarInstance(2));
+
+        // the thesis has less slack, so it is ahead of the quiz even though the quiz is due first
+        Queue<Task> tasks = new PriorityQueue<>(ScheduleStrategy.LEAST_SLACK.getComparator(userConfig));
+        tasks.add(quiz);
+        tasks.add(thesis);
+        assertSame(thesis, tasks.peek());
+
+        Day day = new Day(0, userConfig.getHoursPerDayOfWeek()[Time.getDayOfWeek(tomorrow)], tomorrow);
+        Queue<Task> complete = new ArrayDeque<>();
+        new CompactScheduler(userConfig, null).assignDay(day, 0, complete, tasks, time);
+        assertTrue(complete.contains(quiz));
+        assertFalse(tasks.contains(quiz));
+        assertTrue(tasks.contains(thesis));
+    }
+}
@@ -0,0 +1,84 @@
+package com.planner.schedule;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class LocalSearchTest {
+
+    @Test
+    void search() {
+        Random random = new Random(7);
+        for (int trial = 0; trial < 50; trial++) {
+            int numDays = 1 + random.nextInt(10);
+            int numTasks = 1 + random.nextInt(12);
+            int[] capacities = new int[numDays];
+            for (int d = 0; d < numDays; d++) {
+                capacities[d] = 60 * random.nextInt(9);
+            }
+            // pieces are split across the Days the same way a greedy build would, filling each Day in turn
+            int[] spare = capacities.clone();
+            int[] lastDays = new int[numTasks];
+            int[][] days = new int[numTasks][];
+            int[][] minutes = new int[numTasks][];
+            int[] totals = new int[numTasks];
+            for (int t = 0; t < numTasks; t++) {
+                lastDays[t] = random.nextInt(numDays);
+                int left = 30 * random.nextInt(20);
+                List<int[]> pieces = new ArrayList<>();
+                for (int d = 0; d <= lastDays[t] && left > 0; d++) {
+                    int amount = Math.min(left, spare[d]);
+                    if (amount > 0) {
+                        pieces.add(new int[]{d, amount});
+                        spare[d] -= amount;
+                        left -= amount;
+                        totals[t] += amount;
+                    }
+                }
+                days[t] = pieces.stream().mapToInt(piece -> piece[0]).toArray();
+                minutes[t] = pieces.stream().mapToInt(piece -> piece[1]).toArray();
+            }
+
+            LocalSearch search = new LocalSearch(capacities, lastDays, days, minutes);
+            LocalSearch.Allocation start = search.getStart();
+            LocalSearch.Allocation best = search.search(trial, System.nanoTime() + 20_000_000L);
+            assertTrue(best.compareTo(start) <= 0);
+            assertTrue(best.getPieces() <= start.getPieces());
+
+            int[] used = new int[numDays];
+            for (int t = 0; t < numTasks; t++) {
+                int total = 0;
+                for (int d = 0; d < numDays; d++) {
+                    int amount = best.getMinutes(t, d);
+                    assertTrue(amount >= 0);
+                    assertTrue(amount == 0 || d <= lastDays[t]);
+                    used[d] += amount;
+                    total += amount;
+                }
+                assertEquals(totals[t], total);
+            }
+            for (int d = 0; d < numDays; d++) {
+                assertTrue(used[d] <= capacities[d]);
+            }
+        }
+    }
+
+    @Test
+    void searchMergesPieces() {
+        // the second Task is split across both Days, but fits on the second Day once the third Task moves
+        int[] capacities = {480, 480};
+        int[] lastDays = {1, 1, 1};
+        int[][] days = {{0}, {0, 1}, {1}};
+        int[][] minutes = {{240}, {240, 120}, {240}};
+        LocalSearch search = new LocalSearch(capacities, lastDays, days, minutes);
+        LocalSearch.Allocation best = search.search(0, System.nanoTime() + 100_000_000L);
+        assertEquals(4, search.getStart().getPieces());
+        assertEquals(3, best.getPieces());
+
+        assertThrows(IllegalArgumentException.class, () -> new LocalSearch(capacities, new int[]{1}, days, minutes));
+    }
+}
@@ -0,0 +1,27 @@
+package com.planner.schedule;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class MinCostFlowTest {
+
+    @Test
+    void solve() {
+        // the cheap path through node 2 only fits part of the flow, and the rest is rerouted around it
+        MinCostFlow flow = new MinCostFlow(4);
+        int sourceTo2 = flow.addEdge(0, 2, 4, 1);
+        int sourceTo3 = flow.addEdge(0, 3, 2, 5);
+        int twoTo3 = flow.addEdge(2, 3, 3, 1);
+        int twoToSink = flow.addEdge(2, 1, 2, 1);
+        int threeToSink = flow.addEdge(3, 1, 5, 1);
+        assertEquals(4 + 2 * 5 + 2 + 2 + 4, flow.solve(0, 1));
+        assertEquals(4, flow.getFlow(sourceTo2));
+        assertEquals(2, flow.getFlow(sourceTo3));
+        assertEquals(2, flow.getFlow(twoTo3));
+        assertEquals(2, flow.getFlow(twoToSink));
+        assertEquals(4, flow.getFlow(threeToSink));
+
+        assertThrows(IllegalArgumentException.class, () -> flow.addEdge(0, 1, 1, -1));
+    }
+}
@@ -0,0 +1,70 @@
+package com.planner.schedule;
+
+import com.planner.models.UserConfig;
+import com.planner.util.EventLog;
+import org.junit.jupiter.api.Test;
+
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SchedulerRegistryTest {
+
+    @Test
+    void getProvider() {
+        List<SchedulerProvider> providers = SchedulerRegistry.getProviders();
+        assertEquals(SchedulerRegistry.DEFAULT_NAME, providers.get(0).getName());
+        assertEquals("bucket", providers.get(1).getName());
+        assertSame(providers.get(0), SchedulerRegistry.getProvider(null));
+        assertSame(providers.get(1), SchedulerRegistry.getProvider(" Bucket "));
+        assertTrue(SchedulerRegistry.getProvider("bucket").newScheduler(new UserConfig(), null) instanceof BucketScheduler);
+        assertThrows(IllegalArgumentException.class, () -> SchedulerRegistry.getProvider("none"));
+        assertThrows(UnsupportedOperationException.class, () -> providers.remove(0));
+    }
+
+    @Test
+    void loadProviders() {
+        // both providers are listed in the test resources, but only the one with a new name is registered
+        SchedulerProvider provider = SchedulerRegistry.getProvider("plain");
+        assertTrue(provider instanceof PlainProvider);
+        assertEquals(EnumSet.of(SchedulerProvider.Capability.INCREMENTAL), provider.getCapabilities());
+        assertFalse(SchedulerRegistry.getProvider("compact") instanceof ShadowProvider);
+        assertEquals(3, SchedulerRegistry.getProviders().size());
+    }
+
+    public static class PlainProvider implements SchedulerProvider {
+        @Override
+        public String getName() {
+            return "plain";
+        }
+
+        @Override
+        public String getDescription() {
+            return "Earliest deadline first without any optimizing";
+        }
+
+        @Override
+        public Set<Capability> getCapabilities() {
+            return EnumSet.of(Capability.INCREMENTAL);
+        }
+
+        @Override
+        public String getComplexity() {
+            return "O(T log T + D)";
+        }
+
+        @Override
+        public Scheduler newScheduler(UserConfig userConfig, EventLog eventLog) {
+            return new CompactScheduler(userConfig, eventLog);
+        }
+    }
+
+    public static class ShadowProvider extends PlainProvider {
+        @Override
+        public String getName() {
+            return "compact";
+        }
+    }
+}
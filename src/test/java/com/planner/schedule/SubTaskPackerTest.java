@@ -0,0 +1,39 @@
+package com.planner.schedule;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SubTaskPackerTest {
+
+    @Test
+    void pack() {
+        // the largest Task no longer fits once the best-fit packing places the others
+        int[] segments = {60, 120, 90};
+        int[] demands = {120, 60, 90};
+        SubTaskPacker packer = new SubTaskPacker(segments, demands, System.nanoTime() + 1_000_000_000L);
+        int[][] packing = packer.pack();
+        assertEquals(3, packer.getPieces());
+        assertPacking(segments, demands, packing);
+
+        segments = new int[]{150, 30, 60};
+        demands = new int[]{90, 90, 60};
+        packer = new SubTaskPacker(segments, demands, System.nanoTime() + 1_000_000_000L);
+        packing = packer.pack();
+        assertEquals(4, packer.getPieces());
+        assertPacking(segments, demands, packing);
+    }
+
+    private static void assertPacking(int[] segments, int[] demands, int[][] packing) {
+        int[] used = new int[segments.length];
+        for (int i = 0; i < demands.length; i++) {
+            int total = 0;
+            for (int s = 0; s < segments.length; s++) {
+                total += packing[i][s];
+                used[s] += packing[i][s];
+            }
+            assertEquals(demands[i], total);
+        }
+        assertArrayEquals(segments, used);
+    }
+}
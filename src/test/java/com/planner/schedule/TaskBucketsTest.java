@@ -0,0 +1,54 @@
+package com.planner.schedule;
+
+import com.planner.models.Task;
+import com.planner.util.Time;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.PriorityQueue;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TaskBucketsTest {
+
+    @Test
+    void matchesPriorityQueue() {
+        Random random = new Random(3);
+        List<Task> tasks = new ArrayList<>();
+        for (int i = 0; i < 300; i++) {
+            tasks.add(new Task(i, "t" + i, random.nextInt(20) / 2.0, Time.getFormattedCalendarInstance(random.nextInt(40) - 5)));
+        }
+        TaskBuckets buckets = new TaskBuckets();
+        PriorityQueue<Task> expected = new PriorityQueue<>();
+
+        for (int i = 0; i < 2000; i++) {
+            Task task = tasks.get(random.nextInt(tasks.size()));
+            int op = random.nextInt(4);
+            if (op == 0 && !expected.isEmpty()) {
+                // the head is scheduled for part of its hours and then queued again, like in a Day
+                Task head = expected.poll();
+                assertSame(head, buckets.poll());
+                head.addSubTask(Math.min(0.5, head.getSubTotalHoursRemaining()), false, null);
+                expected.add(head);
+                buckets.add(head);
+            } else if (op == 1) {
+                assertEquals(expected.remove(task), buckets.remove(task));
+            } else if (!buckets.contains(task)) {
+                expected.add(task);
+                buckets.add(task);
+            }
+            assertEquals(expected.size(), buckets.size());
+            assertSame(expected.peek(), buckets.peek());
+        }
+
+        List<Task> queued = new ArrayList<>(buckets);
+        assertEquals(expected.size(), queued.size());
+        assertTrue(queued.containsAll(expected));
+        while (!expected.isEmpty()) {
+            assertSame(expected.poll(), buckets.poll());
+        }
+        assertNull(buckets.poll());
+    }
+}
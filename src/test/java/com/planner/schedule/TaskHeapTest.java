@@ -0,0 +1,80 @@
+package com.planner.schedule;
+
+import com.planner.models.Task;
+import com.planner.util.Time;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.PriorityQueue;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TaskHeapTest {
+
+    @Test
+    void matchesPriorityQueue() {
+        Random random = new Random(42);
+        List<Task> tasks = new ArrayList<>();
+        for (int i = 0; i < 200; i++) {
+            tasks.add(new Task(i, "t" + i, random.nextInt(20) / 2.0, Time.getFormattedCalendarInstance(random.nextInt(30))));
+        }
+        TaskHeap heap = new TaskHeap();
+        PriorityQueue<Task> expected = new PriorityQueue<>();
+        for (Task task : tasks) {
+            heap.add(task);
+            expected.add(task);
+        }
+
+        for (int i = 0; i < 500; i++) {
+            Task task = tasks.get(random.nextInt(tasks.size()));
+            int op = random.nextInt(3);
+            if (op == 0 && heap.contains(task)) {
+                // the PriorityQueue has to be given the Task again after its key changes
+                expected.remove(task);
+                task.setTotalHours(random.nextInt(20) / 2.0);
+                task.setDueDate(Time.getFormattedCalendarInstance(random.nextInt(30)));
+                expected.add(task);
+                assertTrue(heap.update(task));
+            } else if (op == 1) {
+                assertEquals(expected.remove(task), heap.remove(task));
+            } else if (!heap.contains(task)) {
+                heap.add(task);
+                expected.add(task);
+            }
+            assertEquals(expected.size(), heap.size());
+            assertSame(expected.peek(), heap.peek());
+        }
+
+        // copies keep the order without comparing their Tasks again
+        TaskHeap copy = new TaskHeap(heap);
+        while (!expected.isEmpty()) {
+            Task task = expected.poll();
+            assertSame(task, heap.poll());
+            assertSame(task, copy.poll());
+        }
+        assertNull(heap.poll());
+    }
+
+    @Test
+    void removeScheduledTask() {
+        TaskHeap heap = new TaskHeap();
+        Task task = new Task(0, "essay", 4, Time.getFormattedCalendarInstance(2));
+        Task other = new Task(1, "lab", 2, Time.getFormattedCalendarInstance(1));
+        heap.add(task);
+        heap.add(other);
+        // scheduling the Task changes its hours and thus its equality, but not its place in the heap
+        task.addSubTask(2, false, null);
+        assertTrue(heap.contains(task));
+        assertTrue(heap.remove(task));
+        assertFalse(heap.remove(task));
+        assertFalse(heap.contains(new Task(other)));
+
+        heap.clear();
+        assertTrue(heap.isEmpty());
+        assertFalse(heap.contains(other));
+        heap.add(other);
+        assertThrows(IllegalArgumentException.class, () -> heap.add(new Task(other)));
+    }
+}
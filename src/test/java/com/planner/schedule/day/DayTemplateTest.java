@@ -0,0 +1,53 @@
+package com.planner.schedule.day;
+
+import com.planner.models.Event;
+import com.planner.util.Time;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class DayTemplateTest {
+
+    @Test
+    void createDay() {
+        Event.DayOfWeek[] days = {Event.DayOfWeek.MON};
+        List<Event> events = List.of(
+                new Event(0, "lecture", null, new Time.TimeStamp(toMinute(13, 0), toMinute(14, 15)), days),
+                new Event(1, "lab", null, new Time.TimeStamp(toMinute(9, 30), toMinute(11, 0)), days));
+        DayTemplate template = new DayTemplate(events);
+
+        Day expected = new Day(0, 8, Time.getCurrentEpochDay() + 3);
+        for (Event event : events) {
+            expected.addEvent(event);
+        }
+        Day day = new Day(0, 8, Time.getCurrentEpochDay() + 3, template);
+        int time = Time.toEpochMinute(day.getEpochDay(), 8 * 60);
+        assertEquals(expected.getNextEventStart(time), day.getNextEventStart(time));
+        assertEquals(expected.getEventBlockEnd(toMinute(day, 10, 0)), day.getEventBlockEnd(toMinute(day, 10, 0)));
+        assertEquals(expected.getFreeMinutes(), day.getFreeMinutes());
+
+        // Events are copied over to the Day's date once they are needed
+        assertEquals(2, day.getNumEvents());
+        for (int i = 0; i < 2; i++) {
+            Time.TimeStamp ts = day.getEventTimeStamps().get(i);
+            assertEquals(expected.getEventTimeStamps().get(i).getStartEpochMinute(), ts.getStartEpochMinute());
+            assertEquals(expected.getEventTimeStamps().get(i).getEndEpochMinute(), ts.getEndEpochMinute());
+        }
+        assertEquals("lab", day.getEvent(0).getName());
+
+        // Days created from the same template do not share their Events
+        Day other = new Day(1, 8, Time.getCurrentEpochDay() + 10, template);
+        assertNotSame(day.getEvent(0), other.getEvent(0));
+        assertEquals(other.getEpochDay(), other.getEvent(0).getTimeStamp().getEpochDay());
+    }
+
+    private static int toMinute(int hour, int minute) {
+        return Time.toEpochMinute(Time.getCurrentEpochDay(), hour * 60 + minute);
+    }
+
+    private static int toMinute(Day day, int hour, int minute) {
+        return Time.toEpochMinute(day.getEpochDay(), hour * 60 + minute);
+    }
+}
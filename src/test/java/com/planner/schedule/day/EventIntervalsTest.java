@@ -0,0 +1,69 @@
+package com.planner.schedule.day;
+
+import com.planner.models.Event;
+import com.planner.util.Time;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class EventIntervalsTest {
+
+    /** Epoch minute at which today begins */
+    private static final int DAY_START = Time.toEpochMinute(Time.getCurrentEpochDay(), 0);
+
+    @Test
+    void insert() {
+        EventIntervals intervals = new EventIntervals();
+        assertEquals(0, intervals.insert(createEvent(0, 600, 660)));
+        assertEquals(0, intervals.insert(createEvent(1, 480, 540)));
+        // Events starting at the same time are kept in order of insertion
+        assertEquals(2, intervals.insert(createEvent(2, 600, 630)));
+        for (int i = 3; i < 10; i++) {
+            intervals.insert(createEvent(i, 700 + i * 60, 730 + i * 60));
+        }
+
+        List<Event> events = intervals.asList();
+        assertEquals(10, intervals.size());
+        assertEquals(1, events.get(0).getId());
+        assertEquals(0, events.get(1).getId());
+        assertEquals(2, events.get(2).getId());
+        for (int i = 1; i < events.size(); i++) {
+            assertTrue(events.get(i - 1).getTimeStamp().getStartEpochMinute() <= events.get(i).getTimeStamp().getStartEpochMinute());
+        }
+    }
+
+    @Test
+    void getOverlapping() {
+        EventIntervals intervals = new EventIntervals();
+        intervals.insert(createEvent(0, 480, 1020));
+        intervals.insert(createEvent(1, 540, 600));
+        intervals.insert(createEvent(2, 720, 780));
+
+        assertTrue(intervals.overlaps(DAY_START + 1000, DAY_START + 1100));
+        assertFalse(intervals.overlaps(DAY_START + 1020, DAY_START + 1100));
+        assertFalse(intervals.overlaps(DAY_START + 400, DAY_START + 480));
+        assertEquals(List.of(0, 1), getIds(intervals.getOverlapping(DAY_START + 590, DAY_START + 700)));
+        assertEquals(List.of(0, 2), getIds(intervals.getOverlapping(DAY_START + 770, DAY_START + 800)));
+
+        // Events may be indexed by another interval than their own
+        EventIntervals timesOfDay = new EventIntervals();
+        timesOfDay.insert(createEvent(4, 1440 * 3 + 600, 1440 * 3 + 660), 600, 660);
+        assertEquals(List.of(4), getIds(timesOfDay.getOverlapping(630, 640)));
+        assertTrue(timesOfDay.getOverlapping(DAY_START + 630, DAY_START + 640).isEmpty());
+
+        EventIntervals copy = new EventIntervals(intervals);
+        copy.insert(createEvent(3, 1100, 1200));
+        assertTrue(copy.overlaps(DAY_START + 1150, DAY_START + 1160));
+        assertFalse(intervals.overlaps(DAY_START + 1150, DAY_START + 1160));
+    }
+
+    private static Event createEvent(int id, int startMinute, int endMinute) {
+        return new Event(id, "event" + id, null, new Time.TimeStamp(DAY_START + startMinute, DAY_START + endMinute));
+    }
+
+    private static List<Integer> getIds(List<Event> events) {
+        return events.stream().map(Event::getId).toList();
+    }
+}
@@ -0,0 +1,45 @@
+package com.planner.schedule.day;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SlotBitmapTest {
+
+    @Test
+    void occupy() {
+        SlotBitmap slots = new SlotBitmap();
+        assertEquals(1440, slots.getFreeMinutes());
+
+        slots.occupy(9 * 60, 10 * 60 + 30);
+        assertEquals(1440 - 90, slots.getFreeMinutes());
+        assertFalse(slots.isFree(36));
+        assertFalse(slots.isFree(41));
+        assertTrue(slots.isFree(42));
+
+        // overlapping ranges are only counted once, partial slots count as occupied
+        slots.occupy(10 * 60, 10 * 60 + 40);
+        assertEquals(1440 - 105, slots.getFreeMinutes());
+
+        // ranges spanning both words
+        slots.occupy(15 * 60 + 45, 16 * 60 + 15);
+        assertFalse(slots.isFree(63));
+        assertFalse(slots.isFree(64));
+        assertEquals(1440 - 135, slots.getFreeMinutes());
+    }
+
+    @Test
+    void nextSlots() {
+        SlotBitmap slots = new SlotBitmap();
+        assertEquals(SlotBitmap.NUM_SLOTS, slots.nextOccupied(0));
+        assertEquals(5, slots.nextFree(5));
+
+        slots.occupy(60 * 15, 70 * 15);
+        slots.occupy(90 * 15, 24 * 60);
+        assertEquals(60, slots.nextOccupied(0));
+        assertEquals(70, slots.nextFree(60));
+        assertEquals(90, slots.nextOccupied(70));
+        assertEquals(SlotBitmap.NUM_SLOTS, slots.nextFree(90));
+        assertEquals(SlotBitmap.NUM_SLOTS, slots.nextOccupied(SlotBitmap.NUM_SLOTS));
+    }
+}
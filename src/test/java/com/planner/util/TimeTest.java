@@ -0,0 +1,73 @@
+package com.planner.util;
+
+import com.planner.models.Event;
+import org.junit.jupiter.api.Test;
+
+import java.util.Calendar;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TimeTest {
+
+    @Test
+    void toEpochMinute() {
+        Calendar date = Calendar.getInstance();
+        date.clear();
+        date.set(2024, Calendar.SEPTEMBER, 23, 14, 45);
+
+        int epochMinute = Time.toEpochMinute(date);
+
+        assertEquals(19989, Time.getEpochDay(epochMinute));
+        assertEquals(14 * 60 + 45, Time.getMinuteOfDay(epochMinute));
+        assertEquals(date, Time.toCalendar(epochMinute));
+    }
+
+    @Test
+    void getDayOfWeek() {
+        Calendar date = Time.getFormattedCalendarInstance(0);
+        for (int i = 0; i < 7; i++) {
+            assertEquals(date.get(Calendar.DAY_OF_WEEK) - 1, Time.getDayOfWeek(Time.toEpochDay(date)));
+            date.add(Calendar.DAY_OF_MONTH, 1);
+        }
+    }
+
+    @Test
+    void getNearestQuarterOfHour() {
+        int time = Time.toEpochMinute(100, 10 * 60 + 7);
+
+        assertEquals(Time.toEpochMinute(100, 10 * 60 + 15), Time.getNearestQuarterOfHour(time, true));
+        assertEquals(Time.toEpochMinute(100, 10 * 60), Time.getNearestQuarterOfHour(time, false));
+        assertEquals(Time.toEpochMinute(101, 0), Time.getNearestQuarterOfHour(Time.toEpochMinute(100, 23 * 60 + 50), true));
+    }
+
+    @Test
+    void getTimeInterval() {
+        assertEquals(1.0, Time.getTimeInterval(0, 87));
+        assertEquals(1.5, Time.getTimeInterval(0, 100));
+        assertEquals(1.5, Time.getTimeInterval(100, 0));
+    }
+
+    @Test
+    void timeStamp() {
+        Time.TimeStamp ts = new Time.TimeStamp(Time.toEpochMinute(200, 9 * 60 + 30), Time.toEpochMinute(200, 14 * 60 + 15));
+
+        assertEquals(200, ts.getEpochDay());
+        assertEquals(9, ts.getStartHour());
+        assertEquals(30, ts.getStartMin());
+        assertEquals(14, ts.getEndHour());
+        assertEquals(15, ts.getEndMin());
+        assertEquals(4.5, ts.getHours());
+        assertEquals("09:30am-02:15pm", ts.toString());
+
+        assertThrows(IllegalArgumentException.class, () -> new Time.TimeStamp(10, 10));
+    }
+
+    @Test
+    void isConflictingEvent() {
+        Event event = new Event(0, "lecture", null, new Time.TimeStamp(600, 660));
+        assertTrue(Time.isConflictingEvent(event, new Event(1, "lab", null, new Time.TimeStamp(630, 700))));
+        assertTrue(Time.isConflictingEvent(event, new Event(2, "exam", null, new Time.TimeStamp(540, 720))));
+        assertFalse(Time.isConflictingEvent(event, new Event(3, "lunch", null, new Time.TimeStamp(660, 720))));
+        assertFalse(Time.isConflictingEvent(event, new Event(4, "class", null, new Time.TimeStamp(540, 600))));
+    }
+}